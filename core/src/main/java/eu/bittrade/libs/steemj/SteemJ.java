@@ -33,8 +33,6 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 
-import eu.bittrade.crypto.core.ECKey;
-import eu.bittrade.crypto.core.Sha256Hash;
 import eu.bittrade.libs.steemj.base.models.Account;
 import eu.bittrade.libs.steemj.base.models.BeneficiaryRouteType;
 import eu.bittrade.libs.steemj.base.models.ChainProperties;
@@ -43,7 +41,11 @@ import eu.bittrade.libs.steemj.base.models.CommentPayoutBeneficiaries;
 import eu.bittrade.libs.steemj.base.models.FeedHistory;
 import eu.bittrade.libs.steemj.base.models.LiquidityBalance;
 import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.base.models.ProjectedObject;
+import eu.bittrade.libs.steemj.base.models.Projection;
 import eu.bittrade.libs.steemj.base.models.ScheduledHardfork;
+import eu.bittrade.libs.steemj.chain.AuthorityCache;
+import eu.bittrade.libs.steemj.chain.ReferenceBlockProvider;
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
@@ -75,6 +77,7 @@ import eu.bittrade.libs.steemj.plugins.apis.condenser.models.State;
 import eu.bittrade.libs.steemj.plugins.apis.database.DatabaseApi;
 import eu.bittrade.libs.steemj.plugins.apis.database.models.Config;
 import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.FindAccountsArgs;
 import eu.bittrade.libs.steemj.plugins.apis.database.models.OrderBook;
 import eu.bittrade.libs.steemj.plugins.apis.database.models.RewardFund;
 import eu.bittrade.libs.steemj.plugins.apis.database.models.Witness;
@@ -131,7 +134,7 @@ import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
 import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
 import eu.bittrade.libs.steemj.util.CondenserUtils;
-import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.PasswordKeyDeriver;
 
 /**
  * This class is a wrapper for the Steem web socket API and provides all
@@ -139,7 +142,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
-public class SteemJ {
+public class SteemJ implements AutoCloseable {
     private static final Logger LOGGER = LoggerFactory.getLogger(SteemJ.class);
 
     // Error messages as constants to make SonarQube happy.
@@ -148,6 +151,7 @@ public class SteemJ {
     private static final String MARKDOWN = "markdown";
 
     private static CommunicationHandler communicationHandler;
+    private ReferenceBlockProvider referenceBlockProvider;
 
     /**
      * Initialize the SteemJ.
@@ -169,6 +173,39 @@ public class SteemJ {
      */
     public SteemJ() throws SteemCommunicationException, SteemResponseException {
         this.communicationHandler = new CommunicationHandler();
+        this.referenceBlockProvider = new ReferenceBlockProvider(communicationHandler);
+    }
+
+    /**
+     * Stop the background threads of this SteemJ instance, like the one that
+     * refreshes the reference block of new transactions. The threads are
+     * daemon threads and do not prevent the JVM from shutting down, but
+     * applications that create multiple SteemJ instances should close the
+     * ones they no longer use.
+     */
+    @Override
+    public void close() {
+        this.referenceBlockProvider.close();
+    }
+
+    /**
+     * Create an {@link AuthorityCache} that requests the authorities of
+     * unknown accounts using the connection of this SteemJ instance. By
+     * default, SteemJ only uses locally added authorities, so this cache has
+     * to be set explicitly to resolve multi signature accounts while signing:
+     * 
+     * <pre>
+     * SteemJConfig.getInstance().setAuthorityCache(steemJ.createAuthorityCache());
+     * </pre>
+     * 
+     * Signing a transaction may then send requests to the Steem node. The
+     * returned cache must not be used after this SteemJ instance has been
+     * closed.
+     * 
+     * @return A new authority cache using the connection of this instance.
+     */
+    public AuthorityCache createAuthorityCache() {
+        return new AuthorityCache(communicationHandler);
     }
 
     // #########################################################################
@@ -573,6 +610,42 @@ public class SteemJ {
         return null;
     }
 
+    /**
+     * Get the selected fields of the given accounts. Unlike
+     * {@link #getAccounts(List)} all other fields are skipped while parsing
+     * the response, which makes this method much cheaper if only a few
+     * fields are required.
+     * 
+     * <b>Example</b>
+     * <p>
+     * <code>getAccounts(accountNames, Projection.of("name", "balance", "vesting_shares"))</code>
+     * </p>
+     * 
+     * @param accountNames
+     *            A list of accounts you want to request the details for.
+     * @param projection
+     *            The account fields to keep.
+     * @return A view of each account found for the given account names.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public List<ProjectedObject> getAccounts(List<AccountName> accountNames, Projection projection)
+            throws SteemCommunicationException, SteemResponseException {
+        return DatabaseApi.findAccounts(communicationHandler, new FindAccountsArgs(accountNames), projection);
+    }
+
     /**
      * Get a list of all votes done by a specific account.
      * 
@@ -2105,6 +2178,21 @@ public class SteemJ {
     // ## UTILITY METHODS ######################################################
     // #########################################################################
 
+    /**
+     * Convert a STEEM asset into SBD using the given <code>price</code> (e.g.
+     * the current median history price). The intermediate product is
+     * calculated with 128 bits, so large amounts can not overflow.
+     * 
+     * @param price
+     *            The price between STEEM and SBD.
+     * @param steemAsset
+     *            The STEEM asset to convert.
+     * @return The value of the <code>steemAsset</code> in SBD or 0 SBD if no
+     *         price has been provided.
+     * @throws InvalidParameterException
+     *             If the <code>steemAsset</code> is not a STEEM asset or if the
+     *             result does not fit into a long.
+     */
     public static LegacyAsset steemToSbd(Price price, LegacyAsset steemAsset) {
         if (steemAsset == null || !steemAsset.getSymbol().equals(LegacyAssetSymbolType.STEEM)) {
             throw new InvalidParameterException("The asset needs be of SymbolType STEEM.");
@@ -2117,9 +2205,42 @@ public class SteemJ {
         return price.multiply(steemAsset);
     }
 
+    /**
+     * Like {@link #steemToSbd(Price, LegacyAsset)}, but converts many raw STEEM
+     * amounts (see {@link LegacyAsset#getAmount()}) at once without creating
+     * asset objects.
+     * 
+     * @param price
+     *            The price between STEEM and SBD.
+     * @param steemAmounts
+     *            The STEEM amounts to convert.
+     * @return The SBD amounts.
+     * @throws InvalidParameterException
+     *             If the price does not contain STEEM or if a result does not
+     *             fit into a long.
+     */
+    public static long[] steemToSbd(Price price, long[] steemAmounts) {
+        return price.multiply(steemAmounts, LegacyAssetSymbolType.STEEM);
+    }
+
+    /**
+     * Convert a SBD asset into STEEM using the given <code>price</code> (e.g.
+     * the current median history price). The intermediate product is
+     * calculated with 128 bits, so large amounts can not overflow.
+     * 
+     * @param price
+     *            The price between STEEM and SBD.
+     * @param sbdAsset
+     *            The SBD asset to convert.
+     * @return The value of the <code>sbdAsset</code> in STEEM or 0 STEEM if no
+     *         price has been provided.
+     * @throws InvalidParameterException
+     *             If the <code>sbdAsset</code> is not a SBD asset or if the
+     *             result does not fit into a long.
+     */
     public static LegacyAsset sbdToSteem(Price price, LegacyAsset sbdAsset) {
         if (sbdAsset == null || !sbdAsset.getSymbol().equals(LegacyAssetSymbolType.SBD)) {
-            throw new InvalidParameterException("The asset needs be of SymbolType STEEM.");
+            throw new InvalidParameterException("The asset needs be of SymbolType SBD.");
         }
 
         if (price == null) {
@@ -2129,6 +2250,24 @@ public class SteemJ {
         return price.multiply(sbdAsset);
     }
 
+    /**
+     * Like {@link #sbdToSteem(Price, LegacyAsset)}, but converts many raw SBD
+     * amounts (see {@link LegacyAsset#getAmount()}) at once without creating
+     * asset objects.
+     * 
+     * @param price
+     *            The price between STEEM and SBD.
+     * @param sbdAmounts
+     *            The SBD amounts to convert.
+     * @return The STEEM amounts.
+     * @throws InvalidParameterException
+     *             If the price does not contain SBD or if a result does not fit
+     *             into a long.
+     */
+    public static long[] sbdToSteem(Price price, long[] sbdAmounts) {
+        return price.multiply(sbdAmounts, LegacyAssetSymbolType.SBD);
+    }
+
     /**
      * 
      * @param accountName
@@ -2220,13 +2359,12 @@ public class SteemJ {
      *            The password of the <code>account</code> valid for the Steem
      *            blockchain.
      * @return The requested key pair.
+     * @see PasswordKeyDeriver#deriveKeyPairs(java.util.Map) to derive the
+     *      keys of many accounts at once.
      */
     public static ImmutablePair<PublicKey, String> getPrivateKeyFromPassword(AccountName account, PrivateKeyType role,
             String steemPassword) {
-        String seed = account.getName() + role.name().toLowerCase() + steemPassword;
-        ECKey keyPair = ECKey.fromPrivate(Sha256Hash.hash(seed.getBytes(), 0, seed.length()));
-
-        return new ImmutablePair<>(new PublicKey(keyPair), SteemJUtils.privateKeyToWIF(keyPair));
+        return PasswordKeyDeriver.deriveKeyPair(account, role, steemPassword);
     }
 
     // #########################################################################
@@ -2373,10 +2511,7 @@ public class SteemJ {
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(voteOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -2495,10 +2630,7 @@ public class SteemJ {
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(voteOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -2604,10 +2736,7 @@ public class SteemJ {
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(customJsonOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -2714,10 +2843,7 @@ public class SteemJ {
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(customJsonOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -2830,10 +2956,7 @@ public class SteemJ {
 
         operations.add(customJsonReblogOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -2999,10 +3122,7 @@ public class SteemJ {
 
         operations.add(commentOptionsOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -3178,10 +3298,7 @@ public class SteemJ {
 
         operations.add(commentOptionsOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -3332,10 +3449,7 @@ public class SteemJ {
 
         operations.add(commentOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -3489,10 +3603,7 @@ public class SteemJ {
                 originalAuthorOfTheCommentToUpdate, originalPermlinkOfTheCommentToUpdate, "", content, jsonMetadata);
 
         operations.add(commentOperation);
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -3603,10 +3714,7 @@ public class SteemJ {
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(deleteCommentOperation);
 
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
 
         signedTransaction.sign();
 
@@ -3728,9 +3836,7 @@ public class SteemJ {
         TransferOperation transferOperation = new TransferOperation(from, to, amount, memo);
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(transferOperation);
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
         signedTransaction.sign();
         this.broadcastTransaction(signedTransaction);
         return transferOperation;
@@ -3829,9 +3935,7 @@ public class SteemJ {
         if (steemReward.getAmount() > 0 || sbdReward.getAmount() > 0 || vestingReward.getAmount() > 0) {
             ArrayList<Operation> operations = new ArrayList<>();
             operations.add(claimOperation);
-            DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-            SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                    null);
+            SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
             signedTransaction.sign();
             this.broadcastTransaction(signedTransaction);
         }
@@ -3915,9 +4019,7 @@ public class SteemJ {
 
         ArrayList<Operation> operations = new ArrayList<>();
         operations.add(delegateVestingSharesOperation);
-        DynamicGlobalProperty globalProperties = this.getDynamicGlobalProperties();
-        SignedTransaction signedTransaction = new SignedTransaction(globalProperties.getHeadBlockId(), operations,
-                null);
+        SignedTransaction signedTransaction = this.referenceBlockProvider.createTransaction(operations, null);
         signedTransaction.sign();
         this.broadcastTransaction(signedTransaction);
     }
@@ -16,10 +16,10 @@
  */
 package eu.bittrade.libs.steemj.apis.login.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "steem_version_info" object.
  * 
@@ -63,6 +63,6 @@ public class SteemVersionInfo {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
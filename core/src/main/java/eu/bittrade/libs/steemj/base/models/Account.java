@@ -19,21 +19,22 @@ package eu.bittrade.libs.steemj.base.models;
 import java.math.BigInteger;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.Authority;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "account" object.
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class Account {
     // TODO: Original type is "account_id_type".
     private long id;
@@ -591,6 +592,6 @@ public class Account {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -21,8 +21,6 @@ import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -31,6 +29,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.Validatable;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -130,7 +129,7 @@ public class BeneficiaryRouteType implements ByteTransformable, Validatable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -16,11 +16,10 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "block_object" object.
@@ -67,6 +66,6 @@ public class Block extends ExtendedSignedBlock {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,14 +16,13 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import eu.bittrade.libs.steemj.base.models.deserializer.BlockHeaderExtensionsDeserializer;
 import eu.bittrade.libs.steemj.base.models.serializer.BlockHeaderExtensionsSerializer;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is used as a Java implementation of a variant that can contain a:
@@ -43,6 +42,6 @@ import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 public abstract class BlockHeaderExtensions implements ByteTransformable {
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
@@ -25,6 +23,7 @@ import eu.bittrade.libs.steemj.base.models.deserializer.CommentOptionsExtensionD
 import eu.bittrade.libs.steemj.base.models.serializer.CommentOptionsExtensionSerializer;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.Validatable;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class repesents a Steem "comment_options_extenson" object.
@@ -48,6 +47,6 @@ import eu.bittrade.libs.steemj.interfaces.Validatable;
 public abstract class CommentOptionsExtension implements ByteTransformable, Validatable {
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -21,14 +21,13 @@ import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import eu.bittrade.libs.steemj.enums.CommentOptionsExtensionsType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -78,7 +77,7 @@ public class CommentPayoutBeneficiaries extends CommentOptionsExtension {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -18,11 +18,10 @@ package eu.bittrade.libs.steemj.base.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "feed_history_api_obj" object.
@@ -66,6 +65,6 @@ public class FeedHistory {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
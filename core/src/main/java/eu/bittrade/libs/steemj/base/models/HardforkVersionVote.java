@@ -19,7 +19,6 @@ package eu.bittrade.libs.steemj.base.models;
 import java.io.IOException;
 
 import org.apache.commons.io.output.ByteArrayOutputStream;
-import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -29,6 +28,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.HardforkVersion;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "hardfork_version_vote"
@@ -91,7 +91,7 @@ public class HardforkVersionVote extends BlockHeaderExtensions {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -18,9 +18,8 @@ package eu.bittrade.libs.steemj.base.models;
 
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Graphene Chain "liquidity_balance" object.
@@ -49,6 +48,6 @@ public class LiquidityBalance {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,13 +18,12 @@ package eu.bittrade.libs.steemj.base.models;
 
 import java.security.InvalidParameterException;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -84,22 +83,44 @@ public class Permlink implements ByteTransformable {
     public void setLink(String link) {
         if (link == null) {
             this.link = "";
+        } else if (link.isEmpty()) {
+            this.link = link;
         } else {
-            if (!link.isEmpty()) {
-                if (link.length() < 0 || link.length() > 256) {
-                    throw new InvalidParameterException(
-                            "A permlink needs to have a minimum length of 0 and a maximum length of 256.");
-                } else if (!link.matches("^[a-z0-9\\-]{0,256}")) {
-                    throw new InvalidParameterException(
-                            "The provided permlink contains invalid characters. Only 'a-z', '0-9' and '-' are allowed. "
-                                    + "If copied from steemit.com, the permlink is only the part of the URL after the last '/'.");
-                }
+            if (link.length() > 256) {
+                throw new InvalidParameterException(
+                        "A permlink needs to have a minimum length of 0 and a maximum length of 256.");
+            } else if (!hasValidCharacters(link)) {
+                throw new InvalidParameterException(
+                        "The provided permlink contains invalid characters. Only 'a-z', '0-9' and '-' are allowed. "
+                                + "If copied from steemit.com, the permlink is only the part of the URL after the last '/'.");
             }
 
             this.link = link;
         }
     }
 
+    /**
+     * Check that the given <code>link</code> only contains "a-z", "0-9" and
+     * "-" without using a regular expression, as this method is called for
+     * every permlink found in a block.
+     * 
+     * @param link
+     *            The link to check.
+     * @return <code>true</code> if all characters are valid, otherwise
+     *         <code>false</code>.
+     */
+    private static boolean hasValidCharacters(String link) {
+        for (int i = 0; i < link.length(); i++) {
+            char currentChar = link.charAt(i);
+            if ((currentChar < 'a' || currentChar > 'z') && (currentChar < '0' || currentChar > '9')
+                    && currentChar != '-') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     @Override
     public byte[] toByteArray() throws SteemInvalidTransactionException {
         return SteemJUtils.transformStringToVarIntByteArray(this.getLink());
@@ -107,7 +128,7 @@ public class Permlink implements ByteTransformable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
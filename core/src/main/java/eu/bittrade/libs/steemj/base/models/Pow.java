@@ -17,9 +17,13 @@
 package eu.bittrade.libs.steemj.base.models;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.base.models.deserializer.Sha256HashDeserializer;
+import eu.bittrade.libs.steemj.base.models.serializer.Sha256HashSerializer;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
@@ -34,12 +38,16 @@ public class Pow implements ByteTransformable {
     private PublicKey worker;
     // Original type is "digest_type" which is a "fc:sha256" object.
     @JsonProperty("input")
+    @JsonSerialize(using = Sha256HashSerializer.class)
+    @JsonDeserialize(using = Sha256HashDeserializer.class)
     private Sha256Hash input;
     // TODO: signature_type signature;
     @JsonProperty("signature")
     private String signature;
     // Original type is "digest_type" which is a "fc:sha256" object.
     @JsonProperty("work")
+    @JsonSerialize(using = Sha256HashSerializer.class)
+    @JsonDeserialize(using = Sha256HashDeserializer.class)
     private Sha256Hash work;
 
     public Pow() {
@@ -0,0 +1,191 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemTransformationException;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
+/**
+ * This class is a lightweight view of a response object that has been parsed
+ * using a {@link Projection}. It only contains the fields selected by the
+ * projection and transforms them into their Java representation on request.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ProjectedObject {
+    /** The selected fields as returned by the Steem Node. */
+    private final ObjectNode fields;
+
+    /**
+     * Create a new view of the given fields.
+     * 
+     * @param fields
+     *            The selected fields as returned by the Steem Node.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public ProjectedObject(ObjectNode fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Get the names of the fields contained in this object. Fields selected by
+     * the projection but not returned by the Steem Node are not part of this
+     * set.
+     * 
+     * @return The JSON names of the fields contained in this object.
+     */
+    public Set<String> getFieldNames() {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        for (Iterator<String> fieldNameIterator = fields.fieldNames(); fieldNameIterator.hasNext();) {
+            fieldNames.add(fieldNameIterator.next());
+        }
+
+        return fieldNames;
+    }
+
+    /**
+     * Check if this object contains the field with the given name.
+     * 
+     * @param fieldName
+     *            The JSON name of the field.
+     * @return <code>true</code> if the field is present, otherwise
+     *         <code>false</code>.
+     */
+    public boolean has(String fieldName) {
+        return fields.has(fieldName);
+    }
+
+    /**
+     * Get the raw JSON value of a field.
+     * 
+     * @param fieldName
+     *            The JSON name of the field.
+     * @return The raw JSON value or <code>null</code> if this object does not
+     *         contain the field.
+     */
+    public JsonNode getNode(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * Transform the value of a field into its Java representation.
+     * 
+     * <b>Example</b>
+     * <p>
+     * <code>account.get("balance", LegacyAsset.class)</code>
+     * </p>
+     * 
+     * @param fieldName
+     *            The JSON name of the field.
+     * @param type
+     *            The type to transform the value to.
+     * @param <T>
+     *            The type of the value.
+     * @return The value or <code>null</code> if this object does not contain
+     *         the field.
+     * @throws SteemTransformationException
+     *             If the value can not be transformed into the given
+     *             <code>type</code>.
+     */
+    public <T> T get(String fieldName, Class<T> type) throws SteemTransformationException {
+        ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+        return get(fieldName, mapper.getTypeFactory().constructType(type), mapper);
+    }
+
+    /**
+     * Transform the value of a field into its Java representation. This
+     * method is required for generic types like lists.
+     * 
+     * @param fieldName
+     *            The JSON name of the field.
+     * @param typeReference
+     *            The type to transform the value to.
+     * @param <T>
+     *            The type of the value.
+     * @return The value or <code>null</code> if this object does not contain
+     *         the field.
+     * @throws SteemTransformationException
+     *             If the value can not be transformed into the given
+     *             <code>type</code>.
+     */
+    public <T> T get(String fieldName, TypeReference<T> typeReference) throws SteemTransformationException {
+        ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+        return get(fieldName, mapper.getTypeFactory().constructType(typeReference), mapper);
+    }
+
+    /**
+     * Transform the value of a field into the given <code>type</code>.
+     */
+    private <T> T get(String fieldName, JavaType type, ObjectMapper mapper)
+            throws SteemTransformationException {
+        JsonNode value = fields.get(fieldName);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return mapper.readerFor(type).readValue(value);
+        } catch (IOException e) {
+            throw new SteemTransformationException(
+                    "Could not transform the field '" + fieldName + "' into a " + type.getRawClass().getName() + ".",
+                    e);
+        }
+    }
+
+    /**
+     * Get the raw JSON representation of this object.
+     * 
+     * @return The selected fields as returned by the Steem Node.
+     */
+    @JsonValue
+    public ObjectNode toJson() {
+        return fields;
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject)
+            return true;
+        if (otherObject == null || !(otherObject instanceof ProjectedObject))
+            return false;
+        return this.fields.equals(((ProjectedObject) otherObject).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return DebugRenderer.render(this);
+    }
+}
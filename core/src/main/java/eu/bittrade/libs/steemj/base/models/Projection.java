@@ -0,0 +1,120 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
+/**
+ * A projection defines the fields of large response objects like accounts or
+ * discussions which are actually required. When a response is parsed, all
+ * other fields of those objects are skipped without creating a Java
+ * representation for them and the objects are returned as lightweight
+ * {@link ProjectedObject} instances.
+ * 
+ * <b>Example</b>
+ * <p>
+ * <code>Projection.of("name", "balance", "vesting_shares")</code>
+ * </p>
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public final class Projection {
+    /** The JSON names of the selected fields. */
+    private final Set<String> fieldNames;
+
+    /**
+     * Create a new projection.
+     * 
+     * @param fieldNames
+     *            The JSON names of the selected fields.
+     */
+    private Projection(Set<String> fieldNames) {
+        this.fieldNames = Collections.unmodifiableSet(fieldNames);
+    }
+
+    /**
+     * Create a projection selecting the given fields.
+     * 
+     * @param fieldNames
+     *            The JSON names of the fields to keep (e.g. "name" or
+     *            "vesting_shares").
+     * @return The projection.
+     * @throws InvalidParameterException
+     *             If no field name or an empty field name has been provided.
+     */
+    public static Projection of(String... fieldNames) {
+        if (fieldNames == null || fieldNames.length == 0) {
+            throw new InvalidParameterException("A projection needs to select at least one field.");
+        }
+
+        Set<String> selectedFieldNames = new LinkedHashSet<>(Arrays.asList(fieldNames));
+        for (String fieldName : selectedFieldNames) {
+            if (fieldName == null || fieldName.isEmpty()) {
+                throw new InvalidParameterException("The field names of a projection can't be empty.");
+            }
+        }
+
+        return new Projection(selectedFieldNames);
+    }
+
+    /**
+     * Get the JSON names of the selected fields.
+     * 
+     * @return The JSON names of the selected fields in the order they have
+     *         been provided.
+     */
+    public Set<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * Check if the field with the given name is selected by this projection.
+     * 
+     * @param fieldName
+     *            The JSON name of the field.
+     * @return <code>true</code> if the field should be kept, otherwise
+     *         <code>false</code>.
+     */
+    public boolean contains(String fieldName) {
+        return fieldNames.contains(fieldName);
+    }
+
+    @Override
+    public boolean equals(Object otherProjection) {
+        if (this == otherProjection)
+            return true;
+        if (otherProjection == null || !(otherProjection instanceof Projection))
+            return false;
+        return this.fieldNames.equals(((Projection) otherProjection).fieldNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return fieldNames.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return DebugRenderer.render(this);
+    }
+}
@@ -19,9 +19,12 @@ package eu.bittrade.libs.steemj.base.models;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 
 import org.joou.UInteger;
 
+import com.fasterxml.jackson.annotation.JsonValue;
+
 import eu.bittrade.crypto.core.CryptoUtils;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
@@ -34,6 +37,8 @@ import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 public abstract class Ripemd160 implements ByteTransformable, Serializable {
     /** Generated serial uid. */
     private static final long serialVersionUID = 7984783145088522082L;
+    /** The size of a ripemd160 hash in bytes. */
+    public static final int HASH_SIZE = 20;
     /**
      * Contains the ripemd160.
      */
@@ -79,6 +84,25 @@ public abstract class Ripemd160 implements ByteTransformable, Serializable {
         this.hashValue = hashValue;
     }
 
+    /**
+     * Set the hash value by copying the {@link #HASH_SIZE} bytes stored at the
+     * given <code>offset</code> of <code>source</code>. If this object already
+     * wraps a hash, its byte array is overwritten instead of allocating a new
+     * one, so a single instance can be reused for multiple hashes.
+     * 
+     * @param source
+     *            The array containing the hash.
+     * @param offset
+     *            The position of the hash in <code>source</code>.
+     */
+    public void setHashValue(byte[] source, int offset) {
+        if (this.hashValue == null || this.hashValue.length != HASH_SIZE) {
+            this.hashValue = new byte[HASH_SIZE];
+        }
+
+        System.arraycopy(source, offset, this.hashValue, 0, HASH_SIZE);
+    }
+
     /**
      * Set the hash value by providing its encoded String representation.
      * 
@@ -94,8 +118,27 @@ public abstract class Ripemd160 implements ByteTransformable, Serializable {
         return this.hashValue;
     }
 
+    /**
+     * @return The HEX representation of the hash, which is also used in JSON.
+     */
     @Override
+    @JsonValue
     public String toString() {
         return CryptoUtils.HEX.encode(this.hashValue);
     }
+
+    @Override
+    public boolean equals(Object otherRipemd160) {
+        if (this == otherRipemd160)
+            return true;
+        if (otherRipemd160 == null || this.getClass() != otherRipemd160.getClass())
+            return false;
+        Ripemd160 other = (Ripemd160) otherRipemd160;
+        return Arrays.equals(this.hashValue, other.hashValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.hashValue);
+    }
 }
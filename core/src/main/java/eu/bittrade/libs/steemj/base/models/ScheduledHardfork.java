@@ -16,12 +16,11 @@
  */
 package eu.bittrade.libs.steemj.base.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.HardforkVersion;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This object represents the Steem "scheduled_hardfork" object.
@@ -57,6 +56,6 @@ public class ScheduledHardfork {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,13 +18,12 @@ package eu.bittrade.libs.steemj.base.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.PublicKey;
 import eu.bittrade.libs.steemj.protocol.SignedBlock;
 import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "signed_block_with_info"
@@ -94,6 +93,6 @@ public class SignedBlockWithInfo extends SignedBlock {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -17,7 +17,6 @@
 package eu.bittrade.libs.steemj.base.models.deserializer;
 
 import java.io.IOException;
-import java.math.BigDecimal;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -25,7 +24,6 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
-import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
 
 /**
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
@@ -35,19 +33,7 @@ public class AssetDeserializer extends JsonDeserializer<LegacyAsset> {
     public LegacyAsset deserialize(JsonParser jasonParser, DeserializationContext deserializationContext) throws IOException {
         JsonToken currentToken = jasonParser.currentToken();
         if (currentToken != null && JsonToken.VALUE_STRING.equals(currentToken)) {
-            String[] assetFields = jasonParser.getText().split(" ");
-
-            if (assetFields.length == 2) {
-                /*
-                 * Set the symbol first which calculates the precision
-                 * internally. internally.
-                 *
-                 * The amount is provided as a double value while we need a long
-                 * value for the byte representation so we transform the amount
-                 * into a long value here.
-                 */
-                return new LegacyAsset(new BigDecimal(assetFields[0]), LegacyAssetSymbolType.valueOf(assetFields[1]));
-            }
+            return LegacyAsset.parse(jasonParser.getText());
         }
 
         throw new IllegalArgumentException("Found '" + currentToken + "' instead of '" + JsonToken.VALUE_STRING + "'.");
@@ -0,0 +1,56 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models.deserializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.util.UtcDateTimeCodec;
+
+/**
+ * Reads a {@link TimePointSec} from the format used by Steem. The default
+ * format is parsed directly from the buffer of the parser using the
+ * {@link UtcDateTimeCodec}, so neither a String nor a formatter has to be
+ * created.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TimePointSecDeserializer extends JsonDeserializer<TimePointSec> {
+    @Override
+    public TimePointSec deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        JsonToken currentToken = jsonParser.currentToken();
+        if (currentToken != null && JsonToken.VALUE_STRING.equals(currentToken)) {
+            if (UtcDateTimeCodec.isApplicable()) {
+                long epochSeconds = UtcDateTimeCodec.parse(jsonParser.getTextCharacters(),
+                        jsonParser.getTextOffset(), jsonParser.getTextLength());
+                if (epochSeconds != Long.MIN_VALUE) {
+                    return new TimePointSec(epochSeconds * 1000);
+                }
+            }
+
+            return new TimePointSec(jsonParser.getText());
+        }
+
+        throw new IllegalArgumentException("Found '" + currentToken + "' instead of '" + JsonToken.VALUE_STRING + "'.");
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models.serializer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.util.UtcDateTimeCodec;
+
+/**
+ * Writes a {@link TimePointSec} in the format used by Steem. The default
+ * format is written using the {@link UtcDateTimeCodec}, so no formatter has to
+ * be created.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TimePointSecSerializer extends JsonSerializer<TimePointSec> {
+    @Override
+    public void serialize(TimePointSec timePointSec, JsonGenerator jsonGenerator,
+            SerializerProvider serializerProvider) throws IOException {
+        long epochSeconds = timePointSec.getDateTimeAsEpochSeconds();
+        if (UtcDateTimeCodec.isApplicable() && UtcDateTimeCodec.isSupported(epochSeconds)) {
+            char[] buffer = new char[UtcDateTimeCodec.LENGTH];
+            UtcDateTimeCodec.format(epochSeconds, buffer);
+            jsonGenerator.writeString(buffer, 0, buffer.length);
+        } else {
+            jsonGenerator.writeString(timePointSec.getDateTime());
+        }
+    }
+}
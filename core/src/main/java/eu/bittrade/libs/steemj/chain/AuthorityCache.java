@@ -0,0 +1,477 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.base.models.Account;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.configuration.PrivateKeyStorage;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.database.DatabaseApi;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.FindAccountsArgs;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.SignedBlock;
+import eu.bittrade.libs.steemj.protocol.operations.AccountUpdateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.RecoverAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ResetAccountOperation;
+
+/**
+ * This class caches the owner, active and posting authorities of accounts, so
+ * the keys required to sign a transaction can be resolved locally (see
+ * {@link SignedTransaction#getRequiredSignatureKeys()}).
+ * 
+ * Unknown accounts are only requested from the Steem node if a communication
+ * handler has been provided (see
+ * {@link eu.bittrade.libs.steemj.SteemJ#createAuthorityCache()}). Otherwise,
+ * only authorities added via
+ * {@link #put(AccountName, Authority, Authority, Authority)} are used. Cached
+ * authorities stay valid until the account changes them, so the blocks of the
+ * chain should be passed to {@link #processBlock(SignedBlock)} to invalidate
+ * the affected entries.
+ * 
+ * This class is thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class AuthorityCache {
+    /**
+     * The maximal depth of nested account authorities that are resolved, which
+     * is the same limit the Steem node applies.
+     */
+    private static final int MAXIMUM_RECURSION_DEPTH = 2;
+    /**
+     * The maximal number of keys and accounts of a single authority level for
+     * which the minimal set of keys is searched exhaustively.
+     */
+    private static final int MAXIMUM_EXACT_CANDIDATES = 16;
+
+    private final ConcurrentMap<AccountName, Map<PrivateKeyType, Authority>> authoritiesPerAccount;
+    private final CommunicationHandler communicationHandler;
+
+    /**
+     * Create a new authority cache that only contains authorities added via
+     * {@link #put(AccountName, Authority, Authority, Authority)}.
+     */
+    public AuthorityCache() {
+        this(null);
+    }
+
+    /**
+     * Create a new authority cache that requests unknown accounts using the
+     * given <code>communicationHandler</code>.
+     * 
+     * @param communicationHandler
+     *            The communication handler used to request accounts or
+     *            <code>null</code> to disable requests. The handler is not
+     *            closed by this cache.
+     */
+    public AuthorityCache(CommunicationHandler communicationHandler) {
+        this.communicationHandler = communicationHandler;
+        this.authoritiesPerAccount = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the authority of the given type for the given account.
+     * 
+     * @param accountName
+     *            The account to get the authority for.
+     * @param privateKeyType
+     *            The type of the authority, which is either
+     *            {@link PrivateKeyType#OWNER}, {@link PrivateKeyType#ACTIVE}
+     *            or {@link PrivateKeyType#POSTING}.
+     * @return The authority or <code>null</code> if the account is not known.
+     * @throws SteemCommunicationException
+     *             If the account could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    public Authority getAuthority(AccountName accountName, PrivateKeyType privateKeyType)
+            throws SteemCommunicationException, SteemResponseException {
+        Map<PrivateKeyType, Authority> authorities = authoritiesPerAccount.get(accountName);
+        if (authorities == null && isRequestingAccounts()) {
+            List<AccountName> accountNames = new ArrayList<>();
+            accountNames.add(accountName);
+            prefetch(accountNames);
+
+            authorities = authoritiesPerAccount.get(accountName);
+        }
+
+        return authorities == null ? null : authorities.get(privateKeyType);
+    }
+
+    /**
+     * Request the authorities of all given accounts that are not cached yet
+     * with a single request.
+     * 
+     * @param accountNames
+     *            The accounts to request.
+     * @throws SteemCommunicationException
+     *             If the accounts could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    public void prefetch(List<AccountName> accountNames) throws SteemCommunicationException, SteemResponseException {
+        List<AccountName> unknownAccountNames = new ArrayList<>();
+        for (AccountName accountName : accountNames) {
+            if (!authoritiesPerAccount.containsKey(accountName)) {
+                unknownAccountNames.add(accountName);
+            }
+        }
+
+        if (unknownAccountNames.isEmpty() || !isRequestingAccounts()) {
+            return;
+        }
+
+        for (Account account : requestAccounts(unknownAccountNames)) {
+            put(account.getName(), account.getOwner(), account.getActive(), account.getPosting());
+        }
+    }
+
+    /**
+     * Add or replace the authorities of an account.
+     * 
+     * @param accountName
+     *            The account the authorities belong to.
+     * @param owner
+     *            The owner authority.
+     * @param active
+     *            The active authority.
+     * @param posting
+     *            The posting authority.
+     */
+    public void put(AccountName accountName, Authority owner, Authority active, Authority posting) {
+        Map<PrivateKeyType, Authority> authorities = new EnumMap<>(PrivateKeyType.class);
+        authorities.put(PrivateKeyType.OWNER, owner);
+        authorities.put(PrivateKeyType.ACTIVE, active);
+        authorities.put(PrivateKeyType.POSTING, posting);
+
+        authoritiesPerAccount.put(accountName, authorities);
+    }
+
+    /**
+     * Remove the authorities of an account from this cache.
+     * 
+     * @param accountName
+     *            The account to remove.
+     */
+    public void invalidate(AccountName accountName) {
+        authoritiesPerAccount.remove(accountName);
+    }
+
+    /**
+     * Remove the authorities of all accounts that are changed by an operation
+     * of the given block.
+     * 
+     * @param signedBlock
+     *            The block to process.
+     */
+    public void processBlock(SignedBlock signedBlock) {
+        if (signedBlock.getTransactions() == null) {
+            return;
+        }
+
+        for (SignedTransaction signedTransaction : signedBlock.getTransactions()) {
+            for (Operation operation : signedTransaction.getOperations()) {
+                if (operation instanceof AccountUpdateOperation) {
+                    invalidate(((AccountUpdateOperation) operation).getAccount());
+                } else if (operation instanceof RecoverAccountOperation) {
+                    invalidate(((RecoverAccountOperation) operation).getAccountToRecover());
+                } else if (operation instanceof ResetAccountOperation) {
+                    invalidate(((ResetAccountOperation) operation).getAccountToReset());
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all authorities from this cache.
+     */
+    public void clear() {
+        authoritiesPerAccount.clear();
+    }
+
+    /**
+     * Select the smallest set of private keys from the given
+     * <code>privateKeyStorage</code> that satisfies the weight threshold of the
+     * given <code>authority</code>.
+     * 
+     * If an authority level has up to 16 usable keys and accounts, all
+     * combinations are checked and the one requiring the fewest keys is used.
+     * Larger levels pick the heaviest keys and accounts first, which may need
+     * more signatures than necessary. Account authorities are resolved using
+     * the posting authority of the referenced account if a posting authority
+     * is required and using its active authority otherwise. Each referenced
+     * account is resolved on its own, so keys shared between accounts are not
+     * taken into account when the accounts are compared.
+     * 
+     * @param authority
+     *            The authority to satisfy.
+     * @param privateKeyType
+     *            The type of the authority.
+     * @param privateKeyStorage
+     *            The storage to pick the private keys from.
+     * @return The private keys required to satisfy the authority.
+     * @throws SteemInvalidTransactionException
+     *             If the threshold can not be reached with the stored keys or
+     *             if a referenced account could not be requested.
+     */
+    public List<ECKey> getRequiredPrivateKeys(Authority authority, PrivateKeyType privateKeyType,
+            PrivateKeyStorage privateKeyStorage) throws SteemInvalidTransactionException {
+        PrivateKeyType accountAuthorityType = PrivateKeyType.POSTING.equals(privateKeyType) ? PrivateKeyType.POSTING
+                : PrivateKeyType.ACTIVE;
+
+        List<ECKey> requiredPrivateKeys;
+        try {
+            requiredPrivateKeys = resolve(authority, accountAuthorityType, privateKeyStorage, 0);
+        } catch (SteemCommunicationException | SteemResponseException e) {
+            throw new SteemInvalidTransactionException("Could not request the authorities of an account.", e);
+        }
+
+        if (requiredPrivateKeys == null) {
+            throw new SteemInvalidTransactionException(
+                    "The stored private keys do not satisfy the " + privateKeyType + " authority " + authority + ".");
+        }
+
+        return requiredPrivateKeys;
+    }
+
+    /**
+     * Resolve the keys for a single authority level.
+     * 
+     * @return The keys or <code>null</code> if the threshold can't be
+     *         reached.
+     */
+    private List<ECKey> resolve(Authority authority, PrivateKeyType accountAuthorityType,
+            PrivateKeyStorage privateKeyStorage, int depth)
+            throws SteemCommunicationException, SteemResponseException {
+        List<Candidate> candidates = new ArrayList<>();
+
+        for (Entry<PublicKey, Integer> keyAuth : authority.getKeyAuths().entrySet()) {
+            ECKey privateKey = privateKeyStorage.getKeyForPublicKey(keyAuth.getKey());
+            if (privateKey != null && keyAuth.getValue() > 0) {
+                List<ECKey> privateKeys = new ArrayList<>();
+                privateKeys.add(privateKey);
+                candidates.add(new Candidate(keyAuth.getValue(), privateKeys));
+            }
+        }
+
+        if (depth < MAXIMUM_RECURSION_DEPTH && !authority.getAccountAuths().isEmpty()) {
+            prefetch(new ArrayList<>(authority.getAccountAuths().keySet()));
+
+            for (Entry<AccountName, Integer> accountAuth : authority.getAccountAuths().entrySet()) {
+                Authority accountAuthority = getAuthority(accountAuth.getKey(), accountAuthorityType);
+                if (accountAuthority == null || accountAuth.getValue() <= 0) {
+                    continue;
+                }
+
+                List<ECKey> privateKeys = resolve(accountAuthority, accountAuthorityType, privateKeyStorage,
+                        depth + 1);
+                if (privateKeys != null) {
+                    candidates.add(new Candidate(accountAuth.getValue(), privateKeys));
+                }
+            }
+        }
+
+        List<Candidate> selectedCandidates = candidates.size() <= MAXIMUM_EXACT_CANDIDATES
+                ? selectMinimalCandidates(candidates, authority.getWeightThreshold())
+                : selectHeaviestCandidates(candidates, authority.getWeightThreshold());
+        if (selectedCandidates == null) {
+            return null;
+        }
+
+        List<ECKey> requiredPrivateKeys = new ArrayList<>();
+        for (Candidate candidate : selectedCandidates) {
+            for (ECKey privateKey : candidate.privateKeys) {
+                if (!requiredPrivateKeys.contains(privateKey)) {
+                    requiredPrivateKeys.add(privateKey);
+                }
+            }
+        }
+
+        return requiredPrivateKeys;
+    }
+
+    /**
+     * Check all combinations of the <code>candidates</code> and select the one
+     * that reaches the <code>weightThreshold</code> with the fewest distinct
+     * keys.
+     * 
+     * @return The selected candidates or <code>null</code> if the threshold
+     *         can't be reached.
+     */
+    private static List<Candidate> selectMinimalCandidates(List<Candidate> candidates, long weightThreshold) {
+        List<ECKey> distinctKeys = new ArrayList<>();
+        long[] keyMasks = new long[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            for (ECKey privateKey : candidates.get(i).privateKeys) {
+                int keyIndex = distinctKeys.indexOf(privateKey);
+                if (keyIndex < 0) {
+                    keyIndex = distinctKeys.size();
+                    distinctKeys.add(privateKey);
+                }
+
+                if (keyIndex >= Long.SIZE) {
+                    return selectHeaviestCandidates(candidates, weightThreshold);
+                }
+                keyMasks[i] |= 1L << keyIndex;
+            }
+        }
+
+        // The weight and the keys of each combination are derived from the
+        // combination without its lowest candidate.
+        int numberOfCombinations = 1 << candidates.size();
+        long[] weights = new long[numberOfCombinations];
+        long[] combinedKeyMasks = new long[numberOfCombinations];
+        int bestCombination = -1;
+        int bestNumberOfKeys = Integer.MAX_VALUE;
+        for (int combination = 1; combination < numberOfCombinations; combination++) {
+            int lowestCandidate = Integer.numberOfTrailingZeros(combination);
+            int remainingCombination = combination & (combination - 1);
+            weights[combination] = weights[remainingCombination] + candidates.get(lowestCandidate).weight;
+            combinedKeyMasks[combination] = combinedKeyMasks[remainingCombination] | keyMasks[lowestCandidate];
+
+            int numberOfKeys = Long.bitCount(combinedKeyMasks[combination]);
+            if (weights[combination] >= weightThreshold && numberOfKeys < bestNumberOfKeys) {
+                bestCombination = combination;
+                bestNumberOfKeys = numberOfKeys;
+            }
+        }
+
+        if (bestCombination < 0) {
+            return null;
+        }
+
+        List<Candidate> selectedCandidates = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if ((bestCombination & (1 << i)) != 0) {
+                selectedCandidates.add(candidates.get(i));
+            }
+        }
+
+        return selectedCandidates;
+    }
+
+    /**
+     * Select the heaviest <code>candidates</code> until the
+     * <code>weightThreshold</code> is reached and drop the ones that are not
+     * needed afterwards.
+     * 
+     * @return The selected candidates or <code>null</code> if the threshold
+     *         can't be reached.
+     */
+    private static List<Candidate> selectHeaviestCandidates(List<Candidate> candidates, long weightThreshold) {
+        List<Candidate> sortedCandidates = new ArrayList<>(candidates);
+        Collections.sort(sortedCandidates);
+
+        List<Candidate> selectedCandidates = new ArrayList<>();
+        long totalWeight = 0;
+        for (Candidate candidate : sortedCandidates) {
+            if (totalWeight >= weightThreshold) {
+                break;
+            }
+
+            selectedCandidates.add(candidate);
+            totalWeight += candidate.weight;
+        }
+
+        if (totalWeight < weightThreshold) {
+            return null;
+        }
+
+        // Drop candidates that are not needed to reach the threshold, starting
+        // with the lightest one.
+        for (int i = selectedCandidates.size() - 1; i >= 0; i--) {
+            if (totalWeight - selectedCandidates.get(i).weight >= weightThreshold) {
+                totalWeight -= selectedCandidates.remove(i).weight;
+            }
+        }
+
+        return selectedCandidates;
+    }
+
+    /**
+     * @return The number of cached accounts.
+     */
+    public int size() {
+        return authoritiesPerAccount.size();
+    }
+
+    /**
+     * Request the given accounts from the Steem node.
+     * 
+     * @param accountNames
+     *            The accounts to request.
+     * @return The found accounts.
+     * @throws SteemCommunicationException
+     *             If the accounts could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    protected List<Account> requestAccounts(List<AccountName> accountNames)
+            throws SteemCommunicationException, SteemResponseException {
+        return DatabaseApi.findAccounts(communicationHandler, new FindAccountsArgs(accountNames)).getAccounts();
+    }
+
+    /**
+     * @return <code>true</code> if unknown accounts are requested from the
+     *         Steem node.
+     */
+    private boolean isRequestingAccounts() {
+        return communicationHandler != null;
+    }
+
+    /**
+     * A key or an account that contributes to an authority, ordered by a
+     * descending weight and an ascending number of required keys.
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        private final int weight;
+        private final List<ECKey> privateKeys;
+
+        /**
+         * Create a new candidate.
+         */
+        private Candidate(int weight, List<ECKey> privateKeys) {
+            this.weight = weight;
+            this.privateKeys = privateKeys;
+        }
+
+        @Override
+        public int compareTo(Candidate otherCandidate) {
+            if (this.weight != otherCandidate.weight) {
+                return Integer.compare(otherCandidate.weight, this.weight);
+            }
+
+            return Integer.compare(this.privateKeys.size(), otherCandidate.privateKeys.size());
+        }
+    }
+}
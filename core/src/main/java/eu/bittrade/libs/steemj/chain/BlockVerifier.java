@@ -0,0 +1,193 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+
+/**
+ * This class allows to verify a range of blocks received from an untrusted
+ * source in parallel.
+ *
+ * Each block is {@link ExtendedSignedBlock#verify() verified} on a dedicated
+ * {@link ForkJoinPool} owned by this instance. Afterwards, the blocks are
+ * checked to form a chain: If two blocks of the given list have consecutive
+ * block numbers, the {@link ExtendedSignedBlock#getPrevious() previous id} of
+ * the later one needs to match the {@link ExtendedSignedBlock#getBlockId() id}
+ * of the earlier one.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BlockVerifier implements AutoCloseable {
+    /**
+     * The amount of blocks verified by a single task without splitting it any
+     * further.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Create a new BlockVerifier that uses one thread per available processor.
+     */
+    public BlockVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a new BlockVerifier.
+     *
+     * @param parallelism
+     *            The amount of threads used to verify blocks.
+     * @throws InvalidParameterException
+     *             If the <code>parallelism</code> is less than 1.
+     */
+    public BlockVerifier(int parallelism) {
+        if (parallelism < 1) {
+            throw new InvalidParameterException("The parallelism needs to be at least 1.");
+        }
+
+        this.forkJoinPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Verify the given <code>blocks</code> in parallel.
+     *
+     * @param blocks
+     *            The blocks to verify, ordered by their block number.
+     * @return The blocks that are invalid or do not link to their predecessor,
+     *         in the order of the given <code>blocks</code>. An empty list is
+     *         returned if all blocks are valid.
+     */
+    public List<ExtendedSignedBlock> verify(List<ExtendedSignedBlock> blocks) {
+        ExtendedSignedBlock[] blocksToVerify = blocks.toArray(new ExtendedSignedBlock[blocks.size()]);
+        boolean[] validBlocks = new boolean[blocksToVerify.length];
+
+        forkJoinPool.invoke(new VerificationTask(blocksToVerify, validBlocks, false, 0, blocksToVerify.length));
+
+        List<ExtendedSignedBlock> invalidBlocks = new ArrayList<>();
+        for (int i = 0; i < blocksToVerify.length; i++) {
+            if (!validBlocks[i]
+                    || (i > 0 && validBlocks[i - 1] && !isLinked(blocksToVerify[i - 1], blocksToVerify[i]))) {
+                invalidBlocks.add(blocksToVerify[i]);
+            }
+        }
+
+        return invalidBlocks;
+    }
+
+    /**
+     * Verify the {@link ExtendedSignedBlock#getTransactionMerkleRoot() merkle
+     * roots} of the given <code>blocks</code> in parallel.
+     *
+     * @param blocks
+     *            The blocks to verify.
+     * @return The blocks whose transactions do not match their merkle root, in
+     *         the order of the given <code>blocks</code>. An empty list is
+     *         returned if all blocks are valid.
+     */
+    public List<ExtendedSignedBlock> verifyTransactionMerkleRoots(List<ExtendedSignedBlock> blocks) {
+        ExtendedSignedBlock[] blocksToVerify = blocks.toArray(new ExtendedSignedBlock[blocks.size()]);
+        boolean[] validBlocks = new boolean[blocksToVerify.length];
+
+        forkJoinPool.invoke(new VerificationTask(blocksToVerify, validBlocks, true, 0, blocksToVerify.length));
+
+        List<ExtendedSignedBlock> invalidBlocks = new ArrayList<>();
+        for (int i = 0; i < blocksToVerify.length; i++) {
+            if (!validBlocks[i]) {
+                invalidBlocks.add(blocksToVerify[i]);
+            }
+        }
+
+        return invalidBlocks;
+    }
+
+    /**
+     * Check that <code>block</code> references <code>predecessor</code> in
+     * case they have consecutive block numbers.
+     */
+    private static boolean isLinked(ExtendedSignedBlock predecessor, ExtendedSignedBlock block) {
+        if (predecessor.getBlockNumber() + 1 != block.getBlockNumber()) {
+            return true;
+        }
+
+        return block.getPrevious().equals(predecessor.getBlockId());
+    }
+
+    /**
+     * Shut down the thread pool used by this instance.
+     */
+    @Override
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    /**
+     * This task verifies either the headers or the merkle roots of a range of
+     * blocks and splits itself as long as the range is larger than the
+     * {@link #SEQUENTIAL_THRESHOLD}.
+     */
+    private static class VerificationTask extends RecursiveAction {
+        private static final long serialVersionUID = 2398517430969437622L;
+
+        private final transient ExtendedSignedBlock[] blocks;
+        private final boolean[] validBlocks;
+        private final boolean verifyMerkleRoots;
+        private final int start;
+        private final int end;
+
+        /**
+         * Create a new verification task for the blocks between
+         * <code>start</code> (inclusive) and <code>end</code> (exclusive).
+         */
+        private VerificationTask(ExtendedSignedBlock[] blocks, boolean[] validBlocks, boolean verifyMerkleRoots,
+                int start, int end) {
+            this.blocks = blocks;
+            this.validBlocks = validBlocks;
+            this.verifyMerkleRoots = verifyMerkleRoots;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    try {
+                        if (verifyMerkleRoots) {
+                            validBlocks[i] = blocks[i].verifyTransactionMerkleRoot(null);
+                        } else {
+                            validBlocks[i] = blocks[i].verify();
+                        }
+                    } catch (RuntimeException e) {
+                        // Incomplete blocks are treated as invalid.
+                        validBlocks[i] = false;
+                    }
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new VerificationTask(blocks, validBlocks, verifyMerkleRoots, start, middle),
+                        new VerificationTask(blocks, validBlocks, verifyMerkleRoots, middle, end));
+            }
+        }
+    }
+}
@@ -16,12 +16,11 @@
  */
 package eu.bittrade.libs.steemj.chain;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "change_recovery_account_request_object"
@@ -77,6 +76,6 @@ public class ChangeRecoveryAccountRequest {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
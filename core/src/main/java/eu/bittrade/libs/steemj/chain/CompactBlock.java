@@ -0,0 +1,973 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joou.UInteger;
+import org.joou.UShort;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.enums.OperationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.OperationDecoder;
+import eu.bittrade.libs.steemj.protocol.operations.Pow2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.util.ByteArrayReader;
+import eu.bittrade.libs.steemj.util.SteemJUtils;
+
+/**
+ * A memory efficient, read only representation of an
+ * {@link ExtendedSignedBlock}.
+ * 
+ * Instead of one object per field, transaction and operation, this class only
+ * uses a few primitive arrays: Dates are stored as seconds, hashes and
+ * signatures as plain bytes and each operation as a slice of a single byte
+ * array holding its binary representation (see {@link Operation#toByteArray()
+ * toByteArray()}). Names like the witness of the block are stored as indices
+ * of a {@link StringTable} which can be shared between all blocks. This
+ * allows ingest jobs to keep a large number of blocks in memory.
+ * 
+ * The pow, pow2 and report over production operations of the early chain have
+ * no binary representation in SteemJ (see
+ * {@link OperationDecoder#isSupported(Operation)}). They are stored as their
+ * operation id followed by their JSON representation instead, so blocks can
+ * be backfilled from the genesis block on. Those slices are larger and slower
+ * to decode, but they are rare.
+ * 
+ * Compact blocks are either created from an {@link ExtendedSignedBlock} or,
+ * to avoid creating an object graph per block, filled directly by a streaming
+ * parser using a {@link Builder}. The operations and transactions are only
+ * decoded on request. The whole block can be transformed back using
+ * {@link #toExtendedSignedBlock()}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class CompactBlock {
+    /** The size of block ids, transaction ids and merkle roots. */
+    private static final int HASH_SIZE = 20;
+    /** The size of a compact signature. */
+    private static final int SIGNATURE_SIZE = 65;
+    /** Marks an optional string which is not present. */
+    private static final int NO_INDEX = -1;
+
+    private final StringTable stringTable;
+
+    private final byte[] blockId;
+    private final byte[] previous;
+    /** The timestamp in seconds since the epoch. */
+    private final int timestamp;
+    private final int witness;
+    private final byte[] transactionMerkleRoot;
+    private final List<BlockHeaderExtensions> extensions;
+    private final byte[] witnessSignature;
+    private final int signingKey;
+
+    private final short[] refBlockNums;
+    private final int[] refBlockPrefixes;
+    /** The expiration dates in seconds since the epoch. */
+    private final int[] expirationDates;
+    private final int[] numbersOfExtensions;
+    /** The ids of all transactions, {@link #HASH_SIZE} bytes each. */
+    private final byte[] transactionIds;
+    /** The index of the first operation of each transaction. */
+    private final int[] firstOperations;
+    /** The start of each operation in {@link #operations}. */
+    private final int[] operationOffsets;
+    /** The binary representation of all operations. */
+    private final byte[] operations;
+    /** The index of the first signature of each transaction. */
+    private final int[] firstSignatures;
+    /** All signatures, {@link #SIGNATURE_SIZE} bytes each. */
+    private final byte[] signatures;
+
+    /**
+     * Create a compact representation of the given <code>block</code>.
+     * 
+     * Sources which do not provide {@link ExtendedSignedBlock
+     * ExtendedSignedBlocks}, like streaming parsers, should fill a
+     * {@link Builder} instead, so no object graph has to be created for each
+     * block.
+     * 
+     * @param block
+     *            The block to store.
+     * @param stringTable
+     *            The table used to store the names of the block.
+     * @throws SteemInvalidTransactionException
+     *             If one of the operations or signatures can not be
+     *             serialized or if the <code>stringTable</code> is full.
+     * @throws InvalidParameterException
+     *             If one of the parameters is null.
+     */
+    public CompactBlock(ExtendedSignedBlock block, StringTable stringTable) throws SteemInvalidTransactionException {
+        this(toBuilder(SteemJUtils.setIfNotNull(block, "The block to store needs to be provided."), stringTable));
+    }
+
+    /**
+     * Create a compact block from the content of the given
+     * <code>builder</code>.
+     */
+    private CompactBlock(Builder builder) {
+        int numberOfTransactions = builder.numberOfTransactions;
+        int numberOfOperations = builder.numberOfOperations;
+
+        this.stringTable = builder.stringTable;
+        this.blockId = builder.blockId;
+        this.previous = builder.previous;
+        this.timestamp = builder.timestamp;
+        this.witness = builder.witness;
+        this.transactionMerkleRoot = builder.transactionMerkleRoot;
+        this.extensions = builder.extensions;
+        this.witnessSignature = builder.witnessSignature;
+        this.signingKey = builder.signingKey;
+
+        this.refBlockNums = Arrays.copyOf(builder.refBlockNums, numberOfTransactions);
+        this.refBlockPrefixes = Arrays.copyOf(builder.refBlockPrefixes, numberOfTransactions);
+        this.expirationDates = Arrays.copyOf(builder.expirationDates, numberOfTransactions);
+        this.numbersOfExtensions = Arrays.copyOf(builder.numbersOfExtensions, numberOfTransactions);
+        this.firstOperations = Arrays.copyOf(builder.firstOperations, numberOfTransactions + 1);
+        this.firstOperations[numberOfTransactions] = numberOfOperations;
+        this.firstSignatures = Arrays.copyOf(builder.firstSignatures, numberOfTransactions + 1);
+        this.firstSignatures[numberOfTransactions] = builder.numberOfSignatures;
+        this.operationOffsets = Arrays.copyOf(builder.operationOffsets, numberOfOperations + 1);
+        this.operationOffsets[numberOfOperations] = builder.operations.size();
+
+        this.operations = builder.operations.toByteArray();
+        this.signatures = builder.signatures.toByteArray();
+        this.transactionIds = builder.transactionIds.size() == numberOfTransactions * HASH_SIZE
+                ? builder.transactionIds.toByteArray() : null;
+    }
+
+    /**
+     * Fill a {@link Builder} with the content of the given <code>block</code>.
+     */
+    private static Builder toBuilder(ExtendedSignedBlock block, StringTable stringTable)
+            throws SteemInvalidTransactionException {
+        Builder builder = new Builder(stringTable).setPrevious(block.getPrevious().toByteArray())
+                .setTimestamp(block.getTimestamp().getDateTimeAsEpochSeconds())
+                .setWitness(block.getWitness().getName())
+                .setTransactionMerkleRoot(block.getTransactionMerkleRoot().toByteArray())
+                .setExtensions(block.getExtensions())
+                .setWitnessSignature(block.getWitnessSignatureAsByteArray());
+
+        if (block.getBlockId() != null) {
+            builder.setBlockId(block.getBlockId().toByteArray());
+        }
+        if (block.getSigningKey() != null) {
+            builder.setSigningKey(block.getSigningKey().getAddressFromPublicKey());
+        }
+
+        List<SignedTransaction> transactions = block.getTransactions() == null
+                ? new ArrayList<SignedTransaction>() : block.getTransactions();
+        for (SignedTransaction transaction : transactions) {
+            builder.addTransaction(transaction.getRefBlockNum().intValue(),
+                    transaction.getRefBlockPrefix().longValue(),
+                    transaction.getExpirationDate().getDateTimeAsEpochSeconds(), transaction.getExtensions().size());
+
+            for (Operation operation : transaction.getOperations()) {
+                builder.addOperation(operation);
+            }
+
+            for (String signature : transaction.getSignatures()) {
+                byte[] decodedSignature = CryptoUtils.HEX.decode(signature);
+                if (decodedSignature.length != SIGNATURE_SIZE) {
+                    throw new SteemInvalidTransactionException("The signature " + signature + " is invalid.");
+                }
+
+                builder.addSignature(decodedSignature);
+            }
+        }
+
+        List<TransactionId> ids = block.getTransactionIds();
+        if (ids != null && ids.size() == transactions.size()) {
+            for (TransactionId id : ids) {
+                builder.addTransactionId(id.toByteArray());
+            }
+        }
+
+        return builder;
+    }
+
+    /**
+     * Get the binary representation of the given <code>operation</code> or, if
+     * it has none, its operation id followed by its JSON representation.
+     */
+    private static byte[] serializeOperation(Operation operation) throws SteemInvalidTransactionException {
+        OperationType operationType;
+        if (OperationDecoder.isSupported(operation)) {
+            return operation.toByteArray();
+        } else if (operation instanceof PowOperation) {
+            operationType = OperationType.POW_OPERATION;
+        } else if (operation instanceof Pow2Operation) {
+            operationType = OperationType.POW2_OPERATION;
+        } else {
+            operationType = OperationType.REPORT_OVER_PRODUCTION_OPERATION;
+        }
+
+        try {
+            byte[] operationId = SteemJUtils.transformIntToVarIntByteArray(operationType.getOrderId());
+            byte[] json = CommunicationHandler.getObjectMapper().writerFor(Operation.class)
+                    .writeValueAsBytes(operation);
+
+            byte[] serializedOperation = Arrays.copyOf(operationId, operationId.length + json.length);
+            System.arraycopy(json, 0, serializedOperation, operationId.length, json.length);
+            return serializedOperation;
+        } catch (IOException e) {
+            throw new SteemInvalidTransactionException(
+                    "The " + operation.getClass().getSimpleName() + " can not be stored in a compact block.", e);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if operations of the given type are stored as
+     *         JSON, because they have no binary representation.
+     */
+    private static boolean isStoredAsJson(OperationType operationType) {
+        return operationType == OperationType.POW_OPERATION || operationType == OperationType.POW2_OPERATION
+                || operationType == OperationType.REPORT_OVER_PRODUCTION_OPERATION;
+    }
+
+    /**
+     * Copy the given hash and make sure it has the expected size.
+     */
+    private static byte[] copyHash(byte[] hash) throws SteemInvalidTransactionException {
+        if (hash.length != HASH_SIZE) {
+            throw new SteemInvalidTransactionException(
+                    "Expected a hash of " + HASH_SIZE + " bytes, but got " + hash.length + " bytes.");
+        }
+
+        return Arrays.copyOf(hash, HASH_SIZE);
+    }
+
+    /**
+     * @return The string table used to store the names of this block.
+     */
+    public StringTable getStringTable() {
+        return stringTable;
+    }
+
+    /**
+     * @return The number of this block, which is derived from the
+     *         {@link #getPrevious() id of the previous block}.
+     */
+    public int getBlockNumber() {
+        return ((previous[0] & 0xFF) << 24 | (previous[1] & 0xFF) << 16 | (previous[2] & 0xFF) << 8
+                | (previous[3] & 0xFF)) + 1;
+    }
+
+    /**
+     * @return The id of this block or <code>null</code> if it has not been
+     *         provided.
+     */
+    public BlockId getBlockId() {
+        return blockId == null ? null : new BlockId(CryptoUtils.HEX.encode(blockId));
+    }
+
+    /**
+     * @return The id of the previous block.
+     */
+    public BlockId getPrevious() {
+        return new BlockId(CryptoUtils.HEX.encode(previous));
+    }
+
+    /**
+     * @return The time this block has been produced in seconds since the
+     *         epoch.
+     */
+    public long getTimestampAsEpochSeconds() {
+        return timestamp & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return The time this block has been produced.
+     */
+    public TimePointSec getTimestamp() {
+        return new TimePointSec(getTimestampAsEpochSeconds() * 1000);
+    }
+
+    /**
+     * @return The index of the witness name in the {@link #getStringTable()
+     *         string table}.
+     */
+    public int getWitnessIndex() {
+        return witness;
+    }
+
+    /**
+     * @return The witness that has produced this block.
+     */
+    public AccountName getWitness() {
+        return new AccountName(stringTable.get(witness));
+    }
+
+    /**
+     * @return The merkle root of the transactions of this block.
+     */
+    public Checksum getTransactionMerkleRoot() {
+        return new Checksum(CryptoUtils.HEX.encode(transactionMerkleRoot));
+    }
+
+    /**
+     * @return The key of the witness that has signed this block or
+     *         <code>null</code> if it has not been provided.
+     */
+    public PublicKey getSigningKey() {
+        return signingKey == NO_INDEX ? null : new PublicKey(stringTable.get(signingKey));
+    }
+
+    /**
+     * @return The number of transactions in this block.
+     */
+    public int getNumberOfTransactions() {
+        return refBlockNums.length;
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The reference block number of the transaction.
+     */
+    public int getRefBlockNum(int transactionIndex) {
+        return refBlockNums[transactionIndex] & 0xFFFF;
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The reference block prefix of the transaction.
+     */
+    public long getRefBlockPrefix(int transactionIndex) {
+        return refBlockPrefixes[transactionIndex] & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The expiration date of the transaction in seconds since the
+     *         epoch.
+     */
+    public long getExpirationDateAsEpochSeconds(int transactionIndex) {
+        return expirationDates[transactionIndex] & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The id of the transaction or <code>null</code> if the ids have
+     *         not been provided.
+     */
+    public TransactionId getTransactionId(int transactionIndex) {
+        if (transactionIds == null) {
+            return null;
+        }
+
+        int offset = transactionIndex * HASH_SIZE;
+        return new TransactionId(
+                CryptoUtils.HEX.encode(Arrays.copyOfRange(transactionIds, offset, offset + HASH_SIZE)));
+    }
+
+    /**
+     * @return The number of operations of all transactions of this block.
+     */
+    public int getNumberOfOperations() {
+        return operationOffsets.length - 1;
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The index of the first operation of the transaction. The
+     *         operations of a transaction are stored consecutively, so the
+     *         operations of the transaction range from this index to the
+     *         first operation of the next transaction.
+     */
+    public int getFirstOperation(int transactionIndex) {
+        return firstOperations[transactionIndex];
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The number of operations of the transaction.
+     */
+    public int getNumberOfOperations(int transactionIndex) {
+        return firstOperations[transactionIndex + 1] - firstOperations[transactionIndex];
+    }
+
+    /**
+     * Get the type of an operation without decoding it.
+     * 
+     * @param operationIndex
+     *            The index of the operation in this block.
+     * @return The type of the operation.
+     * @throws SteemInvalidTransactionException
+     *             If the type of the operation is unknown.
+     */
+    public OperationType getOperationType(int operationIndex) throws SteemInvalidTransactionException {
+        long orderId = new ByteArrayReader(operations, operationOffsets[operationIndex]).readVarInt();
+        OperationType operationType = orderId > Integer.MAX_VALUE ? null : OperationType.fromOrderId((int) orderId);
+
+        if (operationType == null) {
+            throw new SteemInvalidTransactionException("Unknown operation id " + orderId + ".");
+        }
+
+        return operationType;
+    }
+
+    /**
+     * Get the binary representation of an operation. Operations without a
+     * binary representation, like pow operations, are returned as their
+     * operation id followed by their JSON representation in UTF-8.
+     * 
+     * @param operationIndex
+     *            The index of the operation in this block.
+     * @return A copy of the serialized operation.
+     */
+    public byte[] getOperationBytes(int operationIndex) {
+        return Arrays.copyOfRange(operations, operationOffsets[operationIndex], operationOffsets[operationIndex + 1]);
+    }
+
+    /**
+     * Decode an operation.
+     * 
+     * @param operationIndex
+     *            The index of the operation in this block.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the operation can not be decoded.
+     */
+    public Operation getOperation(int operationIndex) throws SteemInvalidTransactionException {
+        ByteArrayReader reader = createOperationReader(operationIndex);
+        if (isStoredAsJson(getOperationType(operationIndex))) {
+            reader.readVarInt();
+            int start = reader.getPosition();
+            try {
+                return CommunicationHandler.getObjectMapper().readerFor(Operation.class).readValue(operations, start,
+                        operationOffsets[operationIndex + 1] - start);
+            } catch (IOException e) {
+                throw new SteemInvalidTransactionException("The operation " + operationIndex + " can not be parsed.",
+                        e);
+            }
+        }
+
+        Operation operation = OperationDecoder.decode(reader);
+        verifyOperationDecoded(operationIndex, reader);
+
+        return operation;
+    }
+
+    /**
+     * Create a reader positioned at the start of an operation without copying
+     * its bytes.
+     * 
+     * @param operationIndex
+     *            The index of the operation in this block.
+     * @return The reader.
+     */
+    ByteArrayReader createOperationReader(int operationIndex) {
+        return new ByteArrayReader(operations, operationOffsets[operationIndex]);
+    }
+
+    /**
+     * Make sure that the <code>reader</code> has consumed exactly the bytes of
+     * the given operation.
+     * 
+     * @param operationIndex
+     *            The index of the decoded operation in this block.
+     * @param reader
+     *            The reader used to decode the operation.
+     * @throws SteemInvalidTransactionException
+     *             If the reader is not positioned at the end of the operation.
+     */
+    void verifyOperationDecoded(int operationIndex, ByteArrayReader reader) throws SteemInvalidTransactionException {
+        if (reader.getPosition() != operationOffsets[operationIndex + 1]) {
+            throw new SteemInvalidTransactionException(
+                    "The operation " + operationIndex + " has not been decoded completely.");
+        }
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The number of future extensions of the transaction.
+     */
+    int getNumberOfExtensions(int transactionIndex) {
+        return numbersOfExtensions[transactionIndex];
+    }
+
+    /**
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The index of the first signature of the transaction.
+     */
+    int getFirstSignature(int transactionIndex) {
+        return firstSignatures[transactionIndex];
+    }
+
+    /**
+     * @param signatureIndex
+     *            The index of the signature in this block.
+     * @return The signature in its HEX representation.
+     */
+    String getSignature(int signatureIndex) {
+        int offset = signatureIndex * SIGNATURE_SIZE;
+        return CryptoUtils.HEX.encode(Arrays.copyOfRange(signatures, offset, offset + SIGNATURE_SIZE));
+    }
+
+    /**
+     * Overwrite the given transaction id with the id of a transaction.
+     * 
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @param target
+     *            The id to overwrite.
+     * @return <code>false</code> if the transaction ids have not been
+     *         provided, otherwise <code>true</code>.
+     */
+    boolean copyTransactionId(int transactionIndex, TransactionId target) {
+        if (transactionIds == null) {
+            return false;
+        }
+
+        target.setHashValue(transactionIds, transactionIndex * HASH_SIZE);
+        return true;
+    }
+
+    /**
+     * Decode a transaction including its signatures.
+     * 
+     * @param transactionIndex
+     *            The index of the transaction in this block.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If one of the operations can not be decoded.
+     */
+    public SignedTransaction getTransaction(int transactionIndex) throws SteemInvalidTransactionException {
+        List<Operation> transactionOperations = new ArrayList<>(getNumberOfOperations(transactionIndex));
+        for (int i = firstOperations[transactionIndex]; i < firstOperations[transactionIndex + 1]; i++) {
+            transactionOperations.add(getOperation(i));
+        }
+
+        List<FutureExtensions> futureExtensions = new ArrayList<>(getNumberOfExtensions(transactionIndex));
+        for (int i = 0; i < getNumberOfExtensions(transactionIndex); i++) {
+            futureExtensions.add(new FutureExtensions());
+        }
+
+        SignedTransaction signedTransaction;
+        try {
+            signedTransaction = new SignedTransaction(UShort.valueOf(getRefBlockNum(transactionIndex)),
+                    UInteger.valueOf(getRefBlockPrefix(transactionIndex)),
+                    new TimePointSec(getExpirationDateAsEpochSeconds(transactionIndex) * 1000),
+                    transactionOperations, futureExtensions);
+        } catch (InvalidParameterException e) {
+            throw new SteemInvalidTransactionException("The transaction contains an invalid value.", e);
+        }
+
+        for (int i = firstSignatures[transactionIndex]; i < firstSignatures[transactionIndex + 1]; i++) {
+            signedTransaction.getSignatures().add(getSignature(i));
+        }
+
+        return signedTransaction;
+    }
+
+    /**
+     * @return The witness signature in its HEX representation or
+     *         <code>null</code> if the block has not been signed.
+     */
+    String getWitnessSignature() {
+        return witnessSignature == null ? null : CryptoUtils.HEX.encode(witnessSignature);
+    }
+
+    /**
+     * @return The header extensions of the block or <code>null</code> if there
+     *         are none.
+     */
+    List<BlockHeaderExtensions> getExtensions() {
+        return extensions;
+    }
+
+    /**
+     * @return The index of the signing key in the {@link #getStringTable()
+     *         string table} or <code>-1</code> if it has not been provided.
+     */
+    int getSigningKeyIndex() {
+        return signingKey;
+    }
+
+    /**
+     * Transform this block back into an {@link ExtendedSignedBlock}.
+     * 
+     * @return The block.
+     * @throws SteemInvalidTransactionException
+     *             If one of the transactions can not be decoded.
+     */
+    public ExtendedSignedBlock toExtendedSignedBlock() throws SteemInvalidTransactionException {
+        ExtendedSignedBlock block = new ExtendedSignedBlock();
+
+        block.setPrevious(getPrevious());
+        block.setTimestamp(getTimestamp());
+        block.setWitness(getWitness());
+        block.setTransactionMerkleRoot(getTransactionMerkleRoot());
+        block.setExtensions(extensions == null ? new ArrayList<BlockHeaderExtensions>()
+                : new ArrayList<>(extensions));
+        block.setWitnessSignature(getWitnessSignature());
+        block.setBlockId(getBlockId());
+        block.setSigningKey(getSigningKey());
+
+        List<SignedTransaction> transactions = new ArrayList<>(getNumberOfTransactions());
+        List<TransactionId> ids = transactionIds == null ? null : new ArrayList<TransactionId>();
+        for (int i = 0; i < getNumberOfTransactions(); i++) {
+            transactions.add(getTransaction(i));
+            if (ids != null) {
+                ids.add(getTransactionId(i));
+            }
+        }
+
+        block.setTransactions(transactions);
+        block.setTransactionIds(ids);
+
+        return block;
+    }
+
+    /**
+     * Creates a {@link CompactBlock} from its single values, e.g. while
+     * reading a block from a streaming JSON parser or a binary source,
+     * without creating an {@link ExtendedSignedBlock} first.
+     * 
+     * The previous block id, the timestamp, the witness and the transaction
+     * merkle root are required. Transactions are added one after another:
+     * {@link #addOperation(byte[], int, int) Operations} and
+     * {@link #addSignature(byte[]) signatures} always belong to the
+     * transaction added last.
+     * 
+     * A builder creates a single block and should not be used anymore after
+     * {@link #build()} has been called.
+     */
+    public static class Builder {
+        private final StringTable stringTable;
+
+        private byte[] blockId;
+        private byte[] previous;
+        private int timestamp;
+        private boolean hasTimestamp;
+        private int witness = NO_INDEX;
+        private byte[] transactionMerkleRoot;
+        private List<BlockHeaderExtensions> extensions;
+        private byte[] witnessSignature;
+        private int signingKey = NO_INDEX;
+
+        private int numberOfTransactions;
+        private short[] refBlockNums = new short[8];
+        private int[] refBlockPrefixes = new int[8];
+        private int[] expirationDates = new int[8];
+        private int[] numbersOfExtensions = new int[8];
+        private int[] firstOperations = new int[9];
+        private int[] firstSignatures = new int[9];
+
+        private int numberOfOperations;
+        private int[] operationOffsets = new int[32];
+        private final ByteArrayOutputStream operations = new ByteArrayOutputStream();
+
+        private int numberOfSignatures;
+        private final ByteArrayOutputStream signatures = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream transactionIds = new ByteArrayOutputStream();
+
+        /**
+         * Create a new builder.
+         * 
+         * @param stringTable
+         *            The table used to store the names of the block.
+         * @throws InvalidParameterException
+         *             If the <code>stringTable</code> is null.
+         */
+        public Builder(StringTable stringTable) {
+            this.stringTable = SteemJUtils.setIfNotNull(stringTable, "The string table needs to be provided.");
+        }
+
+        /**
+         * @param blockId
+         *            The id of the block.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the id does not have 20 bytes.
+         */
+        public Builder setBlockId(byte[] blockId) throws SteemInvalidTransactionException {
+            this.blockId = copyHash(blockId);
+            return this;
+        }
+
+        /**
+         * @param previous
+         *            The id of the previous block.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the id does not have 20 bytes.
+         */
+        public Builder setPrevious(byte[] previous) throws SteemInvalidTransactionException {
+            this.previous = copyHash(previous);
+            return this;
+        }
+
+        /**
+         * @param epochSeconds
+         *            The time the block has been produced in seconds since the
+         *            epoch.
+         * @return This builder.
+         */
+        public Builder setTimestamp(long epochSeconds) {
+            this.timestamp = (int) epochSeconds;
+            this.hasTimestamp = true;
+            return this;
+        }
+
+        /**
+         * @param witness
+         *            The name of the witness that has produced the block.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the string table is full.
+         */
+        public Builder setWitness(String witness) throws SteemInvalidTransactionException {
+            this.witness = indexOf(witness);
+            return this;
+        }
+
+        /**
+         * @param transactionMerkleRoot
+         *            The merkle root of the transactions of the block.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the merkle root does not have 20 bytes.
+         */
+        public Builder setTransactionMerkleRoot(byte[] transactionMerkleRoot)
+                throws SteemInvalidTransactionException {
+            this.transactionMerkleRoot = copyHash(transactionMerkleRoot);
+            return this;
+        }
+
+        /**
+         * @param extensions
+         *            The header extensions of the block.
+         * @return This builder.
+         */
+        public Builder setExtensions(List<BlockHeaderExtensions> extensions) {
+            this.extensions = extensions == null || extensions.isEmpty() ? null : new ArrayList<>(extensions);
+            return this;
+        }
+
+        /**
+         * @param witnessSignature
+         *            The signature of the witness or <code>null</code> if the
+         *            block has not been signed.
+         * @return This builder.
+         */
+        public Builder setWitnessSignature(byte[] witnessSignature) {
+            this.witnessSignature = witnessSignature == null ? null
+                    : Arrays.copyOf(witnessSignature, witnessSignature.length);
+            return this;
+        }
+
+        /**
+         * @param signingKey
+         *            The address of the key that has signed the block.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the string table is full.
+         */
+        public Builder setSigningKey(String signingKey) throws SteemInvalidTransactionException {
+            this.signingKey = indexOf(signingKey);
+            return this;
+        }
+
+        /**
+         * Start a new transaction. All operations and signatures added
+         * afterwards belong to this transaction.
+         * 
+         * @param refBlockNum
+         *            The reference block number of the transaction.
+         * @param refBlockPrefix
+         *            The reference block prefix of the transaction.
+         * @param expirationDateAsEpochSeconds
+         *            The expiration date of the transaction in seconds since
+         *            the epoch.
+         * @param numberOfExtensions
+         *            The number of future extensions of the transaction.
+         * @return This builder.
+         */
+        public Builder addTransaction(int refBlockNum, long refBlockPrefix, long expirationDateAsEpochSeconds,
+                int numberOfExtensions) {
+            if (numberOfTransactions == refBlockNums.length) {
+                int capacity = numberOfTransactions * 2;
+                refBlockNums = Arrays.copyOf(refBlockNums, capacity);
+                refBlockPrefixes = Arrays.copyOf(refBlockPrefixes, capacity);
+                expirationDates = Arrays.copyOf(expirationDates, capacity);
+                numbersOfExtensions = Arrays.copyOf(numbersOfExtensions, capacity);
+                firstOperations = Arrays.copyOf(firstOperations, capacity + 1);
+                firstSignatures = Arrays.copyOf(firstSignatures, capacity + 1);
+            }
+
+            refBlockNums[numberOfTransactions] = (short) refBlockNum;
+            refBlockPrefixes[numberOfTransactions] = (int) refBlockPrefix;
+            expirationDates[numberOfTransactions] = (int) expirationDateAsEpochSeconds;
+            numbersOfExtensions[numberOfTransactions] = numberOfExtensions;
+            firstOperations[numberOfTransactions] = numberOfOperations;
+            firstSignatures[numberOfTransactions] = numberOfSignatures;
+            numberOfTransactions++;
+
+            return this;
+        }
+
+        /**
+         * Add an operation to the current transaction.
+         * 
+         * @param operation
+         *            The operation to add.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the operation can not be serialized.
+         * @throws IllegalStateException
+         *             If no transaction has been added yet.
+         */
+        public Builder addOperation(Operation operation) throws SteemInvalidTransactionException {
+            byte[] serializedOperation = serializeOperation(operation);
+            return addOperation(serializedOperation, 0, serializedOperation.length);
+        }
+
+        /**
+         * Add an already serialized operation to the current transaction. The
+         * bytes need to start with the operation id, followed by the binary
+         * representation of the operation (see
+         * {@link Operation#toByteArray()}) or, for operations without a
+         * binary representation, by its JSON representation.
+         * 
+         * @param data
+         *            The array containing the serialized operation.
+         * @param offset
+         *            The start of the operation in <code>data</code>.
+         * @param length
+         *            The number of bytes of the operation.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the operation id is unknown.
+         * @throws IllegalStateException
+         *             If no transaction has been added yet.
+         */
+        public Builder addOperation(byte[] data, int offset, int length) throws SteemInvalidTransactionException {
+            if (numberOfTransactions == 0) {
+                throw new IllegalStateException("A transaction needs to be added before its operations.");
+            }
+
+            ByteArrayReader reader = new ByteArrayReader(data, offset);
+            long orderId = reader.readVarInt();
+            if (reader.getPosition() > offset + length) {
+                throw new SteemInvalidTransactionException("The operation is incomplete.");
+            } else if (orderId > Integer.MAX_VALUE || OperationType.fromOrderId((int) orderId) == null) {
+                throw new SteemInvalidTransactionException("Unknown operation id " + orderId + ".");
+            }
+
+            if (numberOfOperations + 1 >= operationOffsets.length) {
+                operationOffsets = Arrays.copyOf(operationOffsets, operationOffsets.length * 2);
+            }
+
+            operationOffsets[numberOfOperations++] = operations.size();
+            operations.write(data, offset, length);
+
+            return this;
+        }
+
+        /**
+         * Add a signature to the current transaction.
+         * 
+         * @param signature
+         *            The compact signature of 65 bytes.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the signature does not have 65 bytes.
+         * @throws IllegalStateException
+         *             If no transaction has been added yet.
+         */
+        public Builder addSignature(byte[] signature) throws SteemInvalidTransactionException {
+            if (numberOfTransactions == 0) {
+                throw new IllegalStateException("A transaction needs to be added before its signatures.");
+            } else if (signature.length != SIGNATURE_SIZE) {
+                throw new SteemInvalidTransactionException(
+                        "The signature " + CryptoUtils.HEX.encode(signature) + " is invalid.");
+            }
+
+            signatures.write(signature, 0, SIGNATURE_SIZE);
+            numberOfSignatures++;
+
+            return this;
+        }
+
+        /**
+         * Add the id of the next transaction. The ids are only stored if the
+         * id of every transaction has been added.
+         * 
+         * @param transactionId
+         *            The id of the transaction.
+         * @return This builder.
+         * @throws SteemInvalidTransactionException
+         *             If the id does not have 20 bytes.
+         */
+        public Builder addTransactionId(byte[] transactionId) throws SteemInvalidTransactionException {
+            transactionIds.write(copyHash(transactionId), 0, HASH_SIZE);
+            return this;
+        }
+
+        /**
+         * @return The compact block.
+         * @throws SteemInvalidTransactionException
+         *             If one of the required values has not been set.
+         */
+        public CompactBlock build() throws SteemInvalidTransactionException {
+            if (previous == null || !hasTimestamp || witness == NO_INDEX || transactionMerkleRoot == null) {
+                throw new SteemInvalidTransactionException(
+                        "The previous block id, the timestamp, the witness and the merkle root are required.");
+            }
+
+            return new CompactBlock(this);
+        }
+
+        /**
+         * Store the given name in the string table.
+         */
+        private int indexOf(String name) throws SteemInvalidTransactionException {
+            try {
+                return stringTable.indexOf(name);
+            } catch (IllegalStateException e) {
+                throw new SteemInvalidTransactionException("The names of the block can not be stored.", e);
+            }
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package eu.bittrade.libs.steemj.chain;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "decline_voting_rights_request_object" object.
@@ -51,6 +50,6 @@ public class DeclineVotingRightsRequestObject {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,7 +16,6 @@
  */
 package eu.bittrade.libs.steemj.chain;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -24,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "escrow_object" object.
@@ -172,6 +172,6 @@ public class EscrowObject {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
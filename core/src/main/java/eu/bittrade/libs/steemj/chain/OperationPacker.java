@@ -0,0 +1,310 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.interfaces.SignatureObject;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.util.SteemJUtils;
+
+/**
+ * This class groups a large number of operations into as few transactions as
+ * possible.
+ * 
+ * Operations are grouped by their required authorities, so every transaction
+ * is signed by the same accounts with the same key type. This also ensures
+ * that operations requiring a POSTING key are never mixed with operations
+ * requiring an ACTIVE or OWNER key (see {@link SignedTransaction#validate()}).
+ * A transaction is closed once the next operation would exceed the maximum
+ * transaction size, including the signatures that will be added. The number
+ * of signatures is estimated like they are resolved during signing: One
+ * signature if the private key of an account is stored, otherwise the number
+ * of keys required by the authority of the account (see
+ * {@link SteemJConfig#getAuthorityCache()}).
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationPacker {
+    /**
+     * The maximum size in bytes of a signed transaction accepted by a Steem
+     * node using the default maximum block size of 65536 bytes (see
+     * {@link #getMaximumTransactionSize(DynamicGlobalProperty)}).
+     */
+    public static final int MAXIMUM_TRANSACTION_SIZE = 65280;
+    /**
+     * The number of bytes of a block that can't be used by a single
+     * transaction.
+     */
+    private static final int BLOCK_HEADER_RESERVE = 256;
+    /**
+     * The size of the "ref_block_num", "ref_block_prefix", "expiration" and
+     * the empty "extensions" field.
+     */
+    private static final int TRANSACTION_HEADER_SIZE = 11;
+    /** The size of a compact signature. */
+    private static final int SIGNATURE_SIZE = 65;
+
+    /** Add a private constructor to hide the implicit public one. */
+    private OperationPacker() {
+    }
+
+    /**
+     * Get the maximum size of a signed transaction a Steem node accepts,
+     * which is the maximum block size voted by the witnesses minus the space
+     * reserved for the block header.
+     * 
+     * @param dynamicGlobalProperty
+     *            The current dynamic global properties of the chain.
+     * @return The maximum transaction size in bytes.
+     */
+    public static int getMaximumTransactionSize(DynamicGlobalProperty dynamicGlobalProperty) {
+        return (int) Math.min(Integer.MAX_VALUE,
+                dynamicGlobalProperty.getMaximumBlockSize().longValue() - BLOCK_HEADER_RESERVE);
+    }
+
+    /**
+     * Group the given <code>operations</code> into transactions of at most
+     * {@link #MAXIMUM_TRANSACTION_SIZE} bytes.
+     * 
+     * @param operations
+     *            The operations to group.
+     * @return The operations of each transaction. The order of operations
+     *         with the same required authorities is kept.
+     * @throws SteemInvalidTransactionException
+     *             If an operation can not be serialized or does not fit into
+     *             a single transaction.
+     */
+    public static List<List<Operation>> pack(Iterable<Operation> operations)
+            throws SteemInvalidTransactionException {
+        return pack(operations, MAXIMUM_TRANSACTION_SIZE);
+    }
+
+    /**
+     * Group the given <code>operations</code> into transactions of at most
+     * <code>maximumTransactionSize</code> bytes.
+     * 
+     * @param operations
+     *            The operations to group.
+     * @param maximumTransactionSize
+     *            The maximum size of a signed transaction in bytes.
+     * @return The operations of each transaction. The order of operations
+     *         with the same required authorities is kept.
+     * @throws SteemInvalidTransactionException
+     *             If an operation can not be serialized or does not fit into
+     *             a single transaction.
+     * @throws InvalidParameterException
+     *             If the <code>maximumTransactionSize</code> is not larger
+     *             than the size of an empty transaction.
+     */
+    public static List<List<Operation>> pack(Iterable<Operation> operations, int maximumTransactionSize)
+            throws SteemInvalidTransactionException {
+        if (maximumTransactionSize <= TRANSACTION_HEADER_SIZE) {
+            throw new InvalidParameterException("The maximum transaction size is too small.");
+        }
+
+        List<List<Operation>> packedOperations = new ArrayList<>();
+        Map<Map<SignatureObject, PrivateKeyType>, Batch> openBatches = new LinkedHashMap<>();
+
+        for (Operation operation : operations) {
+            Map<SignatureObject, PrivateKeyType> requiredAuthorities = operation
+                    .getRequiredAuthorities(new HashMap<SignatureObject, PrivateKeyType>());
+            int operationSize = operation.toByteArray().length;
+
+            Batch batch = openBatches.get(requiredAuthorities);
+            if (batch == null || batch.getSizeWith(operationSize) > maximumTransactionSize) {
+                batch = new Batch(estimateNumberOfSignatures(requiredAuthorities));
+                if (batch.getSizeWith(operationSize) > maximumTransactionSize) {
+                    throw new SteemInvalidTransactionException("The operation " + operation
+                            + " exceeds the maximum transaction size of " + maximumTransactionSize + " bytes.");
+                }
+
+                openBatches.put(requiredAuthorities, batch);
+                packedOperations.add(batch.operations);
+            }
+
+            batch.add(operation, operationSize);
+        }
+
+        return packedOperations;
+    }
+
+    /**
+     * Group the given <code>operations</code> into transactions of at most
+     * {@link #MAXIMUM_TRANSACTION_SIZE} bytes. The transactions reference the
+     * block and use the expiration date provided by the
+     * <code>referenceBlockProvider</code>, but are not signed yet.
+     * 
+     * @param operations
+     *            The operations to group.
+     * @param referenceBlockProvider
+     *            The provider used to create the transactions.
+     * @return The unsigned transactions.
+     * @throws SteemCommunicationException
+     *             If the reference block could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     * @throws SteemInvalidTransactionException
+     *             If an operation can not be serialized or does not fit into
+     *             a single transaction.
+     */
+    public static List<SignedTransaction> packIntoTransactions(Iterable<Operation> operations,
+            ReferenceBlockProvider referenceBlockProvider)
+            throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
+        return packIntoTransactions(operations, referenceBlockProvider, MAXIMUM_TRANSACTION_SIZE);
+    }
+
+    /**
+     * Group the given <code>operations</code> into transactions of at most
+     * <code>maximumTransactionSize</code> bytes (see
+     * {@link #getMaximumTransactionSize(DynamicGlobalProperty)}). The
+     * transactions reference the block and use the expiration date provided
+     * by the <code>referenceBlockProvider</code>, but are not signed yet.
+     * 
+     * @param operations
+     *            The operations to group.
+     * @param referenceBlockProvider
+     *            The provider used to create the transactions.
+     * @param maximumTransactionSize
+     *            The maximum size of a signed transaction in bytes.
+     * @return The unsigned transactions.
+     * @throws SteemCommunicationException
+     *             If the reference block could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     * @throws SteemInvalidTransactionException
+     *             If an operation can not be serialized or does not fit into
+     *             a single transaction.
+     */
+    public static List<SignedTransaction> packIntoTransactions(Iterable<Operation> operations,
+            ReferenceBlockProvider referenceBlockProvider, int maximumTransactionSize)
+            throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
+        List<SignedTransaction> transactions = new ArrayList<>();
+        for (List<Operation> transactionOperations : pack(operations, maximumTransactionSize)) {
+            transactions.add(referenceBlockProvider.createTransaction(transactionOperations, null));
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Estimate the number of signatures required to satisfy the given
+     * <code>requiredAuthorities</code>.
+     * 
+     * @throws SteemInvalidTransactionException
+     *             If the authority of an account could not be requested.
+     */
+    private static int estimateNumberOfSignatures(Map<SignatureObject, PrivateKeyType> requiredAuthorities)
+            throws SteemInvalidTransactionException {
+        int numberOfSignatures = 0;
+        for (Entry<SignatureObject, PrivateKeyType> requiredAuthority : requiredAuthorities.entrySet()) {
+            Authority authority = null;
+            if (requiredAuthority.getKey() instanceof Authority) {
+                authority = (Authority) requiredAuthority.getKey();
+            } else if (requiredAuthority.getKey() instanceof AccountName
+                    && !hasPrivateKey((AccountName) requiredAuthority.getKey(), requiredAuthority.getValue())) {
+                authority = SignedTransaction.getAuthorityOfAccount((AccountName) requiredAuthority.getKey(),
+                        requiredAuthority.getValue());
+            }
+
+            numberOfSignatures += authority == null ? 1 : estimateNumberOfSignatures(authority);
+        }
+
+        return numberOfSignatures;
+    }
+
+    /**
+     * Estimate the number of signatures required to satisfy the given
+     * <code>authority</code>. As every key and account has a weight of at
+     * least one, neither more signatures than the weight threshold nor more
+     * signatures than keys and accounts are needed.
+     */
+    private static int estimateNumberOfSignatures(Authority authority) {
+        long numberOfSigners = (long) authority.getKeyAuths().size() + authority.getAccountAuths().size();
+        return (int) Math.max(1, Math.min(authority.getWeightThreshold(), numberOfSigners));
+    }
+
+    /**
+     * @return <code>true</code> if a private key satisfying the given type is
+     *         stored for the given account.
+     */
+    private static boolean hasPrivateKey(AccountName accountName, PrivateKeyType privateKeyType) {
+        for (PrivateKeyType satisfyingPrivateKeyType : SignedTransaction
+                .getSatisfyingPrivateKeyTypes(privateKeyType)) {
+            try {
+                if (SteemJConfig.getInstance().getPrivateKeyStorage().getKeyForAccount(satisfyingPrivateKeyType,
+                        accountName) != null) {
+                    return true;
+                }
+            } catch (InvalidParameterException e) {
+                // Try the next type.
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The operations of a transaction that is not full yet.
+     */
+    private static class Batch {
+        private final List<Operation> operations = new ArrayList<>();
+        private final int signaturesSize;
+        private int operationsSize;
+
+        /**
+         * Create a new batch for operations requiring the given number of
+         * signatures.
+         */
+        private Batch(int numberOfSignatures) {
+            this.signaturesSize = SteemJUtils.transformIntToVarIntByteArray(numberOfSignatures).length
+                    + numberOfSignatures * SIGNATURE_SIZE;
+        }
+
+        /**
+         * @return The size of the signed transaction if an operation of the
+         *         given size would be added.
+         */
+        private int getSizeWith(int operationSize) {
+            return TRANSACTION_HEADER_SIZE
+                    + SteemJUtils.transformIntToVarIntByteArray(operations.size() + 1).length + operationsSize
+                    + operationSize + signaturesSize;
+        }
+
+        /**
+         * Add an operation of the given size.
+         */
+        private void add(Operation operation, int operationSize) {
+            operations.add(operation);
+            operationsSize += operationSize;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.database.DatabaseApi;
+import eu.bittrade.libs.steemj.plugins.apis.network.broadcast.api.NetworkBroadcastApi;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+
+/**
+ * This class builds and signs transactions ahead of time and broadcasts them
+ * at a scheduled instant, e.g. to vote on a post at an exact moment after its
+ * creation.
+ * 
+ * When a transaction is scheduled, it is created using the
+ * {@link ReferenceBlockProvider} and signed immediately, so only the broadcast
+ * itself remains on the critical path. Shortly before the release, a cheap
+ * request is sent to warm up the connection. Transactions that come close to
+ * their expiration date while waiting in the pool are signed again with a
+ * fresh reference block in the background.
+ * 
+ * Releases run on their own thread, so a slow refresh or warm-up request can
+ * never delay the broadcast of a transaction.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PresignedTransactionPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PresignedTransactionPool.class);
+
+    /** The time in milliseconds the connection is warmed up before a release. */
+    public static final long WARM_UP_LEAD_TIME = 2000L;
+    /** The default interval in milliseconds to check for expiring transactions. */
+    public static final long DEFAULT_REFRESH_INTERVAL = 60000L;
+    /**
+     * By default, transactions expiring within the next five minutes are
+     * signed again.
+     */
+    public static final long DEFAULT_REFRESH_MARGIN = 300000L;
+
+    private final CommunicationHandler communicationHandler;
+    private final ReferenceBlockProvider referenceBlockProvider;
+    private final long refreshMargin;
+    private final Set<PooledTransaction> pooledTransactions = Collections
+            .newSetFromMap(new ConcurrentHashMap<PooledTransaction, Boolean>());
+    private final ScheduledExecutorService releaseExecutorService;
+    private final ScheduledExecutorService backgroundExecutorService;
+
+    /**
+     * Create a new pool using the {@link #DEFAULT_REFRESH_INTERVAL} and the
+     * {@link #DEFAULT_REFRESH_MARGIN}.
+     * 
+     * @param communicationHandler
+     *            The communication handler used to broadcast the
+     *            transactions.
+     * @param referenceBlockProvider
+     *            The provider used to create the transactions.
+     */
+    public PresignedTransactionPool(CommunicationHandler communicationHandler,
+            ReferenceBlockProvider referenceBlockProvider) {
+        this(communicationHandler, referenceBlockProvider, DEFAULT_REFRESH_INTERVAL, DEFAULT_REFRESH_MARGIN);
+    }
+
+    /**
+     * Create a new pool.
+     * 
+     * @param communicationHandler
+     *            The communication handler used to broadcast the
+     *            transactions.
+     * @param referenceBlockProvider
+     *            The provider used to create the transactions.
+     * @param refreshInterval
+     *            The interval in milliseconds to check for expiring
+     *            transactions.
+     * @param refreshMargin
+     *            Transactions expiring within this number of milliseconds are
+     *            signed again.
+     * @throws InvalidParameterException
+     *             If the <code>refreshInterval</code> is not positive or not
+     *             smaller than the <code>refreshMargin</code>.
+     */
+    public PresignedTransactionPool(CommunicationHandler communicationHandler,
+            ReferenceBlockProvider referenceBlockProvider, long refreshInterval, long refreshMargin) {
+        if (refreshInterval <= 0 || refreshInterval >= refreshMargin) {
+            throw new InvalidParameterException(
+                    "The refresh interval needs to be positive and smaller than the refresh margin.");
+        }
+
+        this.communicationHandler = communicationHandler;
+        this.referenceBlockProvider = referenceBlockProvider;
+        this.refreshMargin = refreshMargin;
+
+        this.releaseExecutorService = createExecutorService("steemj-presigned-transaction-pool-release");
+        this.backgroundExecutorService = createExecutorService("steemj-presigned-transaction-pool-refresh");
+        this.backgroundExecutorService.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                refreshExpiringTransactions();
+            }
+        }, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create and sign a transaction containing the given
+     * <code>operations</code> and broadcast it at the given time.
+     * 
+     * @param operations
+     *            The operations to broadcast.
+     * @param releaseTimestamp
+     *            The time in milliseconds since the epoch at which the
+     *            transaction should be broadcasted.
+     * @return A future that provides the id of the broadcasted transaction
+     *         once the Steem node has accepted it. Cancelling the future
+     *         removes the transaction from the pool.
+     * @throws SteemCommunicationException
+     *             If the reference block could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    public ListenableFuture<TransactionId> schedule(List<Operation> operations, long releaseTimestamp)
+            throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
+        final PooledTransaction pooledTransaction = new PooledTransaction(operations,
+                createSignedTransaction(operations));
+        pooledTransactions.add(pooledTransaction);
+
+        long releaseDelay = releaseTimestamp - System.currentTimeMillis();
+        if (releaseDelay > WARM_UP_LEAD_TIME) {
+            backgroundExecutorService.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    warmUp();
+                }
+            }, releaseDelay - WARM_UP_LEAD_TIME, TimeUnit.MILLISECONDS);
+        }
+        releaseExecutorService.schedule(new Runnable() {
+            @Override
+            public void run() {
+                release(pooledTransaction);
+            }
+        }, releaseDelay, TimeUnit.MILLISECONDS);
+
+        return pooledTransaction.future;
+    }
+
+    /**
+     * @return The number of transactions waiting for their release.
+     */
+    public int size() {
+        return pooledTransactions.size();
+    }
+
+    /**
+     * Broadcast a transaction to the Steem node.
+     * 
+     * @param signedTransaction
+     *            The transaction to broadcast.
+     * @throws SteemCommunicationException
+     *             If there is a connection problem.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction is not valid.
+     */
+    protected void submit(SignedTransaction signedTransaction)
+            throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, signedTransaction);
+    }
+
+    /**
+     * Send a cheap request to make sure the connection to the Steem node is
+     * established when a transaction is released.
+     */
+    protected void warmUp() {
+        try {
+            DatabaseApi.getDynamicGlobalProperties(communicationHandler);
+        } catch (SteemCommunicationException | SteemResponseException e) {
+            LOGGER.debug("Unable to warm up the connection.", e);
+        }
+    }
+
+    /**
+     * Create a single threaded executor whose daemon thread has the given
+     * name.
+     */
+    private static ScheduledExecutorService createExecutorService(final String threadName) {
+        return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Create a new transaction for the given <code>operations</code> and sign
+     * it.
+     */
+    private SignedTransaction createSignedTransaction(List<Operation> operations)
+            throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
+        SignedTransaction signedTransaction = referenceBlockProvider.createTransaction(operations, null);
+        signedTransaction.sign();
+
+        return signedTransaction;
+    }
+
+    /**
+     * Remove the given transaction from the pool and broadcast it.
+     */
+    private void release(PooledTransaction pooledTransaction) {
+        if (!pooledTransactions.remove(pooledTransaction) || pooledTransaction.future.isCancelled()) {
+            return;
+        }
+
+        SignedTransaction signedTransaction = pooledTransaction.signedTransaction;
+        try {
+            submit(signedTransaction);
+            pooledTransaction.future.set(signedTransaction.calculateTransactionId());
+        } catch (SteemCommunicationException | SteemResponseException | SteemInvalidTransactionException
+                | RuntimeException e) {
+            pooledTransaction.future.setException(e);
+        }
+    }
+
+    /**
+     * Sign all transactions again that expire within the refresh margin.
+     */
+    private void refreshExpiringTransactions() {
+        long refreshThreshold = System.currentTimeMillis() + refreshMargin;
+        for (PooledTransaction pooledTransaction : pooledTransactions) {
+            if (pooledTransaction.future.isCancelled()) {
+                pooledTransactions.remove(pooledTransaction);
+            } else if (pooledTransaction.signedTransaction.getExpirationDate()
+                    .getDateTimeAsTimestamp() < refreshThreshold) {
+                try {
+                    // The old transaction is used until the new one is signed.
+                    pooledTransaction.signedTransaction = createSignedTransaction(pooledTransaction.operations);
+                } catch (SteemCommunicationException | SteemResponseException | SteemInvalidTransactionException
+                        | RuntimeException e) {
+                    LOGGER.warn("Unable to refresh a presigned transaction.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop all threads of this pool. Transactions that have not been released
+     * yet are cancelled.
+     */
+    @Override
+    public void close() {
+        releaseExecutorService.shutdownNow();
+        backgroundExecutorService.shutdownNow();
+
+        for (PooledTransaction pooledTransaction : pooledTransactions) {
+            pooledTransaction.future.cancel(false);
+        }
+        pooledTransactions.clear();
+    }
+
+    /**
+     * A signed transaction waiting for its release.
+     */
+    private static class PooledTransaction {
+        private final SettableFuture<TransactionId> future = SettableFuture.create();
+        private final List<Operation> operations;
+        private volatile SignedTransaction signedTransaction;
+
+        /**
+         * Create a new pooled transaction.
+         */
+        private PooledTransaction(List<Operation> operations, SignedTransaction signedTransaction) {
+            this.operations = operations;
+            this.signedTransaction = signedTransaction;
+        }
+    }
+}
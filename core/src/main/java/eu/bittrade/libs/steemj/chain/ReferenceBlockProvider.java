@@ -0,0 +1,287 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.joou.UInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.ReferenceBlockType;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.BlockApi;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockHeaderArgs;
+import eu.bittrade.libs.steemj.plugins.apis.database.DatabaseApi;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.protocol.BlockHeader;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+
+/**
+ * This class provides the reference block (TaPoS) for new transactions. The id
+ * of the reference block is refreshed in the background, so creating a
+ * transaction does not require a request to the Steem node.
+ * 
+ * The background refresh is started with the first request for a reference
+ * block. If the last successful refresh is older than ten refresh intervals
+ * (e.g. because the node is not reachable), the id is refreshed on the calling
+ * thread instead.
+ * 
+ * This class is thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ReferenceBlockProvider implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceBlockProvider.class);
+
+    /**
+     * The number of refresh intervals after which a cached reference block is
+     * considered as outdated.
+     */
+    private static final int MAXIMUM_AGE_IN_REFRESH_INTERVALS = 10;
+
+    private final CommunicationHandler communicationHandler;
+    private final ReferenceBlockType referenceBlockType;
+    private final long refreshInterval;
+    private final long expirationDateOffset;
+    private volatile ScheduledExecutorService scheduledExecutorService;
+    private boolean closed;
+    private volatile ReferenceBlock referenceBlock;
+
+    /**
+     * Create a new reference block provider using the reference block type,
+     * the refresh interval and the expiration date offset configured in the
+     * {@link SteemJConfig}.
+     * 
+     * @param communicationHandler
+     *            The communication handler used to request the reference
+     *            block.
+     */
+    public ReferenceBlockProvider(CommunicationHandler communicationHandler) {
+        this(communicationHandler, SteemJConfig.getInstance().getReferenceBlockType(),
+                SteemJConfig.getInstance().getReferenceBlockRefreshInterval(),
+                SteemJConfig.getInstance().getExpirationDateOffset());
+    }
+
+    /**
+     * Create a new reference block provider.
+     * 
+     * @param communicationHandler
+     *            The communication handler used to request the reference
+     *            block.
+     * @param referenceBlockType
+     *            The type of block to reference.
+     * @param refreshInterval
+     *            The interval in milliseconds in which the reference block is
+     *            refreshed in the background.
+     * @param expirationDateOffset
+     *            The offset in milliseconds between $NOW and the expiration
+     *            date of created transactions.
+     * @throws InvalidParameterException
+     *             If the <code>refreshInterval</code> is not positive or the
+     *             <code>expirationDateOffset</code> is negative.
+     */
+    public ReferenceBlockProvider(CommunicationHandler communicationHandler, ReferenceBlockType referenceBlockType,
+            long refreshInterval, long expirationDateOffset) {
+        if (refreshInterval <= 0) {
+            throw new InvalidParameterException("The refresh interval needs to be positive.");
+        } else if (expirationDateOffset < 0) {
+            throw new InvalidParameterException("The expiration date offset can't be negative.");
+        }
+
+        this.communicationHandler = communicationHandler;
+        this.referenceBlockType = referenceBlockType;
+        this.refreshInterval = refreshInterval;
+        this.expirationDateOffset = expirationDateOffset;
+    }
+
+    /**
+     * Get the id of the block new transactions should reference.
+     * 
+     * @return The id of the reference block.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public BlockId getReferenceBlockId() throws SteemCommunicationException, SteemResponseException {
+        if (scheduledExecutorService == null) {
+            startBackgroundRefresh();
+        }
+
+        ReferenceBlock currentReferenceBlock = this.referenceBlock;
+        if (currentReferenceBlock == null || System.currentTimeMillis()
+                - currentReferenceBlock.refreshTimestamp > MAXIMUM_AGE_IN_REFRESH_INTERVALS * refreshInterval) {
+            return refresh();
+        }
+
+        return currentReferenceBlock.blockId;
+    }
+
+    /**
+     * Create a new, unsigned transaction that references the current
+     * reference block and expires after the configured expiration date
+     * offset.
+     * 
+     * @param operations
+     *            The operations to include.
+     * @param extensions
+     *            Extensions to add to the transaction or <code>null</code>.
+     * @return The new transaction.
+     * @throws SteemCommunicationException
+     *             If the reference block could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    public SignedTransaction createTransaction(List<Operation> operations, List<FutureExtensions> extensions)
+            throws SteemCommunicationException, SteemResponseException {
+        SignedTransaction signedTransaction = new SignedTransaction(getReferenceBlockId(), operations, extensions);
+        signedTransaction.setExpirationDate(new TimePointSec(System.currentTimeMillis() + expirationDateOffset));
+
+        return signedTransaction;
+    }
+
+    /**
+     * Request the id of the reference block from the Steem node and store it.
+     * 
+     * @return The new id of the reference block.
+     * @throws SteemCommunicationException
+     *             If the reference block could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    public BlockId refresh() throws SteemCommunicationException, SteemResponseException {
+        long refreshTimestamp = System.currentTimeMillis();
+        BlockId blockId = requestReferenceBlockId();
+
+        this.referenceBlock = new ReferenceBlock(blockId, refreshTimestamp);
+        return blockId;
+    }
+
+    /**
+     * Request the id of the configured reference block type from the Steem
+     * node.
+     * 
+     * @return The id of the reference block.
+     * @throws SteemCommunicationException
+     *             If the reference block could not be requested.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    protected BlockId requestReferenceBlockId() throws SteemCommunicationException, SteemResponseException {
+        DynamicGlobalProperty globalProperties = DatabaseApi.getDynamicGlobalProperties(communicationHandler);
+
+        UInteger lastIrreversibleBlockNumber = globalProperties.getLastIrreversibleBlockNum();
+        if (referenceBlockType == ReferenceBlockType.HEAD_BLOCK
+                || lastIrreversibleBlockNumber.compareTo(globalProperties.getHeadBlockNumber()) >= 0) {
+            return globalProperties.getHeadBlockId();
+        }
+
+        // The block API does not return the id of a block, but the header of
+        // the following block references it.
+        Optional<BlockHeader> followingBlockHeader = BlockApi.getBlockHeader(communicationHandler,
+                new GetBlockHeaderArgs(UInteger.valueOf(lastIrreversibleBlockNumber.longValue() + 1))).getHeader();
+        if (!followingBlockHeader.isPresent()) {
+            throw new SteemResponseException("Unable to request the id of the last irreversible block.");
+        }
+
+        return followingBlockHeader.get().getPrevious();
+    }
+
+    /**
+     * Start to refresh the reference block in the background if this has not
+     * been done yet and this provider has not been closed.
+     */
+    private synchronized void startBackgroundRefresh() {
+        if (scheduledExecutorService != null || closed) {
+            return;
+        }
+
+        ScheduledExecutorService newScheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "steemj-reference-block-provider");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        newScheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    refresh();
+                } catch (SteemCommunicationException | SteemResponseException | RuntimeException e) {
+                    LOGGER.debug("Unable to refresh the reference block.", e);
+                }
+            }
+        }, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+
+        scheduledExecutorService = newScheduledExecutorService;
+    }
+
+    /**
+     * Stop refreshing the reference block in the background. Further requests
+     * for a reference block will be answered from the last known reference
+     * block or refresh it on the calling thread.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    /**
+     * The id of a reference block and the time it has been requested.
+     */
+    private static class ReferenceBlock {
+        private final BlockId blockId;
+        private final long refreshTimestamp;
+
+        /**
+         * Create a new reference block.
+         */
+        private ReferenceBlock(BlockId blockId, long refreshTimestamp) {
+            this.blockId = blockId;
+            this.refreshTimestamp = refreshTimestamp;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.joou.UInteger;
+import org.joou.UShort;
+
+import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.enums.OperationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.util.ByteArrayReader;
+
+/**
+ * This class decodes {@link CompactBlock CompactBlocks} for consumers that
+ * process a block once and discard it afterwards, e.g. while replaying a
+ * large range of blocks.
+ * 
+ * Instead of creating a new object graph for each block, every thread reuses
+ * one {@link ExtendedSignedBlock} together with its transactions, lists and
+ * the most common operations (votes, comments, transfers and custom json
+ * operations). All other operations are decoded as usual. Fill the compact
+ * blocks using a {@link CompactBlock.Builder} to avoid creating an
+ * {@link ExtendedSignedBlock} per block on the way in as well.
+ * 
+ * <b>Attention:</b> The block passed to the {@link BlockHandler} and all
+ * objects reachable from it are <b>only valid while the handler is
+ * executed</b>. They are overwritten by the next block decoded on the same
+ * thread, so the handler must not keep references to them. Use
+ * {@link CompactBlock#toExtendedSignedBlock()} to get a block that can be
+ * kept.
+ * 
+ * Operations that are stored as JSON (see {@link CompactBlock}), like the pow
+ * operations of early blocks, are parsed into new objects.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ReusingBlockDecoder {
+    /** The objects reused by the current thread. */
+    private static final ThreadLocal<DecodingState> DECODING_STATES = new ThreadLocal<DecodingState>() {
+        @Override
+        protected DecodingState initialValue() {
+            return new DecodingState();
+        }
+    };
+
+    /** Add a private constructor to hide the implicit public one. */
+    private ReusingBlockDecoder() {
+    }
+
+    /**
+     * The callback which receives the decoded blocks.
+     */
+    public interface BlockHandler {
+        /**
+         * Process a decoded block. The <code>block</code> and all objects
+         * reachable from it are only valid until this method returns.
+         * 
+         * @param block
+         *            The decoded block.
+         * @throws SteemInvalidTransactionException
+         *             If the block can not be processed.
+         */
+        void handle(ExtendedSignedBlock block) throws SteemInvalidTransactionException;
+    }
+
+    /**
+     * Decode the given <code>compactBlock</code> into the objects of the
+     * current thread and pass it to the <code>blockHandler</code>.
+     * 
+     * @param compactBlock
+     *            The block to decode.
+     * @param blockHandler
+     *            The callback to pass the decoded block to.
+     * @throws SteemInvalidTransactionException
+     *             If the block can not be decoded or if the
+     *             <code>blockHandler</code> failed.
+     */
+    public static void decode(CompactBlock compactBlock, BlockHandler blockHandler)
+            throws SteemInvalidTransactionException {
+        DecodingState decodingState = DECODING_STATES.get();
+        if (decodingState.inUse) {
+            // The handler decodes another block while the current one is
+            // still in use, so its objects can't be reused.
+            decodingState = new DecodingState();
+        }
+
+        decodingState.inUse = true;
+        try {
+            blockHandler.handle(decodingState.decode(compactBlock));
+        } finally {
+            decodingState.inUse = false;
+        }
+    }
+
+    /**
+     * Decode the given <code>compactBlocks</code> one after another and pass
+     * them to the <code>blockHandler</code>.
+     * 
+     * @param compactBlocks
+     *            The blocks to decode.
+     * @param blockHandler
+     *            The callback to pass the decoded blocks to.
+     * @throws SteemInvalidTransactionException
+     *             If one of the blocks can not be decoded or if the
+     *             <code>blockHandler</code> failed.
+     */
+    public static void decode(Iterable<CompactBlock> compactBlocks, BlockHandler blockHandler)
+            throws SteemInvalidTransactionException {
+        for (CompactBlock compactBlock : compactBlocks) {
+            decode(compactBlock, blockHandler);
+        }
+    }
+
+    /**
+     * The objects of a transaction that are reused.
+     */
+    private static class TransactionSlot {
+        private final List<Operation> operations = new ArrayList<>();
+        private final List<FutureExtensions> extensions = new ArrayList<>();
+        private final TimePointSec expirationDate = new TimePointSec(0);
+        private SignedTransaction transaction;
+        private TransactionId transactionId;
+    }
+
+    /**
+     * The object graph reused by a single thread.
+     */
+    private static class DecodingState {
+        private static final String EMPTY_HASH = "0000000000000000000000000000000000000000";
+        private static final FutureExtensions FUTURE_EXTENSION = new FutureExtensions();
+
+        private boolean inUse;
+
+        private final ExtendedSignedBlock block = new ExtendedSignedBlock();
+        private final TimePointSec timestamp = new TimePointSec(0);
+        private final List<SignedTransaction> transactions = new ArrayList<>();
+        private final List<TransactionId> transactionIds = new ArrayList<>();
+        private final List<TransactionSlot> transactionSlots = new ArrayList<>();
+
+        /** The table the cached names and keys belong to. */
+        private StringTable stringTable;
+        private final List<AccountName> accountNames = new ArrayList<>();
+        private final List<PublicKey> publicKeys = new ArrayList<>();
+
+        private final List<VoteOperation> voteOperations = new ArrayList<>();
+        private final List<CommentOperation> commentOperations = new ArrayList<>();
+        private final List<TransferOperation> transferOperations = new ArrayList<>();
+        private final List<CustomJsonOperation> customJsonOperations = new ArrayList<>();
+        private int usedVoteOperations;
+        private int usedCommentOperations;
+        private int usedTransferOperations;
+        private int usedCustomJsonOperations;
+
+        /**
+         * Overwrite the reused block with the content of the given
+         * <code>compactBlock</code>.
+         */
+        private ExtendedSignedBlock decode(CompactBlock compactBlock) throws SteemInvalidTransactionException {
+            if (compactBlock.getStringTable() != stringTable) {
+                stringTable = compactBlock.getStringTable();
+                accountNames.clear();
+                publicKeys.clear();
+            }
+
+            usedVoteOperations = 0;
+            usedCommentOperations = 0;
+            usedTransferOperations = 0;
+            usedCustomJsonOperations = 0;
+
+            timestamp.setDateTime(compactBlock.getTimestampAsEpochSeconds() * 1000);
+            block.setPrevious(compactBlock.getPrevious());
+            block.setTimestamp(timestamp);
+            block.setWitness(getAccountName(compactBlock.getWitnessIndex()));
+            block.setTransactionMerkleRoot(compactBlock.getTransactionMerkleRoot());
+            block.setExtensions(compactBlock.getExtensions() == null
+                    ? Collections.<BlockHeaderExtensions> emptyList() : compactBlock.getExtensions());
+            block.setWitnessSignature(compactBlock.getWitnessSignature());
+            block.setBlockId(compactBlock.getBlockId());
+            block.setSigningKey(compactBlock.getSigningKeyIndex() < 0 ? null
+                    : getPublicKey(compactBlock.getSigningKeyIndex()));
+
+            transactions.clear();
+            transactionIds.clear();
+            boolean hasTransactionIds = true;
+            for (int i = 0; i < compactBlock.getNumberOfTransactions(); i++) {
+                if (i == transactionSlots.size()) {
+                    transactionSlots.add(new TransactionSlot());
+                }
+
+                TransactionSlot transactionSlot = transactionSlots.get(i);
+                transactions.add(decodeTransaction(compactBlock, i, transactionSlot));
+
+                if (transactionSlot.transactionId == null) {
+                    transactionSlot.transactionId = new TransactionId(EMPTY_HASH);
+                }
+                hasTransactionIds = compactBlock.copyTransactionId(i, transactionSlot.transactionId);
+                transactionIds.add(transactionSlot.transactionId);
+            }
+
+            block.setTransactions(transactions);
+            block.setTransactionIds(hasTransactionIds ? transactionIds : null);
+
+            return block;
+        }
+
+        /**
+         * Overwrite the transaction of the given <code>transactionSlot</code>.
+         */
+        private SignedTransaction decodeTransaction(CompactBlock compactBlock, int transactionIndex,
+                TransactionSlot transactionSlot) throws SteemInvalidTransactionException {
+            transactionSlot.operations.clear();
+            int firstOperation = compactBlock.getFirstOperation(transactionIndex);
+            int endOfOperations = firstOperation + compactBlock.getNumberOfOperations(transactionIndex);
+            for (int i = firstOperation; i < endOfOperations; i++) {
+                transactionSlot.operations.add(decodeOperation(compactBlock, i));
+            }
+
+            transactionSlot.extensions.clear();
+            for (int i = 0; i < compactBlock.getNumberOfExtensions(transactionIndex); i++) {
+                transactionSlot.extensions.add(FUTURE_EXTENSION);
+            }
+
+            transactionSlot.expirationDate
+                    .setDateTime(compactBlock.getExpirationDateAsEpochSeconds(transactionIndex) * 1000);
+            UShort refBlockNum = UShort.valueOf(compactBlock.getRefBlockNum(transactionIndex));
+            UInteger refBlockPrefix = UInteger.valueOf(compactBlock.getRefBlockPrefix(transactionIndex));
+
+            try {
+                if (transactionSlot.transaction == null) {
+                    transactionSlot.transaction = new SignedTransaction(refBlockNum, refBlockPrefix,
+                            transactionSlot.expirationDate, transactionSlot.operations, transactionSlot.extensions);
+                } else {
+                    transactionSlot.transaction.setRefBlockNum(refBlockNum);
+                    transactionSlot.transaction.setRefBlockPrefix(refBlockPrefix);
+                    transactionSlot.transaction.setExpirationDate(transactionSlot.expirationDate);
+                    transactionSlot.transaction.setOperations(transactionSlot.operations);
+                    transactionSlot.transaction.setExtensions(transactionSlot.extensions);
+                }
+            } catch (InvalidParameterException e) {
+                throw new SteemInvalidTransactionException("The transaction contains an invalid value.", e);
+            }
+
+            List<String> signatures = transactionSlot.transaction.getSignatures();
+            signatures.clear();
+            int firstSignature = compactBlock.getFirstSignature(transactionIndex);
+            for (int i = firstSignature; i < compactBlock.getFirstSignature(transactionIndex + 1); i++) {
+                signatures.add(compactBlock.getSignature(i));
+            }
+
+            return transactionSlot.transaction;
+        }
+
+        /**
+         * Decode an operation and reuse an existing instance if possible.
+         */
+        private Operation decodeOperation(CompactBlock compactBlock, int operationIndex)
+                throws SteemInvalidTransactionException {
+            OperationType operationType = compactBlock.getOperationType(operationIndex);
+            ByteArrayReader reader = compactBlock.createOperationReader(operationIndex);
+
+            Operation operation;
+            try {
+                switch (operationType) {
+                case VOTE_OPERATION:
+                    reader.readVarInt();
+                    operation = decodeVoteOperation(reader);
+                    break;
+                case COMMENT_OPERATION:
+                    reader.readVarInt();
+                    operation = decodeCommentOperation(reader);
+                    break;
+                case TRANSFER_OPERATION:
+                    reader.readVarInt();
+                    operation = decodeTransferOperation(reader);
+                    break;
+                case CUSTOM_JSON_OPERATION:
+                    reader.readVarInt();
+                    operation = decodeCustomJsonOperation(reader);
+                    break;
+                default:
+                    return compactBlock.getOperation(operationIndex);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new SteemInvalidTransactionException("The " + operationType + " contains an invalid value.",
+                        e);
+            }
+
+            compactBlock.verifyOperationDecoded(operationIndex, reader);
+            return operation;
+        }
+
+        private VoteOperation decodeVoteOperation(ByteArrayReader reader) throws SteemInvalidTransactionException {
+            AccountName voter = reader.readAccountName();
+            AccountName author = reader.readAccountName();
+            Permlink permlink = reader.readPermlink();
+            short weight = reader.readShort();
+
+            if (usedVoteOperations == voteOperations.size()) {
+                voteOperations.add(new VoteOperation(voter, author, permlink, weight));
+            } else {
+                VoteOperation voteOperation = voteOperations.get(usedVoteOperations);
+                voteOperation.setVoter(voter);
+                voteOperation.setAuthor(author);
+                voteOperation.setPermlink(permlink);
+                voteOperation.setWeight(weight);
+            }
+
+            return voteOperations.get(usedVoteOperations++);
+        }
+
+        private CommentOperation decodeCommentOperation(ByteArrayReader reader)
+                throws SteemInvalidTransactionException {
+            AccountName parentAuthor = reader.readAccountName();
+            Permlink parentPermlink = reader.readPermlink();
+            AccountName author = reader.readAccountName();
+            Permlink permlink = reader.readPermlink();
+            String title = reader.readString();
+            String body = reader.readString();
+            String jsonMetadata = reader.readString();
+
+            if (usedCommentOperations == commentOperations.size()) {
+                commentOperations.add(new CommentOperation(parentAuthor, parentPermlink, author, permlink, title,
+                        body, jsonMetadata));
+            } else {
+                CommentOperation commentOperation = commentOperations.get(usedCommentOperations);
+                commentOperation.setParentAuthor(parentAuthor);
+                commentOperation.setParentPermlink(parentPermlink);
+                commentOperation.setAuthor(author);
+                commentOperation.setPermlink(permlink);
+                commentOperation.setTitle(title);
+                commentOperation.setBody(body);
+                commentOperation.setJsonMetadata(jsonMetadata);
+            }
+
+            return commentOperations.get(usedCommentOperations++);
+        }
+
+        private TransferOperation decodeTransferOperation(ByteArrayReader reader)
+                throws SteemInvalidTransactionException {
+            AccountName from = reader.readAccountName();
+            AccountName to = reader.readAccountName();
+            LegacyAsset amount = reader.readLegacyAsset();
+            String memo = reader.readString();
+
+            if (usedTransferOperations == transferOperations.size()) {
+                transferOperations.add(new TransferOperation(from, to, amount, memo));
+            } else {
+                TransferOperation transferOperation = transferOperations.get(usedTransferOperations);
+                transferOperation.setFrom(from);
+                transferOperation.setTo(to);
+                transferOperation.setAmount(amount);
+                transferOperation.setMemo(memo);
+            }
+
+            return transferOperations.get(usedTransferOperations++);
+        }
+
+        private CustomJsonOperation decodeCustomJsonOperation(ByteArrayReader reader)
+                throws SteemInvalidTransactionException {
+            if (usedCustomJsonOperations == customJsonOperations.size()) {
+                customJsonOperations.add(new CustomJsonOperation(new ArrayList<AccountName>(),
+                        new ArrayList<AccountName>(), "", null));
+            }
+
+            CustomJsonOperation customJsonOperation = customJsonOperations.get(usedCustomJsonOperations++);
+            readAccountNames(reader, customJsonOperation.getRequiredAuths());
+            readAccountNames(reader, customJsonOperation.getRequiredPostingAuths());
+            customJsonOperation.setId(reader.readString());
+            customJsonOperation.setJson(reader.readString());
+
+            return customJsonOperation;
+        }
+
+        /**
+         * Replace the content of the <code>accountNames</code> list by the
+         * next list of account names.
+         */
+        private static void readAccountNames(ByteArrayReader reader, List<AccountName> accountNames)
+                throws SteemInvalidTransactionException {
+            accountNames.clear();
+
+            int numberOfAccountNames = reader.readLength();
+            for (int i = 0; i < numberOfAccountNames; i++) {
+                accountNames.add(reader.readAccountName());
+            }
+        }
+
+        /**
+         * Get the account name stored at the given index of the string table.
+         * Account names are cached as they are repeated in most blocks.
+         */
+        private AccountName getAccountName(int index) {
+            while (accountNames.size() <= index) {
+                accountNames.add(null);
+            }
+
+            if (accountNames.get(index) == null) {
+                accountNames.set(index, new AccountName(stringTable.get(index)));
+            }
+
+            return accountNames.get(index);
+        }
+
+        /**
+         * Get the public key stored at the given index of the string table.
+         * Public keys are cached as parsing them is expensive.
+         */
+        private PublicKey getPublicKey(int index) {
+            while (publicKeys.size() <= index) {
+                publicKeys.add(null);
+            }
+
+            if (publicKeys.get(index) == null) {
+                publicKeys.set(index, new PublicKey(stringTable.get(index)));
+            }
+
+            return publicKeys.get(index);
+        }
+    }
+}
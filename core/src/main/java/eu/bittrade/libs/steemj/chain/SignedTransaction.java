@@ -21,16 +21,16 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 import org.joou.UShort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.spongycastle.util.encoders.Base64;
+import org.spongycastle.crypto.digests.SHA256Digest;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -45,13 +45,19 @@ import eu.bittrade.libs.steemj.base.models.Transaction;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+import eu.bittrade.libs.steemj.util.Secp256k1Signer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -62,6 +68,13 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
 public class SignedTransaction extends Transaction implements ByteTransformable, Serializable {
     private static final long serialVersionUID = 4821422578657270330L;
     private static final Logger LOGGER = LoggerFactory.getLogger(SignedTransaction.class);
+    /**
+     * The position of the expiration date in a transaction serialized without
+     * a chain id (ref_block_num (2 bytes) + ref_block_prefix (4 bytes)).
+     */
+    private static final int EXPIRATION_DATE_OFFSET = 6;
+    /** The size of a transaction id in bytes. */
+    private static final int TRANSACTION_ID_SIZE = 20;
 
     protected transient List<String> signatures;
 
@@ -138,19 +151,31 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
     }
 
     /**
-     * Verify that the signature is canonical.
+     * Check if a freshly created signature violates the canonical rule of the
+     * <code>fc</code> library, which requires <code>r</code> and
+     * <code>s</code> to be exactly 32 bytes long when encoded as signed DER
+     * integers: Neither value may be negative or start with an unnecessary
+     * zero byte. Like earlier versions, signatures whose <code>r</code> value
+     * ends with a zero or negative byte are rejected as well, so the same
+     * transaction still results in the same expiration date.
+     * 
+     * This rule is only applied when signing and must not be confused with
+     * {@link Secp256k1Signer#isCanonical(byte[])}, which a node checks for
+     * every signature it receives.
      * 
      * Original implementation can be found <a href=
      * "https://github.com/kenCode-de/graphenej/blob/master/graphenej/src/main/java/de/bitsharesmunich/graphenej/Transaction.java"
      * >here</a>.
      * 
      * @param signature
-     *            A single signature in its byte representation.
-     * @return True if the signature is canonical or false if not.
+     *            A single signature in its compact 65 byte representation.
+     * @return <code>true</code> if the signature needs to be replaced, or
+     *         <code>false</code> if it can be used.
      */
-    private boolean isCanonical(byte[] signature) {
-        return ((signature[0] & 0x80) != 0) || (signature[0] == 0) || ((signature[1] & 0x80) != 0)
-                || ((signature[32] & 0x80) != 0) || (signature[32] == 0) || ((signature[33] & 0x80) != 0);
+    private static boolean isNotFcCanonical(byte[] signature) {
+        return ((signature[1] & 0x80) != 0) || (signature[1] == 0 && (signature[2] & 0x80) == 0)
+                || ((signature[32] & 0x80) != 0) || (signature[32] == 0) || ((signature[33] & 0x80) != 0)
+                || (signature[33] == 0 && (signature[34] & 0x80) == 0);
     }
 
     /**
@@ -176,33 +201,89 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      *             If the transaction can not be signed.
      */
     public void sign(String chainId) throws SteemInvalidTransactionException {
+        sign(chainId, getRequiredSignatureKeys());
+    }
+
+    /**
+     * Like {@link #sign(String) sign(String)}, but uses the given private keys
+     * instead of resolving them from the
+     * {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}. This
+     * method is useful if the keys of many transactions have already been
+     * resolved, e.g. by the {@link TransactionSigner}.
+     * 
+     * @param chainId
+     *            The chain id that should be used during signing.
+     * @param requiredPrivateKeys
+     *            The private keys to sign this transaction with (see
+     *            {@link #getRequiredSignatureKeys()}).
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be signed.
+     */
+    public void sign(String chainId, List<ECKey> requiredPrivateKeys) throws SteemInvalidTransactionException {
         if (!SteemJConfig.getInstance().getValidationsToSkip().contains(ValidationType.SKIP_VALIDATION)) {
             this.validate();
         }
 
-        for (ECKey requiredPrivateKey : getRequiredSignatureKeys()) {
-            boolean isCanonical = false;
+        // Pin the expiration date so that the signed bytes match the
+        // broadcasted transaction even if no expiration date has been set.
+        TimePointSec expirationDate = this.getExpirationDate();
+        this.setExpirationDate(expirationDate);
 
-            Sha256Hash messageAsHash;
-            while (!isCanonical) {
-                try {
-                    messageAsHash = Sha256Hash.of(this.toByteArray(chainId));
-                } catch (SteemInvalidTransactionException e) {
-                    throw new SteemInvalidTransactionException(
-                            "The required encoding is not supported by your platform.", e);
-                }
+        // Serialize (and validate) the transaction only once. If a
+        // signature is not canonical, only the expiration date is patched
+        // directly in the serialized transaction.
+        byte[] serializedTransaction = this.toByteArray("");
+        SHA256Digest chainIdMidstate = new SHA256Digest();
+        if (chainId != null && !chainId.isEmpty()) {
+            byte[] chainIdAsByteArray = CryptoUtils.HEX.decode(chainId);
+            chainIdMidstate.update(chainIdAsByteArray, 0, chainIdAsByteArray.length);
+        }
 
-                String signature = requiredPrivateKey.signMessage(messageAsHash);
-                byte[] signatureAsByteArray = Base64.decode(signature);
+        int expirationInSeconds = expirationDate.getDateTimeAsInt();
+        List<String> newSignatures = new ArrayList<>();
+        int keyIndex = 0;
+        while (keyIndex < requiredPrivateKeys.size()) {
+            Sha256Hash messageAsHash = hashTransaction(chainIdMidstate, serializedTransaction);
 
-                if (isCanonical(signatureAsByteArray)) {
-                    this.getExpirationDate().setDateTime(this.getExpirationDate().getDateTimeAsTimestamp() + 1);
-                } else {
-                    isCanonical = true;
-                    this.signatures.add(CryptoUtils.HEX.encode(signatureAsByteArray));
-                }
+            byte[] signature = Secp256k1Signer.signCompact(messageAsHash, requiredPrivateKeys.get(keyIndex));
+
+            if (isNotFcCanonical(signature)) {
+                // Changing the expiration date invalidates all signatures
+                // created so far, so start over with the first key.
+                expirationInSeconds++;
+                System.arraycopy(SteemJUtils.transformIntToByteArray(expirationInSeconds), 0, serializedTransaction,
+                        EXPIRATION_DATE_OFFSET, 4);
+                newSignatures.clear();
+                keyIndex = 0;
+            } else {
+                newSignatures.add(CryptoUtils.HEX.encode(signature));
+                keyIndex++;
             }
         }
+
+        expirationDate.setDateTime(expirationInSeconds * 1000L);
+        this.signatures.addAll(newSignatures);
+    }
+
+    /**
+     * Calculate the SHA-256 hash of a serialized transaction based on a
+     * digest that has already absorbed the chain id.
+     * 
+     * @param chainIdMidstate
+     *            The digest containing the chain id. The given instance is not
+     *            modified.
+     * @param serializedTransaction
+     *            The transaction serialized without a chain id.
+     * @return The hash to sign.
+     */
+    private static Sha256Hash hashTransaction(SHA256Digest chainIdMidstate, byte[] serializedTransaction) {
+        SHA256Digest digest = new SHA256Digest(chainIdMidstate);
+        digest.update(serializedTransaction, 0, serializedTransaction.length);
+
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.doFinal(hash, 0);
+
+        return Sha256Hash.wrap(CryptoUtils.HEX.encode(hash));
     }
 
     /**
@@ -213,15 +294,43 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      */
     @JsonIgnore
 	public List<ECKey> getRequiredSignatureKeys() throws SteemInvalidTransactionException {
+        return getRequiredSignatureKeys(getRequiredAuthorities());
+    }
+
+    /**
+     * Get the required authorities of this transaction. This method is used by
+     * the {@link TransactionSigner} to share resolved keys between
+     * transactions with the same authorities.
+     * 
+     * @return All required authorities and private key types.
+     */
+    Map<SignatureObject, PrivateKeyType> getRequiredAuthoritiesForSigning() {
+        return getRequiredAuthorities();
+    }
+
+    /**
+     * Resolve the private keys for the given <code>requiredAuthorities</code>.
+     * 
+     * @param requiredAuthorities
+     *            The authorities to fetch the private keys for.
+     * @return The list of private keys required to sign.
+     * @throws SteemInvalidTransactionException
+     *             If the required private key is not present in the
+     *             {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}.
+     */
+    static List<ECKey> getRequiredSignatureKeys(Map<SignatureObject, PrivateKeyType> requiredAuthorities)
+            throws SteemInvalidTransactionException {
         List<ECKey> requiredSignatures = new ArrayList<>();
-        Map<SignatureObject, PrivateKeyType> requiredAuthorities = getRequiredAuthorities();
 
         for (Entry<SignatureObject, PrivateKeyType> requiredAuthority : requiredAuthorities.entrySet()) {
             if (requiredAuthority.getKey() instanceof AccountName) {
                 requiredSignatures = getRequiredSignatureKeyForAccount(requiredSignatures,
                         (AccountName) requiredAuthority.getKey(), requiredAuthority.getValue());
             } else if (requiredAuthority.getKey() instanceof Authority) {
-                // TODO: Support authorities.
+                mergeKeys(requiredSignatures,
+                        SteemJConfig.getInstance().getAuthorityCache().getRequiredPrivateKeys(
+                                (Authority) requiredAuthority.getKey(), requiredAuthority.getValue(),
+                                SteemJConfig.getInstance().getPrivateKeyStorage()));
             } else {
                 LOGGER.warn("Unknown SigningObject type {}", requiredAuthority.getKey());
             }
@@ -233,7 +342,13 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
     /**
      * Fetch the requested private key for the given <code>accountName</code>
      * from the {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}
-     * and merge it into the <code>requiredSignatures</code> list.
+     * and merge it into the <code>requiredSignatures</code> list. Like on a
+     * Steem node, a posting requirement is also satisfied by an active or
+     * owner key and an active requirement is also satisfied by an owner key
+     * (see {@link #getSatisfyingPrivateKeyTypes(PrivateKeyType)}). If none of
+     * these keys is stored, the keys are resolved from the authorities of the
+     * account as known by the {@link AuthorityCache}, which also covers multi
+     * signature accounts.
      * 
      * @param requiredSignatures
      *            A list of already fetched keys. This list is used to make sure
@@ -248,25 +363,215 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
      *             If the required private key is not present in the
      *             {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage}.
      */
-    private List<ECKey> getRequiredSignatureKeyForAccount(List<ECKey> requiredSignatures, AccountName accountName,
+    private static List<ECKey> getRequiredSignatureKeyForAccount(List<ECKey> requiredSignatures, AccountName accountName,
             PrivateKeyType privateKeyType) throws SteemInvalidTransactionException {
-        ECKey privateKey;
+        List<PrivateKeyType> satisfyingPrivateKeyTypes = getSatisfyingPrivateKeyTypes(privateKeyType);
+
+        for (PrivateKeyType satisfyingPrivateKeyType : satisfyingPrivateKeyTypes) {
+            try {
+                List<ECKey> privateKeys = new ArrayList<>();
+                privateKeys.add(SteemJConfig.getInstance().getPrivateKeyStorage()
+                        .getKeyForAccount(satisfyingPrivateKeyType, accountName));
+                return mergeKeys(requiredSignatures, privateKeys);
+            } catch (InvalidParameterException ipe) {
+                // Try the next type.
+            }
+        }
+
+        SteemInvalidTransactionException firstException = null;
+        for (PrivateKeyType satisfyingPrivateKeyType : satisfyingPrivateKeyTypes) {
+            Authority authority = getAuthorityOfAccount(accountName, satisfyingPrivateKeyType);
+            if (authority == null) {
+                continue;
+            }
+
+            try {
+                return mergeKeys(requiredSignatures, SteemJConfig.getInstance().getAuthorityCache()
+                        .getRequiredPrivateKeys(authority, satisfyingPrivateKeyType,
+                                SteemJConfig.getInstance().getPrivateKeyStorage()));
+            } catch (SteemInvalidTransactionException e) {
+                if (firstException == null) {
+                    firstException = e;
+                }
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+
+        throw new SteemInvalidTransactionException(
+                "Could not find private " + privateKeyType + " key for the user " + accountName.getName() + ".");
+    }
+
+    /**
+     * Get the private key types whose keys satisfy a requirement of the given
+     * <code>privateKeyType</code>, ordered from the weakest to the strongest
+     * key. A Steem node accepts the active and the owner authority for a
+     * posting requirement and the owner authority for an active requirement.
+     * 
+     * @param privateKeyType
+     *            The required private key type.
+     * @return The private key types satisfying the requirement.
+     */
+    static List<PrivateKeyType> getSatisfyingPrivateKeyTypes(PrivateKeyType privateKeyType) {
+        List<PrivateKeyType> satisfyingPrivateKeyTypes = new ArrayList<>();
+        satisfyingPrivateKeyTypes.add(privateKeyType);
+
+        if (PrivateKeyType.POSTING.equals(privateKeyType)) {
+            satisfyingPrivateKeyTypes.add(PrivateKeyType.ACTIVE);
+            satisfyingPrivateKeyTypes.add(PrivateKeyType.OWNER);
+        } else if (PrivateKeyType.ACTIVE.equals(privateKeyType)) {
+            satisfyingPrivateKeyTypes.add(PrivateKeyType.OWNER);
+        }
+
+        return satisfyingPrivateKeyTypes;
+    }
+
+    /**
+     * Get the authority of the given type for the given account from the
+     * {@link AuthorityCache}.
+     * 
+     * @return The authority or <code>null</code> if it is not known.
+     * @throws SteemInvalidTransactionException
+     *             If the account could not be requested.
+     */
+    static Authority getAuthorityOfAccount(AccountName accountName, PrivateKeyType privateKeyType)
+            throws SteemInvalidTransactionException {
+        if (!PrivateKeyType.OWNER.equals(privateKeyType) && !PrivateKeyType.ACTIVE.equals(privateKeyType)
+                && !PrivateKeyType.POSTING.equals(privateKeyType)) {
+            return null;
+        }
 
         try {
-            privateKey = SteemJConfig.getInstance().getPrivateKeyStorage().getKeyForAccount(privateKeyType,
-                    accountName);
-        } catch (InvalidParameterException ipe) {
+            return SteemJConfig.getInstance().getAuthorityCache().getAuthority(accountName, privateKeyType);
+        } catch (SteemCommunicationException | SteemResponseException e) {
             throw new SteemInvalidTransactionException(
-                    "Could not find private " + privateKeyType + " key for the user " + accountName.getName() + ".");
+                    "Could not request the authorities of the user " + accountName.getName() + ".", e);
         }
+    }
 
-        if (!requiredSignatures.contains(privateKey)) {
-            requiredSignatures.add(privateKey);
+    /**
+     * Add all <code>privateKeys</code> that are not yet part of the
+     * <code>requiredSignatures</code>.
+     * 
+     * @return The <code>requiredSignatures</code>.
+     */
+    private static List<ECKey> mergeKeys(List<ECKey> requiredSignatures, List<ECKey> privateKeys) {
+        for (ECKey privateKey : privateKeys) {
+            if (!requiredSignatures.contains(privateKey)) {
+                requiredSignatures.add(privateKey);
+            }
         }
 
         return requiredSignatures;
     }
 
+    /**
+     * Calculate the id of this transaction locally. The id is the first 20
+     * bytes of the SHA-256 hash of the transaction serialized without a chain
+     * id and without its signatures, so it does not change when the
+     * transaction is signed.
+     * 
+     * @return The id of this transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
+     */
+    public TransactionId calculateTransactionId() throws SteemInvalidTransactionException {
+        byte[] transactionId = Arrays.copyOf(Sha256Hash.of(this.toByteArray("")).getBytes(), TRANSACTION_ID_SIZE);
+
+        return new TransactionId(CryptoUtils.HEX.encode(transactionId));
+    }
+
+    /**
+     * Like {@link #recoverSignatureKeys(String) recoverSignatureKeys(String)},
+     * but uses the {@link SteemJConfig#getChainId() default chain id}.
+     * 
+     * @return The public keys that have signed this transaction.
+     * @throws SteemInvalidTransactionException
+     *             If a signature is invalid or has been added twice.
+     */
+    public List<PublicKey> recoverSignatureKeys() throws SteemInvalidTransactionException {
+        return recoverSignatureKeys(SteemJConfig.getInstance().getChainId());
+    }
+
+    /**
+     * Recover the public keys of all {@link #getSignatures() signatures} of
+     * this transaction locally, which is the same as calling the
+     * "get_potential_signatures" method of a Steem node for an already signed
+     * transaction. Like a node, signatures that are not
+     * {@link Secp256k1Signer#isCanonical(byte[]) canonical} are rejected.
+     * 
+     * @param chainId
+     *            The chain id that has been used during signing.
+     * @return The public keys that have signed this transaction in the order
+     *         of the signatures.
+     * @throws SteemInvalidTransactionException
+     *             If a signature is invalid, not canonical or has been added
+     *             twice.
+     */
+    public List<PublicKey> recoverSignatureKeys(String chainId) throws SteemInvalidTransactionException {
+        Sha256Hash messageAsHash = Sha256Hash.of(this.toByteArray(chainId));
+
+        List<PublicKey> signatureKeys = new ArrayList<>();
+        for (String signature : this.getSignatures()) {
+            PublicKey signatureKey;
+            try {
+                byte[] signatureAsByteArray = CryptoUtils.HEX.decode(signature);
+                if (!Secp256k1Signer.isCanonical(signatureAsByteArray)) {
+                    throw new SteemInvalidTransactionException("The signature " + signature + " is not canonical.");
+                }
+
+                signatureKey = new PublicKey(Secp256k1Signer.recoverPublicKey(messageAsHash, signatureAsByteArray));
+            } catch (IllegalArgumentException e) {
+                throw new SteemInvalidTransactionException("The signature " + signature + " is invalid.", e);
+            }
+
+            if (signatureKeys.contains(signatureKey)) {
+                throw new SteemInvalidTransactionException("The transaction contains a duplicate signature.");
+            }
+
+            signatureKeys.add(signatureKey);
+        }
+
+        return signatureKeys;
+    }
+
+    /**
+     * Like {@link #verifyAuthority(Authority, String) verifyAuthority(Authority,
+     * String)}, but uses the {@link SteemJConfig#getChainId() default chain
+     * id}.
+     * 
+     * @param authority
+     *            The authority to verify.
+     * @return <code>true</code> if the signatures satisfy the given
+     *         <code>authority</code>, otherwise <code>false</code>.
+     * @throws SteemInvalidTransactionException
+     *             If a signature is invalid or has been added twice.
+     */
+    public boolean verifyAuthority(Authority authority) throws SteemInvalidTransactionException {
+        return verifyAuthority(authority, SteemJConfig.getInstance().getChainId());
+    }
+
+    /**
+     * Verify locally that the signatures of this transaction satisfy the key
+     * weights of the given <code>authority</code> (see
+     * {@link Authority#isSatisfiedBy(java.util.Collection)}).
+     * 
+     * @param authority
+     *            The authority to verify, e.g. the posting authority of the
+     *            account that performs the operations.
+     * @param chainId
+     *            The chain id that has been used during signing.
+     * @return <code>true</code> if the signatures satisfy the given
+     *         <code>authority</code>, otherwise <code>false</code>.
+     * @throws SteemInvalidTransactionException
+     *             If a signature is invalid or has been added twice.
+     */
+    public boolean verifyAuthority(Authority authority, String chainId) throws SteemInvalidTransactionException {
+        return authority.isSatisfiedBy(recoverSignatureKeys(chainId));
+    }
+
     /**
      * This method creates a byte array based on a transaction object under the
      * use of a guide written by <a href="https://Steemit.com/Steem/@xeroc/">
@@ -326,8 +631,35 @@ public class SignedTransaction extends Transaction implements ByteTransformable,
         }
     }
 
+    /**
+     * Like {@link #toByteArray(String) toByteArray("")}, but also appends the
+     * signatures of this transaction. This is the representation of a
+     * "signed_transaction" as used by the Steem node and can be transformed
+     * back into a transaction object using
+     * {@link TransactionDecoder#decodeSignedTransaction(byte[])}.
+     * 
+     * @return The serialized transaction object including its signatures.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction can not be serialized.
+     */
+    public byte[] toSignedByteArray() throws SteemInvalidTransactionException {
+        try (ByteArrayOutputStream serializedTransaction = new ByteArrayOutputStream()) {
+            serializedTransaction.write(this.toByteArray(""));
+
+            serializedTransaction.write(SteemJUtils.transformLongToVarIntByteArray(this.getSignatures().size()));
+            for (String signature : this.getSignatures()) {
+                serializedTransaction.write(CryptoUtils.HEX.decode(signature));
+            }
+
+            return serializedTransaction.toByteArray();
+        } catch (IOException e) {
+            throw new SteemInvalidTransactionException(
+                    "A problem occured while transforming the transaction into a byte array.", e);
+        }
+    }
+
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -0,0 +1,152 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A dictionary of Strings that is shared between multiple
+ * {@link CompactBlock CompactBlocks}. Each distinct String (e.g. the name of a
+ * witness) is only stored once and referenced by its index.
+ * 
+ * As the blocks refer to the Strings by their index, entries are never
+ * removed. To keep the memory usage bounded, the number of entries is limited
+ * (see {@link #StringTable(int)}): Once the table is full, no new Strings can be
+ * added and a new table should be used for the following blocks.
+ * 
+ * This class is thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class StringTable {
+    private static final int INITIAL_CAPACITY = 64;
+    /** The default maximum number of entries of a table. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 65536;
+
+    private final int maximumSize;
+    private final ConcurrentMap<String, Integer> indicesPerString = new ConcurrentHashMap<>();
+    /** The Strings ordered by their index. */
+    private volatile String[] strings;
+    private volatile int size = 0;
+
+    /**
+     * Create a new table which holds up to {@link #DEFAULT_MAXIMUM_SIZE}
+     * Strings.
+     */
+    public StringTable() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create a new table with a custom limit.
+     * 
+     * @param maximumSize
+     *            The maximum number of distinct Strings stored in this table.
+     * @throws InvalidParameterException
+     *             If the <code>maximumSize</code> is not positive.
+     */
+    public StringTable(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new InvalidParameterException("The maximum size of the string table needs to be positive.");
+        }
+
+        this.maximumSize = maximumSize;
+        this.strings = new String[Math.min(INITIAL_CAPACITY, maximumSize)];
+    }
+
+    /**
+     * Get the index of the given <code>string</code> and add it to this table
+     * if it is not known yet.
+     * 
+     * @param string
+     *            The String to add.
+     * @return The index of the <code>string</code>.
+     * @throws InvalidParameterException
+     *             If the <code>string</code> is null.
+     * @throws IllegalStateException
+     *             If the <code>string</code> is not known yet, but the table
+     *             already holds the maximum number of Strings.
+     */
+    public int indexOf(String string) {
+        if (string == null) {
+            throw new InvalidParameterException("Only non null values can be added to the string table.");
+        }
+
+        Integer index = indicesPerString.get(string);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (this) {
+            index = indicesPerString.get(string);
+            if (index != null) {
+                return index;
+            }
+
+            if (size == maximumSize) {
+                throw new IllegalStateException("The string table is full, as it already contains " + maximumSize
+                        + " strings.");
+            } else if (size == strings.length) {
+                strings = Arrays.copyOf(strings, Math.min(size * 2, maximumSize));
+            }
+
+            strings[size] = string;
+            indicesPerString.put(string, size);
+            // Publish the new entry by writing the volatile size.
+            size = size + 1;
+
+            return size - 1;
+        }
+    }
+
+    /**
+     * Get the String stored at the given <code>index</code>.
+     * 
+     * @param index
+     *            The index returned by {@link #indexOf(String)}.
+     * @return The String.
+     * @throws InvalidParameterException
+     *             If there is no String with the given <code>index</code>.
+     */
+    public String get(int index) {
+        int currentSize = size;
+        String[] currentStrings = strings;
+        if (index < 0 || index >= currentSize) {
+            throw new InvalidParameterException("The string table does not contain an entry with index " + index
+                    + ".");
+        }
+
+        return currentStrings[index];
+    }
+
+    /**
+     * @return The maximum number of distinct Strings stored in this table.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return The number of distinct Strings stored in this table.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.joou.UInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.plugins.apis.block.BlockApi;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockArgs;
+import eu.bittrade.libs.steemj.plugins.apis.database.DatabaseApi;
+import eu.bittrade.libs.steemj.plugins.apis.network.broadcast.api.NetworkBroadcastApi;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+
+/**
+ * This class broadcasts signed transactions asynchronously and tracks their
+ * inclusion in a block.
+ * 
+ * Transactions are added to a bounded queue and submitted by worker threads
+ * using
+ * {@link NetworkBroadcastApi#broadcastTransaction(CommunicationHandler, SignedTransaction)}.
+ * A separate thread watches the new blocks and completes the future of a
+ * transaction with the number of the block that contains it. If a transaction
+ * expires before it has been included, it is signed again with a fresh
+ * reference block and broadcasted again, up to
+ * {@link #MAXIMUM_NUMBER_OF_RETRIES} times.
+ * 
+ * Compared to
+ * {@link NetworkBroadcastApi#broadcastTransactionSynchronous(CommunicationHandler, SignedTransaction)}
+ * no thread is blocked while waiting for the next block.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionBroadcaster implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionBroadcaster.class);
+
+    /** The number of times an expired transaction is signed again. */
+    public static final int MAXIMUM_NUMBER_OF_RETRIES = 3;
+
+    private final CommunicationHandler communicationHandler;
+    private final ReferenceBlockProvider referenceBlockProvider;
+    private final BlockingQueue<PendingTransaction> queue;
+    private final ConcurrentMap<TransactionId, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
+    private final int numberOfWorkers;
+    private final long pollingInterval;
+    private ExecutorService workers;
+    private ScheduledExecutorService blockWatcher;
+    private boolean closed;
+    private long lastProcessedBlockNumber = -1;
+
+    /**
+     * Create a new transaction broadcaster. Its threads are started with the
+     * first broadcast.
+     * 
+     * @param communicationHandler
+     *            The communication handler used to broadcast the transactions
+     *            and to request new blocks.
+     * @param referenceBlockProvider
+     *            The provider used to sign expired transactions again.
+     * @param queueCapacity
+     *            The maximum number of transactions waiting to be
+     *            broadcasted.
+     * @param numberOfWorkers
+     *            The number of threads used to broadcast transactions.
+     * @param pollingInterval
+     *            The interval in milliseconds in which new blocks are
+     *            requested.
+     * @throws InvalidParameterException
+     *             If one of the numeric parameters is not positive.
+     */
+    public TransactionBroadcaster(CommunicationHandler communicationHandler,
+            ReferenceBlockProvider referenceBlockProvider, int queueCapacity, int numberOfWorkers,
+            long pollingInterval) {
+        if (queueCapacity < 1 || numberOfWorkers < 1 || pollingInterval <= 0) {
+            throw new InvalidParameterException(
+                    "The queue capacity, the number of workers and the polling interval need to be positive.");
+        }
+
+        this.communicationHandler = communicationHandler;
+        this.referenceBlockProvider = referenceBlockProvider;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.numberOfWorkers = numberOfWorkers;
+        this.pollingInterval = pollingInterval;
+    }
+
+    /**
+     * Add a signed transaction to the queue. This method blocks while the
+     * queue is full.
+     * 
+     * @param signedTransaction
+     *            The transaction to broadcast.
+     * @return A future that provides the number of the block which contains
+     *         the transaction. It fails if the transaction has been rejected,
+     *         expired more than {@link #MAXIMUM_NUMBER_OF_RETRIES} times or
+     *         could not be queued again after it expired.
+     * @throws InterruptedException
+     *             If the thread has been interrupted while waiting for free
+     *             space in the queue.
+     * @throws IllegalStateException
+     *             If this broadcaster has already been closed.
+     */
+    public ListenableFuture<Long> broadcast(SignedTransaction signedTransaction) throws InterruptedException {
+        startThreads();
+
+        PendingTransaction pendingTransaction = new PendingTransaction(signedTransaction);
+        queue.put(pendingTransaction);
+
+        return pendingTransaction.future;
+    }
+
+    /**
+     * @return The number of transactions that have been broadcasted, but are
+     *         not included in a block yet.
+     */
+    public int getNumberOfPendingTransactions() {
+        return pendingTransactions.size();
+    }
+
+    /**
+     * Start the workers and the block watcher if this has not been done yet.
+     * 
+     * @throws IllegalStateException
+     *             If this broadcaster has already been closed.
+     */
+    private synchronized void startThreads() {
+        if (closed) {
+            throw new IllegalStateException("The broadcaster has already been closed.");
+        } else if (workers != null) {
+            return;
+        }
+
+        workers = Executors.newFixedThreadPool(numberOfWorkers, new DaemonThreadFactory("broadcast-worker"));
+        for (int i = 0; i < numberOfWorkers; i++) {
+            workers.execute(new Runnable() {
+                @Override
+                public void run() {
+                    broadcastQueuedTransactions();
+                }
+            });
+        }
+
+        blockWatcher = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("block-watcher"));
+        blockWatcher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    processNewBlocks();
+                } catch (SteemCommunicationException | SteemResponseException | RuntimeException e) {
+                    LOGGER.debug("Unable to process the latest blocks.", e);
+                }
+            }
+        }, 0, pollingInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Broadcast a transaction to the Steem node.
+     * 
+     * @param signedTransaction
+     *            The transaction to broadcast.
+     * @throws SteemCommunicationException
+     *             If there is a connection problem.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     * @throws SteemInvalidTransactionException
+     *             If the transaction is not valid.
+     */
+    protected void submit(SignedTransaction signedTransaction)
+            throws SteemCommunicationException, SteemResponseException, SteemInvalidTransactionException {
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, signedTransaction);
+    }
+
+    /**
+     * Request the number of the current head block.
+     * 
+     * @return The number of the head block.
+     * @throws SteemCommunicationException
+     *             If there is a connection problem.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    protected long requestHeadBlockNumber() throws SteemCommunicationException, SteemResponseException {
+        return DatabaseApi.getDynamicGlobalProperties(communicationHandler).getHeadBlockNumber().longValue();
+    }
+
+    /**
+     * Request the block with the given number.
+     * 
+     * @param blockNumber
+     *            The number of the block.
+     * @return The block or {@link Optional#absent()} if the block does not
+     *         exist yet.
+     * @throws SteemCommunicationException
+     *             If there is a connection problem.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    protected Optional<ExtendedSignedBlock> requestBlock(long blockNumber)
+            throws SteemCommunicationException, SteemResponseException {
+        return BlockApi.getBlock(communicationHandler, new GetBlockArgs(UInteger.valueOf(blockNumber))).getBlock();
+    }
+
+    /**
+     * Take transactions from the queue and broadcast them until this
+     * broadcaster is closed.
+     */
+    private void broadcastQueuedTransactions() {
+        while (!Thread.currentThread().isInterrupted()) {
+            PendingTransaction pendingTransaction;
+            try {
+                pendingTransaction = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            TransactionId transactionId = null;
+            try {
+                transactionId = pendingTransaction.signedTransaction.calculateTransactionId();
+                // Track the transaction before it is sent, so its inclusion
+                // can't be missed.
+                pendingTransactions.put(transactionId, pendingTransaction);
+                submit(pendingTransaction.signedTransaction);
+            } catch (SteemCommunicationException | SteemResponseException | SteemInvalidTransactionException
+                    | RuntimeException e) {
+                if (transactionId != null) {
+                    pendingTransactions.remove(transactionId, pendingTransaction);
+                }
+
+                pendingTransaction.future.setException(e);
+            }
+        }
+    }
+
+    /**
+     * Process all blocks created since the last call. Transactions contained
+     * in these blocks are completed, while transactions that expired are
+     * signed and queued again.
+     * 
+     * @throws SteemCommunicationException
+     *             If there is a connection problem.
+     * @throws SteemResponseException
+     *             If the Server returned an error object.
+     */
+    private void processNewBlocks() throws SteemCommunicationException, SteemResponseException {
+        long headBlockNumber = requestHeadBlockNumber();
+        if (lastProcessedBlockNumber < 0) {
+            lastProcessedBlockNumber = headBlockNumber - 1;
+        }
+
+        while (lastProcessedBlockNumber < headBlockNumber) {
+            long blockNumber = lastProcessedBlockNumber + 1;
+            Optional<ExtendedSignedBlock> block = requestBlock(blockNumber);
+            if (!block.isPresent()) {
+                return;
+            }
+
+            if (block.get().getTransactionIds() != null) {
+                for (TransactionId transactionId : block.get().getTransactionIds()) {
+                    PendingTransaction pendingTransaction = pendingTransactions.remove(transactionId);
+                    if (pendingTransaction != null) {
+                        pendingTransaction.future.set(blockNumber);
+                    }
+                }
+            }
+
+            // A transaction can't be included in a block produced after its
+            // expiration date.
+            long blockTimestamp = block.get().getTimestamp().getDateTimeAsTimestamp();
+            Iterator<PendingTransaction> pendingTransactionIterator = pendingTransactions.values().iterator();
+            while (pendingTransactionIterator.hasNext()) {
+                PendingTransaction pendingTransaction = pendingTransactionIterator.next();
+                if (pendingTransaction.signedTransaction.getExpirationDate()
+                        .getDateTimeAsTimestamp() < blockTimestamp) {
+                    pendingTransactionIterator.remove();
+                    retry(pendingTransaction);
+                }
+            }
+
+            lastProcessedBlockNumber = blockNumber;
+        }
+    }
+
+    /**
+     * Sign an expired transaction again using a fresh reference block and
+     * queue it. This method is called by the block watcher, so it never waits
+     * for free space in the queue: If the queue is full, the transaction
+     * fails instead.
+     */
+    private void retry(PendingTransaction pendingTransaction) {
+        if (pendingTransaction.numberOfRetries.incrementAndGet() > MAXIMUM_NUMBER_OF_RETRIES) {
+            pendingTransaction.future.setException(new SteemInvalidTransactionException(
+                    "The transaction expired " + MAXIMUM_NUMBER_OF_RETRIES + " times without being included."));
+            return;
+        }
+
+        try {
+            SignedTransaction renewedTransaction = referenceBlockProvider.createTransaction(
+                    pendingTransaction.signedTransaction.getOperations(),
+                    pendingTransaction.signedTransaction.getExtensions());
+            renewedTransaction.sign();
+
+            pendingTransaction.signedTransaction = renewedTransaction;
+            if (!queue.offer(pendingTransaction)) {
+                pendingTransaction.future.setException(new IllegalStateException(
+                        "The expired transaction could not be queued again as the queue is full."));
+            }
+        } catch (SteemCommunicationException | SteemResponseException | SteemInvalidTransactionException e) {
+            pendingTransaction.future.setException(e);
+        }
+    }
+
+    /**
+     * Stop all threads of this broadcaster. Transactions that are still
+     * queued or pending are cancelled.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (workers != null) {
+            workers.shutdownNow();
+            blockWatcher.shutdownNow();
+        }
+
+        for (PendingTransaction pendingTransaction : queue) {
+            pendingTransaction.future.cancel(false);
+        }
+        for (PendingTransaction pendingTransaction : pendingTransactions.values()) {
+            pendingTransaction.future.cancel(false);
+        }
+    }
+
+    /**
+     * A transaction that has not been included in a block yet.
+     */
+    private static class PendingTransaction {
+        private final SettableFuture<Long> future = SettableFuture.create();
+        private final AtomicInteger numberOfRetries = new AtomicInteger();
+        private volatile SignedTransaction signedTransaction;
+
+        /**
+         * Create a new pending transaction.
+         */
+        private PendingTransaction(SignedTransaction signedTransaction) {
+            this.signedTransaction = signedTransaction;
+        }
+    }
+
+    /**
+     * Creates named daemon threads, so the broadcaster does not prevent the
+     * JVM from exiting.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger numberOfThreads = new AtomicInteger();
+
+        /**
+         * Create a new factory for threads with the given name.
+         */
+        private DaemonThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "steemj-" + name + "-" + numberOfThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
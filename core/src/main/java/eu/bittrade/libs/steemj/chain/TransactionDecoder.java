@@ -0,0 +1,158 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joou.UInteger;
+import org.joou.UShort;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.OperationDecoder;
+import eu.bittrade.libs.steemj.util.ByteArrayReader;
+
+/**
+ * This class is the counterpart of {@link SignedTransaction#toByteArray(String)}
+ * and {@link SignedTransaction#toSignedByteArray()}: It creates
+ * {@link SignedTransaction} objects from their binary representation.
+ * 
+ * The binary representation is several times smaller than the JSON
+ * representation and can therefore be used to store or exchange transactions.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionDecoder {
+    /** The length of a compact signature. */
+    private static final int SIGNATURE_LENGTH = 65;
+
+    /** Add a private constructor to hide the implicit public one. */
+    private TransactionDecoder() {
+    }
+
+    /**
+     * Decode a transaction which has been serialized <b>without</b> a chain id
+     * and without signatures (see {@link SignedTransaction#toByteArray(String)
+     * toByteArray("")}).
+     * 
+     * @param serializedTransaction
+     *            The serialized transaction.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the given bytes are not a valid transaction.
+     */
+    public static SignedTransaction decodeTransaction(byte[] serializedTransaction)
+            throws SteemInvalidTransactionException {
+        ByteArrayReader reader = new ByteArrayReader(serializedTransaction);
+        SignedTransaction signedTransaction = decodeTransaction(reader);
+        verifyFullyConsumed(reader);
+        return signedTransaction;
+    }
+
+    /**
+     * Decode a transaction including its signatures (see
+     * {@link SignedTransaction#toSignedByteArray()}).
+     * 
+     * @param serializedTransaction
+     *            The serialized transaction.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the given bytes are not a valid signed transaction.
+     */
+    public static SignedTransaction decodeSignedTransaction(byte[] serializedTransaction)
+            throws SteemInvalidTransactionException {
+        ByteArrayReader reader = new ByteArrayReader(serializedTransaction);
+        SignedTransaction signedTransaction = decodeSignedTransaction(reader);
+        verifyFullyConsumed(reader);
+        return signedTransaction;
+    }
+
+    /**
+     * Like {@link #decodeTransaction(byte[])}, but reads the transaction from
+     * the current position of the given <code>reader</code>. This allows to
+     * decode multiple transactions stored in a single byte array.
+     * 
+     * @param reader
+     *            The reader positioned at the start of the transaction.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid transaction.
+     */
+    public static SignedTransaction decodeTransaction(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        UShort refBlockNum = UShort.valueOf(reader.readShort() & 0xFFFF);
+        UInteger refBlockPrefix = UInteger.valueOf(reader.readInt() & 0xFFFFFFFFL);
+        TimePointSec expirationDate = reader.readTimePointSec();
+
+        int numberOfOperations = reader.readLength();
+        List<Operation> operations = new ArrayList<>(numberOfOperations);
+        for (int i = 0; i < numberOfOperations; i++) {
+            operations.add(OperationDecoder.decode(reader));
+        }
+
+        List<FutureExtensions> extensions = OperationDecoder.readFutureExtensions(reader);
+
+        try {
+            return new SignedTransaction(refBlockNum, refBlockPrefix, expirationDate, operations, extensions);
+        } catch (InvalidParameterException e) {
+            throw new SteemInvalidTransactionException("The transaction contains an invalid value.", e);
+        }
+    }
+
+    /**
+     * Like {@link #decodeSignedTransaction(byte[])}, but reads the transaction
+     * from the current position of the given <code>reader</code>. This allows
+     * to decode multiple transactions stored in a single byte array.
+     * 
+     * @param reader
+     *            The reader positioned at the start of the transaction.
+     * @return The decoded transaction.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid signed transaction.
+     */
+    public static SignedTransaction decodeSignedTransaction(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        SignedTransaction signedTransaction = decodeTransaction(reader);
+
+        int numberOfSignatures = reader.readLength();
+        for (int i = 0; i < numberOfSignatures; i++) {
+            signedTransaction.getSignatures().add(CryptoUtils.HEX.encode(reader.readBytes(SIGNATURE_LENGTH)));
+        }
+
+        return signedTransaction;
+    }
+
+    /**
+     * Make sure that no unexpected bytes are left after decoding an object.
+     * 
+     * @param reader
+     *            The reader to check.
+     * @throws SteemInvalidTransactionException
+     *             If there are bytes left.
+     */
+    private static void verifyFullyConsumed(ByteArrayReader reader) throws SteemInvalidTransactionException {
+        if (reader.hasRemaining()) {
+            throw new SteemInvalidTransactionException(
+                    reader.remaining() + " unexpected byte(s) found after the transaction.");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.spongycastle.crypto.digests.RIPEMD160Digest;
+import org.spongycastle.crypto.digests.SHA256Digest;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+
+/**
+ * This class calculates the "transaction_merkle_root" of a block locally.
+ *
+ * The leaves of the tree are the SHA-256 hashes of the transactions serialized
+ * including their signatures (see {@link SignedTransaction#toSignedByteArray()}),
+ * which matches the "merkle_digest" of a Steem node. Therefore, the leaves
+ * differ from the transaction ids, which do not cover the signatures. Each
+ * level hashes two neighboring nodes together, while an odd node is moved to
+ * the next level unchanged. The root is the RIPEMD-160 hash of the last
+ * remaining node.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionMerkleTree {
+    /** The size of a SHA-256 hash in bytes. */
+    private static final int DIGEST_SIZE = 32;
+    /**
+     * The amount of hashes calculated by a single task without splitting it
+     * any further.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+    private static final String EMPTY_MERKLE_ROOT = "0000000000000000000000000000000000000000";
+
+    /** Add a private constructor to hide the implicit public one. */
+    private TransactionMerkleTree() {
+    }
+
+    /**
+     * Calculate the merkle root of the given <code>transactions</code> on the
+     * current thread.
+     *
+     * @param transactions
+     *            The transactions of a block in their original order.
+     * @return The merkle root.
+     * @throws SteemInvalidTransactionException
+     *             If one of the transactions can not be serialized.
+     */
+    public static Checksum calculateMerkleRoot(List<SignedTransaction> transactions)
+            throws SteemInvalidTransactionException {
+        return calculateMerkleRoot(transactions, null);
+    }
+
+    /**
+     * Calculate the merkle root of the given <code>transactions</code>. The
+     * transactions and every level of the tree are hashed in parallel using
+     * the given <code>forkJoinPool</code>.
+     *
+     * @param transactions
+     *            The transactions of a block in their original order.
+     * @param forkJoinPool
+     *            The pool to hash with or <code>null</code> to hash on the
+     *            current thread.
+     * @return The merkle root.
+     * @throws SteemInvalidTransactionException
+     *             If one of the transactions can not be serialized.
+     */
+    public static Checksum calculateMerkleRoot(List<SignedTransaction> transactions, ForkJoinPool forkJoinPool)
+            throws SteemInvalidTransactionException {
+        if (transactions == null || transactions.isEmpty()) {
+            return new Checksum(EMPTY_MERKLE_ROOT);
+        }
+
+        SignedTransaction[] leaves = transactions.toArray(new SignedTransaction[transactions.size()]);
+        byte[][] hashes = new byte[leaves.length][];
+        SteemInvalidTransactionException[] failures = new SteemInvalidTransactionException[1];
+
+        execute(new HashingTask(leaves, hashes, failures, 0, leaves.length), forkJoinPool);
+        if (failures[0] != null) {
+            throw failures[0];
+        }
+
+        int numberOfHashes = hashes.length;
+        while (numberOfHashes > 1) {
+            int numberOfPairs = numberOfHashes / 2;
+            byte[][] nextLevel = new byte[numberOfPairs + (numberOfHashes & 1)][];
+
+            execute(new HashingTask(hashes, nextLevel, 0, numberOfPairs), forkJoinPool);
+            if ((numberOfHashes & 1) == 1) {
+                nextLevel[numberOfPairs] = hashes[numberOfHashes - 1];
+            }
+
+            hashes = nextLevel;
+            numberOfHashes = nextLevel.length;
+        }
+
+        RIPEMD160Digest ripemd160Digest = new RIPEMD160Digest();
+        ripemd160Digest.update(hashes[0], 0, DIGEST_SIZE);
+        byte[] merkleRoot = new byte[ripemd160Digest.getDigestSize()];
+        ripemd160Digest.doFinal(merkleRoot, 0);
+
+        return new Checksum(CryptoUtils.HEX.encode(merkleRoot));
+    }
+
+    /**
+     * Run the given task on the <code>forkJoinPool</code> or directly if no
+     * pool is given.
+     */
+    private static void execute(HashingTask hashingTask, ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null) {
+            hashingTask.compute();
+        } else {
+            forkJoinPool.invoke(hashingTask);
+        }
+    }
+
+    /**
+     * This task either hashes a range of transactions (the leaves of the tree)
+     * or a range of node pairs of one tree level. It splits itself as long as
+     * the range is larger than the {@link #SEQUENTIAL_THRESHOLD}.
+     */
+    private static class HashingTask extends RecursiveAction {
+        private static final long serialVersionUID = 7345620419127751262L;
+
+        private final transient SignedTransaction[] transactions;
+        private final SteemInvalidTransactionException[] failures;
+        private final byte[][] level;
+        private final byte[][] result;
+        private final int start;
+        private final int end;
+
+        /**
+         * Create a task that hashes the transactions between
+         * <code>start</code> (inclusive) and <code>end</code> (exclusive).
+         */
+        private HashingTask(SignedTransaction[] transactions, byte[][] result,
+                SteemInvalidTransactionException[] failures, int start, int end) {
+            this.transactions = transactions;
+            this.failures = failures;
+            this.level = null;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Create a task that hashes the pairs between <code>start</code>
+         * (inclusive) and <code>end</code> (exclusive) of a tree level.
+         */
+        private HashingTask(byte[][] level, byte[][] result, int start, int end) {
+            this.transactions = null;
+            this.failures = null;
+            this.level = level;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > SEQUENTIAL_THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                if (transactions != null) {
+                    invokeAll(new HashingTask(transactions, result, failures, start, middle),
+                            new HashingTask(transactions, result, failures, middle, end));
+                } else {
+                    invokeAll(new HashingTask(level, result, start, middle),
+                            new HashingTask(level, result, middle, end));
+                }
+                return;
+            }
+
+            SHA256Digest sha256Digest = new SHA256Digest();
+            for (int i = start; i < end; i++) {
+                if (transactions != null) {
+                    byte[] serializedTransaction;
+                    try {
+                        serializedTransaction = transactions[i].toSignedByteArray();
+                    } catch (SteemInvalidTransactionException e) {
+                        synchronized (failures) {
+                            failures[0] = e;
+                        }
+                        return;
+                    }
+
+                    sha256Digest.update(serializedTransaction, 0, serializedTransaction.length);
+                } else {
+                    sha256Digest.update(level[2 * i], 0, DIGEST_SIZE);
+                    sha256Digest.update(level[2 * i + 1], 0, DIGEST_SIZE);
+                }
+
+                result[i] = new byte[DIGEST_SIZE];
+                sha256Digest.doFinal(result[i], 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain;
+
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.interfaces.SignatureObject;
+
+/**
+ * This class allows to sign a large amount of independent
+ * {@link SignedTransaction}s in parallel.
+ *
+ * The private keys are resolved once per batch on the calling thread, so the
+ * {@link eu.bittrade.libs.steemj.configuration.PrivateKeyStorage} is never
+ * accessed concurrently. The signing itself happens on a dedicated
+ * {@link ForkJoinPool} owned by this instance. A transaction that can not be
+ * signed does not abort the batch, but is reported in the result of
+ * {@link #sign(List, String)}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionSigner implements AutoCloseable {
+    /**
+     * The amount of transactions signed by a single task without splitting it
+     * any further.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Create a new TransactionSigner that uses one thread per available
+     * processor.
+     */
+    public TransactionSigner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a new TransactionSigner.
+     *
+     * @param parallelism
+     *            The amount of threads used to sign transactions.
+     * @throws InvalidParameterException
+     *             If the <code>parallelism</code> is less than 1.
+     */
+    public TransactionSigner(int parallelism) {
+        if (parallelism < 1) {
+            throw new InvalidParameterException("The parallelism needs to be at least 1.");
+        }
+
+        this.forkJoinPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Like {@link #sign(List, String) sign(List, String)}, but uses the
+     * {@link SteemJConfig#getChainId() default chain id}.
+     *
+     * @param transactions
+     *            The transactions to sign.
+     * @return The transactions that could not be signed mapped to the reason.
+     *         An empty map is returned if all transactions have been signed.
+     */
+    public Map<SignedTransaction, SteemInvalidTransactionException> sign(List<SignedTransaction> transactions) {
+        return sign(transactions, SteemJConfig.getInstance().getChainId());
+    }
+
+    /**
+     * Sign all given <code>transactions</code> in parallel.
+     *
+     * @param transactions
+     *            The transactions to sign.
+     * @param chainId
+     *            The chain id that should be used during signing.
+     * @return The transactions that could not be signed mapped to the reason,
+     *         in the order of the given <code>transactions</code>. An empty map
+     *         is returned if all transactions have been signed.
+     */
+    public Map<SignedTransaction, SteemInvalidTransactionException> sign(List<SignedTransaction> transactions,
+            String chainId) {
+        SignedTransaction[] transactionsToSign = transactions.toArray(new SignedTransaction[transactions.size()]);
+        SteemInvalidTransactionException[] failures = new SteemInvalidTransactionException[transactionsToSign.length];
+
+        // Resolve the keys for each distinct set of authorities only once.
+        Map<Map<SignatureObject, PrivateKeyType>, List<ECKey>> resolvedKeys = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        List<ECKey>[] requiredPrivateKeys = new List[transactionsToSign.length];
+        for (int i = 0; i < transactionsToSign.length; i++) {
+            try {
+                Map<SignatureObject, PrivateKeyType> requiredAuthorities = transactionsToSign[i]
+                        .getRequiredAuthoritiesForSigning();
+                List<ECKey> privateKeys = resolvedKeys.get(requiredAuthorities);
+                if (privateKeys == null) {
+                    privateKeys = SignedTransaction.getRequiredSignatureKeys(requiredAuthorities);
+                    resolvedKeys.put(requiredAuthorities, privateKeys);
+                }
+
+                requiredPrivateKeys[i] = privateKeys;
+            } catch (SteemInvalidTransactionException e) {
+                failures[i] = e;
+            }
+        }
+
+        forkJoinPool.invoke(new SigningTask(transactionsToSign, requiredPrivateKeys, failures, chainId, 0,
+                transactionsToSign.length));
+
+        Map<SignedTransaction, SteemInvalidTransactionException> failedTransactions = new LinkedHashMap<>();
+        for (int i = 0; i < transactionsToSign.length; i++) {
+            if (failures[i] != null) {
+                failedTransactions.put(transactionsToSign[i], failures[i]);
+            }
+        }
+
+        return failedTransactions;
+    }
+
+    /**
+     * Shut down the thread pool used by this instance. Transactions that are
+     * currently signed are completed.
+     */
+    @Override
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    /**
+     * This task signs a range of transactions and splits itself as long as the
+     * range is larger than the {@link #SEQUENTIAL_THRESHOLD}.
+     */
+    private static class SigningTask extends RecursiveAction {
+        private static final long serialVersionUID = -1808186622939946571L;
+
+        private final transient SignedTransaction[] transactions;
+        private final transient List<ECKey>[] requiredPrivateKeys;
+        private final SteemInvalidTransactionException[] failures;
+        private final String chainId;
+        private final int start;
+        private final int end;
+
+        /**
+         * Create a new signing task for the transactions between
+         * <code>start</code> (inclusive) and <code>end</code> (exclusive).
+         */
+        private SigningTask(SignedTransaction[] transactions, List<ECKey>[] requiredPrivateKeys,
+                SteemInvalidTransactionException[] failures, String chainId, int start, int end) {
+            this.transactions = transactions;
+            this.requiredPrivateKeys = requiredPrivateKeys;
+            this.failures = failures;
+            this.chainId = chainId;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    if (failures[i] != null) {
+                        continue;
+                    }
+
+                    try {
+                        transactions[i].sign(chainId, requiredPrivateKeys[i]);
+                    } catch (SteemInvalidTransactionException e) {
+                        failures[i] = e;
+                    } catch (RuntimeException e) {
+                        failures[i] = new SteemInvalidTransactionException(
+                                "A problem occured while signing the transaction.", e);
+                    }
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new SigningTask(transactions, requiredPrivateKeys, failures, chainId, start, middle),
+                        new SigningTask(transactions, requiredPrivateKeys, failures, chainId, middle, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
+
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+
+/**
+ * This class contains the constants and helpers shared by the
+ * {@link ColumnarOperationExporter} and the {@link ColumnarOperationReader}.
+ * 
+ * A file contains the {@link #MAGIC} bytes and the {@link #VERSION} followed
+ * by any number of row groups. As the row groups are independent of each
+ * other, new row groups can be appended to an existing file. Each row group starts with the number of rows
+ * and the number of columns as VarInts. Each column consists of its name, its
+ * encoding, the length of its data and the data itself, so that a reader can
+ * skip columns it is not interested in.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+final class ColumnarFormat {
+    /** The bytes every file starts with. */
+    static final byte[] MAGIC = { 'S', 'J', 'C', 'F' };
+    /** The version of the file format. */
+    static final byte VERSION = 1;
+    /** The extension of the files written per operation type. */
+    static final String FILE_EXTENSION = ".col";
+    /** The charset used for column names and String values. */
+    static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Each value is stored as the ZigZag encoded difference to the previous
+     * value.
+     */
+    static final byte DELTA_ENCODING = 0;
+    /**
+     * Like {@link #DELTA_ENCODING}, but prefixed by a bitmap of the rows
+     * without a value.
+     */
+    static final byte NULLABLE_DELTA_ENCODING = 1;
+    /**
+     * The distinct values are stored once, followed by the index of the value
+     * of each row, where 0 marks a row without a value.
+     */
+    static final byte DICTIONARY_ENCODING = 2;
+
+    /** The JSON type names of all operations. */
+    private static final Map<Class<?>, String> TYPE_NAMES;
+
+    static {
+        Map<Class<?>, String> typeNames = new HashMap<>();
+        for (Type subType : Operation.class.getAnnotation(JsonSubTypes.class).value()) {
+            typeNames.put(subType.value(), subType.name());
+        }
+
+        TYPE_NAMES = Collections.unmodifiableMap(typeNames);
+    }
+
+    /** Add a private constructor to hide the implicit public one. */
+    private ColumnarFormat() {
+    }
+
+    /**
+     * Get the JSON type name of an operation, e.g. <code>transfer</code> or
+     * <code>fill_order_operation</code>.
+     * 
+     * @param operationType
+     *            The class of the operation.
+     * @return The JSON type name.
+     * @throws InvalidParameterException
+     *             If the class is not a known operation.
+     */
+    static String getTypeName(Class<?> operationType) {
+        String typeName = TYPE_NAMES.get(operationType);
+        if (typeName == null) {
+            throw new InvalidParameterException("The class " + operationType.getName() + " is no known operation.");
+        }
+
+        return typeName;
+    }
+
+    /**
+     * Read the {@link #MAGIC} bytes and the {@link #VERSION} a file starts
+     * with.
+     * 
+     * @param input
+     *            The stream to read from.
+     * @param file
+     *            The file the stream belongs to.
+     * @throws IOException
+     *             If the file could not be read, if it is no columnar
+     *             operation file or if its version is not supported.
+     */
+    static void readHeader(DataInput input, File file) throws IOException {
+        byte[] header = new byte[MAGIC.length + 1];
+        input.readFully(header);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                throw new IOException("The file " + file + " is no columnar operation file.");
+            }
+        }
+
+        if (header[MAGIC.length] != VERSION) {
+            throw new IOException("The version " + header[MAGIC.length] + " of the file " + file
+                    + " is not supported.");
+        }
+    }
+
+    /**
+     * Write an unsigned VarInt.
+     * 
+     * @param value
+     *            The value to write.
+     * @param output
+     *            The stream to write to.
+     */
+    static void writeVarInt(long value, ByteArrayOutputStream output) {
+        long remainingValue = value;
+        while ((remainingValue & ~0x7FL) != 0) {
+            output.write((int) ((remainingValue & 0x7F) | 0x80));
+            remainingValue >>>= 7;
+        }
+
+        output.write((int) remainingValue);
+    }
+
+    /**
+     * Read an unsigned VarInt.
+     * 
+     * @param input
+     *            The stream to read from.
+     * @return The value.
+     * @throws IOException
+     *             If the stream ends before the VarInt is complete or if the
+     *             VarInt is longer than 64 bit.
+     */
+    static long readVarInt(DataInput input) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte currentByte;
+
+        do {
+            if (shift > 63) {
+                throw new IOException("The VarInt is too long.");
+            }
+            currentByte = input.readByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while ((currentByte & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Map a signed value to an unsigned one, so that small negative deltas
+     * are stored as short VarInts.
+     * 
+     * @param value
+     *            The signed value.
+     * @return The ZigZag encoded value.
+     */
+    static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Revert {@link #encodeZigZag(long)}.
+     * 
+     * @param value
+     *            The ZigZag encoded value.
+     * @return The signed value.
+     */
+    static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
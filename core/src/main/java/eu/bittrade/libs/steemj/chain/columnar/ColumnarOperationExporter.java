@@ -0,0 +1,513 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.columnar.OperationColumns.Column;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+
+/**
+ * This class exports operations into one columnar file per operation type,
+ * which is much smaller and faster to scan than the JSON representation. The
+ * files can be read with the {@link ColumnarOperationReader}.
+ * 
+ * Each file is named after the JSON type name of the operation, e.g.
+ * <code>transfer.col</code> or <code>fill_order_operation.col</code>. Besides
+ * the columns of the operation (see {@link #getFile(File, Class)}), each row
+ * contains the {@link #BLOCK_COLUMN}, the {@link #TIMESTAMP_COLUMN}, the
+ * {@link #TRANSACTION_INDEX_COLUMN} and the {@link #OPERATION_INDEX_COLUMN}.
+ * 
+ * The rows are written in row groups of a configurable size. If a file
+ * already exists, the new row groups are appended to it, so an export can be
+ * continued later on, e.g. with the next range of blocks. Within a row
+ * group, names and other Strings are dictionary encoded, while numbers like
+ * amounts, block numbers and timestamps are stored as the difference to the
+ * previous row.
+ * 
+ * The values are copied when an operation is exported, so the objects passed
+ * to this class can be reused afterwards, e.g. by the
+ * {@link eu.bittrade.libs.steemj.chain.ReusingBlockDecoder}.
+ * 
+ * This class is not thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ColumnarOperationExporter implements Closeable {
+    /** The default number of rows per row group. */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65536;
+
+    /** The column containing the block number. */
+    public static final String BLOCK_COLUMN = "block";
+    /** The column containing the block time in seconds since the epoch. */
+    public static final String TIMESTAMP_COLUMN = "timestamp";
+    /** The column containing the index of the transaction in its block. */
+    public static final String TRANSACTION_INDEX_COLUMN = "trx_in_block";
+    /** The column containing the index of the operation in its transaction. */
+    public static final String OPERATION_INDEX_COLUMN = "op_in_trx";
+
+    private final File directory;
+    private final int rowGroupSize;
+    private final Map<Class<?>, OperationFile> operationFiles = new LinkedHashMap<>();
+
+    /**
+     * Create a new exporter using the {@link #DEFAULT_ROW_GROUP_SIZE}.
+     * 
+     * @param directory
+     *            The directory to write the files to. The rows are appended to
+     *            existing files.
+     * @throws InvalidParameterException
+     *             If the <code>directory</code> does not exist and can't be
+     *             created.
+     */
+    public ColumnarOperationExporter(File directory) {
+        this(directory, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Create a new exporter.
+     * 
+     * @param directory
+     *            The directory to write the files to. The rows are appended to
+     *            existing files.
+     * @param rowGroupSize
+     *            The number of rows kept in memory per operation type before
+     *            they are written to the file.
+     * @throws InvalidParameterException
+     *             If the <code>directory</code> does not exist and can't be
+     *             created or if the <code>rowGroupSize</code> is not
+     *             positive.
+     */
+    public ColumnarOperationExporter(File directory, int rowGroupSize) {
+        if (directory == null || (!directory.isDirectory() && !directory.mkdirs())) {
+            throw new InvalidParameterException("The directory " + directory + " can't be created.");
+        } else if (rowGroupSize <= 0) {
+            throw new InvalidParameterException("The row group size needs to be positive.");
+        }
+
+        this.directory = directory;
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    /**
+     * Get the file the operations of the given type are exported to.
+     * 
+     * @param directory
+     *            The directory the operations are exported to.
+     * @param operationType
+     *            The class of the operation.
+     * @return The file.
+     * @throws InvalidParameterException
+     *             If the class is not a known operation.
+     */
+    public static File getFile(File directory, Class<? extends Operation> operationType) {
+        return new File(directory, ColumnarFormat.getTypeName(operationType) + ColumnarFormat.FILE_EXTENSION);
+    }
+
+    /**
+     * Export all operations of the given <code>block</code>.
+     * 
+     * @param block
+     *            The block to export.
+     * @throws IOException
+     *             If a file could not be written or if an existing file is no
+     *             columnar operation file.
+     */
+    public void export(ExtendedSignedBlock block) throws IOException {
+        long timestamp = block.getTimestamp().getDateTimeAsEpochSeconds();
+        List<SignedTransaction> transactions = block.getTransactions();
+        for (int i = 0; i < transactions.size(); i++) {
+            List<Operation> operations = transactions.get(i).getOperations();
+            for (int j = 0; j < operations.size(); j++) {
+                export(operations.get(j), block.getBlockNumber(), timestamp, i, j);
+            }
+        }
+    }
+
+    /**
+     * Export the operation of an account history or a block, including
+     * virtual operations.
+     * 
+     * @param appliedOperation
+     *            The operation to export.
+     * @throws IOException
+     *             If a file could not be written or if an existing file is no
+     *             columnar operation file.
+     */
+    public void export(AppliedOperation appliedOperation) throws IOException {
+        export(appliedOperation.getOp(), appliedOperation.getBlock().longValue(),
+                appliedOperation.getTimestamp().getDateTimeAsEpochSeconds(),
+                appliedOperation.getTrxInBlock().intValue(), appliedOperation.getOpInTrx().intValue());
+    }
+
+    /**
+     * Export a single operation.
+     * 
+     * @param operation
+     *            The operation to export.
+     * @param blockNumber
+     *            The number of the block containing the operation.
+     * @param timestamp
+     *            The block time in seconds since the epoch.
+     * @param transactionIndex
+     *            The index of the transaction in its block.
+     * @param operationIndex
+     *            The index of the operation in its transaction.
+     * @throws IOException
+     *             If a file could not be written or if an existing file is no
+     *             columnar operation file.
+     * @throws InvalidParameterException
+     *             If the <code>operation</code> is not a known operation.
+     */
+    public void export(Operation operation, long blockNumber, long timestamp, int transactionIndex,
+            int operationIndex) throws IOException {
+        OperationFile operationFile = operationFiles.get(operation.getClass());
+        if (operationFile == null) {
+            Class<? extends Operation> operationType = operation.getClass();
+            operationFile = new OperationFile(getFile(directory, operationType),
+                    OperationColumns.of(operationType));
+            operationFiles.put(operationType, operationFile);
+        }
+
+        operationFile.addRow(operation, blockNumber, timestamp, transactionIndex, operationIndex);
+        if (operationFile.numberOfRows >= rowGroupSize) {
+            operationFile.writeRowGroup();
+        }
+    }
+
+    /**
+     * Write all pending rows to the files.
+     * 
+     * @throws IOException
+     *             If a file could not be written or if an existing file is no
+     *             columnar operation file.
+     */
+    public void flush() throws IOException {
+        for (OperationFile operationFile : operationFiles.values()) {
+            operationFile.writeRowGroup();
+            operationFile.output.flush();
+        }
+    }
+
+    /**
+     * Write all pending rows and close the files.
+     * 
+     * @throws IOException
+     *             If a file could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (OperationFile operationFile : operationFiles.values()) {
+            try {
+                operationFile.writeRowGroup();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            } finally {
+                try {
+                    operationFile.output.close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+        }
+
+        operationFiles.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * The file and the pending rows of one operation type.
+     */
+    private static final class OperationFile {
+        private final OutputStream output;
+        private final List<Column> columns;
+        private final LongColumnBuilder blockNumbers = new LongColumnBuilder(BLOCK_COLUMN);
+        private final LongColumnBuilder timestamps = new LongColumnBuilder(TIMESTAMP_COLUMN);
+        private final LongColumnBuilder transactionIndices = new LongColumnBuilder(TRANSACTION_INDEX_COLUMN);
+        private final LongColumnBuilder operationIndices = new LongColumnBuilder(OPERATION_INDEX_COLUMN);
+        private final List<ColumnBuilder> columnBuilders = new ArrayList<>();
+        private int numberOfRows;
+
+        /**
+         * Open the <code>file</code> to append row groups to it, or create it
+         * and write its header if it is empty or does not exist.
+         */
+        private OperationFile(File file, OperationColumns operationColumns) throws IOException {
+            boolean append = file.length() > 0;
+            if (append) {
+                try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+                    ColumnarFormat.readHeader(input, file);
+                }
+            }
+
+            this.output = new BufferedOutputStream(new FileOutputStream(file, append));
+            this.columns = operationColumns.getColumns();
+
+            columnBuilders.addAll(Arrays.asList(blockNumbers, timestamps, transactionIndices, operationIndices));
+            for (Column column : columns) {
+                columnBuilders.add(column.isNumeric() ? new LongColumnBuilder(column.getName())
+                        : new StringColumnBuilder(column.getName()));
+            }
+
+            if (!append) {
+                output.write(ColumnarFormat.MAGIC);
+                output.write(ColumnarFormat.VERSION);
+            }
+        }
+
+        /**
+         * Add the values of an operation to the pending row group.
+         */
+        private void addRow(Operation operation, long blockNumber, long timestamp, int transactionIndex,
+                int operationIndex) throws IOException {
+            blockNumbers.add(blockNumber);
+            timestamps.add(timestamp);
+            transactionIndices.add(transactionIndex);
+            operationIndices.add(operationIndex);
+
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                Object value = column.getValue(operation);
+                ColumnBuilder columnBuilder = columnBuilders.get(i + 4);
+                if (value == null) {
+                    columnBuilder.addNull();
+                } else if (column.isNumeric()) {
+                    ((LongColumnBuilder) columnBuilder).add(column.toLong(value));
+                } else {
+                    ((StringColumnBuilder) columnBuilder).add(column.toText(value));
+                }
+            }
+
+            numberOfRows++;
+        }
+
+        /**
+         * Write the pending rows as a row group.
+         */
+        private void writeRowGroup() throws IOException {
+            if (numberOfRows == 0) {
+                return;
+            }
+
+            ByteArrayOutputStream rowGroup = new ByteArrayOutputStream();
+            ByteArrayOutputStream columnData = new ByteArrayOutputStream();
+            ColumnarFormat.writeVarInt(numberOfRows, rowGroup);
+            ColumnarFormat.writeVarInt(columnBuilders.size(), rowGroup);
+            for (ColumnBuilder columnBuilder : columnBuilders) {
+                byte[] name = columnBuilder.name.getBytes(ColumnarFormat.CHARSET);
+                ColumnarFormat.writeVarInt(name.length, rowGroup);
+                rowGroup.write(name);
+                rowGroup.write(columnBuilder.writeTo(columnData));
+                ColumnarFormat.writeVarInt(columnData.size(), rowGroup);
+                columnData.writeTo(rowGroup);
+
+                columnData.reset();
+                columnBuilder.clear();
+            }
+
+            rowGroup.writeTo(output);
+            numberOfRows = 0;
+        }
+    }
+
+    /**
+     * Collects the values of one column of a row group.
+     */
+    private abstract static class ColumnBuilder {
+        private final String name;
+
+        /**
+         * Create a new builder for the column with the given
+         * <code>name</code>.
+         */
+        private ColumnBuilder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Add a row without a value.
+         */
+        abstract void addNull();
+
+        /**
+         * Write the encoded values to the <code>output</code>.
+         * 
+         * @return The encoding used.
+         */
+        abstract byte writeTo(ByteArrayOutputStream output);
+
+        /**
+         * Remove all values.
+         */
+        abstract void clear();
+    }
+
+    /**
+     * Collects numbers and stores them as deltas.
+     */
+    private static final class LongColumnBuilder extends ColumnBuilder {
+        private final BitSet nullRows = new BitSet();
+        private long[] values = new long[64];
+        private int numberOfRows;
+
+        /**
+         * Create a new builder for the column with the given
+         * <code>name</code>.
+         */
+        private LongColumnBuilder(String name) {
+            super(name);
+        }
+
+        /**
+         * Add a value.
+         */
+        private void add(long value) {
+            if (numberOfRows == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+
+            values[numberOfRows++] = value;
+        }
+
+        @Override
+        void addNull() {
+            nullRows.set(numberOfRows);
+            add(0);
+        }
+
+        @Override
+        byte writeTo(ByteArrayOutputStream output) {
+            byte encoding = ColumnarFormat.DELTA_ENCODING;
+            if (!nullRows.isEmpty()) {
+                encoding = ColumnarFormat.NULLABLE_DELTA_ENCODING;
+                byte[] bitmap = nullRows.toByteArray();
+                ColumnarFormat.writeVarInt(bitmap.length, output);
+                output.write(bitmap, 0, bitmap.length);
+            }
+
+            long previousValue = 0;
+            for (int i = 0; i < numberOfRows; i++) {
+                if (!nullRows.get(i)) {
+                    ColumnarFormat.writeVarInt(ColumnarFormat.encodeZigZag(values[i] - previousValue), output);
+                    previousValue = values[i];
+                }
+            }
+
+            return encoding;
+        }
+
+        @Override
+        void clear() {
+            nullRows.clear();
+            numberOfRows = 0;
+        }
+    }
+
+    /**
+     * Collects Strings and stores them in a dictionary.
+     */
+    private static final class StringColumnBuilder extends ColumnBuilder {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> entries = new ArrayList<>();
+        private int[] indices = new int[64];
+        private int numberOfRows;
+
+        /**
+         * Create a new builder for the column with the given
+         * <code>name</code>.
+         */
+        private StringColumnBuilder(String name) {
+            super(name);
+        }
+
+        /**
+         * Add a value.
+         */
+        private void add(String value) {
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                entries.add(value);
+                // 0 is reserved for rows without a value.
+                index = entries.size();
+                dictionary.put(value, index);
+            }
+
+            addIndex(index);
+        }
+
+        /**
+         * Add the dictionary index of a row.
+         */
+        private void addIndex(int index) {
+            if (numberOfRows == indices.length) {
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            }
+
+            indices[numberOfRows++] = index;
+        }
+
+        @Override
+        void addNull() {
+            addIndex(0);
+        }
+
+        @Override
+        byte writeTo(ByteArrayOutputStream output) {
+            ColumnarFormat.writeVarInt(entries.size(), output);
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(ColumnarFormat.CHARSET);
+                ColumnarFormat.writeVarInt(bytes.length, output);
+                output.write(bytes, 0, bytes.length);
+            }
+
+            for (int i = 0; i < numberOfRows; i++) {
+                ColumnarFormat.writeVarInt(indices[i], output);
+            }
+
+            return ColumnarFormat.DICTIONARY_ENCODING;
+        }
+
+        @Override
+        void clear() {
+            dictionary.clear();
+            entries.clear();
+            numberOfRows = 0;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain.columnar;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import eu.bittrade.libs.steemj.base.models.Projection;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.util.ByteArrayReader;
+
+/**
+ * This class reads a file written by the {@link ColumnarOperationExporter}
+ * row by row.
+ * 
+ * If a {@link Projection} is provided, only the selected columns are decoded
+ * while all other columns are skipped without reading their data.
+ * 
+ * <p>
+ * Example:
+ * </p>
+ * 
+ * <pre>
+ * try (ColumnarOperationReader reader = new ColumnarOperationReader(
+ *         ColumnarOperationExporter.getFile(directory, TransferOperation.class),
+ *         Projection.of("from", "amount.amount", "amount.symbol"))) {
+ *     while (reader.next()) {
+ *         long amount = reader.getLong("amount.amount");
+ *     }
+ * }
+ * </pre>
+ * 
+ * This class is not thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ColumnarOperationReader implements Closeable {
+    private final DataInputStream input;
+    private final Projection projection;
+    private final Map<String, DecodedColumn> columns = new LinkedHashMap<>();
+    private int numberOfRows;
+    private int row;
+
+    /**
+     * Open a file and read all columns.
+     * 
+     * @param file
+     *            The file to read.
+     * @throws IOException
+     *             If the file could not be opened or if it is no columnar
+     *             operation file.
+     */
+    public ColumnarOperationReader(File file) throws IOException {
+        this(file, null);
+    }
+
+    /**
+     * Open a file and only read the columns selected by the
+     * <code>projection</code>.
+     * 
+     * @param file
+     *            The file to read.
+     * @param projection
+     *            The columns to read or <code>null</code> to read all
+     *            columns.
+     * @throws IOException
+     *             If the file could not be opened or if it is no columnar
+     *             operation file.
+     */
+    public ColumnarOperationReader(File file, @Nullable Projection projection) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        this.projection = projection;
+
+        try {
+            ColumnarFormat.readHeader(input, file);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Move to the next row.
+     * 
+     * @return <code>true</code> if there is another row or
+     *         <code>false</code> if the end of the file has been reached.
+     * @throws IOException
+     *             If the file could not be read.
+     */
+    public boolean next() throws IOException {
+        row++;
+        while (row >= numberOfRows) {
+            if (!readRowGroup()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the names of the columns that can be accessed. They are known after
+     * the first call of {@link #next()}.
+     * 
+     * @return The names of the selected columns of the current row.
+     */
+    public Set<String> getColumnNames() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * Check if the current row has no value for the given column.
+     * 
+     * @param columnName
+     *            The name of the column.
+     * @return <code>true</code> if the row has no value.
+     * @throws InvalidParameterException
+     *             If the column does not exist or has not been selected.
+     */
+    public boolean isNull(String columnName) {
+        DecodedColumn column = getColumn(columnName);
+        if (column.dictionary != null) {
+            return column.indices[row] == 0;
+        }
+
+        return column.nullRows != null && column.nullRows.get(row);
+    }
+
+    /**
+     * Get the value of a numeric column in the current row.
+     * 
+     * @param columnName
+     *            The name of the column.
+     * @return The value or 0 if the row has no value.
+     * @throws InvalidParameterException
+     *             If the column does not exist, has not been selected or is
+     *             not numeric.
+     */
+    public long getLong(String columnName) {
+        DecodedColumn column = getColumn(columnName);
+        if (column.values == null) {
+            throw new InvalidParameterException("The column " + columnName + " is not numeric.");
+        }
+
+        return column.values[row];
+    }
+
+    /**
+     * Get the value of a String column in the current row.
+     * 
+     * @param columnName
+     *            The name of the column.
+     * @return The value or <code>null</code> if the row has no value.
+     * @throws InvalidParameterException
+     *             If the column does not exist, has not been selected or is
+     *             numeric.
+     */
+    public String getString(String columnName) {
+        DecodedColumn column = getColumn(columnName);
+        if (column.dictionary == null) {
+            throw new InvalidParameterException("The column " + columnName + " does not contain Strings.");
+        }
+
+        int index = column.indices[row];
+        return index == 0 ? null : column.dictionary[index - 1];
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Get a column of the current row group.
+     */
+    private DecodedColumn getColumn(String columnName) {
+        if (row >= numberOfRows) {
+            throw new InvalidParameterException("There is no current row.");
+        }
+
+        DecodedColumn column = columns.get(columnName);
+        if (column == null) {
+            throw new InvalidParameterException("The column " + columnName + " does not exist or is not selected.");
+        }
+
+        return column;
+    }
+
+    /**
+     * Read the next row group and decode the selected columns.
+     * 
+     * @return <code>false</code> if the end of the file has been reached.
+     */
+    private boolean readRowGroup() throws IOException {
+        input.mark(1);
+        if (input.read() < 0) {
+            numberOfRows = 0;
+            return false;
+        }
+        input.reset();
+
+        columns.clear();
+        numberOfRows = (int) ColumnarFormat.readVarInt(input);
+        row = 0;
+
+        long numberOfColumns = ColumnarFormat.readVarInt(input);
+        for (long i = 0; i < numberOfColumns; i++) {
+            byte[] name = new byte[(int) ColumnarFormat.readVarInt(input)];
+            input.readFully(name);
+            String columnName = new String(name, ColumnarFormat.CHARSET);
+            byte encoding = input.readByte();
+            int length = (int) ColumnarFormat.readVarInt(input);
+
+            if (projection != null && !projection.contains(columnName)) {
+                skip(length);
+            } else {
+                byte[] data = new byte[length];
+                input.readFully(data);
+                columns.put(columnName, decode(columnName, encoding, data));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Skip the data of a column that has not been selected.
+     */
+    private void skip(int length) throws IOException {
+        int remainingLength = length;
+        while (remainingLength > 0) {
+            int skippedBytes = input.skipBytes(remainingLength);
+            if (skippedBytes <= 0) {
+                throw new EOFException("The file ends within a column.");
+            }
+
+            remainingLength -= skippedBytes;
+        }
+    }
+
+    /**
+     * Decode the data of a single column.
+     */
+    private DecodedColumn decode(String columnName, byte encoding, byte[] data) throws IOException {
+        ByteArrayReader reader = new ByteArrayReader(data);
+        DecodedColumn column = new DecodedColumn();
+        try {
+            switch (encoding) {
+            case ColumnarFormat.NULLABLE_DELTA_ENCODING:
+                column.nullRows = BitSet.valueOf(reader.readBytes(reader.readLength()));
+                // Continue with the values.
+            case ColumnarFormat.DELTA_ENCODING:
+                column.values = new long[numberOfRows];
+                long previousValue = 0;
+                for (int i = 0; i < numberOfRows; i++) {
+                    if (column.nullRows == null || !column.nullRows.get(i)) {
+                        previousValue += ColumnarFormat.decodeZigZag(reader.readVarInt());
+                        column.values[i] = previousValue;
+                    }
+                }
+                break;
+            case ColumnarFormat.DICTIONARY_ENCODING:
+                column.dictionary = new String[reader.readLength()];
+                for (int i = 0; i < column.dictionary.length; i++) {
+                    column.dictionary[i] = new String(reader.readBytes(reader.readLength()), ColumnarFormat.CHARSET);
+                }
+
+                column.indices = new int[numberOfRows];
+                for (int i = 0; i < numberOfRows; i++) {
+                    column.indices[i] = (int) reader.readVarInt();
+                    if (column.indices[i] < 0 || column.indices[i] > column.dictionary.length) {
+                        throw new IOException("The column " + columnName + " contains an invalid index.");
+                    }
+                }
+                break;
+            default:
+                throw new IOException("The column " + columnName + " uses the unknown encoding " + encoding + ".");
+            }
+        } catch (SteemInvalidTransactionException e) {
+            throw new IOException("The column " + columnName + " is corrupt.", e);
+        }
+
+        return column;
+    }
+
+    /**
+     * The decoded values of one column of the current row group.
+     */
+    private static final class DecodedColumn {
+        private long[] values;
+        private BitSet nullRows;
+        private String[] dictionary;
+        private int[] indices;
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.chain.columnar;
+
+import java.io.IOException;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Asset;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+
+/**
+ * This class describes the columns written for one operation class.
+ * 
+ * Each field annotated with <code>@JsonProperty</code> becomes a column named
+ * like its JSON property. Nested objects like the values of virtual
+ * operations are flattened into columns named
+ * <code>property.nestedProperty</code>, assets are split into an
+ * <code>.amount</code> column and a <code>.symbol</code> or
+ * <code>.precision</code> column. Lists and other complex values are stored
+ * as JSON.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+final class OperationColumns {
+    /** The maximum depth of nested objects that are flattened. */
+    private static final int MAXIMUM_NESTING = 3;
+    private static final String MODEL_PACKAGE = "eu.bittrade.libs.steemj.";
+
+    /** The columns per operation class. */
+    private static final ClassValue<OperationColumns> OPERATION_COLUMNS = new ClassValue<OperationColumns>() {
+        @Override
+        protected OperationColumns computeValue(Class<?> operationType) {
+            List<Column> columns = new ArrayList<>();
+            addColumns(operationType, "", new Field[0], 0, columns);
+            return new OperationColumns(columns);
+        }
+    };
+
+    private final List<Column> columns;
+
+    /**
+     * Create a new column description.
+     */
+    private OperationColumns(List<Column> columns) {
+        this.columns = Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Get the columns of the given operation class.
+     * 
+     * @param operationType
+     *            The class of the operation.
+     * @return The columns.
+     */
+    static OperationColumns of(Class<?> operationType) {
+        return OPERATION_COLUMNS.get(operationType);
+    }
+
+    /**
+     * @return The columns in the order they are written.
+     */
+    List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Add the columns for all JSON properties of the given <code>type</code>.
+     */
+    private static void addColumns(Class<?> type, String prefix, Field[] parentPath, int depth, List<Column> columns) {
+        for (Field field : getJsonFields(type)) {
+            JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+            String name = prefix + (jsonProperty.value().isEmpty() ? field.getName() : jsonProperty.value());
+            Field[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+            path[parentPath.length] = field;
+
+            Class<?> fieldType = field.getType();
+            if (LegacyAsset.class.equals(fieldType)) {
+                columns.add(new Column(name + ".amount", path, ValueType.LEGACY_ASSET_AMOUNT));
+                columns.add(new Column(name + ".symbol", path, ValueType.LEGACY_ASSET_SYMBOL));
+            } else if (Asset.class.equals(fieldType)) {
+                columns.add(new Column(name + ".amount", path, ValueType.ASSET_AMOUNT));
+                columns.add(new Column(name + ".precision", path, ValueType.ASSET_PRECISION));
+            } else {
+                ValueType valueType = ValueType.of(fieldType);
+                if (valueType == ValueType.JSON && depth < MAXIMUM_NESTING && isFlattenable(fieldType)) {
+                    addColumns(fieldType, name + ".", path, depth + 1, columns);
+                } else {
+                    columns.add(new Column(name, path, valueType));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get all fields of the given <code>type</code> and its super classes
+     * which are written as JSON properties, starting with the fields of the
+     * top most class.
+     */
+    private static List<Field> getJsonFields(Class<?> type) {
+        LinkedList<Field> fields = new LinkedList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current
+                .getSuperclass()) {
+            Field[] declaredFields = current.getDeclaredFields();
+            for (int i = declaredFields.length - 1; i >= 0; i--) {
+                Field field = declaredFields[i];
+                if (!Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(JsonProperty.class)
+                        && !field.isAnnotationPresent(JsonIgnore.class)) {
+                    fields.addFirst(field);
+                }
+            }
+        }
+
+        AccessibleObject.setAccessible(fields.toArray(new Field[fields.size()]), true);
+        return fields;
+    }
+
+    /**
+     * Check if the fields of the given <code>type</code> can be written as
+     * separate columns.
+     */
+    private static boolean isFlattenable(Class<?> type) {
+        return !type.isArray() && !type.isInterface() && type.getName().startsWith(MODEL_PACKAGE)
+                && !getJsonFields(type).isEmpty();
+    }
+
+    /**
+     * A single column of an operation.
+     */
+    static final class Column {
+        private final String name;
+        private final Field[] path;
+        private final ValueType valueType;
+
+        /**
+         * Create a new column.
+         */
+        private Column(String name, Field[] path, ValueType valueType) {
+            this.name = name;
+            this.path = path;
+            this.valueType = valueType;
+        }
+
+        /**
+         * @return The name of this column.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return <code>true</code> if this column contains numbers,
+         *         <code>false</code> if it contains Strings.
+         */
+        boolean isNumeric() {
+            return valueType.isNumeric();
+        }
+
+        /**
+         * Get the raw value of this column from the given
+         * <code>operation</code>.
+         * 
+         * @param operation
+         *            The operation to read.
+         * @return The value or <code>null</code> if the operation or one of
+         *         the nested objects does not have a value.
+         */
+        Object getValue(Object operation) {
+            Object value = operation;
+            try {
+                for (int i = 0; i < path.length && value != null; i++) {
+                    value = path[i].get(value);
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("The field " + name + " could not be accessed.", e);
+            }
+
+            return value;
+        }
+
+        /**
+         * Convert a non-null value of a numeric column.
+         * 
+         * @param value
+         *            A value returned by {@link #getValue(Object)}.
+         * @return The number stored in the column.
+         */
+        long toLong(Object value) {
+            return valueType.toLong(value);
+        }
+
+        /**
+         * Convert a non-null value of a String column.
+         * 
+         * @param value
+         *            A value returned by {@link #getValue(Object)}.
+         * @return The String stored in the column.
+         * @throws IOException
+         *             If the value could not be transformed into JSON.
+         */
+        String toText(Object value) throws IOException {
+            return valueType.toText(value);
+        }
+    }
+
+    /**
+     * The supported field types and how they are stored.
+     */
+    enum ValueType {
+        /** Primitive numbers and their wrappers, including unsigned types. */
+        NUMBER(true) {
+            @Override
+            long toLong(Object value) {
+                return ((Number) value).longValue();
+            }
+
+            @Override
+            String toText(Object value) {
+                return String.valueOf(toLong(value));
+            }
+        },
+        BOOLEAN(true) {
+            @Override
+            long toLong(Object value) {
+                return ((Boolean) value) ? 1 : 0;
+            }
+
+            @Override
+            String toText(Object value) {
+                return String.valueOf(toLong(value));
+            }
+        },
+        /** Stored as seconds since the epoch. */
+        TIME_POINT_SEC(true) {
+            @Override
+            long toLong(Object value) {
+                return ((TimePointSec) value).getDateTimeAsEpochSeconds();
+            }
+
+            @Override
+            String toText(Object value) {
+                return String.valueOf(toLong(value));
+            }
+        },
+        /** Stored without decimal places, e.g. 1.000 STEEM as 1000. */
+        LEGACY_ASSET_AMOUNT(true) {
+            @Override
+            long toLong(Object value) {
+                return ((LegacyAsset) value).getAmount();
+            }
+
+            @Override
+            String toText(Object value) {
+                return String.valueOf(toLong(value));
+            }
+        },
+        /** Stored without decimal places. */
+        ASSET_AMOUNT(true) {
+            @Override
+            long toLong(Object value) {
+                return ((Asset) value).getAmount();
+            }
+
+            @Override
+            String toText(Object value) {
+                return String.valueOf(toLong(value));
+            }
+        },
+        ASSET_PRECISION(true) {
+            @Override
+            long toLong(Object value) {
+                return ((Asset) value).getAssetSymbolType().getDecimalPlaces();
+            }
+
+            @Override
+            String toText(Object value) {
+                return String.valueOf(toLong(value));
+            }
+        },
+        LEGACY_ASSET_SYMBOL(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) {
+                return ((LegacyAsset) value).getSymbol().name();
+            }
+        },
+        ACCOUNT_NAME(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) {
+                return ((AccountName) value).getName();
+            }
+        },
+        PERMLINK(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) {
+                return ((Permlink) value).getLink();
+            }
+        },
+        PUBLIC_KEY(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) {
+                return ((PublicKey) value).getAddressFromPublicKey();
+            }
+        },
+        ENUM(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) {
+                return ((Enum<?>) value).name();
+            }
+        },
+        /** Strings, characters and numbers that do not fit into a long. */
+        TEXT(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) {
+                return value.toString();
+            }
+        },
+        JSON(false) {
+            @Override
+            long toLong(Object value) {
+                throw new UnsupportedOperationException(this + " is stored as text.");
+            }
+
+            @Override
+            String toText(Object value) throws IOException {
+                return CommunicationHandler.getObjectMapper().writeValueAsString(value);
+            }
+        };
+
+        private final boolean numeric;
+
+        /**
+         * Create a new value type.
+         */
+        ValueType(boolean numeric) {
+            this.numeric = numeric;
+        }
+
+        /**
+         * Find the value type used for fields of the given <code>type</code>.
+         */
+        private static ValueType of(Class<?> type) {
+            if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+                return BOOLEAN;
+            } else if (char.class.equals(type) || Character.class.equals(type) || CharSequence.class
+                    .isAssignableFrom(type) || BigInteger.class.equals(type) || BigDecimal.class.equals(type)) {
+                return TEXT;
+            } else if (type.isPrimitive() || Number.class.isAssignableFrom(type)) {
+                return NUMBER;
+            } else if (TimePointSec.class.equals(type)) {
+                return TIME_POINT_SEC;
+            } else if (AccountName.class.equals(type)) {
+                return ACCOUNT_NAME;
+            } else if (Permlink.class.equals(type)) {
+                return PERMLINK;
+            } else if (PublicKey.class.equals(type)) {
+                return PUBLIC_KEY;
+            } else if (type.isEnum()) {
+                return ENUM;
+            }
+
+            return JSON;
+        }
+
+        /**
+         * @return <code>true</code> if the values are stored as numbers.
+         */
+        boolean isNumeric() {
+            return numeric;
+        }
+
+        /**
+         * Convert the value of a numeric column.
+         * 
+         * @throws UnsupportedOperationException
+         *             If the values of this type are stored as text.
+         */
+        abstract long toLong(Object value);
+
+        /**
+         * Convert the value to its text representation, which is the stored
+         * number for numeric types.
+         */
+        abstract String toText(Object value) throws IOException;
+    }
+}
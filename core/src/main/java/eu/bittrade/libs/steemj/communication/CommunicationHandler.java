@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
@@ -42,6 +43,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 import eu.bittrade.libs.steemj.exceptions.SteemTimeoutException;
 import eu.bittrade.libs.steemj.exceptions.SteemTransformationException;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class handles the communication to the Steem web socket API.
@@ -50,6 +52,11 @@ import eu.bittrade.libs.steemj.exceptions.SteemTransformationException;
  */
 public class CommunicationHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(CommunicationHandler.class);
+    /**
+     * The module registering the deserializers generated by the SteemJ
+     * processor at compile time.
+     */
+    private static final String GENERATED_MODULE_CLASS_NAME = "eu.bittrade.libs.steemj.communication.GeneratedJsonBindingModule";
 
     /**
      * A preconfigured mapper instance used for de-/serialization of Json
@@ -131,7 +138,7 @@ public class CommunicationHandler {
             Pair<URI, Boolean> endpoint = SteemJConfig.getInstance().getNextEndpointURI(numberOfConnectionTries++);
             JsonRPCResponse rawJsonResponse = client.invokeAndReadResponse(requestObject, endpoint.getLeft(),
                     endpoint.getRight());
-            LOGGER.debug("Received {} ", rawJsonResponse);
+            LOGGER.debug("Received {} ", DebugRenderer.lazy(rawJsonResponse));
 
             if (rawJsonResponse.isError()) {
                 throw rawJsonResponse.handleError(requestObject.getId());
@@ -182,8 +189,27 @@ public class CommunicationHandler {
             simpleModule.addSerializer(boolean.class, new BooleanSerializer());
 
             mapper.registerModule(simpleModule);
+            registerGeneratedModule(mapper);
         }
 
         return mapper;
     }
+
+    /**
+     * Register the deserializers generated at compile time, so that the most
+     * common types are parsed without reflection. If the sources have been
+     * compiled without the SteemJ processor, Jackson binds all types itself.
+     * 
+     * @param objectMapper
+     *            The mapper to register the generated module at.
+     */
+    private static void registerGeneratedModule(ObjectMapper objectMapper) {
+        try {
+            objectMapper.registerModule((Module) Class.forName(GENERATED_MODULE_CLASS_NAME).newInstance());
+        } catch (ClassNotFoundException e) {
+            LOGGER.debug("No generated deserializers found, using reflection for all types.", e);
+        } catch (InstantiationException | IllegalAccessException e) {
+            LOGGER.warn("Could not register the generated deserializers, using reflection for all types.", e);
+        }
+    }
 }
@@ -33,6 +33,7 @@ import com.google.api.client.http.javanet.NetHttpTransport;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
 import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class handles the communication to a Steem Node using the HTTP protocol.
@@ -57,7 +58,7 @@ public class HttpClient extends AbstractClient {
                     .buildPostRequest(new GenericUrl(endpointUri),
                             ByteArrayContent.fromString("application/json", requestPayload));
 
-            LOGGER.debug("Sending {}.", requestPayload);
+            LOGGER.debug("Sending {}.", DebugRenderer.lazy(requestPayload));
 
             HttpResponse httpResponse = httpRequest.execute();
 
@@ -65,7 +66,7 @@ public class HttpClient extends AbstractClient {
             String responsePayload = httpResponse.parseAsString();
 
             if (status >= 200 && status < 300 && responsePayload != null) {
-                return new JsonRPCResponse(CommunicationHandler.getObjectMapper().readTree(responsePayload));
+                return JsonRPCResponse.fromJson(responsePayload, requestObject.getProjection());
             } else {
                 throw new ClientProtocolException("Unexpected response status: " + status);
             }
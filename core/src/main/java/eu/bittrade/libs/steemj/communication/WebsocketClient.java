@@ -40,6 +40,7 @@ import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 import eu.bittrade.libs.steemj.exceptions.SteemTimeoutException;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class handles the communication to a Steem Node using the WebSocket
@@ -92,7 +93,7 @@ public class WebsocketClient extends AbstractClient {
 
         try {
             String request = requestObject.toJson();
-            LOGGER.debug("Sending {}.", request);
+            LOGGER.debug("Sending {}.", DebugRenderer.lazy(request));
             session.getBasicRemote().sendObject(request);
         } catch (IOException | EncodeException e) {
             // Throw an Exception and let the CommunicationHandler handle the
@@ -113,13 +114,13 @@ public class WebsocketClient extends AbstractClient {
                                         + SteemJConfig.getInstance().getResponseTimeout() + " millisecond(s).");
                     }
                 }
-            } while (websocketEndpoint.getLatestResponse() == null);
+            } while (websocketEndpoint.getLatestResponse(requestObject.getProjection()) == null);
         } catch (InterruptedException e) {
             LOGGER.warn("Thread has been interrupted.", e);
             Thread.currentThread().interrupt();
         }
 
-        return websocketEndpoint.getLatestResponse();
+        return websocketEndpoint.getLatestResponse(requestObject.getProjection());
     }
 
     @Override
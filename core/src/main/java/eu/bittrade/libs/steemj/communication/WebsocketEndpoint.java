@@ -27,6 +27,7 @@ import javax.websocket.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.bittrade.libs.steemj.base.models.Projection;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 
@@ -57,16 +58,19 @@ public class WebsocketEndpoint extends Endpoint implements MessageHandler.Whole<
     /**
      * Pull the latest response.
      * 
+     * @param projection
+     *            The fields of the response objects to keep or
+     *            <code>null</code> to keep all fields.
      * @return In case a response has already been received a new
      *         {@link JsonRPCResponse} instance that wraps the response,
      *         otherwise the method will return <code>null</code>.
      * @throws SteemResponseException
      *             In case the response can not be parsed as a tree.
      */
-    protected JsonRPCResponse getLatestResponse() throws SteemResponseException {
+    protected JsonRPCResponse getLatestResponse(Projection projection) throws SteemResponseException {
         try {
             if (latestResponse != null)
-                return new JsonRPCResponse(CommunicationHandler.getObjectMapper().readTree(latestResponse));
+                return JsonRPCResponse.fromJson(latestResponse, projection);
 
             return null;
         } catch (IOException e) {
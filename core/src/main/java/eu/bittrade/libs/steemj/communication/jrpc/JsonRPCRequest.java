@@ -20,16 +20,17 @@ import java.util.Random;
 
 import javax.annotation.Nullable;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import eu.bittrade.libs.steemj.base.models.Projection;
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.enums.RequestMethod;
 import eu.bittrade.libs.steemj.enums.SteemApiType;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * A wrapper object that carries all required fields for a request.
@@ -51,6 +52,9 @@ public class JsonRPCRequest {
      */
     @JsonInclude(Include.NON_NULL)
     private Object params;
+    /** The fields of the response objects that should be kept. */
+    @JsonIgnore
+    private Projection projection;
 
     /**
      * Instantiate a new RequestObject.
@@ -75,6 +79,30 @@ public class JsonRPCRequest {
         this.params = params;
     }
 
+    /**
+     * Instantiate a new RequestObject whose response objects should only keep
+     * the fields selected by the given <code>projection</code>.
+     * 
+     * @param steemApiType
+     *            The {@link SteemApiType} the <code>requestMethod</code>
+     *            belongs to or <code>null</code> if the default namespace
+     *            should be used.
+     * @param requestMethod
+     *            The {@link RequestMethod} to request.
+     * @param params
+     *            An object which contains all parameters required by the
+     *            <code>requestMethod</code> or <code>null</code> if no
+     *            parameters are required.
+     * @param projection
+     *            The fields of the response objects to keep or
+     *            <code>null</code> to keep all fields.
+     */
+    public JsonRPCRequest(@Nullable SteemApiType steemApiType, RequestMethod requestMethod, @Nullable Object params,
+            @Nullable Projection projection) {
+        this(steemApiType, requestMethod, params);
+        this.projection = projection;
+    }
+
     /**
      * Get the JSON-RPC version.
      * 
@@ -111,6 +139,16 @@ public class JsonRPCRequest {
         return this.params;
     }
 
+    /**
+     * Get the fields of the response objects that should be kept.
+     * 
+     * @return The projection or <code>null</code> if all fields should be
+     *         kept.
+     */
+    public Projection getProjection() {
+        return projection;
+    }
+
     /**
      * Tramsform this request object into its JSON representation.
      *  
@@ -124,6 +162,6 @@ public class JsonRPCRequest {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
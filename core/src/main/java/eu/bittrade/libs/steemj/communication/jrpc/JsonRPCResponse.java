@@ -16,20 +16,28 @@
  */
 package eu.bittrade.libs.steemj.communication.jrpc;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import eu.bittrade.libs.steemj.base.models.Projection;
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class contains a Json RPC response and offers additional utility
@@ -73,6 +81,118 @@ public class JsonRPCResponse {
         this.rawJsonResponse = rawJsonResponse;
     }
 
+    /**
+     * Parse the raw JSON String returned by a node.
+     * 
+     * If a <code>projection</code> is provided, the objects contained in the
+     * result list (or in the lists of the result object) only keep the fields
+     * selected by the projection. All other fields are skipped while parsing,
+     * so no tree nodes are created for them.
+     * 
+     * @param rawJsonResponse
+     *            The raw JSON String returned by a node.
+     * @param projection
+     *            The fields to keep or <code>null</code> to keep all fields.
+     * @return A new {@link JsonRPCResponse} instance wrapping the parsed
+     *         response.
+     * @throws IOException
+     *             If the response is no valid JSON.
+     */
+    public static JsonRPCResponse fromJson(String rawJsonResponse, @Nullable Projection projection)
+            throws IOException {
+        ObjectMapper mapper = CommunicationHandler.getObjectMapper();
+        if (projection == null) {
+            return new JsonRPCResponse(mapper.readTree(rawJsonResponse));
+        }
+
+        try (JsonParser parser = mapper.getFactory().createParser(rawJsonResponse)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // Let the mapper handle unexpected structures.
+                return new JsonRPCResponse(mapper.readTree(rawJsonResponse));
+            }
+
+            ObjectNode response = mapper.getNodeFactory().objectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if (RESULT_FIELD_NAME.equals(fieldName)) {
+                    response.set(fieldName, readResult(mapper, parser, projection));
+                } else {
+                    response.set(fieldName, mapper.<JsonNode> readTree(parser));
+                }
+            }
+
+            return new JsonRPCResponse(response);
+        }
+    }
+
+    /**
+     * Read the value of the "result" field the <code>parser</code> is
+     * currently pointing to.
+     */
+    private static JsonNode readResult(ObjectMapper mapper, JsonParser parser, Projection projection)
+            throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+            return readProjectedArray(mapper, parser, projection);
+        } else if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            return mapper.readTree(parser);
+        }
+
+        // Objects like "find_accounts_return" wrap the actual list.
+        ObjectNode result = mapper.getNodeFactory().objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                result.set(fieldName, readProjectedArray(mapper, parser, projection));
+            } else {
+                result.set(fieldName, mapper.<JsonNode> readTree(parser));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the array the <code>parser</code> is currently pointing to while
+     * applying the <code>projection</code> to all objects it contains.
+     */
+    private static ArrayNode readProjectedArray(ObjectMapper mapper, JsonParser parser, Projection projection)
+            throws IOException {
+        ArrayNode array = mapper.getNodeFactory().arrayNode();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                array.add(readProjectedObject(mapper, parser, projection));
+            } else {
+                array.add(mapper.<JsonNode> readTree(parser));
+            }
+        }
+
+        return array;
+    }
+
+    /**
+     * Read the object the <code>parser</code> is currently pointing to and
+     * skip all fields not selected by the <code>projection</code>.
+     */
+    private static ObjectNode readProjectedObject(ObjectMapper mapper, JsonParser parser, Projection projection)
+            throws IOException {
+        ObjectNode object = mapper.getNodeFactory().objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            if (projection.contains(fieldName)) {
+                object.set(fieldName, mapper.<JsonNode> readTree(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return object;
+    }
+
     /**
      * Get the raw JSON response that is wrapped by this {@link JsonRPCResponse}
      * instance.
@@ -279,6 +399,6 @@ public class JsonRPCResponse {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -0,0 +1,226 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.configuration;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+
+/**
+ * This class remembers the ids of recently broadcasted transactions until they
+ * expire. It is used to drop duplicate submissions of the same transaction,
+ * which would otherwise be rejected by the Steem node with a "duplicate
+ * transaction" error. Once a transaction has expired it can not be included in
+ * a block anymore, so its id is removed from this cache.
+ *
+ * An id is {@link #add(TransactionId, TimePointSec) reserved} before the
+ * transaction is sent. If the node accepts it, the id is
+ * {@link #confirm(TransactionId, TimePointSec) confirmed}, while it is
+ * {@link #remove(TransactionId) removed} if the node rejects it. If the
+ * outcome is unknown, e.g. because of a timeout, the id is
+ * {@link #markUncertain(TransactionId) marked as uncertain}: The node may have
+ * received the transaction, so a retry may be sent again, but a "duplicate
+ * transaction" error means that the earlier attempt has been successful.
+ *
+ * This class is thread safe.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BroadcastedTransactionCache {
+    private final ConcurrentMap<TransactionId, CacheEntry> entriesPerTransactionId = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<CacheEntry> entriesByExpirationDate = new PriorityBlockingQueue<>();
+
+    /**
+     * Reserve the id of a transaction that is about to be broadcasted.
+     *
+     * @param transactionId
+     *            The id of the transaction.
+     * @param expirationDate
+     *            The expiration date of the transaction.
+     * @return <code>true</code> if the transaction should be sent, because it
+     *         has not been broadcasted before or the outcome of the last
+     *         attempt is {@link #markUncertain(TransactionId) uncertain}, or
+     *         <code>false</code> if it is a duplicate.
+     */
+    public boolean add(TransactionId transactionId, TimePointSec expirationDate) {
+        removeExpiredTransactions();
+
+        CacheEntry newEntry = new CacheEntry(transactionId, expirationDate.getDateTimeAsTimestamp(),
+                State.PENDING);
+        CacheEntry existingEntry = entriesPerTransactionId.putIfAbsent(transactionId, newEntry);
+        if (existingEntry == null) {
+            entriesByExpirationDate.add(newEntry);
+            return true;
+        }
+
+        return existingEntry.state == State.UNCERTAIN && entriesPerTransactionId.replace(transactionId,
+                existingEntry, existingEntry.withState(State.PENDING));
+    }
+
+    /**
+     * Remember the id of a transaction that has been accepted by a node.
+     *
+     * @param transactionId
+     *            The id of the transaction.
+     * @param expirationDate
+     *            The expiration date of the transaction.
+     */
+    public void confirm(TransactionId transactionId, TimePointSec expirationDate) {
+        removeExpiredTransactions();
+
+        CacheEntry newEntry = new CacheEntry(transactionId, expirationDate.getDateTimeAsTimestamp(),
+                State.CONFIRMED);
+        CacheEntry existingEntry = entriesPerTransactionId.put(transactionId, newEntry);
+        if (existingEntry == null || existingEntry.expirationDate != newEntry.expirationDate) {
+            entriesByExpirationDate.add(newEntry);
+        }
+    }
+
+    /**
+     * Keep the id of a transaction whose broadcast has failed without a
+     * clear answer of the node, e.g. because of a timeout or a lost
+     * connection. The transaction may still be included in a block, so a
+     * retry is allowed, but a "duplicate transaction" error of the retry has
+     * to be treated as a success.
+     *
+     * @param transactionId
+     *            The id of the transaction.
+     */
+    public void markUncertain(TransactionId transactionId) {
+        CacheEntry existingEntry = entriesPerTransactionId.get(transactionId);
+        if (existingEntry != null && existingEntry.state == State.PENDING) {
+            entriesPerTransactionId.replace(transactionId, existingEntry, existingEntry.withState(State.UNCERTAIN));
+        }
+    }
+
+    /**
+     * Check if a transaction with the given id has been broadcasted and has
+     * not expired yet.
+     *
+     * @param transactionId
+     *            The id of the transaction.
+     * @return <code>true</code> if the transaction is known, otherwise
+     *         <code>false</code>.
+     */
+    public boolean contains(TransactionId transactionId) {
+        removeExpiredTransactions();
+
+        return entriesPerTransactionId.containsKey(transactionId);
+    }
+
+    /**
+     * Remove the id of a transaction, e.g. because the Steem node has rejected
+     * it, so it can be broadcasted again.
+     *
+     * @param transactionId
+     *            The id of the transaction to remove.
+     */
+    public void remove(TransactionId transactionId) {
+        // The entry in the queue is skipped once it expires.
+        entriesPerTransactionId.remove(transactionId);
+    }
+
+    /**
+     * @return The number of currently stored transaction ids.
+     */
+    public int size() {
+        removeExpiredTransactions();
+
+        return entriesPerTransactionId.size();
+    }
+
+    /**
+     * Remove all transaction ids from this cache.
+     */
+    public void clear() {
+        entriesPerTransactionId.clear();
+        entriesByExpirationDate.clear();
+    }
+
+    /**
+     * Remove the ids of all transactions whose expiration date has passed.
+     * Queue entries of removed or replaced ids are skipped.
+     */
+    private void removeExpiredTransactions() {
+        long now = System.currentTimeMillis();
+
+        CacheEntry oldestEntry = entriesByExpirationDate.peek();
+        while (oldestEntry != null && oldestEntry.expirationDate < now) {
+            oldestEntry = entriesByExpirationDate.poll();
+            if (oldestEntry == null) {
+                return;
+            } else if (oldestEntry.expirationDate >= now) {
+                // Another thread has removed the expired entry in between.
+                entriesByExpirationDate.add(oldestEntry);
+                return;
+            }
+
+            CacheEntry currentEntry = entriesPerTransactionId.get(oldestEntry.transactionId);
+            if (currentEntry != null && currentEntry.expirationDate == oldestEntry.expirationDate) {
+                entriesPerTransactionId.remove(oldestEntry.transactionId, currentEntry);
+            }
+
+            oldestEntry = entriesByExpirationDate.peek();
+        }
+    }
+
+    /**
+     * The states of a transaction id.
+     */
+    private enum State {
+        /** The transaction is being broadcasted. */
+        PENDING,
+        /** The last broadcast failed without a clear answer of the node. */
+        UNCERTAIN,
+        /** The transaction has been accepted by a node. */
+        CONFIRMED
+    }
+
+    /**
+     * A transaction id, its expiration date and its state, ordered by the
+     * expiration date.
+     */
+    private static class CacheEntry implements Comparable<CacheEntry> {
+        private final TransactionId transactionId;
+        private final long expirationDate;
+        private final State state;
+
+        /**
+         * Create a new entry.
+         */
+        private CacheEntry(TransactionId transactionId, long expirationDate, State state) {
+            this.transactionId = transactionId;
+            this.expirationDate = expirationDate;
+            this.state = state;
+        }
+
+        /**
+         * @return A copy of this entry with the given <code>state</code>.
+         */
+        private CacheEntry withState(State newState) {
+            return new CacheEntry(transactionId, expirationDate, newState);
+        }
+
+        @Override
+        public int compareTo(CacheEntry otherEntry) {
+            return Long.compare(this.expirationDate, otherEntry.expirationDate);
+        }
+    }
+}
@@ -16,11 +16,19 @@
  */
 package eu.bittrade.libs.steemj.configuration;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
@@ -29,15 +37,41 @@ import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.base58.Sha256ChecksumProvider;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.SharedForkJoinPool;
 
 /**
  * This class is used to store the private keys of multiple users in a single
  * object.
  * 
+ * The keys are indexed by their account and type as well as by their public
+ * key, so both lookups do not depend on the number of stored accounts. The
+ * public key index counts how many accounts use a key, so removing an account
+ * does not need to look at the other accounts. This class is thread safe: All
+ * changes of the accounts and the index are done atomically under a single
+ * lock.
+ * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class PrivateKeyStorage {
-    private HashMap<AccountName, List<ImmutablePair<PrivateKeyType, ECKey>>> privateKeysPerAccounts = new HashMap<>();
+    /**
+     * The number of keys decoded by a single task during a bulk load without
+     * splitting it any further.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 16;
+
+    private final Map<AccountName, Map<PrivateKeyType, ECKey>> privateKeysPerAccounts;
+    private final Map<ByteBuffer, IndexedPrivateKey> privateKeysPerPublicKey;
+    private final ReadWriteLock lock;
+
+    /**
+     * Create a new, empty private key storage.
+     */
+    public PrivateKeyStorage() {
+        this.privateKeysPerAccounts = new HashMap<>();
+        this.privateKeysPerPublicKey = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
 
     /**
      * Get a private key of the given private key type for the given account
@@ -52,22 +86,44 @@ public class PrivateKeyStorage {
      * @return The requested private key.
      */
     public ECKey getKeyForAccount(PrivateKeyType privateKeyType, AccountName accountName) {
-        List<ImmutablePair<PrivateKeyType, ECKey>> privateKeysForAccount = this.getPrivateKeysPerAccounts()
-                .get(accountName);
+        ECKey privateKey;
+        lock.readLock().lock();
+        try {
+            Map<PrivateKeyType, ECKey> privateKeysForAccount = privateKeysPerAccounts.get(accountName);
+            privateKey = privateKeysForAccount == null ? null : privateKeysForAccount.get(privateKeyType);
+        } finally {
+            lock.readLock().unlock();
+        }
 
-        if (privateKeysForAccount == null) {
+        if (privateKey == null) {
             throw new InvalidParameterException(privateKeyType.name() + " for the account '" + accountName
                     + "' has not been added to the PrivateKeyStore.");
         }
 
-        for (ImmutablePair<PrivateKeyType, ECKey> privateKey : privateKeysForAccount) {
-            if (privateKey != null && privateKey.getLeft().equals(privateKeyType)) {
-                return privateKey.getRight();
-            }
+        return privateKey;
+    }
+
+    /**
+     * Get the private key that belongs to the given public key.
+     * 
+     * @param publicKey
+     *            The public key to request the private key for.
+     * @return The requested private key or <code>null</code> if no matching
+     *         private key has been stored.
+     */
+    public ECKey getKeyForPublicKey(PublicKey publicKey) {
+        if (publicKey == null || publicKey.getPublicKey() == null) {
+            return null;
         }
 
-        throw new InvalidParameterException(privateKeyType.name() + " for the account '" + accountName
-                + "' has not been added to the PrivateKeyStore.");
+        ByteBuffer indexKey = toIndexKey(publicKey.getPublicKey());
+        lock.readLock().lock();
+        try {
+            IndexedPrivateKey indexedPrivateKey = privateKeysPerPublicKey.get(indexKey);
+            return indexedPrivateKey == null ? null : indexedPrivateKey.privateKey;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -77,7 +133,12 @@ public class PrivateKeyStorage {
      *            The account to be added to the key storage.
      */
     public void addAccount(AccountName accountName) {
-        this.getPrivateKeysPerAccounts().put(accountName, new ArrayList<ImmutablePair<PrivateKeyType, ECKey>>());
+        lock.writeLock().lock();
+        try {
+            replaceAccount(accountName);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -92,9 +153,71 @@ public class PrivateKeyStorage {
      *            The private keys to be added to the key storage.
      */
     public void addAccount(AccountName accountName, List<ImmutablePair<PrivateKeyType, String>> privateKeys) {
-        this.addAccount(accountName);
+        // Decode the keys first, so the lock is not held while doing so.
+        List<ECKey> decodedPrivateKeys = new ArrayList<>();
         for (ImmutablePair<PrivateKeyType, String> privateKey : privateKeys) {
-            addPrivateKeyToAccount(accountName, privateKey);
+            decodedPrivateKeys.add(convertWifToECKey(privateKey.getRight()));
+        }
+
+        lock.writeLock().lock();
+        try {
+            replaceAccount(accountName);
+            for (int i = 0; i < decodedPrivateKeys.size(); i++) {
+                addPrivateKeyToAccount(accountName, privateKeys.get(i).getLeft(), decodedPrivateKeys.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add many accounts and their private keys at once. The WIF private keys
+     * are decoded in parallel using the {@link SharedForkJoinPool}, which is
+     * considerably faster than adding the accounts one by one.
+     * 
+     * @param privateKeysPerAccount
+     *            The private keys in their WIF representation and their types
+     *            per account (see {@link #addAccount(AccountName, List)}).
+     */
+    public void addAccounts(Map<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeysPerAccount) {
+        addAccounts(privateKeysPerAccount, SharedForkJoinPool.getInstance());
+    }
+
+    /**
+     * Like {@link #addAccounts(Map)}, but decodes the private keys using the
+     * given <code>forkJoinPool</code>.
+     * 
+     * @param privateKeysPerAccount
+     *            The private keys in their WIF representation and their types
+     *            per account (see {@link #addAccount(AccountName, List)}).
+     * @param forkJoinPool
+     *            The pool used to decode the private keys.
+     */
+    public void addAccounts(Map<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeysPerAccount,
+            ForkJoinPool forkJoinPool) {
+        List<AccountName> accountNames = new ArrayList<>();
+        List<ImmutablePair<PrivateKeyType, String>> wifPrivateKeys = new ArrayList<>();
+        for (Entry<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeys : privateKeysPerAccount
+                .entrySet()) {
+            for (ImmutablePair<PrivateKeyType, String> privateKey : privateKeys.getValue()) {
+                accountNames.add(privateKeys.getKey());
+                wifPrivateKeys.add(privateKey);
+            }
+        }
+
+        ECKey[] decodedPrivateKeys = new ECKey[wifPrivateKeys.size()];
+        forkJoinPool.invoke(new DecodingTask(wifPrivateKeys, decodedPrivateKeys, 0, decodedPrivateKeys.length));
+
+        lock.writeLock().lock();
+        try {
+            for (AccountName accountName : privateKeysPerAccount.keySet()) {
+                replaceAccount(accountName);
+            }
+            for (int i = 0; i < decodedPrivateKeys.length; i++) {
+                addPrivateKeyToAccount(accountNames.get(i), wifPrivateKeys.get(i).getLeft(), decodedPrivateKeys[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -105,6 +228,8 @@ public class PrivateKeyStorage {
      * convenient private key in its WIF representation (e.g.
      * "5KQwrPbwdL6PhXujxW37FSSQZ1JiwsST4cqQzDeyXtP79zkvFD3").
      * 
+     * If a key of the same type has already been added for this account, the
+     * existing key is kept.
      * 
      * <p>
      * Example:
@@ -120,9 +245,18 @@ public class PrivateKeyStorage {
      *            The account to add the keys for.
      * @param privateKey
      *            The private key in its WIF representation and its type.
+     * @throws InvalidParameterException
+     *             If the account has not been added before.
      */
     public void addPrivateKeyToAccount(AccountName accountName, ImmutablePair<PrivateKeyType, String> privateKey) {
-        this.getPrivateKeysPerAccounts().get(accountName).add(convertWifToECKeyPair(privateKey));
+        ECKey decodedPrivateKey = convertWifToECKey(privateKey.getRight());
+
+        lock.writeLock().lock();
+        try {
+            addPrivateKeyToAccount(accountName, privateKey.getLeft(), decodedPrivateKey);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -133,21 +267,49 @@ public class PrivateKeyStorage {
      *            The account name to remove from the key store.
      * @return The previous value associated with the <tt>account name</tt>, or
      *         <tt>null</tt> if there was no mapping for the
-     *         <tt>account name</tt>. (A <tt>null</tt> return can also indicate
-     *         that the key previously associated <tt>null</tt> with
-     *         <tt>key</tt>.)
+     *         <tt>account name</tt>.
      */
     public List<ImmutablePair<PrivateKeyType, ECKey>> removeAccount(AccountName accountName) {
-        return this.getPrivateKeysPerAccounts().remove(accountName);
+        lock.writeLock().lock();
+        try {
+            Map<PrivateKeyType, ECKey> removedPrivateKeys = privateKeysPerAccounts.remove(accountName);
+            if (removedPrivateKeys == null) {
+                return null;
+            }
+
+            removeFromPublicKeyIndex(removedPrivateKeys.values());
+            return toPairs(removedPrivateKeys);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
-     * Get the private key store.
+     * Get a snapshot of the private key store.
      * 
-     * @return The private key store.
+     * @return The private key store as an unmodifiable snapshot.
+     * @deprecated This method used to return the internal map, so changes of
+     *             the returned map have been reflected in this key storage. As
+     *             the keys are indexed by their public key now, the map is an
+     *             unmodifiable snapshot instead. Use
+     *             {@link #getAccounts()}, {@link #getKeyForAccount(PrivateKeyType, AccountName)},
+     *             {@link #addAccount(AccountName, List)} and
+     *             {@link #removeAccount(AccountName)} to read and change the
+     *             stored keys.
      */
+    @Deprecated
     public Map<AccountName, List<ImmutablePair<PrivateKeyType, ECKey>>> getPrivateKeysPerAccounts() {
-        return privateKeysPerAccounts;
+        Map<AccountName, List<ImmutablePair<PrivateKeyType, ECKey>>> privateKeysPerAccountsSnapshot = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Entry<AccountName, Map<PrivateKeyType, ECKey>> privateKeys : privateKeysPerAccounts.entrySet()) {
+                privateKeysPerAccountsSnapshot.put(privateKeys.getKey(), toPairs(privateKeys.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return Collections.unmodifiableMap(privateKeysPerAccountsSnapshot);
     }
 
     /**
@@ -156,21 +318,152 @@ public class PrivateKeyStorage {
      * @return A list of account names for which private keys have been stored.
      */
     public List<AccountName> getAccounts() {
-        ArrayList<AccountName> storedAccounts = new ArrayList<>();
-        storedAccounts.addAll(this.getPrivateKeysPerAccounts().keySet());
-        return storedAccounts;
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(privateKeysPerAccounts.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add the given account without any keys or remove all keys of the
+     * account if it already exists. The caller needs to hold the write lock.
+     */
+    private void replaceAccount(AccountName accountName) {
+        Map<PrivateKeyType, ECKey> previousPrivateKeys = privateKeysPerAccounts.put(accountName,
+                new EnumMap<PrivateKeyType, ECKey>(PrivateKeyType.class));
+        if (previousPrivateKeys != null) {
+            removeFromPublicKeyIndex(previousPrivateKeys.values());
+        }
+    }
+
+    /**
+     * Add a decoded private key to an already existing account and index it
+     * by its public key. The caller needs to hold the write lock.
+     */
+    private void addPrivateKeyToAccount(AccountName accountName, PrivateKeyType privateKeyType, ECKey privateKey) {
+        Map<PrivateKeyType, ECKey> privateKeysForAccount = privateKeysPerAccounts.get(accountName);
+        if (privateKeysForAccount == null) {
+            throw new InvalidParameterException(
+                    "The account '" + accountName + "' has not been added to the PrivateKeyStore.");
+        }
+
+        if (privateKeysForAccount.containsKey(privateKeyType)) {
+            return;
+        }
+
+        privateKeysForAccount.put(privateKeyType, privateKey);
+        ByteBuffer indexKey = toIndexKey(privateKey);
+        IndexedPrivateKey indexedPrivateKey = privateKeysPerPublicKey.get(indexKey);
+        if (indexedPrivateKey == null) {
+            privateKeysPerPublicKey.put(indexKey, new IndexedPrivateKey(privateKey));
+        } else {
+            indexedPrivateKey.numberOfUses++;
+        }
+    }
+
+    /**
+     * Remove the given private keys from the public key index unless they are
+     * still used by another account. The caller needs to hold the write lock.
+     */
+    private void removeFromPublicKeyIndex(Iterable<ECKey> privateKeys) {
+        for (ECKey privateKey : privateKeys) {
+            ByteBuffer indexKey = toIndexKey(privateKey);
+            IndexedPrivateKey indexedPrivateKey = privateKeysPerPublicKey.get(indexKey);
+            if (indexedPrivateKey != null && --indexedPrivateKey.numberOfUses == 0) {
+                privateKeysPerPublicKey.remove(indexKey);
+            }
+        }
+    }
+
+    /**
+     * Convert the private keys of an account into the list representation
+     * used by the public methods of this class.
+     */
+    private static List<ImmutablePair<PrivateKeyType, ECKey>> toPairs(Map<PrivateKeyType, ECKey> privateKeys) {
+        List<ImmutablePair<PrivateKeyType, ECKey>> privateKeyPairs = new ArrayList<>();
+        for (Entry<PrivateKeyType, ECKey> privateKey : privateKeys.entrySet()) {
+            privateKeyPairs.add(new ImmutablePair<>(privateKey.getKey(), privateKey.getValue()));
+        }
+
+        return privateKeyPairs;
+    }
+
+    /**
+     * Get the key of the public key index for the given key. The compressed
+     * encoding is used, so a key is found independent of the format of the
+     * stored private key.
+     */
+    private static ByteBuffer toIndexKey(ECKey key) {
+        return ByteBuffer.wrap(key.getPubKeyPoint().getEncoded(true));
     }
 
     /**
      * Internal method to convert a WIF private key into an ECKey object.
      * 
      * @param wifPrivateKey
-     *            The key pair to convert.
-     * @return The converted key pair.
+     *            The private key to convert.
+     * @return The converted private key.
+     */
+    private static ECKey convertWifToECKey(String wifPrivateKey) {
+        return DumpedPrivateKey.fromBase58(null, wifPrivateKey, new Sha256ChecksumProvider()).getKey();
+    }
+
+    /**
+     * A private key of the public key index and the number of times it is
+     * used by the stored accounts.
+     */
+    private static class IndexedPrivateKey {
+        private final ECKey privateKey;
+        private int numberOfUses = 1;
+
+        /**
+         * Create a new index entry for a key used by a single account.
+         */
+        private IndexedPrivateKey(ECKey privateKey) {
+            this.privateKey = privateKey;
+        }
+    }
+
+    /**
+     * This task decodes a range of WIF private keys. It splits itself as long
+     * as the range is larger than the {@link #SEQUENTIAL_THRESHOLD}.
      */
-    private ImmutablePair<PrivateKeyType, ECKey> convertWifToECKeyPair(
-            ImmutablePair<PrivateKeyType, String> wifPrivateKey) {
-        return new ImmutablePair<>(wifPrivateKey.getLeft(),
-                DumpedPrivateKey.fromBase58(null, wifPrivateKey.getRight(), new Sha256ChecksumProvider()).getKey());
+    private static class DecodingTask extends RecursiveAction {
+        private static final long serialVersionUID = -3296314516733937152L;
+
+        private final transient List<ImmutablePair<PrivateKeyType, String>> wifPrivateKeys;
+        private final transient ECKey[] decodedPrivateKeys;
+        private final int start;
+        private final int end;
+
+        /**
+         * Create a task that decodes the keys between <code>start</code>
+         * (inclusive) and <code>end</code> (exclusive).
+         */
+        private DecodingTask(List<ImmutablePair<PrivateKeyType, String>> wifPrivateKeys, ECKey[] decodedPrivateKeys,
+                int start, int end) {
+            this.wifPrivateKeys = wifPrivateKeys;
+            this.decodedPrivateKeys = decodedPrivateKeys;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > SEQUENTIAL_THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new DecodingTask(wifPrivateKeys, decodedPrivateKeys, start, middle),
+                        new DecodingTask(wifPrivateKeys, decodedPrivateKeys, middle, end));
+                return;
+            }
+
+            // Decoding a key also derives its public key, which is the
+            // expensive part.
+            for (int i = start; i < end; i++) {
+                decodedPrivateKeys[i] = convertWifToECKey(wifPrivateKeys.get(i).getRight());
+            }
+        }
     }
 }
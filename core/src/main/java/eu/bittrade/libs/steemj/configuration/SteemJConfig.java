@@ -20,6 +20,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,8 +34,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.bittrade.libs.steemj.SteemJ;
+import eu.bittrade.libs.steemj.chain.AuthorityCache;
 import eu.bittrade.libs.steemj.enums.AddressPrefixType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.enums.ReferenceBlockType;
 import eu.bittrade.libs.steemj.enums.SynchronizationType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemTimeoutException;
@@ -94,11 +97,17 @@ public class SteemJConfig {
     private int idleTimeout;
     private String dateTimePattern;
     private long maximumExpirationDateOffset;
+    private long expirationDateOffset;
+    private ReferenceBlockType referenceBlockType;
+    private long referenceBlockRefreshInterval;
     private String timeZoneId;
     private AccountName apiUsername;
     private char[] apiPassword;
     private AccountName defaultAccount;
     private PrivateKeyStorage privateKeyStorage;
+    private BroadcastedTransactionCache broadcastedTransactionCache;
+    private boolean transactionDeduplicationEnabled;
+    private AuthorityCache authorityCache;
     private Charset encodingCharset;
     private AddressPrefixType addressPrefix;
     private String chainId;
@@ -128,9 +137,14 @@ public class SteemJConfig {
         this.apiUsername = new AccountName(System.getProperty("steemj.api.username", ""));
         this.apiPassword = System.getProperty("steemj.api.password", "").toCharArray();
         this.maximumExpirationDateOffset = 3600000L;
+        this.expirationDateOffset = 3540000L;
+        this.referenceBlockType = ReferenceBlockType.HEAD_BLOCK;
+        this.referenceBlockRefreshInterval = 3000L;
         this.timeZoneId = "GMT";
         this.encodingCharset = StandardCharsets.UTF_8;
         this.privateKeyStorage = new PrivateKeyStorage();
+        this.broadcastedTransactionCache = new BroadcastedTransactionCache();
+        this.authorityCache = new AuthorityCache();
         this.addressPrefix = AddressPrefixType.STM;
         this.chainId = "0000000000000000000000000000000000000000000000000000000000000000";
         this.steemJWeight = 250;
@@ -264,6 +278,37 @@ public class SteemJConfig {
         return maximumExpirationDateOffset;
     }
 
+    /**
+     * Get the currently configured offset of the expiration date. SteemJ sets
+     * the expiration date of the transactions it creates to $NOW plus this
+     * offset.
+     * 
+     * @return The offset of the expiration date in milliseconds.
+     */
+    public long getExpirationDateOffset() {
+        return expirationDateOffset;
+    }
+
+    /**
+     * Get the type of block that is referenced by the transactions created by
+     * SteemJ.
+     * 
+     * @return The reference block type.
+     */
+    public ReferenceBlockType getReferenceBlockType() {
+        return referenceBlockType;
+    }
+
+    /**
+     * Get the interval in which the id of the reference block is refreshed in
+     * the background.
+     * 
+     * @return The refresh interval in milliseconds.
+     */
+    public long getReferenceBlockRefreshInterval() {
+        return referenceBlockRefreshInterval;
+    }
+
     /**
      * Get the private key storage to manage the private keys for one or
      * multiple accounts.
@@ -285,6 +330,59 @@ public class SteemJConfig {
         return privateKeyStorage;
     }
 
+    /**
+     * Get the cache of recently broadcasted transactions. If
+     * {@link #isTransactionDeduplicationEnabled() enabled}, SteemJ uses this
+     * cache to drop transactions that have already been broadcasted and are
+     * not expired yet.
+     * 
+     * @return The broadcastedTransactionCache.
+     */
+    public BroadcastedTransactionCache getBroadcastedTransactionCache() {
+        return broadcastedTransactionCache;
+    }
+
+    /**
+     * Check if transactions that have already been accepted by a node and are
+     * not expired yet are dropped instead of being broadcasted again.
+     * 
+     * @return <code>true</code> if duplicated transactions are dropped.
+     */
+    public boolean isTransactionDeduplicationEnabled() {
+        return transactionDeduplicationEnabled;
+    }
+
+    /**
+     * Get the cache of account authorities. SteemJ uses this cache to resolve
+     * the private keys of multi signature and delegated authorities when
+     * signing a transaction. By default, only locally added authorities are
+     * used and no accounts are requested from a Steem node (see
+     * {@link SteemJ#createAuthorityCache()}).
+     * 
+     * @return The authorityCache.
+     */
+    public AuthorityCache getAuthorityCache() {
+        return authorityCache;
+    }
+
+    /**
+     * Override the cache of account authorities, e.g. with an
+     * {@link AuthorityCache} that requests unknown accounts (see
+     * {@link SteemJ#createAuthorityCache()}).
+     * 
+     * @param authorityCache
+     *            The authority cache to use.
+     * @throws InvalidParameterException
+     *             If the <code>authorityCache</code> is null.
+     */
+    public void setAuthorityCache(AuthorityCache authorityCache) {
+        if (authorityCache == null) {
+            throw new InvalidParameterException("The authority cache can't be null.");
+        }
+
+        this.authorityCache = authorityCache;
+    }
+
     /**
      * Get the currently configured address prefix. This prefix is used to parse
      * keys in their WIF format.
@@ -451,6 +549,69 @@ public class SteemJConfig {
         this.maximumExpirationDateOffset = maximumExpirationDateOffset;
     }
 
+    /**
+     * Override the offset of the expiration date. SteemJ sets the expiration
+     * date of the transactions it creates to $NOW plus this offset. The offset
+     * should leave enough time to broadcast the transaction, but must not
+     * exceed the {@link #getMaximumExpirationDateOffset()
+     * MaximumExpirationDateOffset}.
+     * 
+     * @param expirationDateOffset
+     *            The offset in milliseconds.
+     * @throws InvalidParameterException
+     *             If the offset is negative or exceeds the maximum offset.
+     */
+    public void setExpirationDateOffset(long expirationDateOffset) {
+        if (expirationDateOffset < 0 || expirationDateOffset > this.maximumExpirationDateOffset) {
+            throw new InvalidParameterException(
+                    "The expiration date offset needs to be between 0 and the maximum expiration date offset.");
+        }
+
+        this.expirationDateOffset = expirationDateOffset;
+    }
+
+    /**
+     * Override the type of block that is referenced by the transactions
+     * created by SteemJ. By default, the head block is referenced.
+     * 
+     * @param referenceBlockType
+     *            The reference block type to set.
+     */
+    public void setReferenceBlockType(ReferenceBlockType referenceBlockType) {
+        this.referenceBlockType = referenceBlockType;
+    }
+
+    /**
+     * Define if transactions that have already been accepted by a node and
+     * are not expired yet should be dropped instead of being broadcasted
+     * again (see {@link #getBroadcastedTransactionCache()}). This is disabled
+     * by default.
+     * 
+     * @param transactionDeduplicationEnabled
+     *            <code>true</code> to drop duplicated transactions.
+     */
+    public void setTransactionDeduplicationEnabled(boolean transactionDeduplicationEnabled) {
+        this.transactionDeduplicationEnabled = transactionDeduplicationEnabled;
+    }
+
+    /**
+     * Override the interval in which the id of the reference block is
+     * refreshed in the background. By default, the id is refreshed every three
+     * seconds which is the block interval of the Steem blockchain.
+     * 
+     * @param referenceBlockRefreshInterval
+     *            The refresh interval in milliseconds.
+     * @throws InvalidParameterException
+     *             If the interval is not positive.
+     */
+    public void setReferenceBlockRefreshInterval(long referenceBlockRefreshInterval) {
+        if (referenceBlockRefreshInterval <= 0) {
+            throw new InvalidParameterException("The refresh interval needs to be positive.");
+        }
+
+        this.referenceBlockRefreshInterval = referenceBlockRefreshInterval;
+    }
+
     /**
      * Set the address prefix. This prefix is used to parse keys in their WIF
      * format.
@@ -119,6 +119,21 @@ public enum OperationType {
      */
     private int orderId;
 
+    /** A lookup table to resolve operation types by their order id. */
+    private static final OperationType[] BY_ORDER_ID;
+
+    static {
+        int maxOrderId = 0;
+        for (OperationType operationType : values()) {
+            maxOrderId = Math.max(maxOrderId, operationType.getOrderId());
+        }
+
+        BY_ORDER_ID = new OperationType[maxOrderId + 1];
+        for (OperationType operationType : values()) {
+            BY_ORDER_ID[operationType.getOrderId()] = operationType;
+        }
+    }
+
     /**
      * Set the id of the operation.
      * 
@@ -137,4 +152,20 @@ public enum OperationType {
     public int getOrderId() {
         return orderId;
     }
+
+    /**
+     * Get the operation type for the given <code>orderId</code>.
+     * 
+     * @param orderId
+     *            The id of the operation as used in its byte representation.
+     * @return The operation type or <code>null</code> if no type with the
+     *         given <code>orderId</code> exists.
+     */
+    public static OperationType fromOrderId(int orderId) {
+        if (orderId < 0 || orderId >= BY_ORDER_ID.length) {
+            return null;
+        }
+
+        return BY_ORDER_ID[orderId];
+    }
 }
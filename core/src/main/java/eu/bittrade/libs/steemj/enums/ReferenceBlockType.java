@@ -0,0 +1,32 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.enums;
+
+/**
+ * An enumeration for all blocks a transaction can reference (TaPoS).
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public enum ReferenceBlockType {
+    /** Reference the latest block. */
+    HEAD_BLOCK,
+    /**
+     * Reference the last irreversible block, so the transaction does not
+     * become invalid if the head block is removed by a fork.
+     */
+    LAST_IRREVERSIBLE_BLOCK
+}
@@ -21,14 +21,18 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.util.Date;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import eu.bittrade.libs.steemj.base.models.deserializer.TimePointSecDeserializer;
+import eu.bittrade.libs.steemj.base.models.serializer.TimePointSecSerializer;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -38,6 +42,8 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://Steemit.com/@dez1337">dez1337</a>
  */
+@JsonDeserialize(using = TimePointSecDeserializer.class)
+@JsonSerialize(using = TimePointSecSerializer.class)
 public class TimePointSec implements ByteTransformable {
     @JsonIgnore
     private long dateTime;
@@ -105,6 +111,18 @@ public class TimePointSec implements ByteTransformable {
         return (int) (this.dateTime / 1000);
     }
 
+    /**
+     * This method returns the date as the number of seconds since the epoch.
+     * In contrast to {@link #getDateTimeAsInt()}, dates before 1970 are
+     * rounded down.
+     * 
+     * @return The date.
+     */
+    @JsonIgnore
+    public long getDateTimeAsEpochSeconds() {
+        return this.dateTime / 1000 - (this.dateTime % 1000 < 0 ? 1 : 0);
+    }
+
     /**
      * This method returns the data as its timestamp representation.
      * 
@@ -157,7 +175,7 @@ public class TimePointSec implements ByteTransformable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -167,13 +185,14 @@ public class TimePointSec implements ByteTransformable {
         if (otherTimePointSec == null || !(otherTimePointSec instanceof TimePointSec))
             return false;
         TimePointSec other = (TimePointSec) otherTimePointSec;
-        return (this.getDateTime().equals(other.getDateTime()));
+        // Like the String representation, only the seconds are compared.
+        return this.getDateTimeAsEpochSeconds() == other.getDateTimeAsEpochSeconds();
     }
 
     @Override
     public int hashCode() {
         int hashCode = 1;
-        hashCode = 31 * hashCode + (this.getDateTime() == null ? 0 : this.getDateTime().hashCode());
+        hashCode = 31 * hashCode + (int) (this.getDateTimeAsEpochSeconds() ^ (this.getDateTimeAsEpochSeconds() >>> 32));
         return hashCode;
     }
 }
@@ -19,7 +19,6 @@ package eu.bittrade.libs.steemj.plugins.apis.account.by.key.models;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -29,6 +28,7 @@ import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.plugins.apis.block.BlockApi;
 import eu.bittrade.libs.steemj.plugins.apis.block.models.GetBlockHeaderArgs;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "get_key_references_args"
@@ -72,6 +72,6 @@ public class GetKeyReferencesArgs {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,11 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.account.by.key.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem
@@ -50,6 +49,6 @@ public class GetKeyReferencesReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
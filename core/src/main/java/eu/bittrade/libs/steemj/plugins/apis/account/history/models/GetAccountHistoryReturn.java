@@ -18,13 +18,13 @@ package eu.bittrade.libs.steemj.plugins.apis.account.history.models;
 
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import eu.bittrade.libs.steemj.plugins.apis.account.history.models.deserializer.AppliedOperationHashMapDeserializer;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class implements the Steem "get_account_history_return" object.
@@ -57,7 +57,7 @@ public class GetAccountHistoryReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
 }
@@ -18,15 +18,14 @@ package eu.bittrade.libs.steemj.plugins.apis.block.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import eu.bittrade.libs.steemj.base.models.Block;
 import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
 import eu.bittrade.libs.steemj.protocol.SignedBlock;
 import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "signed_block_with_info"
@@ -43,12 +42,12 @@ public class ExtendedSignedBlock extends SignedBlock {
     private List<TransactionId> transactionIds;
 
     /**
-     * This object is only used to wrap the JSON response in a POJO, so
-     * therefore this class should not be instantiated.
-     * 
-     * Visibility set to protected as this is the parent class of {@link Block}.
+     * Create a new, empty block. Blocks are normally received from a Steem
+     * Node, so this constructor is only required to restore a block locally,
+     * e.g. from a {@link eu.bittrade.libs.steemj.chain.CompactBlock
+     * CompactBlock}.
      */
-    protected ExtendedSignedBlock() {
+    public ExtendedSignedBlock() {
     }
 
     /**
@@ -96,8 +95,26 @@ public class ExtendedSignedBlock extends SignedBlock {
         this.transactionIds = transactionIds;
     }
 
+    /**
+     * Verify this block locally: The {@link #getBlockId() block id} needs to
+     * match the {@link #calculateBlockId() calculated one} and the witness
+     * signature needs to belong to the {@link #getSigningKey() signing key}.
+     * 
+     * @return <code>true</code> if the block is valid, otherwise
+     *         <code>false</code>.
+     */
+    public boolean verify() {
+        try {
+            return this.getBlockId() != null && this.getSigningKey() != null
+                    && this.getBlockId().equals(this.calculateBlockId())
+                    && this.verifyWitnessSignature(this.getSigningKey());
+        } catch (SteemInvalidTransactionException e) {
+            return false;
+        }
+    }
+
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,11 +16,11 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.block.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Optional;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class is the java implementation of the Steem "get_block_return" object.
  * 
@@ -46,6 +46,6 @@ public class GetBlockReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
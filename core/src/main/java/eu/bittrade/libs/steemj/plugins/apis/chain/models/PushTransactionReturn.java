@@ -16,11 +16,11 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.chain.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Optional;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class is the java implementation of the Steem "push_transaction_return"
  * object.
@@ -56,6 +56,6 @@ public class PushTransactionReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
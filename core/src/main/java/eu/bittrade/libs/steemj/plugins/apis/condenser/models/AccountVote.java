@@ -16,10 +16,10 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.condenser.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.ULong;
 
 import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "account_vote" object.
@@ -80,6 +80,6 @@ public class AccountVote {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
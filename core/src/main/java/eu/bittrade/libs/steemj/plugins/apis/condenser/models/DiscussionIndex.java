@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.condenser.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "discussion_index" object.
  * 
@@ -191,6 +191,6 @@ public class DiscussionIndex {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
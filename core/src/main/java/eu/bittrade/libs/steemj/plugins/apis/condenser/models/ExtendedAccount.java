@@ -20,7 +20,6 @@ import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -30,15 +29,18 @@ import eu.bittrade.libs.steemj.base.models.Account;
 import eu.bittrade.libs.steemj.base.models.deserializer.GuestBloggerPairDeserializer;
 import eu.bittrade.libs.steemj.base.models.deserializer.OperationHistoryHashMapDeserializer;
 import eu.bittrade.libs.steemj.base.models.deserializer.TagUsagePairDeserializer;
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "extended_account" object.
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class ExtendedAccount extends Account {
     /** Convert vesting_shares to vesting Steem. */
     @JsonProperty("vesting_balance")
@@ -309,6 +311,6 @@ public class ExtendedAccount extends Account {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
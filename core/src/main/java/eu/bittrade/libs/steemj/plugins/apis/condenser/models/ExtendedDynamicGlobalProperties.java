@@ -18,13 +18,13 @@ package eu.bittrade.libs.steemj.plugins.apis.condenser.models;
 
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 import org.joou.ULong;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "extended_dynamic_global_properties" object.
@@ -73,6 +73,6 @@ public class ExtendedDynamicGlobalProperties extends DynamicGlobalProperty {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
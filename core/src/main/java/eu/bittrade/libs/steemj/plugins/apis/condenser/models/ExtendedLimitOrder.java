@@ -16,11 +16,10 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.condenser.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.chain.LimitOrder;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "extended_limit_order" object.
@@ -58,6 +57,6 @@ public class ExtendedLimitOrder extends LimitOrder {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
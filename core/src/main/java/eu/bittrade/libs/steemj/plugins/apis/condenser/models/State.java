@@ -19,8 +19,6 @@ package eu.bittrade.libs.steemj.plugins.apis.condenser.models;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.plugins.apis.database.models.Market;
@@ -30,6 +28,7 @@ import eu.bittrade.libs.steemj.plugins.apis.tags.models.Discussion;
 import eu.bittrade.libs.steemj.plugins.apis.tags.models.Tag;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "state" object.
@@ -176,6 +175,6 @@ public class State {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,9 +16,15 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.database;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 import eu.bittrade.libs.steemj.base.models.FeedHistory;
+import eu.bittrade.libs.steemj.base.models.ProjectedObject;
+import eu.bittrade.libs.steemj.base.models.Projection;
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.enums.RequestMethod;
@@ -398,6 +404,107 @@ public class DatabaseApi {
         return communicationHandler.performRequest(requestObject, FindAccountsReturn.class).get(0);
     }
 
+    /**
+     * Like {@link #listAccounts(CommunicationHandler, ListAccountsArgs)}, but
+     * only the fields selected by the <code>projection</code> are parsed.
+     * This allows to scan a large number of accounts without creating the
+     * full {@link eu.bittrade.libs.steemj.base.models.Account Account}
+     * representation for each of them.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param listAccountsArgs
+     *            The start, limit and order of the accounts to list.
+     * @param projection
+     *            The account fields to keep (e.g.
+     *            <code>Projection.of("name", "balance")</code>).
+     * @return A view of each account containing the selected fields.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public static List<ProjectedObject> listAccounts(CommunicationHandler communicationHandler,
+            ListAccountsArgs listAccountsArgs, Projection projection)
+            throws SteemCommunicationException, SteemResponseException {
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API, RequestMethod.LIST_ACCOUNTS,
+                listAccountsArgs, projection);
+
+        return getProjectedAccounts(communicationHandler, requestObject);
+    }
+
+    /**
+     * Like {@link #findAccounts(CommunicationHandler, FindAccountsArgs)}, but
+     * only the fields selected by the <code>projection</code> are parsed.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param findAccountsArgs
+     *            The names of the accounts to find.
+     * @param projection
+     *            The account fields to keep (e.g.
+     *            <code>Projection.of("name", "balance")</code>).
+     * @return A view of each account containing the selected fields.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public static List<ProjectedObject> findAccounts(CommunicationHandler communicationHandler,
+            FindAccountsArgs findAccountsArgs, Projection projection)
+            throws SteemCommunicationException, SteemResponseException {
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API, RequestMethod.FIND_ACCOUNTS,
+                findAccountsArgs, projection);
+
+        return getProjectedAccounts(communicationHandler, requestObject);
+    }
+
+    /**
+     * Send the given request and unwrap the "accounts" list of the returned
+     * object.
+     */
+    private static List<ProjectedObject> getProjectedAccounts(CommunicationHandler communicationHandler,
+            JsonRPCRequest requestObject) throws SteemCommunicationException, SteemResponseException {
+        List<ProjectedObject> accounts = new ArrayList<>();
+
+        List<ProjectedObject> results = communicationHandler.performRequest(requestObject, ProjectedObject.class);
+        if (!results.isEmpty() && results.get(0).has("accounts")) {
+            for (JsonNode account : results.get(0).getNode("accounts")) {
+                if (account.isObject()) {
+                    accounts.add(new ProjectedObject((ObjectNode) account));
+                }
+            }
+        }
+
+        return accounts;
+    }
+
     /**
      * 
      * @param communicationHandler
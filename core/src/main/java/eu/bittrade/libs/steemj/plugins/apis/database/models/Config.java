@@ -18,12 +18,11 @@ package eu.bittrade.libs.steemj.plugins.apis.database.models;
 
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
@@ -1478,6 +1477,6 @@ public class Config {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,7 +18,6 @@ package eu.bittrade.libs.steemj.plugins.apis.database.models;
 
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UByte;
 import org.joou.UInteger;
 import org.joou.ULong;
@@ -27,16 +26,19 @@ import org.joou.UShort;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.plugins.apis.condenser.models.ExtendedDynamicGlobalProperties;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Asset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "dynamic_global_property_object" object.
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class DynamicGlobalProperty {
     // Original type is id_type which is a uint16_t.
     private UShort id;
@@ -423,6 +425,6 @@ public class DynamicGlobalProperty {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -3,12 +3,11 @@ package eu.bittrade.libs.steemj.plugins.apis.database.models;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "find_account_recovery_requests_args" object.
@@ -53,6 +52,6 @@ public class FindAccountRecoveryRequestsArgs {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,11 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.database.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.base.models.Account;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "find_accounts_return" object.
@@ -31,7 +30,7 @@ import eu.bittrade.libs.steemj.protocol.AccountName;
  */
 public class FindAccountsReturn {
     @JsonProperty("accounts")
-    private List<AccountName> accounts;
+    private List<Account> accounts;
 
     /**
      * This object is only used to wrap the JSON response in a POJO, so
@@ -43,12 +42,12 @@ public class FindAccountsReturn {
     /**
      * @return the accounts
      */
-    public List<AccountName> getAccounts() {
+    public List<Account> getAccounts() {
         return accounts;
     }
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
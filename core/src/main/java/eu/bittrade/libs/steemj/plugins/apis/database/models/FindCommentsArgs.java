@@ -1,6 +1,6 @@
 package eu.bittrade.libs.steemj.plugins.apis.database.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "find_comments_args" object.
@@ -12,6 +12,6 @@ public class FindCommentsArgs {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -1,9 +1,9 @@
 package eu.bittrade.libs.steemj.plugins.apis.database.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "list_comments_return" object.
  * 
@@ -32,6 +32,6 @@ public class ListCommentsReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,7 +18,6 @@ package eu.bittrade.libs.steemj.plugins.apis.database.models;
 
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UShort;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -26,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.enums.CurveId;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "reward_fund_object".
@@ -137,6 +137,6 @@ public class RewardFund {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
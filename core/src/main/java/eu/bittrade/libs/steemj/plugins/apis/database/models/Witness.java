@@ -19,8 +19,6 @@ package eu.bittrade.libs.steemj.plugins.apis.database.models;
 import java.math.BigInteger;
 import java.net.URL;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.crypto.core.Sha256Hash;
@@ -32,6 +30,7 @@ import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.HardforkVersion;
 import eu.bittrade.libs.steemj.protocol.Price;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "witness_api_object" object.
@@ -278,6 +277,6 @@ public class Witness {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,9 +16,8 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.follow.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "account_reputation" object.
@@ -57,6 +56,6 @@ public class AccountReputation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
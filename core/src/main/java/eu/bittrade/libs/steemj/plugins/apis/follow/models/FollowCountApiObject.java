@@ -16,11 +16,10 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.follow.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "follow_count_api_object" object.
@@ -70,6 +69,6 @@ public class FollowCountApiObject {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
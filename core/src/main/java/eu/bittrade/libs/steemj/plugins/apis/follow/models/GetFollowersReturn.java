@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.follow.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class implements the Steem "get_followers_return" object.
  * 
@@ -52,7 +52,7 @@ public class GetFollowersReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
 }
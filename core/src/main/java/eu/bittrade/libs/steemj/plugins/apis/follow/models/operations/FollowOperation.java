@@ -20,8 +20,6 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -30,6 +28,7 @@ import eu.bittrade.libs.steemj.plugins.apis.follow.enums.FollowType;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
 import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperationPayload;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "follow_operation" object.
@@ -153,7 +152,7 @@ public class FollowOperation extends CustomJsonOperationPayload {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
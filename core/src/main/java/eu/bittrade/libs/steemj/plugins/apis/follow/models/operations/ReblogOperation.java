@@ -19,8 +19,6 @@ package eu.bittrade.libs.steemj.plugins.apis.follow.models.operations;
 import java.security.InvalidParameterException;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -29,6 +27,7 @@ import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
 import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperationPayload;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "reblog_operation" object.
@@ -142,7 +141,7 @@ public class ReblogOperation extends CustomJsonOperationPayload {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
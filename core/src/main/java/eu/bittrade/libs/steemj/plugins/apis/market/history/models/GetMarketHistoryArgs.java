@@ -16,7 +16,6 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.market.history.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -26,6 +25,7 @@ import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.plugins.apis.witness.WitnessApi;
 import eu.bittrade.libs.steemj.plugins.apis.witness.models.GetAccountBandwidthArgs;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class implements the Steem "get_market_history_args" object.
@@ -104,6 +104,6 @@ public class GetMarketHistoryArgs {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
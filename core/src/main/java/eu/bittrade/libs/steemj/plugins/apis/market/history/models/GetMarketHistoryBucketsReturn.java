@@ -18,11 +18,12 @@ package eu.bittrade.libs.steemj.plugins.apis.market.history.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class implements the Steem "get_market_history_buckets_return" object.
  * 
@@ -56,6 +57,6 @@ public class GetMarketHistoryBucketsReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
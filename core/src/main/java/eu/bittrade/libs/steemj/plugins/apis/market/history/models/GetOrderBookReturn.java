@@ -18,7 +18,7 @@ package eu.bittrade.libs.steemj.plugins.apis.market.history.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "get_order_book_return" object of the
@@ -53,6 +53,6 @@ public class GetOrderBookReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.market.history.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class implements the Steem "get_trade_history_return" object.
  * 
@@ -47,6 +47,6 @@ public class GetRecentTradesReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
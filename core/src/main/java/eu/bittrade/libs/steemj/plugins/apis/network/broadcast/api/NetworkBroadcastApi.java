@@ -16,9 +16,14 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.network.broadcast.api;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+import eu.bittrade.libs.steemj.configuration.BroadcastedTransactionCache;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.enums.RequestMethod;
 import eu.bittrade.libs.steemj.enums.SteemApiType;
 import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
@@ -26,6 +31,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
 import eu.bittrade.libs.steemj.plugins.apis.network.broadcast.models.BroadcastTransactionSynchronousReturn;
 import eu.bittrade.libs.steemj.protocol.SignedBlock;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
 
 /**
  * This class implements the network broadcast api which is required to send
@@ -34,6 +40,10 @@ import eu.bittrade.libs.steemj.protocol.SignedBlock;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class NetworkBroadcastApi {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkBroadcastApi.class);
+    /** The assertion message of a Steem node for a known transaction id. */
+    private static final String DUPLICATE_TRANSACTION_ERROR = "Duplicate transaction check failed";
+
     /** Add a private constructor to hide the implicit public one. */
     private NetworkBroadcastApi() {
     }
@@ -46,6 +56,17 @@ public class NetworkBroadcastApi {
      * {@link #broadcastTransactionSynchronous(CommunicationHandler, SignedTransaction)}
      * method.
      * 
+     * If {@link SteemJConfig#setTransactionDeduplicationEnabled(boolean)
+     * enabled}, a transaction that has already been accepted by a node and is
+     * not expired yet is dropped without sending it again (see
+     * {@link SteemJConfig#getBroadcastedTransactionCache()}). If the node
+     * rejects the transaction, it is not remembered and can be retried. If the
+     * outcome is unknown, e.g. after a timeout or a lost connection, a retry
+     * is sent again and a "duplicate transaction" error of the node is
+     * treated as a success, because the earlier attempt has reached it. The
+     * {@link SignedTransaction#calculateTransactionId() id} of the transaction
+     * can be used to track its confirmation.
+     * 
      * @param communicationHandler
      *            A
      *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
@@ -79,7 +100,67 @@ public class NetworkBroadcastApi {
         JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.NETWORK_BROADCAST_API,
                 RequestMethod.BROADCAST_TRANSACTION, transaction);
 
-        communicationHandler.performRequest(requestObject, Object.class);
+        if (!SteemJConfig.getInstance().isTransactionDeduplicationEnabled()) {
+            communicationHandler.performRequest(requestObject, Object.class);
+            return;
+        }
+
+        // Reserve the id before sending the transaction so concurrent
+        // broadcasts of the same transaction are dropped as well.
+        BroadcastedTransactionCache broadcastedTransactionCache = SteemJConfig.getInstance()
+                .getBroadcastedTransactionCache();
+        TransactionId transactionId = transaction.calculateTransactionId();
+        if (!broadcastedTransactionCache.add(transactionId, transaction.getExpirationDate())) {
+            LOGGER.debug("The transaction {} has already been broadcasted and is dropped.", transactionId);
+            return;
+        }
+
+        boolean answered = false;
+        try {
+            communicationHandler.performRequest(requestObject, Object.class);
+            answered = true;
+            broadcastedTransactionCache.confirm(transactionId, transaction.getExpirationDate());
+        } catch (SteemResponseException e) {
+            if (isDuplicateTransactionError(e)) {
+                // An earlier attempt has reached the node although it has
+                // not been answered.
+                answered = true;
+                LOGGER.debug("The transaction {} has already been received by the node.", transactionId);
+                broadcastedTransactionCache.confirm(transactionId, transaction.getExpirationDate());
+                return;
+            } else if (isRejectedByNode(e)) {
+                // The node has rejected the transaction, so it may be
+                // broadcasted again.
+                answered = true;
+                broadcastedTransactionCache.remove(transactionId);
+            }
+
+            throw e;
+        } finally {
+            if (!answered) {
+                // The node may have received the transaction, so keep the id
+                // to detect a "duplicate transaction" error of a retry.
+                broadcastedTransactionCache.markUncertain(transactionId);
+            }
+        }
+    }
+
+    /**
+     * Check if the node answered with an error object instead of failing to
+     * produce a readable response.
+     */
+    private static boolean isRejectedByNode(SteemResponseException steemResponseException) {
+        return steemResponseException.getCode() != null || steemResponseException.getData() != null;
+    }
+
+    /**
+     * Check if the node rejected a transaction because it already knows it.
+     */
+    private static boolean isDuplicateTransactionError(SteemResponseException steemResponseException) {
+        return (steemResponseException.getMessage() != null
+                && steemResponseException.getMessage().contains(DUPLICATE_TRANSACTION_ERROR))
+                || (steemResponseException.getData() != null
+                        && steemResponseException.getData().toString().contains(DUPLICATE_TRANSACTION_ERROR));
     }
 
     /**
@@ -124,7 +205,17 @@ public class NetworkBroadcastApi {
         JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.NETWORK_BROADCAST_API,
                 RequestMethod.BROADCAST_TRANSACTION_SYNCHRONOUS, transaction);
 
-        return communicationHandler.performRequest(requestObject, BroadcastTransactionSynchronousReturn.class).get(0);
+        BroadcastTransactionSynchronousReturn broadcastTransactionSynchronousReturn = communicationHandler
+                .performRequest(requestObject, BroadcastTransactionSynchronousReturn.class).get(0);
+
+        if (SteemJConfig.getInstance().isTransactionDeduplicationEnabled()) {
+            // Remember the accepted transaction so it is not broadcasted
+            // again.
+            SteemJConfig.getInstance().getBroadcastedTransactionCache().confirm(transaction.calculateTransactionId(),
+                    transaction.getExpirationDate());
+        }
+
+        return broadcastTransactionSynchronousReturn;
     }
 
     /**
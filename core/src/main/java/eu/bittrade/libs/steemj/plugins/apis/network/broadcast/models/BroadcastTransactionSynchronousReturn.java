@@ -16,11 +16,10 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.network.broadcast.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a Steem "broadcast_transaction_synchronous_return"
@@ -84,6 +83,6 @@ public class BroadcastTransactionSynchronousReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
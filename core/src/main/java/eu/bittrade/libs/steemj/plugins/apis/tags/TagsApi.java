@@ -16,8 +16,14 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.tags;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.base.models.ProjectedObject;
+import eu.bittrade.libs.steemj.base.models.Projection;
 import eu.bittrade.libs.steemj.communication.CommunicationHandler;
 import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
 import eu.bittrade.libs.steemj.enums.RequestMethod;
@@ -190,7 +196,8 @@ public class TagsApi {
     }
 
     /**
-     * Get active discussions for a specified tag.
+     * Get the discussions for a specified tag, sorted as defined by
+     * <code>sortBy</code>.
      * 
      * @param communicationHandler
      * 
@@ -217,12 +224,76 @@ public class TagsApi {
     public static List<Discussion> getDiscussionsBy(CommunicationHandler communicationHandler,
             DiscussionQuery discussionQuery, DiscussionSortType sortBy)
             throws SteemCommunicationException, SteemResponseException {
-        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API,
-                RequestMethod.GET_DISCUSSIONS_BY_ACTIVE, discussionQuery);
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API, getRequestMethod(sortBy),
+                discussionQuery);
 
         return communicationHandler.performRequest(requestObject, Discussion.class);
     }
 
+    /**
+     * Like {@link #getDiscussionsBy(CommunicationHandler, DiscussionQuery,
+     * DiscussionSortType)}, but only the fields selected by the
+     * <code>projection</code> are parsed. This is useful to skip large fields
+     * like the "body" of the discussions.
+     * 
+     * @param communicationHandler
+     *            A
+     *            {@link eu.bittrade.libs.steemj.communication.CommunicationHandler
+     *            CommunicationHandler} instance that should be used to send the
+     *            request.
+     * @param discussionQuery
+     *            A query defining specific search parameters.
+     * @param sortBy
+     *            Choose the method used for sorting the results.
+     * @param projection
+     *            The discussion fields to keep (e.g.
+     *            <code>Projection.of("author", "permlink")</code>).
+     * @return A view of each discussion containing the selected fields.
+     * @throws SteemCommunicationException
+     *             <ul>
+     *             <li>If the server was not able to answer the request in the
+     *             given time (see
+     *             {@link eu.bittrade.libs.steemj.configuration.SteemJConfig#setResponseTimeout(int)
+     *             setResponseTimeout}).</li>
+     *             <li>If there is a connection problem.</li>
+     *             </ul>
+     * @throws SteemResponseException
+     *             <ul>
+     *             <li>If the SteemJ is unable to transform the JSON response
+     *             into a Java object.</li>
+     *             <li>If the Server returned an error object.</li>
+     *             </ul>
+     */
+    public static List<ProjectedObject> getDiscussionsBy(CommunicationHandler communicationHandler,
+            DiscussionQuery discussionQuery, DiscussionSortType sortBy, Projection projection)
+            throws SteemCommunicationException, SteemResponseException {
+        JsonRPCRequest requestObject = new JsonRPCRequest(SteemApiType.DATABASE_API, getRequestMethod(sortBy),
+                discussionQuery, projection);
+
+        List<ProjectedObject> results = communicationHandler.performRequest(requestObject, ProjectedObject.class);
+        if (results.isEmpty() || !results.get(0).has("discussions")) {
+            return results;
+        }
+
+        // Unwrap the "discussions" list of the returned object.
+        List<ProjectedObject> discussions = new ArrayList<>();
+        for (JsonNode discussion : results.get(0).getNode("discussions")) {
+            if (discussion.isObject()) {
+                discussions.add(new ProjectedObject((ObjectNode) discussion));
+            }
+        }
+
+        return discussions;
+    }
+
+    /**
+     * @return The request method that returns the discussions in the order
+     *         defined by the given <code>sortBy</code> type.
+     */
+    private static RequestMethod getRequestMethod(DiscussionSortType sortBy) {
+        return RequestMethod.valueOf(sortBy.name());
+    }
+
     /**
      * /** Get a list of Content starting from the given post of the given user.
      * The list will be sorted by the Date of the last update.
@@ -19,20 +19,22 @@ package eu.bittrade.libs.steemj.plugins.apis.tags.models;
 import java.util.Date;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.plugins.apis.database.models.Comment;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "discussion" object.
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class Discussion extends Comment {
     private String url;
     @JsonProperty("root_title")
@@ -152,6 +154,6 @@ public class Discussion extends Comment {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
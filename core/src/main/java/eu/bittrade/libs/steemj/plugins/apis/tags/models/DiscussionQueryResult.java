@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.tags.models;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "discussion_query_result" object.
  * 
@@ -47,6 +47,6 @@ public class DiscussionQueryResult {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
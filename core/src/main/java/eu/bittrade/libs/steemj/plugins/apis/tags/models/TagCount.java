@@ -16,11 +16,12 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.tags.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "tag_count_object" object.
  * 
@@ -71,6 +72,6 @@ public class TagCount {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
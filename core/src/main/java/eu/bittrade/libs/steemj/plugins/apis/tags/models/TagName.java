@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.tags.models;
 
 import java.security.InvalidParameterException;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "tag_name_type" object.
  * 
@@ -65,6 +65,6 @@ public class TagName {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
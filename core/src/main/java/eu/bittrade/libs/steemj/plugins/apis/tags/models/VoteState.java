@@ -16,11 +16,11 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.tags.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.ULong;
 
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem data type "vote_state".
@@ -91,6 +91,6 @@ public class VoteState {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
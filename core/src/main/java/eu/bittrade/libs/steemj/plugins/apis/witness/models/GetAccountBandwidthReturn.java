@@ -16,11 +16,11 @@
  */
 package eu.bittrade.libs.steemj.plugins.apis.witness.models;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Optional;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class implements the Steem "get_account_bandwidth_return" object.
  * 
@@ -46,6 +46,6 @@ public class GetAccountBandwidthReturn {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.plugins.apis.witness.models;
 
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents the Steem "reserve_ratio_object" object.
  * 
@@ -104,6 +104,6 @@ public class ReserveRatioObject {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -18,15 +18,15 @@ package eu.bittrade.libs.steemj.protocol;
 
 import java.security.InvalidParameterException;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
+import eu.bittrade.libs.steemj.util.StringPool;
 
 /**
  * This class represents the Steem data type "account_name_type".
@@ -82,6 +82,11 @@ public class AccountName implements ByteTransformable, SignatureObject {
      *            </ul>
      *            If the account name contains a '.', the rules above are only
      *            checked for the characters before the first '.' occurred.
+     *            Valid names are stored in the
+     *            {@link StringPool#ACCOUNT_NAMES} pool, so repeated names are
+     *            only validated once and share one String instance. The pool
+     *            is not used at all if it has been disabled by setting its
+     *            maximum size to 0.
      * @throws InvalidParameterException
      *             If the account does not fulfill the requirements describes
      *             above.
@@ -89,27 +94,71 @@ public class AccountName implements ByteTransformable, SignatureObject {
     public void setName(String name) {
         if (name == null) {
             this.name = "";
+        } else if (name.isEmpty()) {
+            this.name = name;
         } else {
-            if (!name.isEmpty()) {
-                if (name.length() < 3 || name.length() > 16) {
-                    throw new InvalidParameterException(
-                            "An account name needs to have a minimum length of 3 and a maximum length of 16.");
-                } else if (!name.split("\\.")[0].matches("^[a-z]{1}[a-z0-9\\-]{1,14}[a-z0-9]{1}")) {
-                    /*
-                     * It looks like only values infront of a "." are validated.
-                     * Those characters in front of a dot must fullfil the
-                     * following rules: The first char needs to be one of "a-z"
-                     * while a "-" and "0-9" are allowed for further chars.
-                     */
-                    throw new InvalidParameterException("The given account name '" + name
-                            + "' contains unsupported characters. The first character needs to be one"
-                            + " of 'a-z', characters in the middle can be 'a-z', '0,9' and a '-' and the last character of the "
-                            + "name has to be one of 'a-z' and '0-9'.");
-                }
+            boolean pooling = StringPool.ACCOUNT_NAMES.isEnabled();
+            String pooledName = pooling ? StringPool.ACCOUNT_NAMES.get(name) : null;
+            if (pooledName != null) {
+                this.name = pooledName;
+                return;
             }
 
-            this.name = name;
+            if (name.length() < 3 || name.length() > 16) {
+                throw new InvalidParameterException(
+                        "An account name needs to have a minimum length of 3 and a maximum length of 16.");
+            } else if (!isValidFirstSegment(name)) {
+                /*
+                 * It looks like only values infront of a "." are validated.
+                 * Those characters in front of a dot must fullfil the
+                 * following rules: The first char needs to be one of "a-z"
+                 * while a "-" and "0-9" are allowed for further chars.
+                 */
+                throw new InvalidParameterException("The given account name '" + name
+                        + "' contains unsupported characters. The first character needs to be one"
+                        + " of 'a-z', characters in the middle can be 'a-z', '0,9' and a '-' and the last character of the "
+                        + "name has to be one of 'a-z' and '0-9'.");
+            }
+
+            this.name = pooling ? StringPool.ACCOUNT_NAMES.add(name) : name;
+        }
+    }
+
+    /**
+     * Check the characters in front of the first '.' of the given
+     * <code>name</code> without using a regular expression, as this method is
+     * called for every account name found in a block.
+     * 
+     * @param name
+     *            The account name to check.
+     * @return <code>true</code> if the characters are valid, otherwise
+     *         <code>false</code>.
+     */
+    private static boolean isValidFirstSegment(String name) {
+        int end = name.indexOf('.');
+        if (end == -1) {
+            end = name.length();
+        }
+
+        if (end < 3 || end > 16) {
+            return false;
         }
+
+        char firstChar = name.charAt(0);
+        if (firstChar < 'a' || firstChar > 'z') {
+            return false;
+        }
+
+        for (int i = 1; i < end - 1; i++) {
+            char currentChar = name.charAt(i);
+            if ((currentChar < 'a' || currentChar > 'z') && (currentChar < '0' || currentChar > '9')
+                    && currentChar != '-') {
+                return false;
+            }
+        }
+
+        char lastChar = name.charAt(end - 1);
+        return (lastChar >= 'a' && lastChar <= 'z') || (lastChar >= '0' && lastChar <= '9');
     }
 
     @Override
@@ -119,7 +168,7 @@ public class AccountName implements ByteTransformable, SignatureObject {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -18,10 +18,10 @@ package eu.bittrade.libs.steemj.protocol;
 
 import java.io.Serializable;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+
 /**
  * This class represents a Steem "annotated_signed_transaction" object.
  * 
@@ -70,6 +70,6 @@ public class AnnotatedSignedTransaction implements Serializable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -17,12 +17,12 @@
 package eu.bittrade.libs.steemj.protocol;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.commons.io.output.ByteArrayOutputStream;
-import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -35,6 +35,7 @@ import eu.bittrade.libs.steemj.base.models.serializer.PublicKeyHashMapSerializer
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -137,6 +138,35 @@ public class Authority implements ByteTransformable, SignatureObject {
         return authWeights < this.getWeightThreshold();
     }
 
+    /**
+     * Check if the given public keys satisfy this authority, which is the case
+     * if the sum of their weights reaches the
+     * {@link #getWeightThreshold() weight threshold}.
+     * 
+     * Only the {@link #getKeyAuths() key authorities} are taken into account.
+     * Resolving the {@link #getAccountAuths() account authorities} requires
+     * the authorities of those accounts, which are not known locally.
+     * 
+     * @param publicKeys
+     *            The keys that have signed, e.g. as returned by
+     *            {@link eu.bittrade.libs.steemj.chain.SignedTransaction#recoverSignatureKeys()}.
+     * @return <code>true</code> if the keys satisfy this authority, otherwise
+     *         <code>false</code>.
+     */
+    public boolean isSatisfiedBy(Collection<PublicKey> publicKeys) {
+        long totalWeight = 0;
+        for (Entry<PublicKey, Integer> keyAuth : this.getKeyAuths().entrySet()) {
+            if (publicKeys.contains(keyAuth.getKey())) {
+                totalWeight += keyAuth.getValue();
+                if (totalWeight >= this.getWeightThreshold()) {
+                    return true;
+                }
+            }
+        }
+
+        return totalWeight >= this.getWeightThreshold();
+    }
+
     @Override
     public byte[] toByteArray() throws SteemInvalidTransactionException {
         try (ByteArrayOutputStream serializedAuthority = new ByteArrayOutputStream()) {
@@ -165,7 +195,7 @@ public class Authority implements ByteTransformable, SignatureObject {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
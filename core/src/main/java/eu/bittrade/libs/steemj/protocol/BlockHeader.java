@@ -16,19 +16,25 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.crypto.core.Sha256Hash;
 import eu.bittrade.libs.steemj.base.models.BlockHeaderExtensions;
 import eu.bittrade.libs.steemj.base.models.BlockId;
 import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.base.models.HardforkVersionVote;
+import eu.bittrade.libs.steemj.base.models.Version;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
@@ -127,14 +133,74 @@ public class BlockHeader implements ByteTransformable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
+    }
+
+    /**
+     * Get the number of this block, which is derived from the
+     * {@link #getPrevious() id of the previous block}.
+     * 
+     * @return The block number.
+     */
+    @JsonIgnore
+    public int getBlockNumber() {
+        return this.getPrevious().getNumberFromHash() + 1;
+    }
+
+    /**
+     * Calculate the digest of this block header, which is the SHA-256 hash of
+     * its serialized form. This digest is signed by the witness.
+     * 
+     * @return The digest of this block header.
+     * @throws SteemInvalidTransactionException
+     *             If the block header can not be serialized.
+     */
+    public Sha256Hash calculateDigest() throws SteemInvalidTransactionException {
+        return Sha256Hash.of(this.toBlockHeaderByteArray());
     }
 
     @Override
     public byte[] toByteArray() throws SteemInvalidTransactionException {
-        // TODO Auto-generated method stub
-        // serializedRecoverAccountOperation
-        // .write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
-        return null;
+        return toBlockHeaderByteArray();
+    }
+
+    /**
+     * Serialize the fields of the "block_header" only, even if this is an
+     * instance of a subclass like the {@link SignedBlockHeader}.
+     * 
+     * @return The serialized block header.
+     * @throws SteemInvalidTransactionException
+     *             If the block header can not be serialized.
+     */
+    private byte[] toBlockHeaderByteArray() throws SteemInvalidTransactionException {
+        try (ByteArrayOutputStream serializedBlockHeader = new ByteArrayOutputStream()) {
+            serializedBlockHeader.write(this.getPrevious().toByteArray());
+            serializedBlockHeader.write(this.getTimestamp().toByteArray());
+            serializedBlockHeader.write(this.getWitness().toByteArray());
+            serializedBlockHeader.write(this.getTransactionMerkleRoot().toByteArray());
+
+            serializedBlockHeader.write(SteemJUtils.transformIntToVarIntByteArray(this.getExtensions().size()));
+            for (BlockHeaderExtensions blockHeaderExtension : this.getExtensions()) {
+                // The extensions are a static variant of "void_t", "version"
+                // and "hardfork_version_vote".
+                if (blockHeaderExtension == null) {
+                    serializedBlockHeader.write(SteemJUtils.transformIntToVarIntByteArray(0));
+                } else if (blockHeaderExtension instanceof HardforkVersionVote) {
+                    serializedBlockHeader.write(SteemJUtils.transformIntToVarIntByteArray(2));
+                    serializedBlockHeader.write(blockHeaderExtension.toByteArray());
+                } else if (blockHeaderExtension instanceof Version) {
+                    serializedBlockHeader.write(SteemJUtils.transformIntToVarIntByteArray(1));
+                    serializedBlockHeader.write(blockHeaderExtension.toByteArray());
+                } else {
+                    throw new SteemInvalidTransactionException(
+                            "Unknown block header extension " + blockHeaderExtension + ".");
+                }
+            }
+
+            return serializedBlockHeader.toByteArray();
+        } catch (IOException e) {
+            throw new SteemInvalidTransactionException(
+                    "A problem occured while transforming the block header into a byte array.", e);
+        }
     }
 }
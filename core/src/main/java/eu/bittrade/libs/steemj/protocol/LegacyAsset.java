@@ -21,8 +21,6 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.InvalidParameterException;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
@@ -32,6 +30,7 @@ import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
 import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -44,6 +43,9 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
 @JsonDeserialize(using = AssetDeserializer.class)
 @JsonSerialize(using = AssetSerializer.class)
 public class LegacyAsset implements ByteTransformable {
+    /** A copy of the values of the symbol enum, as values() creates a new one. */
+    private static final LegacyAssetSymbolType[] SYMBOLS = LegacyAssetSymbolType.values();
+
     // Original type is "share_type" which is a "safe<int64_t>".
     private long amount;
     // Type us uint64_t in the original code.
@@ -132,7 +134,11 @@ public class LegacyAsset implements ByteTransformable {
                     + " is used as a AssetSymbolType.");
         }
 
-        this.amount = amount.multiply(BigDecimal.valueOf(Math.pow(10, this.getPrecision()))).longValue();
+        try {
+            this.amount = amount.movePointRight(this.getPrecision()).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidParameterException("The provided 'amount' is too large.");
+        }
     }
 
     /**
@@ -153,14 +159,110 @@ public class LegacyAsset implements ByteTransformable {
         this.symbol = symbol;
     }
 
+    /**
+     * Parse the String representation of an asset as provided by a Steem node
+     * (e.g. "1.000 STEEM"). The String is parsed in a single pass directly into
+     * the amount and the symbol without creating intermediate objects.
+     * 
+     * @param asset
+     *            The asset in its String representation.
+     * @return The parsed asset.
+     * @throws InvalidParameterException
+     *             If the String is not a valid asset, if the amount has more
+     *             decimal places than the precision of the symbol or if the
+     *             amount does not fit into a long.
+     */
+    public static LegacyAsset parse(String asset) {
+        if (asset == null) {
+            throw new InvalidParameterException("The asset can't be null.");
+        }
+
+        int separatorIndex = asset.indexOf(' ');
+        if (separatorIndex <= 0 || separatorIndex == asset.length() - 1) {
+            throw new InvalidParameterException("The asset '" + asset + "' needs to have the format 'AMOUNT SYMBOL'.");
+        }
+
+        LegacyAssetSymbolType symbol = parseSymbol(asset, separatorIndex + 1);
+        int precision = LegacyAssetSymbolType.VESTS.equals(symbol) ? 6 : 3;
+
+        int index = 0;
+        boolean isNegative = asset.charAt(0) == '-';
+        if (isNegative) {
+            index++;
+        }
+
+        long amount = 0;
+        int decimalPlaces = -1;
+        int numberOfDigits = 0;
+        for (; index < separatorIndex; index++) {
+            char currentChar = asset.charAt(index);
+            if (currentChar == '.' && decimalPlaces == -1) {
+                decimalPlaces = 0;
+                continue;
+            } else if (currentChar < '0' || currentChar > '9') {
+                throw new InvalidParameterException("The amount of the asset '" + asset + "' is not a number.");
+            }
+
+            if (decimalPlaces != -1 && ++decimalPlaces > precision) {
+                throw new InvalidParameterException("The amount of the asset '" + asset + "' needs to have a 'scale' of "
+                        + precision + " when " + symbol.name() + " is used as a AssetSymbolType.");
+            }
+
+            amount = appendDigit(amount, currentChar - '0', asset);
+            numberOfDigits++;
+        }
+
+        if (numberOfDigits == 0) {
+            throw new InvalidParameterException("The amount of the asset '" + asset + "' is not a number.");
+        }
+
+        for (int i = Math.max(decimalPlaces, 0); i < precision; i++) {
+            amount = appendDigit(amount, 0, asset);
+        }
+
+        return new LegacyAsset(isNegative ? -amount : amount, symbol);
+    }
+
+    /**
+     * Add a digit to the end of an amount.
+     * 
+     * @throws InvalidParameterException
+     *             If the amount does not fit into a long.
+     */
+    private static long appendDigit(long amount, int digit, String asset) {
+        if (amount > (Long.MAX_VALUE - digit) / 10) {
+            throw new InvalidParameterException("The amount of the asset '" + asset + "' is too large.");
+        }
+
+        return amount * 10 + digit;
+    }
+
+    /**
+     * Find the symbol that starts at <code>start</code> and ends with the
+     * given <code>asset</code> String.
+     * 
+     * @throws InvalidParameterException
+     *             If the symbol is not known.
+     */
+    private static LegacyAssetSymbolType parseSymbol(String asset, int start) {
+        int length = asset.length() - start;
+        for (LegacyAssetSymbolType symbol : SYMBOLS) {
+            String symbolName = symbol.name();
+            if (symbolName.length() == length && asset.regionMatches(start, symbolName, 0, length)) {
+                return symbol;
+            }
+        }
+
+        throw new InvalidParameterException("The asset '" + asset + "' has an unknown symbol.");
+    }
+
     /**
      * Transform this asset into its {@link BigDecimal} representation.
      * 
      * @return The value of this asset in its {@link BigDecimal} representation.
      */
     public BigDecimal toReal() {
-        BigDecimal transformedValue = new BigDecimal(this.getAmount());
-        return transformedValue.setScale(this.getPrecision());
+        return BigDecimal.valueOf(this.amount, this.getPrecision());
     }
 
     @Override
@@ -186,7 +288,7 @@ public class LegacyAsset implements ByteTransformable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
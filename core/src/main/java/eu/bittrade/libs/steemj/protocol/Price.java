@@ -20,13 +20,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.InvalidParameterException;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -125,27 +125,97 @@ public class Price implements ByteTransformable {
      * @param asset
      *            The asset to multiply.
      * @return The <code>asset</code> multiplied with this price.
+     * @throws InvalidParameterException
+     *             If the symbol of the <code>asset</code> is neither the symbol
+     *             of the base nor of the quote or if the result does not fit
+     *             into a long.
      */
     public LegacyAsset multiply(LegacyAsset asset) {
         if (asset == null) {
             throw new InvalidParameterException("The asset can't be null");
-        } else if (asset.getSymbol().equals(this.getBase().getSymbol())) {
+        }
+
+        boolean isBaseSymbol = isBaseSymbol(asset.getSymbol());
+        return new LegacyAsset(multiplyAmount(asset.getAmount(), isBaseSymbol),
+                isBaseSymbol ? this.getQuote().getSymbol() : this.getBase().getSymbol());
+    }
+
+    /**
+     * Multiply many amounts of the same symbol with this price. This method
+     * works on the raw amounts (see {@link LegacyAsset#getAmount()}) and does
+     * not create any <code>LegacyAsset</code> objects, which makes it suitable
+     * to convert a large number of amounts.
+     * 
+     * Like in Steem, the intermediate product is calculated with 128 bits, so
+     * the multiplication can not overflow.
+     * 
+     * @param amounts
+     *            The amounts to multiply.
+     * @param symbol
+     *            The symbol of the <code>amounts</code>, which needs to be the
+     *            symbol of the base or of the quote.
+     * @return The multiplied amounts, using the other symbol of this price.
+     * @throws InvalidParameterException
+     *             If the <code>symbol</code> is neither the symbol of the base
+     *             nor of the quote or if a result does not fit into a long.
+     */
+    public long[] multiply(long[] amounts, LegacyAssetSymbolType symbol) {
+        boolean isBaseSymbol = isBaseSymbol(symbol);
+
+        long[] results = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            results[i] = multiplyAmount(amounts[i], isBaseSymbol);
+        }
+
+        return results;
+    }
+
+    /**
+     * Check if the given <code>symbol</code> is the symbol of the base or of
+     * the quote of this price.
+     * 
+     * @return <code>true</code> for the base symbol and <code>false</code>
+     *         for the quote symbol.
+     * @throws InvalidParameterException
+     *             If the <code>symbol</code> is neither the symbol of the base
+     *             nor of the quote or if the divisor would be 0.
+     */
+    private boolean isBaseSymbol(LegacyAssetSymbolType symbol) {
+        if (symbol == null) {
+            throw new InvalidParameterException("The symbol can't be null");
+        } else if (symbol.equals(this.getBase().getSymbol())) {
             if (this.getBase().getAmount() == 0) {
                 throw new InvalidParameterException("Can't multiply as the price base is 0.");
             }
 
-            return new LegacyAsset((long) ((asset.getAmount() * this.getQuote().getAmount()) / this.getBase().getAmount()),
-                    this.getQuote().getSymbol());
-        } else if (asset.getSymbol().equals(this.getQuote().getSymbol())) {
+            return true;
+        } else if (symbol.equals(this.getQuote().getSymbol())) {
             if (this.getQuote().getAmount() == 0) {
                 throw new InvalidParameterException("Can't multiply as the price quote is 0.");
             }
 
-            return new LegacyAsset((long) ((asset.getAmount() * this.getBase().getAmount()) / this.getQuote().getAmount()),
-                    this.getBase().getSymbol());
-        } else {
-            throw new InvalidParameterException(
-                    "The provided asset does not fulfill the requirements to perform the multiply operation.");
+            return false;
+        }
+
+        throw new InvalidParameterException(
+                "The provided asset does not fulfill the requirements to perform the multiply operation.");
+    }
+
+    /**
+     * Multiply a single amount with this price.
+     * 
+     * @throws InvalidParameterException
+     *             If the result does not fit into a long.
+     */
+    private long multiplyAmount(long amount, boolean isBaseSymbol) {
+        try {
+            if (isBaseSymbol) {
+                return SteemJUtils.multiplyAndDivide(amount, this.getQuote().getAmount(), this.getBase().getAmount());
+            }
+
+            return SteemJUtils.multiplyAndDivide(amount, this.getBase().getAmount(), this.getQuote().getAmount());
+        } catch (ArithmeticException e) {
+            throw new InvalidParameterException("The result of the multiply operation does not fit into a long.");
         }
     }
 
@@ -183,7 +253,7 @@ public class Price implements ByteTransformable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
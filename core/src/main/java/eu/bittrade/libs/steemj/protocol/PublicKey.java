@@ -16,7 +16,8 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import java.security.InvalidParameterException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spongycastle.crypto.digests.RIPEMD160Digest;
@@ -34,6 +35,8 @@ import eu.bittrade.libs.steemj.base.models.serializer.PublicKeySerializer;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.ClockCache;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the <a href=
@@ -47,13 +50,32 @@ public class PublicKey implements ByteTransformable {
     private static final Logger LOGGER = LoggerFactory.getLogger(PublicKey.class);
 
     private static final int CHECKSUM_BYTES = 4;
+    private static final int COMPRESSED_KEY_SIZE = 33;
+
+    /** The default maximum number of addresses stored by the cache. */
+    public static final int DEFAULT_MAXIMUM_CACHE_SIZE = 16384;
+
+    /**
+     * The already decoded addresses. The same keys are used by many accounts
+     * and signed blocks, so decoding an address again can often be avoided.
+     * Once the cache is full, the addresses that have not been used recently
+     * are replaced by new ones.
+     */
+    private static final ClockCache<String, DecodedAddress> DECODED_ADDRESSES = new ClockCache<>(
+            DEFAULT_MAXIMUM_CACHE_SIZE);
 
+    private DecodedAddress decodedAddress;
     private ECKey publicKey;
     private String prefix;
+    private volatile String address;
 
     /**
      * Create a new public key by providing an address as String.
      * 
+     * The address is only decoded and validated, while the point of the key
+     * is decompressed when the key is used the first time through
+     * {@link #getPublicKey()}.
+     * 
      * @param address
      *            The address in its String representation.
      *            <p>
@@ -73,32 +95,14 @@ public class PublicKey implements ByteTransformable {
                 LOGGER.warn("The provided address '{}' has an invalid length and will not be set.", address);
                 this.setPublicKey(null);
             } else {
-                // We expect the first three chars to be the prefix (STM). The
-                // rest
-                // of the String contains the base58 encoded public key and its
-                // checksum.
-                this.prefix = address.substring(0, 3);
-                byte[] decodedAddress = Base58.decode(address.substring(3, address.length()));
-                // As sha256 is used for Bitcoin and ripemd160 for Steem, we
-                // can't
-                // use Bitcoinjs Base58.decodeChecked here and have to do all
-                // stuff
-                // on our own.
-                byte[] potentialPublicKey = Arrays.copyOfRange(decodedAddress, 0,
-                        decodedAddress.length - CHECKSUM_BYTES);
-                byte[] expectedChecksum = Arrays.copyOfRange(decodedAddress, decodedAddress.length - CHECKSUM_BYTES,
-                        decodedAddress.length);
-
-                byte[] actualChecksum = calculateChecksum(potentialPublicKey);
-
-                // And compare them.
-                for (int i = 0; i < expectedChecksum.length; i++) {
-                    if (expectedChecksum[i] != actualChecksum[i]) {
-                        throw new AddressFormatException("Checksum does not match.");
-                    }
+                DecodedAddress cachedAddress = DECODED_ADDRESSES.get(address);
+                if (cachedAddress == null) {
+                    cachedAddress = DECODED_ADDRESSES.putIfAbsent(address, decodeAddress(address));
                 }
 
-                this.setPublicKey(ECKey.fromPublicOnly(potentialPublicKey));
+                this.decodedAddress = cachedAddress;
+                this.prefix = cachedAddress.prefix;
+                this.address = cachedAddress.address;
             }
         } else {
             LOGGER.warn(
@@ -107,6 +111,39 @@ public class PublicKey implements ByteTransformable {
         }
     }
 
+    /**
+     * Decode the given <code>address</code> and verify its checksum.
+     * 
+     * @param address
+     *            The address in its String representation.
+     * @return The decoded address.
+     * @throws AddressFormatException
+     *             If the input is not base 58 or the checksum does not
+     *             validate.
+     */
+    private static DecodedAddress decodeAddress(String address) {
+        // We expect the first three chars to be the prefix (STM). The rest of
+        // the String contains the base58 encoded public key and its checksum.
+        byte[] decodedAddress = Base58.decode(address.substring(3, address.length()));
+        // As sha256 is used for Bitcoin and ripemd160 for Steem, we can't use
+        // Bitcoinjs Base58.decodeChecked here and have to do all stuff on our
+        // own.
+        byte[] potentialPublicKey = Arrays.copyOfRange(decodedAddress, 0, decodedAddress.length - CHECKSUM_BYTES);
+        byte[] expectedChecksum = Arrays.copyOfRange(decodedAddress, decodedAddress.length - CHECKSUM_BYTES,
+                decodedAddress.length);
+
+        byte[] actualChecksum = calculateChecksum(potentialPublicKey);
+
+        // And compare them.
+        for (int i = 0; i < expectedChecksum.length; i++) {
+            if (expectedChecksum[i] != actualChecksum[i]) {
+                throw new AddressFormatException("Checksum does not match.");
+            }
+        }
+
+        return new DecodedAddress(address.substring(0, 3), potentialPublicKey, address);
+    }
+
     /**
      * Generate the actual checksum of a Steem public key.
      * 
@@ -114,7 +151,7 @@ public class PublicKey implements ByteTransformable {
      *            The public key.
      * @return The actual checksum of a Steem public key.
      */
-    private byte[] calculateChecksum(byte[] publicKey) {
+    private static byte[] calculateChecksum(byte[] publicKey) {
         RIPEMD160Digest ripemd160Digest = new RIPEMD160Digest();
         ripemd160Digest.update(publicKey, 0, publicKey.length);
         byte[] actualChecksum = new byte[ripemd160Digest.getDigestSize()];
@@ -135,29 +172,45 @@ public class PublicKey implements ByteTransformable {
     }
 
     /**
-     * Recreate the address from the public key.
+     * Recreate the address from the public key. The address is only
+     * calculated once per object.
      * 
      * @return The address.
      */
     @JsonIgnore
     public String getAddressFromPublicKey() {
+        String currentAddress = this.address;
+        if (currentAddress != null) {
+            return currentAddress;
+        }
+
         try {
             // Recreate the address from the public key.
-            return this.prefix + Base58.encode(Bytes.concat(this.toByteArray(),
-                    Arrays.copyOfRange(calculateChecksum(this.toByteArray()), 0, CHECKSUM_BYTES)));
+            byte[] publicKeyBytes = this.toByteArray();
+            currentAddress = this.prefix + Base58.encode(Bytes.concat(publicKeyBytes,
+                    Arrays.copyOfRange(calculateChecksum(publicKeyBytes), 0, CHECKSUM_BYTES)));
         } catch (SteemInvalidTransactionException | NullPointerException e) {
             LOGGER.debug("An error occured while generating an address from a public key.", e);
             return "";
         }
+
+        this.address = currentAddress;
+        return currentAddress;
     }
 
     /**
-     * Get the public key stored in this object.
+     * Get the public key stored in this object. If this object has been
+     * created from an address, the point of the key is decompressed by the
+     * first call of this method.
      * 
      * @return The public key.
      */
     @JsonIgnore()
     public ECKey getPublicKey() {
+        if (decodedAddress != null) {
+            return decodedAddress.getPublicKey();
+        }
+
         return publicKey;
     }
 
@@ -171,9 +224,50 @@ public class PublicKey implements ByteTransformable {
         this.publicKey = publicKey;
     }
 
+    /**
+     * @return The number of decoded addresses currently cached.
+     */
+    public static int getCacheSize() {
+        return DECODED_ADDRESSES.size();
+    }
+
+    /**
+     * @return The maximum number of decoded addresses cached by all public
+     *         keys.
+     */
+    public static int getMaximumCacheSize() {
+        return DECODED_ADDRESSES.getMaximumSize();
+    }
+
+    /**
+     * Change the maximum number of decoded addresses cached by all public
+     * keys. If the new maximum size is smaller, addresses that have not been
+     * used recently are removed.
+     * 
+     * @param maximumCacheSize
+     *            The maximum number of addresses to cache or 0 to disable the
+     *            cache.
+     * @throws InvalidParameterException
+     *             If the <code>maximumCacheSize</code> is negative.
+     */
+    public static void setMaximumCacheSize(int maximumCacheSize) {
+        DECODED_ADDRESSES.setMaximumSize(maximumCacheSize);
+    }
+
+    /**
+     * Remove all decoded addresses from the cache.
+     */
+    public static void clearCache() {
+        DECODED_ADDRESSES.clear();
+    }
+
     @Override
     public byte[] toByteArray() throws SteemInvalidTransactionException {
-        if (this.getPublicKey().isCompressed()) {
+        // Most keys are already compressed, so there is no need to decode
+        // their point.
+        if (decodedAddress != null && decodedAddress.isCompressed()) {
+            return decodedAddress.publicKey.clone();
+        } else if (this.getPublicKey().isCompressed()) {
             return this.getPublicKey().getPubKey();
         } else {
             return ECKey.fromPublicOnly(ECKey.compressPoint(this.getPublicKey().getPubKeyPoint())).getPubKey();
@@ -182,7 +276,7 @@ public class PublicKey implements ByteTransformable {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -192,11 +286,62 @@ public class PublicKey implements ByteTransformable {
         if (otherPublicKey == null || !(otherPublicKey instanceof PublicKey))
             return false;
         PublicKey otherKey = (PublicKey) otherPublicKey;
+        if (this.decodedAddress != null && otherKey.decodedAddress != null && this.decodedAddress.isCompressed()
+                && otherKey.decodedAddress.isCompressed()) {
+            return Arrays.areEqual(this.decodedAddress.publicKey, otherKey.decodedAddress.publicKey);
+        }
         return this.getPublicKey().equals(otherKey.getPublicKey());
     }
 
     @Override
     public int hashCode() {
+        // Equals the hash code of the ECKey, which is based on the compressed
+        // point.
+        if (decodedAddress != null && decodedAddress.isCompressed()) {
+            return java.util.Arrays.hashCode(decodedAddress.publicKey);
+        }
         return this.getPublicKey().hashCode();
     }
+
+    /**
+     * An address that has been decoded and verified. Instances are shared by
+     * all public keys created from the same address, so the point of the key
+     * is decompressed at most once.
+     */
+    private static final class DecodedAddress {
+        private final String prefix;
+        private final byte[] publicKey;
+        private final String address;
+        private volatile ECKey decompressedPublicKey;
+
+        /**
+         * Create a new decoded address.
+         */
+        private DecodedAddress(String prefix, byte[] publicKey, String address) {
+            this.prefix = prefix;
+            this.publicKey = publicKey;
+            this.address = address;
+        }
+
+        /**
+         * @return <code>true</code> if the key is stored in its compressed
+         *         form.
+         */
+        private boolean isCompressed() {
+            return publicKey.length == COMPRESSED_KEY_SIZE && (publicKey[0] == 0x02 || publicKey[0] == 0x03);
+        }
+
+        /**
+         * @return The key with its decompressed point.
+         */
+        private ECKey getPublicKey() {
+            ECKey currentPublicKey = decompressedPublicKey;
+            if (currentPublicKey == null) {
+                currentPublicKey = ECKey.fromPublicOnly(publicKey);
+                decompressedPublicKey = currentPublicKey;
+            }
+
+            return currentPublicKey;
+        }
+    }
 }
@@ -17,13 +17,16 @@
 package eu.bittrade.libs.steemj.protocol;
 
 import java.util.List;
-
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import java.util.concurrent.ForkJoinPool;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.base.models.Checksum;
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.TransactionMerkleTree;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is the java implementation of the Steem "signed_block" object.
@@ -51,8 +54,52 @@ public class SignedBlock extends SignedBlockHeader {
         return transactions;
     }
 
+    /**
+     * @param transactions
+     *            The transactions processed in this block.
+     */
+    public void setTransactions(List<SignedTransaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    /**
+     * Calculate the merkle root of the {@link #getTransactions() transactions}
+     * of this block.
+     * 
+     * @param forkJoinPool
+     *            The pool used to hash the transactions in parallel or
+     *            <code>null</code> to hash them on the current thread.
+     * @return The calculated merkle root.
+     * @throws SteemInvalidTransactionException
+     *             If one of the transactions can not be serialized.
+     */
+    public Checksum calculateTransactionMerkleRoot(ForkJoinPool forkJoinPool)
+            throws SteemInvalidTransactionException {
+        return TransactionMerkleTree.calculateMerkleRoot(this.getTransactions(), forkJoinPool);
+    }
+
+    /**
+     * Verify that the {@link #getTransactionMerkleRoot() merkle root} of the
+     * header matches the {@link #getTransactions() transactions} of this
+     * block.
+     * 
+     * @param forkJoinPool
+     *            The pool used to hash the transactions in parallel or
+     *            <code>null</code> to hash them on the current thread.
+     * @return <code>true</code> if the transactions match the header,
+     *         otherwise <code>false</code>.
+     */
+    public boolean verifyTransactionMerkleRoot(ForkJoinPool forkJoinPool) {
+        try {
+            return this.getTransactionMerkleRoot() != null
+                    && this.getTransactionMerkleRoot().equals(this.calculateTransactionMerkleRoot(forkJoinPool));
+        } catch (SteemInvalidTransactionException e) {
+            return false;
+        }
+    }
+
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -16,14 +16,26 @@
  */
 package eu.bittrade.libs.steemj.protocol;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongycastle.crypto.digests.SHA224Digest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.crypto.core.CryptoUtils;
 import eu.bittrade.crypto.core.ECKey.ECDSASignature;
+import eu.bittrade.libs.steemj.base.models.BlockId;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
+import eu.bittrade.libs.steemj.util.Secp256k1Signer;
 
 /**
  * This class is the java implementation of the Steem "signed_block_header"
@@ -32,6 +44,10 @@ import eu.bittrade.libs.steemj.interfaces.ByteTransformable;
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 public class SignedBlockHeader extends BlockHeader implements ByteTransformable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SignedBlockHeader.class);
+    /** The size of a block id in bytes. */
+    private static final int BLOCK_ID_SIZE = 20;
+
     @JsonProperty("witness_signature")
     protected String witnessSignature;
 
@@ -42,6 +58,15 @@ public class SignedBlockHeader extends BlockHeader implements ByteTransformable
         return ECDSASignature.decodeFromDER(CryptoUtils.HEX.decode(witnessSignature));
     }
 
+    /**
+     * @return The witness signature in its compact, binary representation or
+     *         <code>null</code> if no signature has been set.
+     */
+    @JsonIgnore
+    public byte[] getWitnessSignatureAsByteArray() {
+        return witnessSignature == null ? null : CryptoUtils.HEX.decode(witnessSignature);
+    }
+
     /**
      * @param witnessSignature
      *            the witnessSignature to set
@@ -50,15 +75,80 @@ public class SignedBlockHeader extends BlockHeader implements ByteTransformable
         this.witnessSignature = witnessSignature;
     }
 
+    /**
+     * Calculate the id of this block locally. The id is the first 20 bytes of
+     * the SHA-224 hash of the signed block header, whose first 4 bytes are
+     * replaced by the block number.
+     * 
+     * @return The id of this block.
+     * @throws SteemInvalidTransactionException
+     *             If the block header can not be serialized.
+     */
+    public BlockId calculateBlockId() throws SteemInvalidTransactionException {
+        byte[] serializedSignedBlockHeader = this.toByteArray();
+
+        SHA224Digest sha224Digest = new SHA224Digest();
+        sha224Digest.update(serializedSignedBlockHeader, 0, serializedSignedBlockHeader.length);
+        byte[] hash = new byte[sha224Digest.getDigestSize()];
+        sha224Digest.doFinal(hash, 0);
+
+        byte[] blockId = Arrays.copyOf(hash, BLOCK_ID_SIZE);
+        ByteBuffer.wrap(blockId).order(ByteOrder.BIG_ENDIAN).putInt(0, this.getBlockNumber());
+
+        return new BlockId(CryptoUtils.HEX.encode(blockId));
+    }
+
+    /**
+     * Recover the public key of the witness that has signed this block.
+     * 
+     * @return The public key of the signing witness.
+     * @throws SteemInvalidTransactionException
+     *             If the witness signature is invalid.
+     */
+    public PublicKey recoverSigningKey() throws SteemInvalidTransactionException {
+        try {
+            return new PublicKey(Secp256k1Signer.recoverPublicKey(this.calculateDigest(),
+                    CryptoUtils.HEX.decode(this.witnessSignature)));
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("The witness signature " + this.witnessSignature
+                    + " is invalid.", e);
+        }
+    }
+
+    /**
+     * Verify that this block has been signed by the given
+     * <code>signingKey</code>.
+     * 
+     * @param signingKey
+     *            The expected key of the witness, e.g.
+     *            {@link eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock#getSigningKey()}.
+     * @return <code>true</code> if the block has been signed by the given key,
+     *         otherwise <code>false</code>.
+     */
+    public boolean verifyWitnessSignature(PublicKey signingKey) {
+        try {
+            return signingKey.equals(this.recoverSigningKey());
+        } catch (SteemInvalidTransactionException e) {
+            LOGGER.debug("Could not recover the signing key.", e);
+            return false;
+        }
+    }
+
     @Override
     public byte[] toByteArray() throws SteemInvalidTransactionException {
-        super.toByteArray();
-        // TODO Auto-generated method stub
-        return null;
+        try (ByteArrayOutputStream serializedSignedBlockHeader = new ByteArrayOutputStream()) {
+            serializedSignedBlockHeader.write(super.toByteArray());
+            serializedSignedBlockHeader.write(CryptoUtils.HEX.decode(this.witnessSignature));
+
+            return serializedSignedBlockHeader.toByteArray();
+        } catch (IOException e) {
+            throw new SteemInvalidTransactionException(
+                    "A problem occured while transforming the signed block header into a byte array.", e);
+        }
     }
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
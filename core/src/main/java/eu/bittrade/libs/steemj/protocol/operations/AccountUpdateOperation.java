@@ -19,13 +19,13 @@ package eu.bittrade.libs.steemj.protocol.operations;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.InvalidParameterException;
+import java.util.Arrays;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
@@ -33,6 +33,7 @@ import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -40,6 +41,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class AccountUpdateOperation extends AbstractAccountOperation {
     @JsonProperty("account")
     private AccountName account;
@@ -204,13 +206,14 @@ public class AccountUpdateOperation extends AbstractAccountOperation {
                     SteemJUtils.transformIntToVarIntByteArray(OperationType.ACCOUNT_UPDATE_OPERATION.getOrderId()));
             serializedAccountUpdateOperation.write(this.getAccount().toByteArray());
 
-            // Handle optional values.
-            if (this.getOwner() != null) {
-                serializedAccountUpdateOperation.write(this.getOwner().toByteArray());
-            } else if (this.getActive() != null) {
-                serializedAccountUpdateOperation.write(this.getActive().toByteArray());
-            } else if (this.getPosting() != null) {
-                serializedAccountUpdateOperation.write(this.getPosting().toByteArray());
+            // Handle optional values: Each authority is prefixed by a flag
+            // which indicates if the authority is present.
+            for (Authority optionalAuthority : Arrays.asList(this.getOwner(), this.getActive(), this.getPosting())) {
+                serializedAccountUpdateOperation
+                        .write(SteemJUtils.transformBooleanToByteArray(optionalAuthority != null));
+                if (optionalAuthority != null) {
+                    serializedAccountUpdateOperation.write(optionalAuthority.toByteArray());
+                }
             }
 
             serializedAccountUpdateOperation.write(this.getMemoKey().toByteArray());
@@ -226,7 +229,7 @@ public class AccountUpdateOperation extends AbstractAccountOperation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -22,16 +22,17 @@ import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -39,6 +40,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class AccountWitnessProxyOperation extends Operation {
     @JsonProperty("account")
     private AccountName account;
@@ -59,6 +61,7 @@ public class AccountWitnessProxyOperation extends Operation {
      * @throws InvalidParameterException
      *             If one of the parameters does not fulfill the requirements.
      */
+    @JsonCreator
     public AccountWitnessProxyOperation(@JsonProperty("account") AccountName account,
             @JsonProperty("proxy") AccountName proxy) {
         super(false);
@@ -135,7 +138,7 @@ public class AccountWitnessProxyOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -16,7 +16,7 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class summarizes utility methods for the different operation types.
@@ -26,6 +26,6 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 public class BaseOperation {
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
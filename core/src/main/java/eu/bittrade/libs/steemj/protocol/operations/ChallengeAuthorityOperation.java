@@ -22,16 +22,17 @@ import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -39,6 +40,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class ChallengeAuthorityOperation extends Operation {
     @JsonProperty("challenger")
     private AccountName challenger;
@@ -62,6 +64,7 @@ public class ChallengeAuthorityOperation extends Operation {
      * @throws InvalidParameterException
      *             If one of the arguments does not fulfill the requirements.
      */
+    @JsonCreator
     public ChallengeAuthorityOperation(@JsonProperty("challenger") AccountName challenger,
             @JsonProperty("challenged") AccountName challenged, @JsonProperty("require_owner") boolean requireOwner) {
         super(false);
@@ -173,7 +176,7 @@ public class ChallengeAuthorityOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
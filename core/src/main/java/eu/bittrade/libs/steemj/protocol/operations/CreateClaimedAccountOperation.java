@@ -7,6 +7,7 @@ import java.security.InvalidParameterException;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.protocol.AccountName;
@@ -20,6 +21,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  *
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class CreateClaimedAccountOperation extends AccountCreateOperation {
 
     /**
@@ -23,11 +23,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
@@ -35,6 +35,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -42,6 +43,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class CustomBinaryOperation extends Operation {
     // Original type is flat_set< account_name_type >.
     @JsonProperty("required_owner_auths")
@@ -83,6 +85,7 @@ public class CustomBinaryOperation extends Operation {
      * @throws InvalidParameterException
      *             If a parameter does not fulfill the requirements.
      */
+    @JsonCreator
     public CustomBinaryOperation(@JsonProperty("required_owner_auths") List<AccountName> requiredOwnerAuths,
             @JsonProperty("required_active_auths") List<AccountName> requiredActiveAuths,
             @JsonProperty("required_posting_auths") List<AccountName> requiredPostingAuths,
@@ -290,7 +293,7 @@ public class CustomBinaryOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
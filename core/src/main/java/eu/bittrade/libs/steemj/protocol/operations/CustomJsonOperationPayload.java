@@ -16,8 +16,6 @@
  */
 package eu.bittrade.libs.steemj.protocol.operations;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -28,6 +26,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemTransformationException;
 import eu.bittrade.libs.steemj.interfaces.Validatable;
 import eu.bittrade.libs.steemj.plugins.apis.follow.models.operations.FollowOperation;
 import eu.bittrade.libs.steemj.plugins.apis.follow.models.operations.ReblogOperation;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is a wrapper for the different kinds of Operations, a
@@ -57,6 +56,6 @@ public abstract class CustomJsonOperationPayload extends BaseOperation implement
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -21,11 +21,12 @@ import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.UInteger;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
@@ -33,6 +34,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -42,6 +44,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class LimitOrderCreateOperation extends AbstractLimitOrderOperation {
     @JsonProperty("amount_to_sell")
     private LegacyAsset amountToSell;
@@ -75,6 +78,7 @@ public class LimitOrderCreateOperation extends AbstractLimitOrderOperation {
      * @throws InvalidParameterException
      *             If one of the arguments does not fulfill the requirements.
      */
+    @JsonCreator
     public LimitOrderCreateOperation(@JsonProperty("owner") AccountName owner,
             @JsonProperty("orderid") UInteger orderId, @JsonProperty("amount_to_sell") LegacyAsset amountToSell,
             @JsonProperty("min_to_receive") LegacyAsset minToReceive, @JsonProperty("fill_or_kill") boolean fillOrKill,
@@ -297,7 +301,7 @@ public class LimitOrderCreateOperation extends AbstractLimitOrderOperation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
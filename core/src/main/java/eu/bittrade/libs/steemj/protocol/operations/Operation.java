@@ -20,8 +20,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
@@ -46,6 +44,7 @@ import eu.bittrade.libs.steemj.protocol.operations.virtual.LiquidityRewardOperat
 import eu.bittrade.libs.steemj.protocol.operations.virtual.ProducerRewardOperation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.ReturnVestingDelegationOperation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.ShutdownWitnessOpeartion;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class is a wrapper for the different kinds of operations that an user
@@ -222,6 +221,6 @@ public abstract class Operation extends BaseOperation implements ByteTransformab
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 }
@@ -0,0 +1,468 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.protocol.operations;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joou.UInteger;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.base.models.BeneficiaryRouteType;
+import eu.bittrade.libs.steemj.base.models.ChainProperties;
+import eu.bittrade.libs.steemj.base.models.CommentOptionsExtension;
+import eu.bittrade.libs.steemj.base.models.CommentPayoutBeneficiaries;
+import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.enums.CommentOptionsExtensionsType;
+import eu.bittrade.libs.steemj.enums.OperationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.util.ByteArrayReader;
+
+/**
+ * This class is the counterpart of the <code>toByteArray</code> methods of the
+ * {@link Operation} implementations: It creates {@link Operation} objects from
+ * their binary representation.
+ * 
+ * The type of the operation is resolved using the id written in front of each
+ * operation (see {@link OperationType#getOrderId()}).
+ * 
+ * <b>Notice:</b> The {@link PowOperation}, the {@link Pow2Operation} and the
+ * {@link ReportOverProductionOperation} are not supported: SteemJ can not
+ * serialize the first two and the decoding of the signed block headers of the
+ * last one is not implemented. Use {@link #isSupported(Operation)} to check an
+ * operation before storing its binary representation.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationDecoder {
+    /** Add a private constructor to hide the implicit public one. */
+    private OperationDecoder() {
+    }
+
+    /**
+     * Check if the binary representation of the given <code>operation</code>
+     * can be created and decoded again.
+     * 
+     * @param operation
+     *            The operation to check.
+     * @return <code>false</code> if the operation is a {@link PowOperation},
+     *         a {@link Pow2Operation} or a
+     *         {@link ReportOverProductionOperation}, otherwise
+     *         <code>true</code>.
+     */
+    public static boolean isSupported(Operation operation) {
+        return !(operation instanceof PowOperation || operation instanceof Pow2Operation
+                || operation instanceof ReportOverProductionOperation);
+    }
+
+    /**
+     * Decode a single operation.
+     * 
+     * @param serializedOperation
+     *            The byte representation of the operation as created by
+     *            {@link Operation#toByteArray()}.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the given bytes do not represent a supported operation or
+     *             if there are unexpected bytes after the operation.
+     */
+    public static Operation decode(byte[] serializedOperation) throws SteemInvalidTransactionException {
+        ByteArrayReader reader = new ByteArrayReader(serializedOperation);
+        Operation operation = decode(reader);
+
+        if (reader.hasRemaining()) {
+            throw new SteemInvalidTransactionException(
+                    reader.remaining() + " unexpected byte(s) found after the operation.");
+        }
+
+        return operation;
+    }
+
+    /**
+     * Decode the next operation of the given <code>reader</code>.
+     * 
+     * @param reader
+     *            The reader positioned at the id of the operation.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the operation type is not supported or the data is not
+     *             a valid representation of the operation.
+     */
+    public static Operation decode(ByteArrayReader reader) throws SteemInvalidTransactionException {
+        long orderId = reader.readVarInt();
+        OperationType operationType = OperationType.fromOrderId((int) orderId);
+
+        if (operationType == null || orderId > Integer.MAX_VALUE) {
+            throw new SteemInvalidTransactionException("Unknown operation id " + orderId + ".");
+        }
+
+        try {
+            return decode(operationType, reader);
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("The " + operationType + " contains an invalid value.", e);
+        }
+    }
+
+    /**
+     * Decode the body of an operation of the given <code>operationType</code>.
+     * 
+     * @param operationType
+     *            The type of the operation.
+     * @param reader
+     *            The reader positioned behind the id of the operation.
+     * @return The decoded operation.
+     * @throws SteemInvalidTransactionException
+     *             If the operation type is not supported or the data is not
+     *             a valid representation of the operation.
+     */
+    private static Operation decode(OperationType operationType, ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        switch (operationType) {
+        case VOTE_OPERATION:
+            return new VoteOperation(reader.readAccountName(), reader.readAccountName(), reader.readPermlink(),
+                    reader.readShort());
+        case COMMENT_OPERATION:
+            return new CommentOperation(reader.readAccountName(), reader.readPermlink(), reader.readAccountName(),
+                    reader.readPermlink(), reader.readString(), reader.readString(), reader.readString());
+        case TRANSFER_OPERATION:
+            return new TransferOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readLegacyAsset(), reader.readString());
+        case TRANSFER_TO_VESTING_OPERATION:
+            return new TransferToVestingOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readLegacyAsset());
+        case WITHDRAW_VESTING_OPERATION:
+            return new WithdrawVestingOperation(reader.readAccountName(), reader.readLegacyAsset());
+        case LIMIT_ORDER_CREATE_OPERATION:
+            return new LimitOrderCreateOperation(reader.readAccountName(), readUInteger(reader),
+                    reader.readLegacyAsset(), reader.readLegacyAsset(), reader.readBoolean(),
+                    reader.readTimePointSec());
+        case LIMIT_ORDER_CANCEL_OPERATION:
+            return new LimitOrderCancelOperation(reader.readAccountName(), readUInteger(reader));
+        case FEED_PUBLISH_OPERATION:
+            return new FeedPublishOperation(reader.readAccountName(), reader.readPrice());
+        case CONVERT_OPERATION:
+            return new ConvertOperation(reader.readAccountName(), readUnsignedInt(reader), reader.readLegacyAsset());
+        case ACCOUNT_CREATE_OPERATION:
+            return decodeAccountCreateOperation(reader);
+        case ACCOUNT_UPDATE_OPERATION:
+            return decodeAccountUpdateOperation(reader);
+        case WITNESS_UPDATE_OPERATION:
+            return new WitnessUpdateOperation(reader.readAccountName(), readUrl(reader), reader.readPublicKey(),
+                    readChainProperties(reader), reader.readLegacyAsset());
+        case ACCOUNT_WITNESS_VOTE_OPERATION:
+            return new AccountWitnessVoteOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readBoolean());
+        case ACCOUNT_WITNESS_PROXY_OPERATION:
+            return new AccountWitnessProxyOperation(reader.readAccountName(), reader.readAccountName());
+        case CUSTOM_OPERATION:
+            return new CustomOperation(readAccountNames(reader), reader.readShort(),
+                    CryptoUtils.HEX.encode(reader.readVarBytes()));
+        case DELETE_COMMENT_OPERATION:
+            return new DeleteCommentOperation(reader.readAccountName(), reader.readPermlink());
+        case CUSTOM_JSON_OPERATION:
+            return new CustomJsonOperation(readAccountNames(reader), readAccountNames(reader), reader.readString(),
+                    reader.readString());
+        case COMMENT_OPTIONS_OPERATION:
+            return new CommentOptionsOperation(reader.readAccountName(), reader.readPermlink(),
+                    reader.readLegacyAsset(), reader.readShort() & 0xFFFF, reader.readBoolean(), reader.readBoolean(),
+                    readCommentOptionsExtensions(reader));
+        case SET_WITHDRAW_VESTING_ROUTE_OPERATION:
+            return new SetWithdrawVestingRouteOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readShort() & 0xFFFF, reader.readBoolean());
+        case LIMIT_ORDER_CREATE2_OPERATION:
+            return decodeLimitOrderCreate2Operation(reader);
+        case CHALLENGE_AUTHORITY_OPERATION:
+            return new ChallengeAuthorityOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readBoolean());
+        case PROVE_AUTHORITY_OPERATION:
+            return new ProveAuthorityOperation(reader.readAccountName(), reader.readBoolean());
+        case REQUEST_ACCOUNT_RECOVERY_OPERATION:
+            return new RequestAccountRecoveryOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readAuthority(), readFutureExtensions(reader));
+        case RECOVER_ACCOUNT_OPERATION:
+            return new RecoverAccountOperation(reader.readAccountName(), reader.readAuthority(),
+                    reader.readAuthority(), readFutureExtensions(reader));
+        case CHANGE_RECOVERY_ACCOUNT_OPERATION:
+            return new ChangeRecoveryAccountOperation(reader.readAccountName(), reader.readAccountName(),
+                    readFutureExtensions(reader));
+        case ESCROW_TRANSFER_OPERATION:
+            return new EscrowTransferOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readAccountName(), readUnsignedInt(reader), reader.readLegacyAsset(),
+                    reader.readLegacyAsset(), reader.readLegacyAsset(), reader.readTimePointSec(),
+                    reader.readTimePointSec(), reader.readString());
+        case ESCROW_DISPUTE_OPERATION:
+            return decodeEscrowDisputeOperation(reader);
+        case ESCROW_RELEASE_OPERATION:
+            return decodeEscrowReleaseOperation(reader);
+        case ESCROW_APPROVE_OPERATION:
+            return decodeEscrowApproveOperation(reader);
+        case TRANSFER_TO_SAVINGS_OPERATION:
+            return new TransferToSavingsOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readLegacyAsset(), reader.readString());
+        case TRANSFER_FROM_SAVINGS_OPERATION:
+            return decodeTransferFromSavingsOperation(reader);
+        case CANCEL_TRANSFER_FROM_SAVINGS_OPERATION:
+            return new CancelTransferFromSavingsOperation(reader.readAccountName(), readUnsignedInt(reader));
+        case CUSTOM_BINARY_OPERATION:
+            return decodeCustomBinaryOperation(reader);
+        case DECLINE_VOTING_RIGHTS_OPERATION:
+            return new DeclineVotingRightsOperation(reader.readAccountName(), reader.readBoolean());
+        case RESET_ACCOUNT_OPERATION:
+            return new ResetAccountOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readAuthority());
+        case SET_RESET_ACCOUNT_OPERATION:
+            return new SetResetAccountOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readAccountName());
+        case CLAIM_REWARD_BALANCE_OPERATION:
+            return new ClaimRewardBalanceOperation(reader.readAccountName(), reader.readLegacyAsset(),
+                    reader.readLegacyAsset(), reader.readLegacyAsset());
+        case DELEGATE_VESTING_SHARES_OPERATION:
+            return new DelegateVestingSharesOperation(reader.readAccountName(), reader.readAccountName(),
+                    reader.readLegacyAsset());
+        case ACCOUNT_CREATE_WITH_DELEGATION_OPERATION:
+            return decodeAccountCreateWithDelegationOperation(reader);
+        case CLAIM_ACCOUNT_OPERATION:
+            return decodeClaimAccountOperation(reader);
+        case CREATE_CLAIMED_ACCOUNT_OPERATION:
+            return decodeCreateClaimedAccountOperation(reader);
+        case WITNESS_SET_PROPERTIES_OPERATION:
+            return new WitnessSetPropertiesOperation(reader.readAccountName(), readUrl(reader),
+                    reader.readPublicKey(), readChainProperties(reader), reader.readLegacyAsset(),
+                    readFutureExtensions(reader));
+        default:
+            // The POW_OPERATION, POW2_OPERATION and the
+            // REPORT_OVER_PRODUCTION_OPERATION are not supported (see
+            // isSupported).
+            throw new SteemInvalidTransactionException("Decoding the " + operationType + " is not supported.");
+        }
+    }
+
+    private static AccountCreateOperation decodeAccountCreateOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        LegacyAsset fee = reader.readLegacyAsset();
+        AccountName creator = reader.readAccountName();
+        return new AccountCreateOperation(creator, fee, reader.readAccountName(), reader.readAuthority(),
+                reader.readAuthority(), reader.readAuthority(), reader.readPublicKey(), reader.readString());
+    }
+
+    private static AccountCreateWithDelegationOperation decodeAccountCreateWithDelegationOperation(
+            ByteArrayReader reader) throws SteemInvalidTransactionException {
+        LegacyAsset fee = reader.readLegacyAsset();
+        LegacyAsset delegation = reader.readLegacyAsset();
+        AccountName creator = reader.readAccountName();
+        return new AccountCreateWithDelegationOperation(creator, fee, reader.readAccountName(),
+                delegation, reader.readAuthority(), reader.readAuthority(), reader.readAuthority(),
+                reader.readPublicKey(), reader.readString(), readFutureExtensions(reader));
+    }
+
+    private static CreateClaimedAccountOperation decodeCreateClaimedAccountOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        LegacyAsset fee = reader.readLegacyAsset();
+        AccountName creator = reader.readAccountName();
+        return new CreateClaimedAccountOperation(creator, fee, reader.readAccountName(),
+                reader.readAuthority(), reader.readAuthority(), reader.readAuthority(), reader.readPublicKey(),
+                reader.readString());
+    }
+
+    private static ClaimAccountOperation decodeClaimAccountOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName creator = reader.readAccountName();
+        return new ClaimAccountOperation(reader.readLegacyAsset(), creator, readFutureExtensions(reader));
+    }
+
+    private static AccountUpdateOperation decodeAccountUpdateOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName account = reader.readAccountName();
+        Authority owner = readOptionalAuthority(reader);
+        Authority active = readOptionalAuthority(reader);
+        Authority posting = readOptionalAuthority(reader);
+        return new AccountUpdateOperation(account, owner, active, posting, reader.readPublicKey(),
+                reader.readString());
+    }
+
+    private static LimitOrderCreate2Operation decodeLimitOrderCreate2Operation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName owner = reader.readAccountName();
+        UInteger orderId = readUInteger(reader);
+        LegacyAsset amountToSell = reader.readLegacyAsset();
+        Price exchangeRate = reader.readPrice();
+        return new LimitOrderCreate2Operation(owner, orderId, amountToSell, reader.readBoolean(),
+                exchangeRate, reader.readTimePointSec());
+    }
+
+    private static EscrowApproveOperation decodeEscrowApproveOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName from = reader.readAccountName();
+        AccountName to = reader.readAccountName();
+        AccountName agent = reader.readAccountName();
+        AccountName who = reader.readAccountName();
+        return new EscrowApproveOperation(from, to, agent, readUnsignedInt(reader), who, reader.readBoolean());
+    }
+
+    private static EscrowDisputeOperation decodeEscrowDisputeOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName from = reader.readAccountName();
+        AccountName to = reader.readAccountName();
+        AccountName agent = reader.readAccountName();
+        AccountName who = reader.readAccountName();
+        return new EscrowDisputeOperation(from, to, agent, readUnsignedInt(reader), who);
+    }
+
+    private static EscrowReleaseOperation decodeEscrowReleaseOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName from = reader.readAccountName();
+        AccountName to = reader.readAccountName();
+        AccountName agent = reader.readAccountName();
+        AccountName who = reader.readAccountName();
+        AccountName receiver = reader.readAccountName();
+        return new EscrowReleaseOperation(from, to, agent, readUnsignedInt(reader), who, receiver,
+                reader.readLegacyAsset(), reader.readLegacyAsset());
+    }
+
+    private static TransferFromSavingsOperation decodeTransferFromSavingsOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        AccountName from = reader.readAccountName();
+        long requestId = readUnsignedInt(reader);
+        return new TransferFromSavingsOperation(from, reader.readAccountName(), reader.readLegacyAsset(), requestId,
+                reader.readString());
+    }
+
+    private static CustomBinaryOperation decodeCustomBinaryOperation(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        List<AccountName> requiredOwnerAuths = readAccountNames(reader);
+        List<AccountName> requiredActiveAuths = readAccountNames(reader);
+        List<AccountName> requiredPostingAuths = readAccountNames(reader);
+
+        int numberOfRequiredAuths = reader.readLength();
+        List<Authority> requiredAuths = new ArrayList<>(numberOfRequiredAuths);
+        for (int i = 0; i < numberOfRequiredAuths; i++) {
+            requiredAuths.add(reader.readAuthority());
+        }
+
+        return new CustomBinaryOperation(requiredOwnerAuths, requiredActiveAuths, requiredPostingAuths,
+                requiredAuths, reader.readString(), CryptoUtils.HEX.encode(reader.readVarBytes()));
+    }
+
+    /**
+     * Read an <code>optional&lt;authority&gt;</code> which is prefixed by a
+     * flag that indicates if the authority is present.
+     * 
+     * @param reader
+     *            The reader to use.
+     * @return The authority or <code>null</code> if it is not present.
+     * @throws SteemInvalidTransactionException
+     *             If the data is not a valid authority.
+     */
+    private static Authority readOptionalAuthority(ByteArrayReader reader) throws SteemInvalidTransactionException {
+        if (reader.readBoolean()) {
+            return reader.readAuthority();
+        }
+
+        return null;
+    }
+
+    private static List<AccountName> readAccountNames(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        int numberOfAccountNames = reader.readLength();
+        List<AccountName> accountNames = new ArrayList<>(numberOfAccountNames);
+        for (int i = 0; i < numberOfAccountNames; i++) {
+            accountNames.add(reader.readAccountName());
+        }
+
+        return accountNames;
+    }
+
+    /**
+     * Read a list of "future_extensions" which are written as a single
+     * <code>0x00</code> byte each.
+     * 
+     * @param reader
+     *            The reader to use.
+     * @return The list of extensions.
+     * @throws SteemInvalidTransactionException
+     *             If an unknown extension is found.
+     */
+    public static List<FutureExtensions> readFutureExtensions(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        int numberOfExtensions = reader.readLength();
+        List<FutureExtensions> extensions = new ArrayList<>(numberOfExtensions);
+        for (int i = 0; i < numberOfExtensions; i++) {
+            long extensionType = reader.readVarInt();
+            if (extensionType != 0) {
+                throw new SteemInvalidTransactionException("Unknown future extension type " + extensionType + ".");
+            }
+            extensions.add(new FutureExtensions());
+        }
+
+        return extensions;
+    }
+
+    private static List<CommentOptionsExtension> readCommentOptionsExtensions(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        int numberOfExtensions = reader.readLength();
+        List<CommentOptionsExtension> extensions = new ArrayList<>(numberOfExtensions);
+        for (int i = 0; i < numberOfExtensions; i++) {
+            long extensionType = reader.readVarInt();
+            if (extensionType != CommentOptionsExtensionsType.COMMENT_PAYOUT_BENEFICIARIES.ordinal()) {
+                throw new SteemInvalidTransactionException(
+                        "Unknown comment options extension type " + extensionType + ".");
+            }
+
+            int numberOfBeneficiaries = reader.readLength();
+            List<BeneficiaryRouteType> beneficiaries = new ArrayList<>(numberOfBeneficiaries);
+            for (int j = 0; j < numberOfBeneficiaries; j++) {
+                beneficiaries.add(new BeneficiaryRouteType(reader.readAccountName(), reader.readShort()));
+            }
+
+            CommentPayoutBeneficiaries commentPayoutBeneficiaries = new CommentPayoutBeneficiaries();
+            commentPayoutBeneficiaries.setBeneficiaries(beneficiaries);
+            extensions.add(commentPayoutBeneficiaries);
+        }
+
+        return extensions;
+    }
+
+    private static ChainProperties readChainProperties(ByteArrayReader reader)
+            throws SteemInvalidTransactionException {
+        LegacyAsset accountCreationFee = reader.readLegacyAsset();
+        long maximumBlockSize = readUnsignedInt(reader);
+        return new ChainProperties(accountCreationFee, maximumBlockSize, reader.readShort() & 0xFFFF);
+    }
+
+    private static URL readUrl(ByteArrayReader reader) throws SteemInvalidTransactionException {
+        String url = reader.readString();
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new SteemInvalidTransactionException("The url '" + url + "' is not valid.", e);
+        }
+    }
+
+    private static long readUnsignedInt(ByteArrayReader reader) throws SteemInvalidTransactionException {
+        return reader.readInt() & 0xFFFFFFFFL;
+    }
+
+    private static UInteger readUInteger(ByteArrayReader reader) throws SteemInvalidTransactionException {
+        return UInteger.valueOf(readUnsignedInt(reader));
+    }
+}
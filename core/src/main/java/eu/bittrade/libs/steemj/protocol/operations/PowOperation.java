@@ -19,31 +19,38 @@ package eu.bittrade.libs.steemj.protocol.operations;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.joou.ULong;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import eu.bittrade.libs.steemj.base.models.ChainProperties;
 import eu.bittrade.libs.steemj.base.models.Checksum;
 import eu.bittrade.libs.steemj.base.models.Pow;
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "pow_operation" object.
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class PowOperation extends Operation {
     @JsonProperty("worker_account")
     private AccountName workerAccount;
     @JsonProperty("block_id")
     private Checksum blockId;
+    // Steem writes 64 bit integers as strings, which is the only way to
+    // read nonces above Long.MAX_VALUE again.
     @JsonProperty("nonce")
+    @JsonSerialize(using = ToStringSerializer.class)
     private ULong nonce;
     @JsonProperty("work")
     private Pow work;
@@ -145,7 +152,7 @@ public class PowOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -22,10 +22,10 @@ import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
@@ -33,6 +33,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.SignedBlockHeader;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -40,6 +41,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class ReportOverProductionOperation extends Operation {
     @JsonProperty("reporter")
     private AccountName reporter;
@@ -74,6 +76,7 @@ public class ReportOverProductionOperation extends Operation {
      * @throws InvalidParameterException
      *             If one of the arguments does not fulfill the requirements.
      */
+    @JsonCreator
     public ReportOverProductionOperation(@JsonProperty("reporter") AccountName reporter,
             @JsonProperty("first_block") SignedBlockHeader firstBlock,
             @JsonProperty("second_block") SignedBlockHeader secondBlock) {
@@ -180,7 +183,7 @@ public class ReportOverProductionOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -23,11 +23,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
@@ -35,6 +35,7 @@ import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -42,6 +43,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class RequestAccountRecoveryOperation extends Operation {
     @JsonProperty("recovery_account")
     private AccountName recoveryAccount;
@@ -99,6 +101,7 @@ public class RequestAccountRecoveryOperation extends Operation {
      * @throws InvalidParameterException
      *             If one of the arguments does not fulfill the requirements.
      */
+    @JsonCreator
     public RequestAccountRecoveryOperation(@JsonProperty("recovery_account") AccountName recoveryAccount,
             @JsonProperty("account_to_recover") AccountName accountToRecover,
             @JsonProperty("new_owner_authority") Authority newOwnerAuthority,
@@ -254,7 +257,7 @@ public class RequestAccountRecoveryOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -7,13 +7,12 @@ import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.base.models.ChainProperties;
 import eu.bittrade.libs.steemj.base.models.FutureExtensions;
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.configuration.SteemJConfig;
 import eu.bittrade.libs.steemj.enums.OperationType;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
@@ -23,6 +22,7 @@ import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.LegacyAsset;
 import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 import eu.bittrade.libs.steemj.util.SteemJUtils;
 
 /**
@@ -30,6 +30,7 @@ import eu.bittrade.libs.steemj.util.SteemJUtils;
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class WitnessSetPropertiesOperation extends Operation {
     @JsonProperty("owner")
     private AccountName owner;
@@ -77,7 +78,7 @@ public class WitnessSetPropertiesOperation extends Operation {
      */
     @JsonCreator
     public WitnessSetPropertiesOperation(@JsonProperty("owner") AccountName owner, @JsonProperty("url") URL url,
-            @JsonProperty("block_signing_key") PublicKey newSigningKey,
+            @JsonProperty("new_signing_key") PublicKey newSigningKey,
             @JsonProperty("props") ChainProperties properties, @JsonProperty("fee") LegacyAsset fee,
             @JsonProperty("extensions") List<FutureExtensions> extensions) {
         super(false);
@@ -288,7 +289,7 @@ public class WitnessSetPropertiesOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
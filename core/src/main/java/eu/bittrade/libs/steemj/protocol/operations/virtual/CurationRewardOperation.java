@@ -19,16 +19,16 @@ package eu.bittrade.libs.steemj.protocol.operations.virtual;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.value.CurationRewardValue;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents a "curation_reward_operation" object.
@@ -38,6 +38,7 @@ import eu.bittrade.libs.steemj.protocol.operations.virtual.value.CurationRewardV
  * 
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
+@GenerateJsonDeserializer
 public class CurationRewardOperation extends Operation {
 	@JsonProperty("value")
 	private CurationRewardValue curationRewardValue;
@@ -68,7 +69,7 @@ public class CurationRewardOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
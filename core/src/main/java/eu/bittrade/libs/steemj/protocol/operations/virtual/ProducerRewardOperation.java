@@ -19,17 +19,17 @@ package eu.bittrade.libs.steemj.protocol.operations.virtual;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
+import eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer;
 import eu.bittrade.libs.steemj.enums.PrivateKeyType;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
 import eu.bittrade.libs.steemj.interfaces.SignatureObject;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.virtual.value.ProducerRewardOperationValue;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 /**
  * This class represents the Steem "producer_reward_operation" object.
@@ -39,6 +39,7 @@ import eu.bittrade.libs.steemj.protocol.operations.virtual.value.ProducerRewardO
  * @author <a href="http://steemit.com/@dez1337">dez1337</a>
  */
 @JsonTypeName("producer_reward_operation")
+@GenerateJsonDeserializer
 public class ProducerRewardOperation extends Operation {
 	@JsonProperty("value")
 	private ProducerRewardOperationValue value;
@@ -70,7 +71,7 @@ public class ProducerRewardOperation extends Operation {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this);
+        return DebugRenderer.render(this);
     }
 
     @Override
@@ -1,11 +1,10 @@
 package eu.bittrade.libs.steemj.protocol.operations.virtual.value;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import eu.bittrade.libs.steemj.protocol.AccountName;
 import eu.bittrade.libs.steemj.protocol.Asset;
+import eu.bittrade.libs.steemj.util.DebugRenderer;
 
 public class InterestOperationValue {
 	@JsonProperty("owner")
@@ -33,7 +32,7 @@ public class InterestOperationValue {
 
 	@Override
 	public String toString() {
-		return ToStringBuilder.reflectionToString(this);
+		return DebugRenderer.render(this);
 	}
 
 }
@@ -16,8 +16,9 @@
  */
 package eu.bittrade.libs.steemj.util;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -37,22 +38,29 @@ class BrainkeyDictionaryManager {
     private static final String DICTIONARY_FILE_NAME = "dictionary.txt";
     private static final String DICTIONARY_DELIMITER = ",";
 
-    private static BrainkeyDictionaryManager brainkeyDictionaryManagerInstance;
-    private String[] brainKeyDictionary;
+    private final String[] brainKeyDictionary;
 
     /**
      * Create a a new BrainkeyDictionaryManager instance. This method will load
-     * and split the {@link #DICTIONARY_FILE_NAME}.
+     * and split the {@link #DICTIONARY_FILE_NAME}. The dictionary is read as a
+     * stream from the classpath, so it can also be loaded if SteemJ is
+     * packaged as a JAR file.
      * 
      * @throws IOException
      *             If there is a problem loading the file.
      */
     private BrainkeyDictionaryManager() throws IOException {
-        FileReader fileReader = new FileReader(getClass().getClassLoader().getResource(DICTIONARY_FILE_NAME).getFile());
+        InputStream dictionaryStream = BrainkeyDictionaryManager.class.getClassLoader()
+                .getResourceAsStream(DICTIONARY_FILE_NAME);
+        if (dictionaryStream == null) {
+            throw new IOException("The file " + DICTIONARY_FILE_NAME + " could not be found on the classpath.");
+        }
+
         try {
-            this.brainKeyDictionary = IOUtils.toString(fileReader).split(DICTIONARY_DELIMITER);
+            this.brainKeyDictionary = IOUtils.toString(dictionaryStream, StandardCharsets.UTF_8)
+                    .split(DICTIONARY_DELIMITER);
         } finally {
-            fileReader.close();
+            dictionaryStream.close();
         }
     }
 
@@ -71,15 +79,36 @@ class BrainkeyDictionaryManager {
      * @return The current BrainkeyDictionaryManager instance.
      */
     public static BrainkeyDictionaryManager getInstance() {
-        try {
-            if (brainkeyDictionaryManagerInstance == null) {
-                brainkeyDictionaryManagerInstance = new BrainkeyDictionaryManager();
-            }
-        } catch (IOException e) {
-            // This should never happen.
-            LOGGER.error("Could not create a new BrainkeyDictionaryManager instance.", e);
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Holds the only instance, which is loaded by the JVM when
+     * {@link BrainkeyDictionaryManager#getInstance()} is called for the first
+     * time, so the dictionary is read exactly once even if many threads
+     * request it at the same time.
+     */
+    private static class InstanceHolder {
+        private static final BrainkeyDictionaryManager INSTANCE = createInstance();
+
+        /** Add a private constructor to hide the implicit public one. */
+        private InstanceHolder() {
         }
 
-        return brainkeyDictionaryManagerInstance;
+        /**
+         * Load the dictionary.
+         * 
+         * @return The new instance or <code>null</code> if the dictionary
+         *         could not be loaded.
+         */
+        private static BrainkeyDictionaryManager createInstance() {
+            try {
+                return new BrainkeyDictionaryManager();
+            } catch (IOException e) {
+                // This should never happen.
+                LOGGER.error("Could not create a new BrainkeyDictionaryManager instance.", e);
+                return null;
+            }
+        }
     }
 }
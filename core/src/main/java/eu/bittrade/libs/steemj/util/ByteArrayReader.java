@@ -0,0 +1,380 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.Price;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+
+/**
+ * This class is the counterpart of the <code>transform...ToByteArray</code>
+ * methods provided by {@link SteemJUtils}: It reads the Graphene binary
+ * representation of the basic Steem types from a byte array.
+ * 
+ * All multi byte values are read in little endian order. The reader is
+ * stateful and not thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ByteArrayReader {
+    /** The length of a serialized, compressed public key. */
+    private static final int PUBLIC_KEY_LENGTH = 33;
+    /** The maximal length of a legacy asset symbol. */
+    private static final int LEGACY_SYMBOL_LENGTH = 7;
+
+    private final byte[] data;
+    private int position;
+
+    /**
+     * Create a new reader for the given <code>data</code>.
+     * 
+     * @param data
+     *            The serialized object to read.
+     */
+    public ByteArrayReader(byte[] data) {
+        this(data, 0);
+    }
+
+    /**
+     * Create a new reader for the given <code>data</code> which starts reading
+     * at the given <code>offset</code>.
+     * 
+     * @param data
+     *            The serialized object to read.
+     * @param offset
+     *            The index of the first byte to read.
+     */
+    public ByteArrayReader(byte[] data, int offset) {
+        this.data = SteemJUtils.setIfNotNull(data, "The data to read needs to be provided.");
+        this.position = offset;
+    }
+
+    /**
+     * @return The index of the next byte to read.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return The number of bytes that have not been read yet.
+     */
+    public int remaining() {
+        return data.length - position;
+    }
+
+    /**
+     * @return <code>true</code> if there are bytes left to read, otherwise
+     *         <code>false</code>.
+     */
+    public boolean hasRemaining() {
+        return position < data.length;
+    }
+
+    /**
+     * Make sure that <code>length</code> bytes can be read.
+     * 
+     * @param length
+     *            The number of bytes that should be read.
+     * @throws SteemInvalidTransactionException
+     *             If less than <code>length</code> bytes are left.
+     */
+    private void require(int length) throws SteemInvalidTransactionException {
+        if (length < 0 || remaining() < length) {
+            throw new SteemInvalidTransactionException("Unexpected end of data: Tried to read " + length
+                    + " byte(s) at position " + position + ", but only " + remaining() + " byte(s) are left.");
+        }
+    }
+
+    /**
+     * Read a single byte.
+     * 
+     * @return The byte.
+     * @throws SteemInvalidTransactionException
+     *             If no byte is left.
+     */
+    public byte readByte() throws SteemInvalidTransactionException {
+        require(1);
+        return data[position++];
+    }
+
+    /**
+     * Read <code>length</code> bytes.
+     * 
+     * @param length
+     *            The number of bytes to read.
+     * @return The bytes.
+     * @throws SteemInvalidTransactionException
+     *             If less than <code>length</code> bytes are left.
+     */
+    public byte[] readBytes(int length) throws SteemInvalidTransactionException {
+        require(length);
+        byte[] result = new byte[length];
+        System.arraycopy(data, position, result, 0, length);
+        position += length;
+        return result;
+    }
+
+    /**
+     * Read a boolean value which is stored as a single byte.
+     * 
+     * @return The boolean value.
+     * @throws SteemInvalidTransactionException
+     *             If no byte is left.
+     */
+    public boolean readBoolean() throws SteemInvalidTransactionException {
+        return readByte() != 0;
+    }
+
+    /**
+     * Read a two byte value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If less than two bytes are left.
+     */
+    public short readShort() throws SteemInvalidTransactionException {
+        require(2);
+        int value = (data[position] & 0xFF) | ((data[position + 1] & 0xFF) << 8);
+        position += 2;
+        return (short) value;
+    }
+
+    /**
+     * Read a four byte value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If less than four bytes are left.
+     */
+    public int readInt() throws SteemInvalidTransactionException {
+        require(4);
+        int value = (data[position] & 0xFF) | ((data[position + 1] & 0xFF) << 8)
+                | ((data[position + 2] & 0xFF) << 16) | ((data[position + 3] & 0xFF) << 24);
+        position += 4;
+        return value;
+    }
+
+    /**
+     * Read an eight byte value.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If less than eight bytes are left.
+     */
+    public long readLong() throws SteemInvalidTransactionException {
+        long low = readInt() & 0xFFFFFFFFL;
+        long high = readInt() & 0xFFFFFFFFL;
+        return low | (high << 32);
+    }
+
+    /**
+     * Read a variable length integer as written by
+     * {@link SteemJUtils#transformLongToVarIntByteArray(long)}.
+     * 
+     * @return The value.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the VarInt is complete or if the
+     *             VarInt is longer than 64 bit.
+     */
+    public long readVarInt() throws SteemInvalidTransactionException {
+        long value = 0;
+        int shift = 0;
+        byte currentByte;
+
+        do {
+            if (shift > 63) {
+                throw new SteemInvalidTransactionException("The VarInt at position " + position + " is too long.");
+            }
+            currentByte = readByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while ((currentByte & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Read a VarInt that is used as the length of an array or a String.
+     * 
+     * @return The length.
+     * @throws SteemInvalidTransactionException
+     *             If the length is negative or exceeds the remaining bytes.
+     */
+    public int readLength() throws SteemInvalidTransactionException {
+        long length = readVarInt();
+        // Each element needs at least one byte.
+        if (length < 0 || length > remaining()) {
+            throw new SteemInvalidTransactionException(
+                    "Invalid length " + length + " at position " + position + ".");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Read a String as written by
+     * {@link SteemJUtils#transformStringToVarIntByteArray(String)}.
+     * 
+     * @return The String.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the String is complete.
+     */
+    public String readString() throws SteemInvalidTransactionException {
+        int length = readLength();
+        String value = new String(data, position, length, SteemJConfig.getInstance().getEncodingCharset());
+        position += length;
+        return value;
+    }
+
+    /**
+     * Read a VarInt length prefixed byte array.
+     * 
+     * @return The bytes.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the array is complete.
+     */
+    public byte[] readVarBytes() throws SteemInvalidTransactionException {
+        return readBytes(readLength());
+    }
+
+    /**
+     * Read an {@link AccountName}.
+     * 
+     * @return The account name.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the account name is complete.
+     */
+    public AccountName readAccountName() throws SteemInvalidTransactionException {
+        return new AccountName(readString());
+    }
+
+    /**
+     * Read a {@link Permlink}.
+     * 
+     * @return The permlink.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the permlink is complete.
+     */
+    public Permlink readPermlink() throws SteemInvalidTransactionException {
+        return new Permlink(readString());
+    }
+
+    /**
+     * Read a {@link TimePointSec}, which is stored as the number of seconds
+     * since the epoch.
+     * 
+     * @return The time point.
+     * @throws SteemInvalidTransactionException
+     *             If less than four bytes are left.
+     */
+    public TimePointSec readTimePointSec() throws SteemInvalidTransactionException {
+        return new TimePointSec((readInt() & 0xFFFFFFFFL) * 1000L);
+    }
+
+    /**
+     * Read a {@link PublicKey} in its compressed form.
+     * 
+     * @return The public key.
+     * @throws SteemInvalidTransactionException
+     *             If less than 33 bytes are left or if the bytes are not a
+     *             valid point.
+     */
+    public PublicKey readPublicKey() throws SteemInvalidTransactionException {
+        byte[] publicKey = readBytes(PUBLIC_KEY_LENGTH);
+        try {
+            return new PublicKey(ECKey.fromPublicOnly(publicKey));
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("Could not decode the public key.", e);
+        }
+    }
+
+    /**
+     * Read a {@link LegacyAsset}.
+     * 
+     * @return The asset.
+     * @throws SteemInvalidTransactionException
+     *             If less than 16 bytes are left or if the symbol is unknown.
+     */
+    public LegacyAsset readLegacyAsset() throws SteemInvalidTransactionException {
+        long amount = readLong();
+        // The precision is derived from the symbol.
+        readByte();
+        byte[] symbol = readBytes(LEGACY_SYMBOL_LENGTH);
+
+        int symbolLength = 0;
+        while (symbolLength < LEGACY_SYMBOL_LENGTH && symbol[symbolLength] != 0) {
+            symbolLength++;
+        }
+
+        String symbolName = new String(symbol, 0, symbolLength, SteemJConfig.getInstance().getEncodingCharset());
+        try {
+            return new LegacyAsset(amount, LegacyAssetSymbolType.valueOf(symbolName));
+        } catch (IllegalArgumentException e) {
+            throw new SteemInvalidTransactionException("Unknown asset symbol '" + symbolName + "'.", e);
+        }
+    }
+
+    /**
+     * Read a {@link Price}.
+     * 
+     * @return The price.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the price is complete.
+     */
+    public Price readPrice() throws SteemInvalidTransactionException {
+        return new Price(readLegacyAsset(), readLegacyAsset());
+    }
+
+    /**
+     * Read an {@link Authority}.
+     * 
+     * @return The authority.
+     * @throws SteemInvalidTransactionException
+     *             If the data ends before the authority is complete.
+     */
+    public Authority readAuthority() throws SteemInvalidTransactionException {
+        Authority authority = new Authority();
+        authority.setWeightThreshold(readInt() & 0xFFFFFFFFL);
+
+        int numberOfAccountAuths = readLength();
+        Map<AccountName, Integer> accountAuths = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfAccountAuths; i++) {
+            accountAuths.put(readAccountName(), readShort() & 0xFFFF);
+        }
+        authority.setAccountAuths(accountAuths);
+
+        int numberOfKeyAuths = readLength();
+        Map<PublicKey, Integer> keyAuths = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfKeyAuths; i++) {
+            keyAuths.put(readPublicKey(), readShort() & 0xFFFF);
+        }
+        authority.setKeyAuths(keyAuths);
+
+        return authority;
+    }
+}
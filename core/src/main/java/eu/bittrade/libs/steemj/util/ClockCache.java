@@ -0,0 +1,238 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.security.InvalidParameterException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded cache for values that are expensive to create and looked up by
+ * many threads, like pooled Strings or decoded public keys.
+ * 
+ * Looking up a value does not lock and only marks the value as used. Once the
+ * cache is full, values that have not been used since the last eviction round
+ * are removed (a "CLOCK" approximation of least recently used eviction), so
+ * the cache keeps the frequently used values even if it is used for a long
+ * time. The cache may briefly exceed its maximum size while another thread is
+ * evicting. Setting the maximum size to 0 disables and empties the cache.
+ * 
+ * This class is thread safe.
+ * 
+ * @param <K>
+ *            The type of the keys.
+ * @param <V>
+ *            The type of the cached values.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ClockCache<K, V> {
+    private final ConcurrentMap<K, CachedValue<K, V>> cachedValues = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    /** The position of the eviction, only accessed while evicting. */
+    private Iterator<CachedValue<K, V>> clockHand;
+    private volatile int maximumSize;
+
+    /**
+     * Create a new cache.
+     * 
+     * @param maximumSize
+     *            The maximum number of values stored by this cache.
+     * @throws InvalidParameterException
+     *             If the <code>maximumSize</code> is negative.
+     */
+    public ClockCache(int maximumSize) {
+        this.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * @return <code>true</code> if this cache stores values, or
+     *         <code>false</code> if its maximum size is 0.
+     */
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    /**
+     * Get the cached value of the given <code>key</code>.
+     * 
+     * @param key
+     *            The key to search for.
+     * @return The cached value or <code>null</code> if the key has not been
+     *         added to this cache.
+     */
+    public V get(K key) {
+        CachedValue<K, V> cachedValue = cachedValues.get(key);
+        if (cachedValue == null) {
+            return null;
+        }
+
+        cachedValue.markUsed();
+        return cachedValue.value;
+    }
+
+    /**
+     * Add the <code>value</code> of the given <code>key</code> to this cache,
+     * unless a value has been added for this key already. If the cache is
+     * full, values that have not been used recently are removed.
+     * 
+     * @param key
+     *            The key of the value.
+     * @param value
+     *            The value to add.
+     * @return The value that is cached for the <code>key</code> or the given
+     *         <code>value</code> if this cache is disabled.
+     */
+    public V putIfAbsent(K key, V value) {
+        if (!isEnabled()) {
+            return value;
+        }
+
+        CachedValue<K, V> newCachedValue = new CachedValue<>(key, value);
+        CachedValue<K, V> cachedValue = cachedValues.putIfAbsent(key, newCachedValue);
+        if (cachedValue != null) {
+            cachedValue.markUsed();
+            return cachedValue.value;
+        }
+
+        if (size.incrementAndGet() > maximumSize) {
+            evict(newCachedValue);
+        }
+        return value;
+    }
+
+    /**
+     * @return The number of cached values.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Remove all values from this cache.
+     */
+    public void clear() {
+        for (CachedValue<K, V> cachedValue : cachedValues.values()) {
+            if (cachedValues.remove(cachedValue.key, cachedValue)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return The maximum number of values stored by this cache.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Change the maximum number of values stored by this cache. If the new
+     * maximum size is smaller, values that have not been used recently are
+     * removed.
+     * 
+     * @param maximumSize
+     *            The maximum number of values to store or 0 to disable this
+     *            cache.
+     * @throws InvalidParameterException
+     *             If the <code>maximumSize</code> is negative.
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new InvalidParameterException("The maximum size of a cache can't be negative.");
+        }
+
+        this.maximumSize = maximumSize;
+        if (maximumSize == 0) {
+            clear();
+        } else {
+            evict(null);
+        }
+    }
+
+    /**
+     * Remove values that have not been used since the clock hand passed them
+     * the last time until this cache does not exceed its maximum size. Only
+     * one thread evicts at a time, other threads return immediately.
+     * 
+     * @param protectedValue
+     *            A value that has just been added and must not be removed or
+     *            <code>null</code>.
+     */
+    private void evict(CachedValue<K, V> protectedValue) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            // Two rounds are enough to clear and remove every value.
+            long remainingSteps = 2L * (size.get() + 1);
+            while (size.get() > maximumSize && remainingSteps-- > 0) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = cachedValues.values().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+
+                CachedValue<K, V> cachedValue = clockHand.next();
+                if (cachedValue == protectedValue) {
+                    continue;
+                } else if (cachedValue.used) {
+                    cachedValue.used = false;
+                } else if (cachedValues.remove(cachedValue.key, cachedValue)) {
+                    size.decrementAndGet();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * A cached value and whether it has been used since the clock hand passed
+     * it the last time.
+     */
+    private static final class CachedValue<K, V> {
+        private final K key;
+        private final V value;
+        private volatile boolean used;
+
+        /**
+         * Create a new entry for the given <code>key</code> and
+         * <code>value</code>.
+         */
+        private CachedValue(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Mark this value as used. Values that are already marked are not
+         * written again, so frequently used values are only read.
+         */
+        private void markUsed() {
+            if (!used) {
+                used = true;
+            }
+        }
+    }
+}
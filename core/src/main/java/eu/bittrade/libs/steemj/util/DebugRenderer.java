@@ -0,0 +1,461 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+
+/**
+ * This class renders objects for debug and log output.
+ * 
+ * In contrast to <code>ToStringBuilder.reflectionToString</code>, the fields
+ * of a class are only looked up once and the output is limited to
+ * {@link #MAXIMUM_LENGTH} characters, {@link #MAXIMUM_ELEMENTS} elements per
+ * collection and {@link #MAXIMUM_DEPTH} nested objects. Rendering a large
+ * block or response therefore stops as soon as the limit is reached instead
+ * of serializing the whole object.
+ * 
+ * Only the fields that are part of the JSON representation of a class are
+ * rendered: Fields annotated with {@link JsonProperty} and fields that have a
+ * public getter, unless one of them is annotated with {@link JsonIgnore}.
+ * Internal state like caches is therefore never rendered. Classes that are
+ * written by their own {@link JsonSerialize serializer}, like public keys,
+ * are rendered as their JSON value.
+ * 
+ * The output looks like
+ * <code>ClassName[field=value,otherField=[element, element, ...]]</code>.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class DebugRenderer {
+    /** The maximum number of characters rendered for a single object. */
+    public static final int MAXIMUM_LENGTH = 4096;
+    /** The maximum number of elements rendered for a collection or array. */
+    public static final int MAXIMUM_ELEMENTS = 32;
+    /** The maximum number of nested objects rendered field by field. */
+    public static final int MAXIMUM_DEPTH = 8;
+
+    private static final String TRUNCATION_MARKER = "...";
+    private static final String NULL_VALUE = "<null>";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The renderable fields per class or <code>null</code> if the class is
+     * rendered as its JSON value.
+     */
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            if (hasSerializer(type)) {
+                return null;
+            }
+
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current
+                    .getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()
+                            && isJsonProperty(type, field)) {
+                        fields.add(field);
+                    }
+                }
+            }
+
+            Field[] renderableFields = fields.toArray(new Field[fields.size()]);
+            AccessibleObject.setAccessible(renderableFields, true);
+            return renderableFields;
+        }
+    };
+
+    /** The output of the object currently rendered by this thread. */
+    private static final ThreadLocal<Output> ACTIVE_OUTPUTS = new ThreadLocal<>();
+
+    /** Add a private constructor to hide the implicit public one. */
+    private DebugRenderer() {
+    }
+
+    /**
+     * Render the fields of the given <code>object</code>. This method is meant
+     * to be called by the <code>toString()</code> method of a model class.
+     * 
+     * @param object
+     *            The object to render.
+     * @return The rendered object, limited to {@link #MAXIMUM_LENGTH}
+     *         characters.
+     */
+    public static String render(Object object) {
+        Output activeOutput = ACTIVE_OUTPUTS.get();
+        if (activeOutput != null && activeOutput.nestedObject == object) {
+            // The toString() method of a nested object calls this method, so
+            // it is rendered into the output of the outer object.
+            activeOutput.nestedObject = null;
+            renderFields(object, activeOutput);
+            return "";
+        }
+
+        Output output = new Output();
+        ACTIVE_OUTPUTS.set(output);
+        try {
+            if (object == null) {
+                output.append(NULL_VALUE);
+            } else {
+                renderFields(object, output);
+            }
+        } finally {
+            ACTIVE_OUTPUTS.set(activeOutput);
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Wrap the given <code>value</code> so that it is only rendered if its
+     * <code>toString()</code> method is called, e.g. by a logger that has the
+     * corresponding log level enabled.
+     * 
+     * <p>
+     * Example: <code>LOGGER.debug("Received {}.", DebugRenderer.lazy(response));</code>
+     * </p>
+     * 
+     * @param value
+     *            The value to render. Besides model objects, long Strings and
+     *            JSON nodes are shortened too.
+     * @return An object whose <code>toString()</code> method renders the
+     *         <code>value</code>, limited to {@link #MAXIMUM_LENGTH}
+     *         characters.
+     */
+    public static Object lazy(final Object value) {
+        return new Object() {
+            @Override
+            public String toString() {
+                Output output = new Output();
+                Output activeOutput = ACTIVE_OUTPUTS.get();
+                ACTIVE_OUTPUTS.set(output);
+                try {
+                    renderValue(value, output);
+                } finally {
+                    ACTIVE_OUTPUTS.set(activeOutput);
+                }
+
+                return output.toString();
+            }
+        };
+    }
+
+    /**
+     * @return <code>true</code> if the <code>type</code> is written by its own
+     *         JSON serializer instead of field by field.
+     */
+    private static boolean hasSerializer(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current
+                .getSuperclass()) {
+            JsonSerialize jsonSerialize = current.getAnnotation(JsonSerialize.class);
+            if (jsonSerialize != null && jsonSerialize.using() != JsonSerializer.None.class) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if the <code>field</code> is part of the JSON
+     *         representation of the <code>type</code>, which is the case if it
+     *         is annotated with {@link JsonProperty} or if it has a public
+     *         getter, and if neither of them is ignored.
+     */
+    private static boolean isJsonProperty(Class<?> type, Field field) {
+        if (field.isAnnotationPresent(JsonIgnore.class)) {
+            return false;
+        }
+
+        String name = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        Method getter = findGetter(type, "get" + name);
+        if (getter == null && (field.getType() == boolean.class || field.getType() == Boolean.class)) {
+            getter = findGetter(type, "is" + name);
+        }
+
+        if (getter != null && getter.isAnnotationPresent(JsonIgnore.class)) {
+            return false;
+        }
+
+        return getter != null || field.isAnnotationPresent(JsonProperty.class);
+    }
+
+    /**
+     * @return The public, non-static getter of the <code>type</code> with the
+     *         given <code>name</code> or <code>null</code> if there is none.
+     */
+    private static Method findGetter(Class<?> type, String name) {
+        try {
+            Method getter = type.getMethod(name);
+            return Modifier.isStatic(getter.getModifiers()) || getter.getReturnType() == void.class ? null
+                    : getter;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Append the class name and the JSON properties of the
+     * <code>object</code>.
+     */
+    private static void renderFields(Object object, Output output) {
+        if (output.isFull()) {
+            return;
+        }
+
+        output.append(object.getClass().getSimpleName());
+        if (output.depth >= MAXIMUM_DEPTH) {
+            output.append("[" + TRUNCATION_MARKER + "]");
+            return;
+        }
+
+        output.depth++;
+        output.append("[");
+        Field[] fields = FIELDS.get(object.getClass());
+        if (fields == null) {
+            renderJson(object, output);
+        } else {
+            for (int i = 0; i < fields.length && !output.isFull(); i++) {
+                if (i > 0) {
+                    output.append(",");
+                }
+
+                output.append(fields[i].getName());
+                output.append("=");
+                try {
+                    renderValue(fields[i].get(object), output);
+                } catch (IllegalAccessException e) {
+                    output.append("<" + e.getMessage() + ">");
+                }
+            }
+        }
+        output.append("]");
+        output.depth--;
+    }
+
+    /**
+     * Append a single value.
+     */
+    private static void renderValue(Object value, Output output) {
+        if (output.isFull()) {
+            return;
+        } else if (value == null) {
+            output.append(NULL_VALUE);
+        } else if (value instanceof CharSequence) {
+            output.append((CharSequence) value);
+        } else if (value instanceof JsonNode) {
+            renderJson(value, output);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            int numberOfBytes = Math.min(bytes.length, output.getRemainingLength() / 2 + 1);
+            output.append(CryptoUtils.HEX.encode(bytes, 0, numberOfBytes));
+        } else if (value.getClass().isArray()) {
+            renderElements(new ArrayIterator(value), Array.getLength(value), output);
+        } else if (value instanceof Collection) {
+            renderElements(((Collection<?>) value).iterator(), ((Collection<?>) value).size(), output);
+        } else if (value instanceof Map) {
+            renderElements(((Map<?, ?>) value).entrySet().iterator(), ((Map<?, ?>) value).size(), output);
+        } else if (value instanceof Entry) {
+            renderValue(((Entry<?, ?>) value).getKey(), output);
+            output.append("=");
+            renderValue(((Entry<?, ?>) value).getValue(), output);
+        } else {
+            // Model classes call render(this) from their toString() method,
+            // which continues in the current output.
+            Output previousOutput = ACTIVE_OUTPUTS.get();
+            ACTIVE_OUTPUTS.set(output);
+            output.nestedObject = value;
+            try {
+                output.append(value.toString());
+            } finally {
+                output.nestedObject = null;
+                ACTIVE_OUTPUTS.set(previousOutput);
+            }
+        }
+    }
+
+    /**
+     * Append the first {@link #MAXIMUM_ELEMENTS} elements.
+     */
+    private static void renderElements(Iterator<?> elements, int numberOfElements, Output output) {
+        output.append("[");
+        for (int i = 0; elements.hasNext() && !output.isFull(); i++) {
+            if (i > 0) {
+                output.append(", ");
+            }
+
+            if (i == MAXIMUM_ELEMENTS) {
+                output.append(TRUNCATION_MARKER + " (" + numberOfElements + " elements)");
+                break;
+            }
+
+            renderValue(elements.next(), output);
+        }
+        output.append("]");
+    }
+
+    /**
+     * Append the JSON representation of the <code>value</code> until the
+     * output is full.
+     */
+    private static void renderJson(Object value, Output output) {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            MAPPER.writeValue(generator, value);
+        } catch (IOException | RuntimeException e) {
+            if (!output.isFull()) {
+                // The value could not be serialized.
+                output.append("<" + e.getMessage() + ">");
+            }
+        }
+    }
+
+    /**
+     * The text rendered so far, limited to {@link #MAXIMUM_LENGTH}
+     * characters. It is also a {@link Writer} so that JSON can be written to
+     * it directly.
+     */
+    private static final class Output extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private boolean full;
+        private int depth;
+        /** The object whose toString() method is currently called. */
+        private Object nestedObject;
+
+        /**
+         * @return <code>true</code> if no more text is appended.
+         */
+        private boolean isFull() {
+            return full;
+        }
+
+        /**
+         * Stop appending text and add the truncation marker.
+         */
+        private void markFull() {
+            if (!full) {
+                full = true;
+                text.append(TRUNCATION_MARKER);
+            }
+        }
+
+        /**
+         * @return The number of characters that can still be appended.
+         */
+        private int getRemainingLength() {
+            return MAXIMUM_LENGTH - text.length();
+        }
+
+        @Override
+        public Writer append(CharSequence value) {
+            if (!full) {
+                int remainingLength = getRemainingLength();
+                if (value.length() > remainingLength) {
+                    text.append(value, 0, remainingLength);
+                    markFull();
+                } else {
+                    text.append(value);
+                }
+            }
+
+            return this;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            if (full) {
+                throw new IOException("The maximum length has been reached.");
+            }
+
+            int remainingLength = getRemainingLength();
+            text.append(buffer, offset, Math.min(length, remainingLength));
+            if (length > remainingLength) {
+                markFull();
+                throw new IOException("The maximum length has been reached.");
+            }
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to do.
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do.
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    /**
+     * Iterates over the elements of an array of any type.
+     */
+    private static final class ArrayIterator implements Iterator<Object> {
+        private final Object array;
+        private int index;
+
+        /**
+         * Create a new iterator.
+         */
+        private ArrayIterator(Object array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < Array.getLength(array);
+        }
+
+        @Override
+        public Object next() {
+            return Array.get(array, index++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -43,6 +43,9 @@ import eu.bittrade.libs.steemj.protocol.PublicKey;
 public class KeyGenerator {
     private static final int BRAIN_KEY_WORD_COUNT = 16;
 
+    /** The random number generator shared by all key generators. */
+    private static SecureRandom secureRandom;
+
     private String brainKey;
     private ECKey privateKey;
 
@@ -167,21 +170,52 @@ public class KeyGenerator {
     public static String suggestBrainKey() throws SteemKeyHandlingException {
         ArrayList<String> brainKeyParts = new ArrayList<>();
 
-        try {
-            for (int i = 0; i < BRAIN_KEY_WORD_COUNT; i++) {
-                brainKeyParts.add(BrainkeyDictionaryManager.getInstance().getBrainKeyDictionary()[SecureRandom
-                        .getInstance("SHA1PRNG", "SUN")
-                        .nextInt(BrainkeyDictionaryManager.getInstance().getBrainKeyDictionary().length - 1)]
-                                .toUpperCase());
-            }
-        } catch (NoSuchAlgorithmException | NoSuchProviderException e) {
-            throw new SteemKeyHandlingException(
-                    "The algorithm used to provide a strong random number is not available on your system.", e);
+        SecureRandom random = getSecureRandom();
+        String[] brainKeyDictionary = BrainkeyDictionaryManager.getInstance().getBrainKeyDictionary();
+        for (int i = 0; i < BRAIN_KEY_WORD_COUNT; i++) {
+            brainKeyParts.add(brainKeyDictionary[random.nextInt(brainKeyDictionary.length - 1)].toUpperCase());
         }
 
         return StringUtils.join(brainKeyParts, " ");
     }
 
+    /**
+     * Generate a new random master password in the format used by the Steem
+     * wallets ("P" followed by a private key in its WIF representation). The
+     * password can be used to derive the keys of an account using the
+     * {@link PasswordKeyDeriver}.
+     * 
+     * @return The generated password.
+     * @throws SteemKeyHandlingException
+     *             If the algorithm used by the random generator is not
+     *             supported on your platform.
+     */
+    public static String suggestPassword() throws SteemKeyHandlingException {
+        return "P" + SteemJUtils.privateKeyToWIF(new ECKey(getSecureRandom()));
+    }
+
+    /**
+     * Get the random number generator shared by all key generators. Creating
+     * and seeding a new instance is expensive, so it is only done once.
+     * 
+     * @return The random number generator.
+     * @throws SteemKeyHandlingException
+     *             If the algorithm used by the random generator is not
+     *             supported on your platform.
+     */
+    private static synchronized SecureRandom getSecureRandom() throws SteemKeyHandlingException {
+        if (secureRandom == null) {
+            try {
+                secureRandom = SecureRandom.getInstance("SHA1PRNG", "SUN");
+            } catch (NoSuchAlgorithmException | NoSuchProviderException e) {
+                throw new SteemKeyHandlingException(
+                        "The algorithm used to provide a strong random number is not available on your system.", e);
+            }
+        }
+
+        return secureRandom;
+    }
+
     /**
      * Verify and set the brain key of this instance.
      * 
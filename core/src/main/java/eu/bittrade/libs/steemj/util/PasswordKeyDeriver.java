@@ -0,0 +1,202 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.crypto.core.Sha256Hash;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+
+/**
+ * This class derives the key pairs of accounts from their master passwords in
+ * the same way as the Steem wallets do. The private key of a role is the
+ * SHA-256 hash of the account name, the role and the password.
+ * 
+ * Calculating the public key of a private key is the expensive part of the
+ * derivation, so the key pairs of many accounts should be derived at once
+ * using {@link #deriveKeyPairs(Map)}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PasswordKeyDeriver {
+    /** The roles derived for every account. */
+    private static final PrivateKeyType[] ROLES = { PrivateKeyType.OWNER, PrivateKeyType.ACTIVE,
+            PrivateKeyType.POSTING, PrivateKeyType.MEMO };
+    /**
+     * The amount of key pairs derived by a single task without splitting it
+     * any further.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 16;
+
+    /** Add a private constructor to hide the implicit public one. */
+    private PasswordKeyDeriver() {
+    }
+
+    /**
+     * Derive the private and public key of a given type for the given
+     * <code>account</code>.
+     * 
+     * @param account
+     *            The account name to derive the key for.
+     * @param role
+     *            The key type that should be derived.
+     * @param steemPassword
+     *            The password of the <code>account</code> valid for the Steem
+     *            blockchain.
+     * @return The public key and the private key in its WIF representation.
+     */
+    public static ImmutablePair<PublicKey, String> deriveKeyPair(AccountName account, PrivateKeyType role,
+            String steemPassword) {
+        String seed = account.getName() + role.name().toLowerCase() + steemPassword;
+        byte[] seedAsByteArray = seed.getBytes(SteemJConfig.getInstance().getEncodingCharset());
+        ECKey keyPair = ECKey.fromPrivate(Sha256Hash.hash(seedAsByteArray, 0, seedAsByteArray.length));
+
+        return new ImmutablePair<>(new PublicKey(keyPair), SteemJUtils.privateKeyToWIF(keyPair));
+    }
+
+    /**
+     * Derive the owner, active, posting and memo key pairs for the given
+     * <code>account</code>.
+     * 
+     * @param account
+     *            The account name to derive the keys for.
+     * @param steemPassword
+     *            The password of the <code>account</code> valid for the Steem
+     *            blockchain.
+     * @return The key pairs per key type.
+     */
+    public static Map<PrivateKeyType, ImmutablePair<PublicKey, String>> deriveKeyPairs(AccountName account,
+            String steemPassword) {
+        Map<PrivateKeyType, ImmutablePair<PublicKey, String>> keyPairs = new EnumMap<>(PrivateKeyType.class);
+        for (PrivateKeyType role : ROLES) {
+            keyPairs.put(role, deriveKeyPair(account, role, steemPassword));
+        }
+
+        return keyPairs;
+    }
+
+    /**
+     * Derive the owner, active, posting and memo key pairs for many accounts
+     * in parallel using the {@link SharedForkJoinPool}.
+     * 
+     * @param passwordsPerAccount
+     *            The password per account.
+     * @return The key pairs per key type and account in the iteration order
+     *         of <code>passwordsPerAccount</code>.
+     */
+    public static Map<AccountName, Map<PrivateKeyType, ImmutablePair<PublicKey, String>>> deriveKeyPairs(
+            Map<AccountName, String> passwordsPerAccount) {
+        return deriveKeyPairs(passwordsPerAccount, SharedForkJoinPool.getInstance());
+    }
+
+    /**
+     * Like {@link #deriveKeyPairs(Map)}, but derives the key pairs using the
+     * given <code>forkJoinPool</code>.
+     * 
+     * @param passwordsPerAccount
+     *            The password per account.
+     * @param forkJoinPool
+     *            The pool used to derive the key pairs.
+     * @return The key pairs per key type and account in the iteration order
+     *         of <code>passwordsPerAccount</code>.
+     */
+    public static Map<AccountName, Map<PrivateKeyType, ImmutablePair<PublicKey, String>>> deriveKeyPairs(
+            Map<AccountName, String> passwordsPerAccount, ForkJoinPool forkJoinPool) {
+        List<AccountName> accountNames = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        for (Entry<AccountName, String> password : passwordsPerAccount.entrySet()) {
+            accountNames.add(password.getKey());
+            passwords.add(password.getValue());
+        }
+
+        @SuppressWarnings("unchecked")
+        ImmutablePair<PublicKey, String>[] keyPairs = new ImmutablePair[accountNames.size() * ROLES.length];
+        forkJoinPool.invoke(new DerivationTask(accountNames, passwords, keyPairs, 0, keyPairs.length));
+
+        Map<AccountName, Map<PrivateKeyType, ImmutablePair<PublicKey, String>>> keyPairsPerAccount;
+        keyPairsPerAccount = new LinkedHashMap<>();
+        for (int i = 0; i < accountNames.size(); i++) {
+            Map<PrivateKeyType, ImmutablePair<PublicKey, String>> keyPairsOfAccount = new EnumMap<>(
+                    PrivateKeyType.class);
+            for (int j = 0; j < ROLES.length; j++) {
+                keyPairsOfAccount.put(ROLES[j], keyPairs[i * ROLES.length + j]);
+            }
+
+            keyPairsPerAccount.put(accountNames.get(i), keyPairsOfAccount);
+        }
+
+        return keyPairsPerAccount;
+    }
+
+    /**
+     * This task derives a range of key pairs. Every account occupies
+     * {@link #ROLES ROLES.length} consecutive slots of the result. The task
+     * splits itself as long as the range is larger than the
+     * {@link #SEQUENTIAL_THRESHOLD}.
+     */
+    private static class DerivationTask extends RecursiveAction {
+        private static final long serialVersionUID = 2963504981526830211L;
+
+        private final transient List<AccountName> accountNames;
+        private final transient List<String> passwords;
+        private final transient ImmutablePair<PublicKey, String>[] keyPairs;
+        private final int start;
+        private final int end;
+
+        /**
+         * Create a task that derives the key pairs between <code>start</code>
+         * (inclusive) and <code>end</code> (exclusive).
+         */
+        private DerivationTask(List<AccountName> accountNames, List<String> passwords,
+                ImmutablePair<PublicKey, String>[] keyPairs, int start, int end) {
+            this.accountNames = accountNames;
+            this.passwords = passwords;
+            this.keyPairs = keyPairs;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > SEQUENTIAL_THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new DerivationTask(accountNames, passwords, keyPairs, start, middle),
+                        new DerivationTask(accountNames, passwords, keyPairs, middle, end));
+                return;
+            }
+
+            for (int i = start; i < end; i++) {
+                int accountIndex = i / ROLES.length;
+                keyPairs[i] = deriveKeyPair(accountNames.get(accountIndex), ROLES[i % ROLES.length],
+                        passwords.get(accountIndex));
+            }
+        }
+    }
+}
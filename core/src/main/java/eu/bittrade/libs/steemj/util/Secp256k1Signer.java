@@ -0,0 +1,202 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.math.BigInteger;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+import org.spongycastle.crypto.digests.SHA256Digest;
+import org.spongycastle.crypto.signers.HMacDSAKCalculator;
+import org.spongycastle.math.ec.ECMultiplier;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.math.ec.FixedPointCombMultiplier;
+import org.spongycastle.math.ec.FixedPointUtil;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.crypto.core.Sha256Hash;
+
+/**
+ * This class creates compact secp256k1 signatures as used by Steem.
+ *
+ * The result is equal to decoding the output of
+ * {@link ECKey#signMessage(Sha256Hash)}, but the signature is written
+ * directly into its 65 byte representation: Instead of trying to recover the
+ * public key up to four times, the recovery id is derived from the nonce point
+ * that has been calculated anyway. The nonces are generated as defined in
+ * RFC6979 and the multiplication with the generator uses a fixed-base comb
+ * whose tables are calculated once.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class Secp256k1Signer {
+    /** The size of a compact signature in bytes. */
+    public static final int COMPACT_SIGNATURE_SIZE = 65;
+
+    /**
+     * The comb width used for the precomputed generator tables. A width of 8
+     * results in 256 precomputed points and 32 point additions per signature.
+     */
+    private static final int COMB_WIDTH = 8;
+    private static final ECMultiplier BASE_POINT_MULTIPLIER = new FixedPointCombMultiplier();
+    private static final BigInteger CURVE_ORDER = ECKey.CURVE.getN();
+
+    static {
+        FixedPointUtil.precompute(ECKey.CURVE.getG(), COMB_WIDTH);
+    }
+
+    /** Add a private constructor to hide the implicit public one. */
+    private Secp256k1Signer() {
+    }
+
+    /**
+     * Sign the given <code>hash</code> and return the compact signature, which
+     * consists of the header byte (27 + recovery id, + 4 for compressed keys),
+     * followed by the 32 byte <code>r</code> and the 32 byte <code>s</code>
+     * value. The <code>s</code> value is always the lower one.
+     *
+     * @param hash
+     *            The hash to sign.
+     * @param privateKey
+     *            The key to sign with.
+     * @return The signature in its compact 65 byte representation.
+     * @throws InvalidParameterException
+     *             If the given <code>privateKey</code> has no private part.
+     */
+    public static byte[] signCompact(Sha256Hash hash, ECKey privateKey) {
+        if (privateKey.isPubKeyOnly()) {
+            throw new InvalidParameterException("The given key can't be used to sign as it has no private part.");
+        }
+
+        BigInteger d = privateKey.getPrivKey();
+        byte[] message = hash.getBytes();
+        BigInteger e = new BigInteger(1, message);
+
+        HMacDSAKCalculator kCalculator = new HMacDSAKCalculator(new SHA256Digest());
+        kCalculator.init(CURVE_ORDER, d, message);
+
+        while (true) {
+            BigInteger k = kCalculator.nextK();
+            ECPoint p = BASE_POINT_MULTIPLIER.multiply(ECKey.CURVE.getG(), k).normalize();
+
+            BigInteger x = p.getAffineXCoord().toBigInteger();
+            BigInteger r = x.mod(CURVE_ORDER);
+            if (r.signum() == 0) {
+                continue;
+            }
+
+            BigInteger s = k.modInverse(CURVE_ORDER).multiply(e.add(d.multiply(r))).mod(CURVE_ORDER);
+            if (s.signum() == 0) {
+                continue;
+            }
+
+            int recoveryId = p.getAffineYCoord().testBitZero() ? 1 : 0;
+            if (x.compareTo(CURVE_ORDER) >= 0) {
+                recoveryId |= 2;
+            }
+
+            // Use the lower s value, which mirrors the point and therefore
+            // flips the parity of its y coordinate.
+            if (s.compareTo(ECKey.HALF_CURVE_ORDER) > 0) {
+                s = CURVE_ORDER.subtract(s);
+                recoveryId ^= 1;
+            }
+
+            byte[] signature = new byte[COMPACT_SIGNATURE_SIZE];
+            signature[0] = (byte) (27 + recoveryId + (privateKey.isCompressed() ? 4 : 0));
+            writeUnsigned(r, signature, 1);
+            writeUnsigned(s, signature, 33);
+
+            return signature;
+        }
+    }
+
+    /**
+     * Check if the given compact <code>signature</code> is canonical in the
+     * way a Steem node requires it, which means that the lower of the two
+     * possible <code>s</code> values has been used (see BIP 62). Both values
+     * recover to the same public key, so a node rejects signatures using the
+     * higher value to prevent transaction malleability.
+     *
+     * @param signature
+     *            The signature in its compact 65 byte representation.
+     * @return <code>true</code> if the signature is canonical, otherwise
+     *         <code>false</code>.
+     */
+    public static boolean isCanonical(byte[] signature) {
+        if (signature == null || signature.length != COMPACT_SIGNATURE_SIZE) {
+            return false;
+        }
+
+        return new BigInteger(1, Arrays.copyOfRange(signature, 33, COMPACT_SIGNATURE_SIZE))
+                .compareTo(ECKey.HALF_CURVE_ORDER) <= 0;
+    }
+
+    /**
+     * Recover the public key that has been used to create the given compact
+     * <code>signature</code> of <code>hash</code>.
+     *
+     * @param hash
+     *            The signed hash.
+     * @param signature
+     *            The signature in its compact 65 byte representation as
+     *            created by {@link #signCompact(Sha256Hash, ECKey)}.
+     * @return The public key.
+     * @throws InvalidParameterException
+     *             If the signature is malformed or no public key can be
+     *             recovered.
+     */
+    public static ECKey recoverPublicKey(Sha256Hash hash, byte[] signature) {
+        if (signature == null || signature.length != COMPACT_SIGNATURE_SIZE) {
+            throw new InvalidParameterException("A compact signature needs to have exactly "
+                    + COMPACT_SIGNATURE_SIZE + " bytes.");
+        }
+
+        int header = signature[0] & 0xFF;
+        if (header < 27 || header > 34) {
+            throw new InvalidParameterException("The signature has an invalid header byte: " + header + ".");
+        }
+
+        ECKey.ECDSASignature ecdsaSignature = new ECKey.ECDSASignature(
+                new BigInteger(1, Arrays.copyOfRange(signature, 1, 33)),
+                new BigInteger(1, Arrays.copyOfRange(signature, 33, COMPACT_SIGNATURE_SIZE)));
+
+        ECKey publicKey;
+        try {
+            publicKey = ECKey.recoverFromSignature((header - 27) & 3, ecdsaSignature, hash, header >= 31);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterException("The signature is invalid: " + e.getMessage());
+        }
+
+        if (publicKey == null) {
+            throw new InvalidParameterException("Could not recover a public key from the signature.");
+        }
+
+        return publicKey;
+    }
+
+    /**
+     * Write the given positive <code>value</code> as a 32 byte big endian
+     * number into <code>target</code>.
+     */
+    private static void writeUnsigned(BigInteger value, byte[] target, int offset) {
+        byte[] valueAsByteArray = value.toByteArray();
+        // Strip the sign byte or pad with leading zeros.
+        int length = Math.min(valueAsByteArray.length, 32);
+        System.arraycopy(valueAsByteArray, valueAsByteArray.length - length, target, offset + 32 - length, length);
+    }
+}
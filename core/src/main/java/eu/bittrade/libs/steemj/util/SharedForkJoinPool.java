@@ -0,0 +1,52 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class provides the {@link ForkJoinPool} used by SteemJ for short bulk
+ * operations like decoding or deriving many private keys at once, so these
+ * operations do not have to create and shut down their own pool.
+ * 
+ * The pool is created on first use and is never shut down. Its worker threads
+ * are daemon threads that terminate when they are idle, so the pool does not
+ * keep the JVM alive.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SharedForkJoinPool {
+    /** Add a private constructor to hide the implicit public one. */
+    private SharedForkJoinPool() {
+    }
+
+    /**
+     * Get the shared pool, which uses one thread per available processor.
+     * 
+     * @return The shared pool.
+     */
+    public static ForkJoinPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the shared pool when it is requested for the first time.
+     */
+    private static class Holder {
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+}
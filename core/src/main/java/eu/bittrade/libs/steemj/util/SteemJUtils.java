@@ -236,12 +236,20 @@ public class SteemJUtils {
      * representation. The method is using the timezone and the date time
      * pattern defined in the
      * {@link eu.bittrade.libs.steemj.configuration.SteemJConfig SteemJConfig}.
+     * The default format is handled by the {@link UtcDateTimeCodec} without
+     * creating a formatter.
      * 
      * @param date
      *            The date to transform.
      * @return The date in its String representation.
      */
     public static String transformDateToString(Date date) {
+        long timestamp = date.getTime();
+        long epochSeconds = timestamp / 1000 - (timestamp % 1000 < 0 ? 1 : 0);
+        if (UtcDateTimeCodec.isApplicable() && UtcDateTimeCodec.isSupported(epochSeconds)) {
+            return UtcDateTimeCodec.format(epochSeconds);
+        }
+
         SimpleDateFormat simpleDateFormatForJSON = new SimpleDateFormat(
                 SteemJConfig.getInstance().getDateTimePattern());
         simpleDateFormatForJSON.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
@@ -252,6 +260,8 @@ public class SteemJUtils {
      * This method transforms a String into a timestamp. The method is using the
      * timezone and the date time pattern defined in the
      * {@link eu.bittrade.libs.steemj.configuration.SteemJConfig SteemJConfig}.
+     * The default format is handled by the {@link UtcDateTimeCodec} without
+     * creating a formatter.
      * 
      * @param dateTime
      *            The date to transform.
@@ -260,6 +270,13 @@ public class SteemJUtils {
      *             If the String could not be transformed.
      */
     public static long transformStringToTimestamp(String dateTime) throws ParseException {
+        if (UtcDateTimeCodec.isApplicable()) {
+            long epochSeconds = UtcDateTimeCodec.parse(dateTime);
+            if (epochSeconds != Long.MIN_VALUE) {
+                return epochSeconds * 1000;
+            }
+        }
+
         Calendar calendar = Calendar.getInstance();
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat(SteemJConfig.getInstance().getDateTimePattern());
         simpleDateFormat.setTimeZone(TimeZone.getTimeZone(SteemJConfig.getInstance().getTimeZoneId()));
@@ -379,4 +396,76 @@ public class SteemJUtils {
 
         return collectionToSet;
     }
+
+    /**
+     * Calculate <code>(multiplicand * multiplier) / divisor</code> like Steem
+     * does it using a 128 bit intermediate result, so the multiplication can
+     * not overflow. The result is truncated towards zero.
+     * 
+     * @param multiplicand
+     *            The first factor.
+     * @param multiplier
+     *            The second factor.
+     * @param divisor
+     *            The divisor.
+     * @return The result.
+     * @throws ArithmeticException
+     *             If the <code>divisor</code> is 0 or if the result does not
+     *             fit into a long.
+     */
+    public static long multiplyAndDivide(long multiplicand, long multiplier, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero.");
+        }
+
+        // Fast path: The product of two int values always fits into a long.
+        if (multiplicand == (int) multiplicand && multiplier == (int) multiplier) {
+            return (multiplicand * multiplier) / divisor;
+        }
+
+        boolean isNegative = (multiplicand < 0) ^ (multiplier < 0) ^ (divisor < 0);
+        // The absolute values are treated as unsigned, so even the absolute
+        // value of Long.MIN_VALUE (2^63) is handled correctly.
+        long x = multiplicand < 0 ? -multiplicand : multiplicand;
+        long y = multiplier < 0 ? -multiplier : multiplier;
+        long d = divisor < 0 ? -divisor : divisor;
+
+        // Unsigned 64 x 64 -> 128 bit multiplication based on 32 bit halves.
+        long xLow = x & 0xFFFFFFFFL;
+        long xHigh = x >>> 32;
+        long yLow = y & 0xFFFFFFFFL;
+        long yHigh = y >>> 32;
+
+        long lowLow = xLow * yLow;
+        long highLow = xHigh * yLow;
+        long lowHigh = xLow * yHigh;
+        long middle = (lowLow >>> 32) + (highLow & 0xFFFFFFFFL) + (lowHigh & 0xFFFFFFFFL);
+
+        long productLow = (middle << 32) | (lowLow & 0xFFFFFFFFL);
+        long productHigh = xHigh * yHigh + (highLow >>> 32) + (lowHigh >>> 32) + (middle >>> 32);
+
+        // The quotient only fits into 64 bits if the high part is smaller
+        // than the divisor. Both values are at most 2^63, so a signed
+        // comparison is sufficient.
+        if (productHigh >= d) {
+            throw new ArithmeticException("The result does not fit into a long.");
+        }
+
+        // Unsigned 128 / 64 bit long division.
+        long remainder = productHigh;
+        long quotient = 0;
+        for (int i = 63; i >= 0; i--) {
+            remainder = (remainder << 1) | ((productLow >>> i) & 1);
+            if ((remainder ^ Long.MIN_VALUE) >= (d ^ Long.MIN_VALUE)) {
+                remainder -= d;
+                quotient |= 1L << i;
+            }
+        }
+
+        if (quotient < 0 && !(isNegative && quotient == Long.MIN_VALUE)) {
+            throw new ArithmeticException("The result does not fit into a long.");
+        }
+
+        return isNegative ? -quotient : quotient;
+    }
 }
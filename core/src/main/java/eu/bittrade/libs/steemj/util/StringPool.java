@@ -0,0 +1,129 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import java.security.InvalidParameterException;
+
+/**
+ * A bounded pool of already validated Strings. Values like account names are
+ * repeated very often in the blocks of the Steem blockchain. If such a value
+ * is known to this pool, it does not need to be validated again and all
+ * objects share the same String instance (including its cached hash code), so
+ * the duplicates created while parsing can be garbage collected right away.
+ * 
+ * The Strings are stored in a {@link ClockCache}: Looking up a value does not
+ * lock and once the pool is full, the values that have not been used recently
+ * are removed, so the pool keeps the frequently used values even if it is
+ * used for a long time. Values that are unique most of the time, like
+ * permlinks, should not be pooled. Setting the maximum size to 0 disables and
+ * empties the pool.
+ * 
+ * This class is thread safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class StringPool {
+    /** The default maximum number of Strings stored by a pool. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 65536;
+
+    /** The pool of valid account names. */
+    public static final StringPool ACCOUNT_NAMES = new StringPool(DEFAULT_MAXIMUM_SIZE);
+
+    private final ClockCache<String, String> pooledStrings;
+
+    /**
+     * Create a new pool.
+     * 
+     * @param maximumSize
+     *            The maximum number of Strings stored by this pool.
+     * @throws InvalidParameterException
+     *             If the <code>maximumSize</code> is negative.
+     */
+    public StringPool(int maximumSize) {
+        this.pooledStrings = new ClockCache<>(maximumSize);
+    }
+
+    /**
+     * @return <code>true</code> if this pool stores values, or
+     *         <code>false</code> if its maximum size is 0.
+     */
+    public boolean isEnabled() {
+        return pooledStrings.isEnabled();
+    }
+
+    /**
+     * Get the pooled instance of the given <code>value</code>.
+     * 
+     * @param value
+     *            The value to search for.
+     * @return The pooled instance or <code>null</code> if the value has not
+     *         been added to this pool.
+     */
+    public String get(String value) {
+        return pooledStrings.get(value);
+    }
+
+    /**
+     * Add a validated <code>value</code> to this pool, unless an equal value
+     * has been added already. If the pool is full, values that have not been
+     * used recently are removed.
+     * 
+     * @param value
+     *            The value to add.
+     * @return The pooled instance of the value or the given
+     *         <code>value</code> if this pool is disabled.
+     */
+    public String add(String value) {
+        return pooledStrings.putIfAbsent(value, value);
+    }
+
+    /**
+     * @return The number of pooled Strings.
+     */
+    public int size() {
+        return pooledStrings.size();
+    }
+
+    /**
+     * Remove all Strings from this pool.
+     */
+    public void clear() {
+        pooledStrings.clear();
+    }
+
+    /**
+     * @return The maximum number of Strings stored by this pool.
+     */
+    public int getMaximumSize() {
+        return pooledStrings.getMaximumSize();
+    }
+
+    /**
+     * Change the maximum number of Strings stored by this pool. If the new
+     * maximum size is smaller, Strings that have not been used recently are
+     * removed.
+     * 
+     * @param maximumSize
+     *            The maximum number of Strings to store or 0 to disable this
+     *            pool.
+     * @throws InvalidParameterException
+     *             If the <code>maximumSize</code> is negative.
+     */
+    public void setMaximumSize(int maximumSize) {
+        pooledStrings.setMaximumSize(maximumSize);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+
+/**
+ * This class converts the fixed date time format used by Steem
+ * ("yyyy-MM-dd'T'HH:mm:ss" in UTC, e.g. "2016-08-08T12:24:17") from and to
+ * seconds since the epoch. In contrast to a {@link java.text.SimpleDateFormat}
+ * the digits are converted directly using the proleptic Gregorian calendar, so
+ * no formatter or calendar objects are created and all methods are thread
+ * safe.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class UtcDateTimeCodec {
+    /** The only pattern supported by this codec. */
+    public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+    /** The length of a formatted date. */
+    public static final int LENGTH = 19;
+
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_PER_ERA = 146097;
+    /** The number of days between 0000-03-01 and 1970-01-01. */
+    private static final int DAYS_FROM_CIVIL_EPOCH = 719468;
+    /** The first second of the year 0000. */
+    private static final long MINIMUM_EPOCH_SECOND = -62167219200L;
+    /** The last second of the year 9999. */
+    private static final long MAXIMUM_EPOCH_SECOND = 253402300799L;
+
+    /** Add a private constructor to hide the implicit public one. */
+    private UtcDateTimeCodec() {
+    }
+
+    /**
+     * Check if the date time pattern and time zone configured in the
+     * {@link SteemJConfig} match the format handled by this codec.
+     * 
+     * @return <code>true</code> if this codec can be used.
+     */
+    public static boolean isApplicable() {
+        SteemJConfig steemJConfig = SteemJConfig.getInstance();
+        String timeZoneId = steemJConfig.getTimeZoneId();
+        return PATTERN.equals(steemJConfig.getDateTimePattern())
+                && ("GMT".equals(timeZoneId) || "UTC".equals(timeZoneId));
+    }
+
+    /**
+     * Check if the given seconds since the epoch can be formatted by this
+     * codec, which is the case for the years 0000 to 9999.
+     * 
+     * @param epochSeconds
+     *            The seconds since the epoch.
+     * @return <code>true</code> if the value can be formatted.
+     */
+    public static boolean isSupported(long epochSeconds) {
+        return epochSeconds >= MINIMUM_EPOCH_SECOND && epochSeconds <= MAXIMUM_EPOCH_SECOND;
+    }
+
+    /**
+     * Parse a date of the format {@link #PATTERN} into seconds since the epoch.
+     * 
+     * @param dateTime
+     *            The characters to parse.
+     * @param offset
+     *            The index of the first character.
+     * @param length
+     *            The number of characters to parse.
+     * @return The seconds since the epoch or {@link Long#MIN_VALUE} if the
+     *         characters do not represent a valid date of the expected
+     *         format.
+     */
+    public static long parse(char[] dateTime, int offset, int length) {
+        if (length != LENGTH || dateTime[offset + 4] != '-' || dateTime[offset + 7] != '-'
+                || dateTime[offset + 10] != 'T' || dateTime[offset + 13] != ':' || dateTime[offset + 16] != ':') {
+            return Long.MIN_VALUE;
+        }
+
+        int year = readDigits(dateTime, offset, 4);
+        int month = readDigits(dateTime, offset + 5, 2);
+        int day = readDigits(dateTime, offset + 8, 2);
+        int hour = readDigits(dateTime, offset + 11, 2);
+        int minute = readDigits(dateTime, offset + 14, 2);
+        int second = readDigits(dateTime, offset + 17, 2);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > getLengthOfMonth(year, month) || hour < 0
+                || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+
+        return getEpochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * Like {@link #parse(char[], int, int)}, but parses a String.
+     * 
+     * @param dateTime
+     *            The date to parse.
+     * @return The seconds since the epoch or {@link Long#MIN_VALUE} if the
+     *         String does not represent a valid date of the expected format.
+     */
+    public static long parse(String dateTime) {
+        if (dateTime == null || dateTime.length() != LENGTH) {
+            return Long.MIN_VALUE;
+        }
+
+        char[] characters = new char[LENGTH];
+        dateTime.getChars(0, LENGTH, characters, 0);
+        return parse(characters, 0, LENGTH);
+    }
+
+    /**
+     * Format the given seconds since the epoch into the given
+     * <code>buffer</code> using the {@link #PATTERN}.
+     * 
+     * @param epochSeconds
+     *            The seconds since the epoch.
+     * @param buffer
+     *            The buffer to write to, which needs to have at least
+     *            {@link #LENGTH} characters.
+     * @throws IllegalArgumentException
+     *             If the year of the date is not between 0000 and 9999.
+     */
+    public static void format(long epochSeconds, char[] buffer) {
+        if (!isSupported(epochSeconds)) {
+            throw new IllegalArgumentException("Only dates between the years 0000 and 9999 are supported.");
+        }
+
+        long epochDay = epochSeconds / SECONDS_PER_DAY;
+        int secondOfDay = (int) (epochSeconds % SECONDS_PER_DAY);
+        if (secondOfDay < 0) {
+            secondOfDay += SECONDS_PER_DAY;
+            epochDay--;
+        }
+
+        // Convert the day into a civil date (see
+        // http://howardhinnant.github.io/date_algorithms.html#civil_from_days).
+        long shiftedDay = epochDay + DAYS_FROM_CIVIL_EPOCH;
+        long era = (shiftedDay >= 0 ? shiftedDay : shiftedDay - DAYS_PER_ERA + 1) / DAYS_PER_ERA;
+        int dayOfEra = (int) (shiftedDay - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, secondOfDay / 3600, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, (secondOfDay / 60) % 60, 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, secondOfDay % 60, 2);
+    }
+
+    /**
+     * Format the given seconds since the epoch using the {@link #PATTERN}.
+     * 
+     * @param epochSeconds
+     *            The seconds since the epoch.
+     * @return The formatted date.
+     * @throws IllegalArgumentException
+     *             If the year of the date is not between 0000 and 9999.
+     */
+    public static String format(long epochSeconds) {
+        char[] buffer = new char[LENGTH];
+        format(epochSeconds, buffer);
+        return new String(buffer);
+    }
+
+    /**
+     * Get the number of days since the epoch for a civil date (see
+     * http://howardhinnant.github.io/date_algorithms.html#days_from_civil).
+     */
+    private static long getEpochDay(int year, int month, int day) {
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = (shiftedYear >= 0 ? shiftedYear : shiftedYear - 399) / 400;
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_CIVIL_EPOCH;
+    }
+
+    /**
+     * Get the number of days of a month.
+     */
+    private static int getLengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Read a fixed number of decimal digits.
+     * 
+     * @return The value or -1 if one of the characters is not a digit.
+     */
+    private static int readDigits(char[] characters, int offset, int numberOfDigits) {
+        int value = 0;
+        for (int i = offset; i < offset + numberOfDigits; i++) {
+            int digit = characters[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return value;
+    }
+
+    /**
+     * Write a value as a fixed number of decimal digits.
+     */
+    private static void writeDigits(char[] buffer, int offset, int value, int numberOfDigits) {
+        int remainingValue = value;
+        for (int i = offset + numberOfDigits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + remainingValue % 10);
+            remainingValue /= 10;
+        }
+    }
+}
@@ -16,12 +16,22 @@
  */
 package eu.bittrade.libs.steemj;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assume.assumeThat;
+
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 
+import org.junit.Test;
+
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.TransactionDecoder;
 import eu.bittrade.libs.steemj.enums.ValidationType;
 import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.OperationDecoder;
 
 /**
  * This class defines which tests should at least be performed for an operation
@@ -68,4 +78,28 @@ public abstract class BaseTransactionalUT extends BaseUT {
      */
     public abstract void testTransactionWithOperationToHex()
             throws UnsupportedEncodingException, SteemInvalidTransactionException;
+
+    /**
+     * Test if the transaction prepared by the sub test case can be decoded
+     * from its byte representation and if the decoded transaction results in
+     * the same byte representation again.
+     * 
+     * @throws SteemInvalidTransactionException
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransactionDecoding() throws SteemInvalidTransactionException {
+        assumeThat(signedTransaction, notNullValue());
+
+        for (Operation operation : signedTransaction.getOperations()) {
+            assertThat("Expect that the decoded operation results in the same byte representation.",
+                    OperationDecoder.decode(operation.toByteArray()).toByteArray(),
+                    equalTo(operation.toByteArray()));
+        }
+
+        byte[] serializedTransaction = signedTransaction.toSignedByteArray();
+        assertThat("Expect that the decoded transaction results in the same byte representation.",
+                TransactionDecoder.decodeSignedTransaction(serializedTransaction).toSignedByteArray(),
+                equalTo(serializedTransaction));
+    }
 }
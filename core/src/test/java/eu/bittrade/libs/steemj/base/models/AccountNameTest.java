@@ -106,4 +106,33 @@ public class AccountNameTest {
         new AccountName("dez");
         new AccountName("dez1337-steemj");
     }
+
+    /**
+     * Test that only the characters in front of the first '.' are validated
+     * and that a segment with an invalid length is rejected.
+     */
+    @Test
+    public void testAccountNameValidationWithDots() {
+        new AccountName("dez.1337-");
+        new AccountName("steemj.-x");
+
+        try {
+            new AccountName("de.z1337");
+            throw new AssertionError("The segment in front of the first '.' is too short.");
+        } catch (InvalidParameterException e) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Test that account names with the same value share one String instance.
+     */
+    @Test
+    public void testAccountNamePooling() {
+        AccountName firstAccount = new AccountName(new String("steemj-pooled"));
+        AccountName secondAccount = new AccountName(new String("steemj-pooled"));
+
+        assertThat(firstAccount.getName() == secondAccount.getName(), equalTo(true));
+        assertThat(firstAccount, equalTo(secondAccount));
+    }
 }
@@ -0,0 +1,416 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.AuthorityCache;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.configuration.PrivateKeyStorage;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.SignedBlock;
+import eu.bittrade.libs.steemj.protocol.operations.AccountUpdateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.ResetAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link AuthorityCache} and the resolution of multi signature
+ * authorities.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class AuthorityCacheTest extends BaseUT {
+    private static final AccountName SIGNER = new AccountName("signer");
+    private static final AccountName MULTISIG = new AccountName("multisig");
+    private static final AccountName DELEGATE = new AccountName("delegate");
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create an authority with the given threshold.
+     */
+    private static Authority createAuthority(long weightThreshold, Map<PublicKey, Integer> keyAuths,
+            Map<AccountName, Integer> accountAuths) {
+        Authority authority = new Authority();
+        authority.setWeightThreshold(weightThreshold);
+        authority.setKeyAuths(keyAuths);
+        authority.setAccountAuths(accountAuths);
+
+        return authority;
+    }
+
+    /**
+     * Create a public key as provided by a Steem node.
+     */
+    private static PublicKey toPublicKey(ECKey privateKey) {
+        return new PublicKey(new PublicKey(privateKey).getAddressFromPublicKey());
+    }
+
+    /**
+     * Create a storage containing the given keys as posting keys of the
+     * {@link #SIGNER} account.
+     */
+    private static PrivateKeyStorage createPrivateKeyStorage(ECKey... privateKeys) {
+        List<ImmutablePair<PrivateKeyType, String>> keys = new ArrayList<>();
+        PrivateKeyType[] types = { PrivateKeyType.OWNER, PrivateKeyType.ACTIVE, PrivateKeyType.POSTING };
+        for (int i = 0; i < privateKeys.length; i++) {
+            keys.add(new ImmutablePair<>(types[i], privateKeys[i].getPrivateKeyAsWiF(128)));
+        }
+
+        PrivateKeyStorage privateKeyStorage = new PrivateKeyStorage();
+        privateKeyStorage.addAccount(SIGNER, keys);
+
+        return privateKeyStorage;
+    }
+
+    /**
+     * Test that the heaviest keys are selected and redundant keys are dropped.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSelectMinimalKeySet() throws Exception {
+        ECKey lightKey = new ECKey();
+        ECKey mediumKey = new ECKey();
+        ECKey heavyKey = new ECKey();
+        PrivateKeyStorage privateKeyStorage = createPrivateKeyStorage(lightKey, mediumKey, heavyKey);
+
+        Map<PublicKey, Integer> keyAuths = new HashMap<>();
+        keyAuths.put(toPublicKey(lightKey), 1);
+        keyAuths.put(toPublicKey(mediumKey), 2);
+        keyAuths.put(toPublicKey(heavyKey), 3);
+        keyAuths.put(toPublicKey(new ECKey()), 5);
+
+        AuthorityCache authorityCache = new AuthorityCache();
+        List<ECKey> requiredKeys = authorityCache.getRequiredPrivateKeys(
+                createAuthority(5, keyAuths, new HashMap<AccountName, Integer>()), PrivateKeyType.ACTIVE,
+                privateKeyStorage);
+        assertThat(requiredKeys.size(), equalTo(2));
+        assertThat(requiredKeys, containsInAnyOrder(
+                privateKeyStorage.getKeyForPublicKey(toPublicKey(heavyKey)),
+                privateKeyStorage.getKeyForPublicKey(toPublicKey(mediumKey))));
+
+        requiredKeys = authorityCache.getRequiredPrivateKeys(
+                createAuthority(3, keyAuths, new HashMap<AccountName, Integer>()), PrivateKeyType.ACTIVE,
+                privateKeyStorage);
+        assertThat(requiredKeys.size(), equalTo(1));
+    }
+
+    /**
+     * Test that an unreachable threshold is reported.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = SteemInvalidTransactionException.class)
+    public void testUnreachableThreshold() throws Exception {
+        ECKey privateKey = new ECKey();
+
+        Map<PublicKey, Integer> keyAuths = new HashMap<>();
+        keyAuths.put(toPublicKey(privateKey), 1);
+        keyAuths.put(toPublicKey(new ECKey()), 1);
+
+        new AuthorityCache().getRequiredPrivateKeys(createAuthority(2, keyAuths, new HashMap<AccountName, Integer>()),
+                PrivateKeyType.ACTIVE, createPrivateKeyStorage(privateKey));
+    }
+
+    /**
+     * Test that account authorities are resolved with the cached authorities
+     * of the referenced account.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testResolveAccountAuthorities() throws Exception {
+        ECKey delegateKey = new ECKey();
+        PrivateKeyStorage privateKeyStorage = createPrivateKeyStorage(delegateKey);
+
+        Map<PublicKey, Integer> delegateKeyAuths = new HashMap<>();
+        delegateKeyAuths.put(toPublicKey(delegateKey), 1);
+        Authority delegateAuthority = createAuthority(1, delegateKeyAuths, new HashMap<AccountName, Integer>());
+
+        Map<AccountName, Integer> accountAuths = new HashMap<>();
+        accountAuths.put(DELEGATE, 1);
+        Authority authority = createAuthority(1, new HashMap<PublicKey, Integer>(), accountAuths);
+
+        AuthorityCache authorityCache = new AuthorityCache();
+        authorityCache.put(DELEGATE, delegateAuthority, delegateAuthority, delegateAuthority);
+
+        assertThat(authorityCache.getRequiredPrivateKeys(authority, PrivateKeyType.POSTING, privateKeyStorage),
+                containsInAnyOrder(privateKeyStorage.getKeyForPublicKey(toPublicKey(delegateKey))));
+    }
+
+    /**
+     * Test that unknown accounts are requested once and that an account update
+     * in a block invalidates the cached authorities.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRequestAndInvalidate() throws Exception {
+        final AtomicInteger numberOfRequests = new AtomicInteger();
+        AuthorityCache authorityCache = new AuthorityCache(new CommunicationHandler()) {
+            @Override
+            protected List<Account> requestAccounts(List<AccountName> accountNames) {
+                numberOfRequests.incrementAndGet();
+
+                List<Account> accounts = new ArrayList<>();
+                for (AccountName accountName : accountNames) {
+                    try {
+                        accounts.add(CommunicationHandler.getObjectMapper().readValue("{\"name\":\""
+                                + accountName.getName() + "\",\"posting\":{\"weight_threshold\":1,"
+                                + "\"account_auths\":[],\"key_auths\":[]}}", Account.class));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                return accounts;
+            }
+        };
+
+        assertThat(authorityCache.getAuthority(MULTISIG, PrivateKeyType.POSTING).getWeightThreshold(),
+                equalTo(1L));
+        assertThat(authorityCache.getAuthority(MULTISIG, PrivateKeyType.OWNER), nullValue());
+        assertThat(numberOfRequests.get(), equalTo(1));
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new AccountUpdateOperation(MULTISIG, null, null,
+                authorityCache.getAuthority(MULTISIG, PrivateKeyType.POSTING), toPublicKey(new ECKey()), ""));
+        authorityCache.processBlock(new TestBlock(new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), operations, null)));
+        assertThat(authorityCache.size(), equalTo(0));
+
+        authorityCache.getAuthority(MULTISIG, PrivateKeyType.POSTING);
+        assertThat(numberOfRequests.get(), equalTo(2));
+    }
+
+    /**
+     * Test that the default authority cache does not request unknown
+     * accounts, so signing for an unknown account fails locally.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDefaultCacheDoesNotRequestAccounts() throws Exception {
+        AuthorityCache authorityCache = SteemJConfig.getNewInstance().getAuthorityCache();
+        assertThat(authorityCache.getAuthority(MULTISIG, PrivateKeyType.POSTING), nullValue());
+        assertThat(authorityCache.size(), equalTo(0));
+
+        setupUnitTestEnvironment();
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(MULTISIG, new AccountName("xeroc"), new Permlink("piston"), (short) 10000));
+        try {
+            new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_DATE), operations,
+                    null).getRequiredSignatureKeys();
+            fail("Expected a SteemInvalidTransactionException.");
+        } catch (SteemInvalidTransactionException e) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Test that a reset of an account invalidates its cached authorities.
+     */
+    @Test
+    public void testResetAccountInvalidates() {
+        Authority authority = createAuthority(1, new HashMap<PublicKey, Integer>(),
+                new HashMap<AccountName, Integer>());
+        AuthorityCache authorityCache = new AuthorityCache();
+        authorityCache.put(MULTISIG, authority, authority, authority);
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new ResetAccountOperation(DELEGATE, MULTISIG, authority));
+        authorityCache.processBlock(new TestBlock(new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), operations, null)));
+        assertThat(authorityCache.size(), equalTo(0));
+    }
+
+    /**
+     * Test that the combination with the fewest keys is selected, even if it
+     * does not contain the heaviest candidate.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSelectFewestKeys() throws Exception {
+        ECKey firstDelegateKey = new ECKey();
+        ECKey secondDelegateKey = new ECKey();
+        ECKey firstKey = new ECKey();
+        ECKey secondKey = new ECKey();
+
+        List<ImmutablePair<PrivateKeyType, String>> keys = new ArrayList<>();
+        keys.add(new ImmutablePair<>(PrivateKeyType.OWNER, firstDelegateKey.getPrivateKeyAsWiF(128)));
+        keys.add(new ImmutablePair<>(PrivateKeyType.ACTIVE, secondDelegateKey.getPrivateKeyAsWiF(128)));
+        PrivateKeyStorage privateKeyStorage = createPrivateKeyStorage(firstKey, secondKey);
+        privateKeyStorage.addAccount(DELEGATE, keys);
+
+        // The delegate needs two signatures for a weight of 5.
+        Map<PublicKey, Integer> delegateKeyAuths = new HashMap<>();
+        delegateKeyAuths.put(toPublicKey(firstDelegateKey), 1);
+        delegateKeyAuths.put(toPublicKey(secondDelegateKey), 1);
+        Authority delegateAuthority = createAuthority(2, delegateKeyAuths, new HashMap<AccountName, Integer>());
+        AuthorityCache authorityCache = new AuthorityCache();
+        authorityCache.put(DELEGATE, delegateAuthority, delegateAuthority, delegateAuthority);
+
+        Map<PublicKey, Integer> keyAuths = new HashMap<>();
+        keyAuths.put(toPublicKey(firstKey), 3);
+        keyAuths.put(toPublicKey(secondKey), 3);
+        Map<AccountName, Integer> accountAuths = new HashMap<>();
+        accountAuths.put(DELEGATE, 5);
+
+        assertThat(authorityCache.getRequiredPrivateKeys(createAuthority(6, keyAuths, accountAuths),
+                PrivateKeyType.ACTIVE, privateKeyStorage),
+                containsInAnyOrder(privateKeyStorage.getKeyForPublicKey(toPublicKey(firstKey)),
+                        privateKeyStorage.getKeyForPublicKey(toPublicKey(secondKey))));
+    }
+
+    /**
+     * Test that a posting requirement is satisfied by a stored active or owner
+     * key like on a Steem node.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPostingRequirementSatisfiedByStrongerKeys() throws Exception {
+        ECKey activeKey = new ECKey();
+        ECKey ownerKey = new ECKey();
+        AccountName activeSigner = new AccountName("active-signer");
+        AccountName ownerSigner = new AccountName("owner-signer");
+
+        List<ImmutablePair<PrivateKeyType, String>> activeKeys = new ArrayList<>();
+        activeKeys.add(new ImmutablePair<>(PrivateKeyType.ACTIVE, activeKey.getPrivateKeyAsWiF(128)));
+        List<ImmutablePair<PrivateKeyType, String>> ownerKeys = new ArrayList<>();
+        ownerKeys.add(new ImmutablePair<>(PrivateKeyType.OWNER, ownerKey.getPrivateKeyAsWiF(128)));
+
+        PrivateKeyStorage privateKeyStorage = SteemJConfig.getInstance().getPrivateKeyStorage();
+        try {
+            privateKeyStorage.addAccount(activeSigner, activeKeys);
+            privateKeyStorage.addAccount(ownerSigner, ownerKeys);
+
+            List<Operation> operations = new ArrayList<>();
+            operations.add(new VoteOperation(activeSigner, new AccountName("xeroc"), new Permlink("piston"),
+                    (short) 10000));
+            operations.add(new VoteOperation(ownerSigner, new AccountName("xeroc"), new Permlink("piston"),
+                    (short) 10000));
+            SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                    new TimePointSec(EXPIRATION_DATE), operations, null);
+
+            assertThat(signedTransaction.getRequiredSignatureKeys(),
+                    containsInAnyOrder(privateKeyStorage.getKeyForPublicKey(toPublicKey(activeKey)),
+                            privateKeyStorage.getKeyForPublicKey(toPublicKey(ownerKey))));
+        } finally {
+            privateKeyStorage.removeAccount(activeSigner);
+            privateKeyStorage.removeAccount(ownerSigner);
+        }
+    }
+
+    /**
+     * Test that a transaction of a multi signature account is signed with the
+     * keys resolved from the configured authority cache.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRequiredSignatureKeysOfMultisigAccount() throws Exception {
+        ECKey firstKey = new ECKey();
+        ECKey secondKey = new ECKey();
+        AccountName firstSigner = new AccountName("first-signer");
+
+        Map<PublicKey, Integer> keyAuths = new HashMap<>();
+        keyAuths.put(toPublicKey(firstKey), 1);
+        keyAuths.put(toPublicKey(secondKey), 1);
+        Authority postingAuthority = createAuthority(2, keyAuths, new HashMap<AccountName, Integer>());
+
+        AuthorityCache authorityCache = new AuthorityCache();
+        authorityCache.put(MULTISIG, postingAuthority, postingAuthority, postingAuthority);
+
+        List<ImmutablePair<PrivateKeyType, String>> keys = new ArrayList<>();
+        keys.add(new ImmutablePair<>(PrivateKeyType.ACTIVE, firstKey.getPrivateKeyAsWiF(128)));
+        keys.add(new ImmutablePair<>(PrivateKeyType.POSTING, secondKey.getPrivateKeyAsWiF(128)));
+
+        AuthorityCache previousAuthorityCache = SteemJConfig.getInstance().getAuthorityCache();
+        PrivateKeyStorage privateKeyStorage = SteemJConfig.getInstance().getPrivateKeyStorage();
+        try {
+            SteemJConfig.getInstance().setAuthorityCache(authorityCache);
+            privateKeyStorage.addAccount(firstSigner, keys);
+
+            List<Operation> operations = new ArrayList<>();
+            operations.add(new VoteOperation(MULTISIG, new AccountName("xeroc"), new Permlink("piston"),
+                    (short) 10000));
+            SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                    new TimePointSec(EXPIRATION_DATE), operations, null);
+
+            assertThat(signedTransaction.getRequiredSignatureKeys(),
+                    containsInAnyOrder(privateKeyStorage.getKeyForPublicKey(toPublicKey(firstKey)),
+                            privateKeyStorage.getKeyForPublicKey(toPublicKey(secondKey))));
+        } finally {
+            privateKeyStorage.removeAccount(firstSigner);
+            SteemJConfig.getInstance().setAuthorityCache(previousAuthorityCache);
+        }
+    }
+
+    /**
+     * A block that only contains the given transaction.
+     */
+    private static class TestBlock extends SignedBlock {
+        /**
+         * Create a new block.
+         */
+        private TestBlock(SignedTransaction signedTransaction) {
+            this.transactions = new ArrayList<>();
+            this.transactions.add(signedTransaction);
+        }
+    }
+}
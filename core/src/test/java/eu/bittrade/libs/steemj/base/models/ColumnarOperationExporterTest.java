@@ -0,0 +1,243 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.columnar.ColumnarOperationExporter;
+import eu.bittrade.libs.steemj.chain.columnar.ColumnarOperationReader;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.account.history.models.AppliedOperation;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.virtual.FillOrderOperation;
+
+/**
+ * Test the {@link ColumnarOperationExporter} and the
+ * {@link ColumnarOperationReader}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ColumnarOperationExporterTest extends BaseUT {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a block with the given <code>previous</code> block id containing
+     * a transfer and a vote.
+     */
+    private static ExtendedSignedBlock createBlock(String previous, String timestamp, long amount) throws Exception {
+        ExtendedSignedBlock block = CommunicationHandler.getObjectMapper().readValue("{\"previous\":\"" + previous
+                + "\",\"timestamp\":\"" + timestamp + "\",\"witness\":\"initminer\",\"transaction_merkle_root\":"
+                + "\"0000000000000000000000000000000000000000\",\"extensions\":[],\"transactions\":[]}",
+                ExtendedSignedBlock.class);
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new TransferOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                new LegacyAsset(amount, LegacyAssetSymbolType.SBD), "memo"));
+        operations.add(new VoteOperation(new AccountName("dez1337"), new AccountName("steemj"), new Permlink("test"),
+                (short) -100));
+
+        block.setTransactions(Arrays.asList(new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), operations, null)));
+        return block;
+    }
+
+    /**
+     * Test that exported blocks and virtual operations can be read again.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testExportAndRead() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        try (ColumnarOperationExporter exporter = new ColumnarOperationExporter(directory, 2)) {
+            exporter.export(createBlock("000f423fa1b2c3d4e5f60718293a4b5c6d7e8f90", "2016-03-24T16:05:00", 1500));
+            exporter.export(createBlock("000f4240a1b2c3d4e5f60718293a4b5c6d7e8f90", "2016-03-24T16:05:03", 20));
+            exporter.export(createBlock("000f4241a1b2c3d4e5f60718293a4b5c6d7e8f90", "2016-03-24T16:05:06", 7));
+            exporter.export(CommunicationHandler.getObjectMapper().readValue("{\"trx_id\":"
+                    + "\"0000000000000000000000000000000000000000\",\"block\":1000003,\"trx_in_block\":4,"
+                    + "\"op_in_trx\":0,\"virtual_op\":1,\"timestamp\":\"2016-03-24T16:05:09\",\"op\":{\"type\":"
+                    + "\"fill_order_operation\",\"value\":{\"current_owner\":\"dez1337\",\"current_orderid\":3,"
+                    + "\"current_pays\":{\"amount\":\"1000\",\"precision\":3,\"nai\":\"@@000000013\"},"
+                    + "\"open_owner\":\"steemj\",\"open_orderid\":4,\"open_pays\":{\"amount\":\"2000\","
+                    + "\"precision\":3,\"nai\":\"@@000000021\"}}}}", AppliedOperation.class));
+        }
+
+        long[] expectedAmounts = { 1500, 20, 7 };
+        try (ColumnarOperationReader reader = new ColumnarOperationReader(
+                ColumnarOperationExporter.getFile(directory, TransferOperation.class),
+                Projection.of(ColumnarOperationExporter.BLOCK_COLUMN, "to", "amount.amount", "amount.symbol",
+                        "memo"))) {
+            for (int i = 0; i < expectedAmounts.length; i++) {
+                assertThat(reader.next(), equalTo(true));
+                assertThat(reader.getColumnNames(), containsInAnyOrder(ColumnarOperationExporter.BLOCK_COLUMN, "to",
+                        "amount.amount", "amount.symbol", "memo"));
+                assertThat(reader.getLong(ColumnarOperationExporter.BLOCK_COLUMN), equalTo(1000000L + i));
+                assertThat(reader.getString("to"), equalTo("steemj"));
+                assertThat(reader.getLong("amount.amount"), equalTo(expectedAmounts[i]));
+                assertThat(reader.getString("amount.symbol"), equalTo("SBD"));
+                assertThat(reader.getString("memo"), equalTo("memo"));
+            }
+            assertThat(reader.next(), equalTo(false));
+        }
+
+        try (ColumnarOperationReader reader = new ColumnarOperationReader(
+                ColumnarOperationExporter.getFile(directory, VoteOperation.class))) {
+            for (int i = 0; i < expectedAmounts.length; i++) {
+                assertThat(reader.next(), equalTo(true));
+                assertThat(reader.getLong(ColumnarOperationExporter.TIMESTAMP_COLUMN), equalTo(1458835500L + 3 * i));
+                assertThat(reader.getLong(ColumnarOperationExporter.OPERATION_INDEX_COLUMN), equalTo(1L));
+                assertThat(reader.getString("voter"), equalTo("dez1337"));
+                assertThat(reader.getString("permlink"), equalTo("test"));
+                assertThat(reader.getLong("weight"), equalTo(-100L));
+            }
+            assertThat(reader.next(), equalTo(false));
+        }
+
+        try (ColumnarOperationReader reader = new ColumnarOperationReader(
+                ColumnarOperationExporter.getFile(directory, FillOrderOperation.class))) {
+            assertThat(reader.next(), equalTo(true));
+            assertThat(reader.getLong(ColumnarOperationExporter.TRANSACTION_INDEX_COLUMN), equalTo(4L));
+            assertThat(reader.getString("value.current_owner"), equalTo("dez1337"));
+            assertThat(reader.getLong("value.current_orderid"), equalTo(3L));
+            assertThat(reader.getLong("value.open_pays.amount"), equalTo(2000L));
+            assertThat(reader.getLong("value.open_pays.precision"), equalTo(3L));
+            assertThat(reader.next(), equalTo(false));
+        }
+    }
+
+    /**
+     * Test that missing values are read as null.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testNullValues() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        AppliedOperation appliedOperation = CommunicationHandler.getObjectMapper().readValue("{\"trx_id\":"
+                + "\"0000000000000000000000000000000000000000\",\"block\":1,\"trx_in_block\":0,\"op_in_trx\":0,"
+                + "\"virtual_op\":1,\"timestamp\":\"2016-03-24T16:05:09\",\"op\":{\"type\":\"fill_order_operation\","
+                + "\"value\":{\"current_owner\":\"dez1337\",\"current_orderid\":3,\"open_orderid\":4}}}",
+                AppliedOperation.class);
+        try (ColumnarOperationExporter exporter = new ColumnarOperationExporter(directory)) {
+            exporter.export(appliedOperation);
+            exporter.export(appliedOperation.getOp(), 2, 1458835512, 0, 0);
+        }
+
+        try (ColumnarOperationReader reader = new ColumnarOperationReader(
+                ColumnarOperationExporter.getFile(directory, FillOrderOperation.class))) {
+            for (long blockNumber = 1; blockNumber <= 2; blockNumber++) {
+                assertThat(reader.next(), equalTo(true));
+                assertThat(reader.getLong(ColumnarOperationExporter.BLOCK_COLUMN), equalTo(blockNumber));
+                assertThat(reader.isNull("value.current_owner"), equalTo(false));
+                assertThat(reader.getString("value.open_owner"), nullValue());
+                assertThat(reader.isNull("value.open_pays.amount"), equalTo(true));
+                assertThat(reader.getLong("value.open_orderid"), equalTo(4L));
+            }
+            assertThat(reader.next(), equalTo(false));
+        }
+    }
+
+    /**
+     * Test that a second exporter appends its rows to the existing files
+     * instead of overwriting them.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAppendToExistingFiles() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        try (ColumnarOperationExporter exporter = new ColumnarOperationExporter(directory)) {
+            exporter.export(createBlock("000f423fa1b2c3d4e5f60718293a4b5c6d7e8f90", "2016-03-24T16:05:00", 1500));
+        }
+        try (ColumnarOperationExporter exporter = new ColumnarOperationExporter(directory)) {
+            exporter.export(createBlock("000f4240a1b2c3d4e5f60718293a4b5c6d7e8f90", "2016-03-24T16:05:03", 20));
+        }
+
+        long[] expectedAmounts = { 1500, 20 };
+        try (ColumnarOperationReader reader = new ColumnarOperationReader(
+                ColumnarOperationExporter.getFile(directory, TransferOperation.class))) {
+            for (int i = 0; i < expectedAmounts.length; i++) {
+                assertThat(reader.next(), equalTo(true));
+                assertThat(reader.getLong(ColumnarOperationExporter.BLOCK_COLUMN), equalTo(1000000L + i));
+                assertThat(reader.getLong("amount.amount"), equalTo(expectedAmounts[i]));
+            }
+            assertThat(reader.next(), equalTo(false));
+        }
+    }
+
+    /**
+     * Test that a file which is no columnar operation file is neither
+     * overwritten nor appended to.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testForeignFileIsNotModified() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        File file = ColumnarOperationExporter.getFile(directory, TransferOperation.class);
+        byte[] content = "no columnar file".getBytes(StandardCharsets.UTF_8);
+        Files.write(file.toPath(), content);
+
+        try (ColumnarOperationExporter exporter = new ColumnarOperationExporter(directory)) {
+            exporter.export(createBlock("000f423fa1b2c3d4e5f60718293a4b5c6d7e8f90", "2016-03-24T16:05:00", 1500));
+            fail("Expected an IOException.");
+        } catch (IOException e) {
+            // Expected.
+        }
+
+        assertThat(Files.readAllBytes(file.toPath()), equalTo(content));
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.CompactBlock;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.StringTable;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.enums.OperationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link CompactBlock}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class CompactBlockTest extends BaseUT {
+    private static final String SIGNATURE = "1f" + "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef"
+            + "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String POW = "{\"type\":\"pow\",\"worker_account\":\"steemit11\","
+            + "\"block_id\":\"000004433bd4602cf5f74dbb564183837df9cef8\",\"nonce\":\"13371758338046429148\","
+            + "\"work\":{\"worker\":\"STM65wH1LZ7BfSHcK69SShnqCAH5xdoSZpGkUjmzHJ5GCuxEK9V5G\","
+            + "\"input\":\"45a3824498b87e41129f6fef17be276af6ff87d1e859128f28aaa9c08208871d\","
+            + "\"signature\":\"" + SIGNATURE + "\","
+            + "\"work\":\"0000000c822c37f6a2e2f2e1d6b1a2a6c4c7cf0a8a6b1c1c4f54b9d4b2b7a1c1\"},"
+            + "\"props\":{\"account_creation_fee\":\"100.000 STEEM\",\"maximum_block_size\":131072,"
+            + "\"sbd_interest_rate\":1000}}";
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a block containing a vote and a transfer in two transactions.
+     */
+    private static ExtendedSignedBlock createBlock() throws Exception {
+        ExtendedSignedBlock block = CommunicationHandler.getObjectMapper().readValue("{\"previous\":"
+                + "\"000f423fa1b2c3d4e5f60718293a4b5c6d7e8f90\",\"timestamp\":\"2016-03-24T16:05:00\","
+                + "\"witness\":\"initminer\",\"transaction_merkle_root\":\"0000000000000000000000000000000000000000\","
+                + "\"extensions\":[],\"witness_signature\":\"" + SIGNATURE + "\",\"transactions\":[]}",
+                ExtendedSignedBlock.class);
+
+        List<Operation> votes = new ArrayList<>();
+        votes.add(new VoteOperation(new AccountName("xeroc"), new AccountName("xeroc"), new Permlink("piston"),
+                (short) 10000));
+        List<Operation> transfers = new ArrayList<>();
+        transfers.add(new TransferOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                new LegacyAsset(1L, LegacyAssetSymbolType.STEEM), "memo"));
+        transfers.add(new VoteOperation(new AccountName("dez1337"), new AccountName("steemj"), new Permlink("test"),
+                (short) -1));
+
+        SignedTransaction vote = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), votes, null);
+        vote.getSignatures().add(SIGNATURE);
+        SignedTransaction transfer = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), transfers, null);
+
+        block.setTransactions(Arrays.asList(vote, transfer));
+        block.setTransactionMerkleRoot(block.calculateTransactionMerkleRoot(null));
+        block.setBlockId(block.calculateBlockId());
+        block.setTransactionIds(Arrays.asList(vote.calculateTransactionId(), transfer.calculateTransactionId()));
+
+        return block;
+    }
+
+    /**
+     * Test the typed accessors of a compact block.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAccessors() throws Exception {
+        ExtendedSignedBlock block = createBlock();
+        StringTable stringTable = new StringTable();
+        CompactBlock compactBlock = new CompactBlock(block, stringTable);
+
+        assertThat(compactBlock.getBlockNumber(), equalTo(1000000));
+        assertThat(compactBlock.getBlockId(), equalTo(block.getBlockId()));
+        assertThat(compactBlock.getTimestamp(), equalTo(block.getTimestamp()));
+        assertThat(compactBlock.getWitness(), equalTo(new AccountName("initminer")));
+        assertThat(stringTable.get(compactBlock.getWitnessIndex()), equalTo("initminer"));
+
+        assertThat(compactBlock.getNumberOfTransactions(), equalTo(2));
+        assertThat(compactBlock.getNumberOfOperations(), equalTo(3));
+        assertThat(compactBlock.getFirstOperation(1), equalTo(1));
+        assertThat(compactBlock.getNumberOfOperations(1), equalTo(2));
+        assertThat(compactBlock.getRefBlockNum(1), equalTo(REF_BLOCK_NUM.intValue()));
+        assertThat(compactBlock.getRefBlockPrefix(1), equalTo(REF_BLOCK_PREFIX.longValue()));
+        assertThat(compactBlock.getTransactionId(1), equalTo(block.getTransactionIds().get(1)));
+
+        assertThat(compactBlock.getOperationType(1), equalTo(OperationType.TRANSFER_OPERATION));
+        assertThat(compactBlock.getOperationType(2), equalTo(OperationType.VOTE_OPERATION));
+        assertThat(compactBlock.getOperation(1), instanceOf(TransferOperation.class));
+        assertThat(CryptoUtils.HEX.encode(compactBlock.getOperationBytes(2)), equalTo(
+                CryptoUtils.HEX.encode(block.getTransactions().get(1).getOperations().get(1).toByteArray())));
+
+        // A second block of the same witness does not grow the table.
+        new CompactBlock(block, stringTable);
+        assertThat(stringTable.size(), equalTo(1));
+    }
+
+    /**
+     * Test that a compact block can be transformed back into an equal block.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testToExtendedSignedBlock() throws Exception {
+        ExtendedSignedBlock block = createBlock();
+        ExtendedSignedBlock restoredBlock = new CompactBlock(block, new StringTable()).toExtendedSignedBlock();
+
+        assertThat(CryptoUtils.HEX.encode(restoredBlock.toByteArray()),
+                equalTo(CryptoUtils.HEX.encode(block.toByteArray())));
+        assertThat(restoredBlock.calculateBlockId(), equalTo(block.getBlockId()));
+        assertThat(restoredBlock.verifyTransactionMerkleRoot(null), equalTo(true));
+        assertThat(restoredBlock.getTransactionIds(), equalTo(block.getTransactionIds()));
+
+        for (int i = 0; i < block.getTransactions().size(); i++) {
+            SignedTransaction transaction = restoredBlock.getTransactions().get(i);
+            TransactionId transactionId = transaction.calculateTransactionId();
+
+            assertThat(transactionId, equalTo(block.getTransactionIds().get(i)));
+            assertThat(transaction.getSignatures(), equalTo(block.getTransactions().get(i).getSignatures()));
+        }
+    }
+
+    /**
+     * Test that a pow operation, which has no binary representation, is
+     * stored as JSON and restored again.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPowOperationIsStoredAsJson() throws Exception {
+        ExtendedSignedBlock block = createBlock();
+        List<Operation> operations = new ArrayList<>(block.getTransactions().get(1).getOperations());
+        operations.add(CommunicationHandler.getObjectMapper().readValue(POW, Operation.class));
+        block.getTransactions().get(1).setOperations(operations);
+
+        CompactBlock compactBlock = new CompactBlock(block, new StringTable());
+        assertThat(compactBlock.getNumberOfOperations(), equalTo(4));
+        assertThat(compactBlock.getOperationType(3), equalTo(OperationType.POW_OPERATION));
+
+        PowOperation powOperation = (PowOperation) compactBlock.getOperation(3);
+        assertThat(powOperation.getWorkerAccount(), equalTo(new AccountName("steemit11")));
+        assertThat(CommunicationHandler.getObjectMapper().writerFor(Operation.class).writeValueAsString(powOperation),
+                equalTo(CommunicationHandler.getObjectMapper().writerFor(Operation.class)
+                        .writeValueAsString(operations.get(2))));
+        assertThat(compactBlock.toExtendedSignedBlock().getTransactions().get(1).getOperations().get(2),
+                instanceOf(PowOperation.class));
+    }
+
+    /**
+     * Test that a full string table rejects new names, but still resolves the
+     * known ones.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testFullStringTable() throws Exception {
+        ExtendedSignedBlock block = createBlock();
+        StringTable stringTable = new StringTable(1);
+        stringTable.indexOf("dez1337");
+
+        try {
+            new CompactBlock(block, stringTable);
+            fail("Expected a SteemInvalidTransactionException.");
+        } catch (SteemInvalidTransactionException e) {
+            // Expected.
+        }
+
+        assertThat(stringTable.size(), equalTo(1));
+        assertThat(stringTable.indexOf("dez1337"), equalTo(0));
+        assertThat(new CompactBlock(block, new StringTable(1)).getWitness(), equalTo(new AccountName("initminer")));
+    }
+
+    /**
+     * Test that a block filled by a {@link CompactBlock.Builder} from binary
+     * values equals the block created from an {@link ExtendedSignedBlock}.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBuilder() throws Exception {
+        ExtendedSignedBlock block = createBlock();
+        StringTable stringTable = new StringTable();
+        CompactBlock.Builder builder = new CompactBlock.Builder(stringTable)
+                .setPrevious(block.getPrevious().toByteArray())
+                .setTimestamp(block.getTimestamp().getDateTimeAsEpochSeconds()).setWitness("initminer")
+                .setTransactionMerkleRoot(block.getTransactionMerkleRoot().toByteArray())
+                .setWitnessSignature(CryptoUtils.HEX.decode(SIGNATURE)).setBlockId(block.getBlockId().toByteArray());
+
+        for (int i = 0; i < block.getTransactions().size(); i++) {
+            SignedTransaction transaction = block.getTransactions().get(i);
+            builder.addTransaction(transaction.getRefBlockNum().intValue(),
+                    transaction.getRefBlockPrefix().longValue(),
+                    transaction.getExpirationDate().getDateTimeAsEpochSeconds(), 0).addTransactionId(block.getTransactionIds().get(i).toByteArray());
+
+            for (Operation operation : transaction.getOperations()) {
+                // Add the operation from the middle of a larger buffer.
+                byte[] serializedOperation = operation.toByteArray();
+                byte[] buffer = new byte[serializedOperation.length + 2];
+                System.arraycopy(serializedOperation, 0, buffer, 1, serializedOperation.length);
+                builder.addOperation(buffer, 1, serializedOperation.length);
+            }
+
+            for (String signature : transaction.getSignatures()) {
+                builder.addSignature(CryptoUtils.HEX.decode(signature));
+            }
+        }
+
+        CompactBlock compactBlock = builder.build();
+        ExtendedSignedBlock restoredBlock = compactBlock.toExtendedSignedBlock();
+
+        assertThat(CryptoUtils.HEX.encode(restoredBlock.toByteArray()),
+                equalTo(CryptoUtils.HEX.encode(block.toByteArray())));
+        assertThat(restoredBlock.getTransactionIds(), equalTo(block.getTransactionIds()));
+        assertThat(restoredBlock.getTransactions().get(0).getSignatures(), equalTo(Arrays.asList(SIGNATURE)));
+        assertThat(compactBlock.getWitnessIndex(), equalTo(new CompactBlock(block, stringTable).getWitnessIndex()));
+    }
+
+    /**
+     * Test that a {@link CompactBlock.Builder} rejects incomplete blocks and
+     * operations that do not belong to a transaction.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBuilderRejectsIncompleteBlocks() throws Exception {
+        ExtendedSignedBlock block = createBlock();
+        CompactBlock.Builder builder = new CompactBlock.Builder(new StringTable())
+                .setPrevious(block.getPrevious().toByteArray())
+                .setTimestamp(block.getTimestamp().getDateTimeAsEpochSeconds())
+                .setTransactionMerkleRoot(block.getTransactionMerkleRoot().toByteArray());
+
+        try {
+            builder.build();
+            fail("Expected a SteemInvalidTransactionException.");
+        } catch (SteemInvalidTransactionException e) {
+            // Expected.
+        }
+
+        byte[] serializedOperation = block.getTransactions().get(0).getOperations().get(0).toByteArray();
+        try {
+            builder.addOperation(serializedOperation, 0, serializedOperation.length);
+            fail("Expected an IllegalStateException.");
+        } catch (IllegalStateException e) {
+            // Expected.
+        }
+
+        builder.setWitness("initminer").addTransaction(0, 0, 0, 0).addOperation(serializedOperation, 0,
+                serializedOperation.length);
+        try {
+            builder.addOperation(new byte[] { (byte) 0x7F }, 0, 1);
+            fail("Expected a SteemInvalidTransactionException.");
+        } catch (SteemInvalidTransactionException e) {
+            // Expected.
+        }
+
+        CompactBlock compactBlock = builder.build();
+        assertThat(compactBlock.getNumberOfOperations(), equalTo(1));
+        assertThat(compactBlock.getTransactionId(0), equalTo(null));
+    }
+}
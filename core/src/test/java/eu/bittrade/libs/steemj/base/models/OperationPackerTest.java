@@ -0,0 +1,218 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.OperationPacker;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link OperationPacker}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationPackerTest extends BaseUT {
+    private static final long EXPIRATION_TIMESTAMP = (System.currentTimeMillis() / 1000 + 600) * 1000;
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a vote of the given voter.
+     */
+    private static VoteOperation createVoteOperation(String voter, int index) {
+        return new VoteOperation(new AccountName(voter), new AccountName("xeroc"), new Permlink("piston-" + index),
+                (short) 10000);
+    }
+
+    /**
+     * Create a signed transaction containing the given operations.
+     */
+    private static SignedTransaction createSignedTransaction(List<Operation> operations)
+            throws SteemInvalidTransactionException {
+        SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_TIMESTAMP), operations, null);
+        signedTransaction.sign();
+
+        return signedTransaction;
+    }
+
+    /**
+     * Test that operations are grouped by their required authorities.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPackByRequiredAuthorities() throws Exception {
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            operations.add(createVoteOperation("dez1337", i));
+            operations.add(new TransferOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                    new LegacyAsset(1, LegacyAssetSymbolType.STEEM), "Airdrop " + i));
+            operations.add(createVoteOperation("foobara", i));
+            operations.add(createVoteOperation("dez1337", i + 5));
+        }
+
+        List<List<Operation>> packedOperations = OperationPacker.pack(operations);
+
+        assertThat(packedOperations.size(), equalTo(3));
+        assertThat(packedOperations.get(0).size(), equalTo(10));
+        assertThat(packedOperations.get(0).get(1), equalTo(operations.get(3)));
+        assertThat(packedOperations.get(1).size(), equalTo(5));
+        assertThat(packedOperations.get(2).size(), equalTo(5));
+
+        for (List<Operation> transactionOperations : packedOperations) {
+            createSignedTransaction(transactionOperations).validate();
+        }
+    }
+
+    /**
+     * Test that the transactions do not exceed the maximum size.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPackBySize() throws Exception {
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            operations.add(createVoteOperation("dez1337", i));
+        }
+
+        // Exactly three votes fit into a transaction of this size.
+        int maximumTransactionSize = createSignedTransaction(operations.subList(0, 3)).toSignedByteArray().length;
+        List<List<Operation>> packedOperations = OperationPacker.pack(operations, maximumTransactionSize);
+
+        assertThat(packedOperations.size(), equalTo(4));
+        for (List<Operation> transactionOperations : packedOperations) {
+            assertThat(createSignedTransaction(transactionOperations).toSignedByteArray().length,
+                    lessThanOrEqualTo(maximumTransactionSize));
+        }
+        assertThat(packedOperations.get(3).size(), equalTo(1));
+    }
+
+    /**
+     * Test that an operation larger than the maximum size is rejected.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = SteemInvalidTransactionException.class)
+    public void testPackTooLargeOperation() throws Exception {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(createVoteOperation("dez1337", 0));
+
+        OperationPacker.pack(operations, 64);
+    }
+
+    /**
+     * Test that the transactions of a multi signature account leave space
+     * for all required signatures.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPackMultiSignatureOperations() throws Exception {
+        // Use an account name with the same length as "dez1337", so the votes
+        // have the same size.
+        AccountName multiSignatureAccount = new AccountName("multisg");
+        Authority posting = new Authority();
+        posting.setWeightThreshold(2);
+        for (int i = 0; i < 3; i++) {
+            posting.getKeyAuths().put(new PublicKey(new ECKey()), 1);
+        }
+        SteemJConfig.getInstance().getAuthorityCache().put(multiSignatureAccount, posting, posting, posting);
+
+        try {
+            // Use long permlinks, so a vote is larger than a signature.
+            StringBuilder permlink = new StringBuilder("piston-");
+            while (permlink.length() < 100) {
+                permlink.append('x');
+            }
+
+            List<Operation> operations = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                for (String voter : new String[] { "dez1337", multiSignatureAccount.getName() }) {
+                    operations.add(new VoteOperation(new AccountName(voter), new AccountName("xeroc"),
+                            new Permlink(permlink.toString() + i), (short) 10000));
+                }
+            }
+
+            // Exactly two votes with a single signature fit into a
+            // transaction of this size, but only one vote that requires two
+            // signatures.
+            List<Operation> twoVotes = new ArrayList<>();
+            twoVotes.add(operations.get(0));
+            twoVotes.add(operations.get(2));
+            int maximumTransactionSize = createSignedTransaction(twoVotes).toSignedByteArray().length;
+            List<List<Operation>> packedOperations = OperationPacker.pack(operations, maximumTransactionSize);
+
+            assertThat(packedOperations.size(), equalTo(6));
+            assertThat(packedOperations.get(0).size(), equalTo(2));
+            assertThat(packedOperations.get(1).size(), equalTo(1));
+        } finally {
+            SteemJConfig.getInstance().getAuthorityCache().invalidate(multiSignatureAccount);
+        }
+    }
+
+    /**
+     * Test that the maximum transaction size is derived from the maximum block
+     * size.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testGetMaximumTransactionSize() throws Exception {
+        assertThat(OperationPacker.MAXIMUM_TRANSACTION_SIZE, equalTo(65536 - 256));
+
+        DynamicGlobalProperty dynamicGlobalProperty = CommunicationHandler.getObjectMapper()
+                .readValue("{\"maximum_block_size\":131072}", DynamicGlobalProperty.class);
+        assertThat(OperationPacker.getMaximumTransactionSize(dynamicGlobalProperty), equalTo(131072 - 256));
+    }
+}
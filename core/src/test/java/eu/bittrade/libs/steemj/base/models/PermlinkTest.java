@@ -84,4 +84,15 @@ public class PermlinkTest {
     public void testPermlinkValidation() {
         new Permlink("steemj-v0-2-4-has-been-released-update-9");
     }
+
+    /**
+     * Test the validation of the
+     * {@link eu.bittrade.libs.steemj.base.models.Permlink#setLink(String link)
+     * setLink(String link)} method by providing a link with upper case
+     * characters.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testPermlinkValidationUpperCase() {
+        new Permlink("SteemJ-v0-2-4");
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.PresignedTransactionPool;
+import eu.bittrade.libs.steemj.chain.ReferenceBlockProvider;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.enums.ReferenceBlockType;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link PresignedTransactionPool}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PresignedTransactionPoolTest extends BaseUT {
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * A reference block provider that always returns the same block id and
+     * counts the created transactions.
+     */
+    private static class CountingReferenceBlockProvider extends ReferenceBlockProvider {
+        private final AtomicInteger numberOfCreatedTransactions = new AtomicInteger();
+
+        /**
+         * Create a new provider using the given expiration date offset.
+         */
+        private CountingReferenceBlockProvider(long expirationDateOffset) {
+            super(null, ReferenceBlockType.HEAD_BLOCK, 60000L, expirationDateOffset);
+        }
+
+        @Override
+        protected BlockId requestReferenceBlockId() {
+            return new BlockId("00000064a1b2c3d4e5f60718293a4b5c6d7e8f90");
+        }
+
+        @Override
+        public SignedTransaction createTransaction(List<Operation> operations, List<FutureExtensions> extensions)
+                throws SteemCommunicationException, SteemResponseException {
+            numberOfCreatedTransactions.incrementAndGet();
+            return super.createTransaction(operations, extensions);
+        }
+    }
+
+    /**
+     * A pool that records the broadcasted transactions instead of sending
+     * them to a Steem node.
+     */
+    private static class RecordingPresignedTransactionPool extends PresignedTransactionPool {
+        private final List<SignedTransaction> submittedTransactions = new ArrayList<>();
+        private final List<Long> submissionTimestamps = new ArrayList<>();
+
+        /**
+         * Create a new pool.
+         */
+        private RecordingPresignedTransactionPool(ReferenceBlockProvider referenceBlockProvider,
+                long refreshInterval, long refreshMargin) {
+            super(null, referenceBlockProvider, refreshInterval, refreshMargin);
+        }
+
+        @Override
+        protected synchronized void submit(SignedTransaction signedTransaction) {
+            submissionTimestamps.add(System.currentTimeMillis());
+            submittedTransactions.add(signedTransaction);
+        }
+
+        @Override
+        protected void warmUp() {
+            // There is no connection to warm up.
+        }
+    }
+
+    /**
+     * A pool whose warm up requests hang until the test releases them.
+     */
+    private static class HangingWarmUpPresignedTransactionPool extends RecordingPresignedTransactionPool {
+        private final CountDownLatch warmUpGate = new CountDownLatch(1);
+
+        /**
+         * Create a new pool.
+         */
+        private HangingWarmUpPresignedTransactionPool(ReferenceBlockProvider referenceBlockProvider) {
+            super(referenceBlockProvider, 60000L, 300000L);
+        }
+
+        @Override
+        protected void warmUp() {
+            try {
+                warmUpGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Create the operations of a single vote.
+     */
+    private static List<Operation> createVoteOperations(int index) {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("dez1337"), new AccountName("xeroc"),
+                new Permlink("piston-" + index), (short) 10000));
+
+        return operations;
+    }
+
+    /**
+     * Test that a transaction is broadcasted at the scheduled time and that a
+     * cancelled transaction is not broadcasted at all.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSchedule() throws Exception {
+        try (RecordingPresignedTransactionPool presignedTransactionPool = new RecordingPresignedTransactionPool(
+                new CountingReferenceBlockProvider(600000L), 60000L, 300000L)) {
+            long releaseTimestamp = System.currentTimeMillis() + 1000L;
+            ListenableFuture<TransactionId> cancelledTransaction = presignedTransactionPool
+                    .schedule(createVoteOperations(0), releaseTimestamp);
+            ListenableFuture<TransactionId> scheduledTransaction = presignedTransactionPool
+                    .schedule(createVoteOperations(1), releaseTimestamp);
+            cancelledTransaction.cancel(false);
+
+            TransactionId transactionId = scheduledTransaction.get(5, TimeUnit.SECONDS);
+
+            assertThat(presignedTransactionPool.submittedTransactions.size(), equalTo(1));
+            assertThat(presignedTransactionPool.submittedTransactions.get(0).calculateTransactionId(),
+                    equalTo(transactionId));
+            assertThat(presignedTransactionPool.submittedTransactions.get(0).getSignatures().size(), equalTo(1));
+            assertThat(presignedTransactionPool.submissionTimestamps.get(0),
+                    greaterThanOrEqualTo(releaseTimestamp));
+        }
+    }
+
+    /**
+     * Test that a transaction close to its expiration date is signed again.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRefreshExpiringTransaction() throws Exception {
+        // Every transaction expires within the refresh margin, so it is signed
+        // again with every check.
+        CountingReferenceBlockProvider referenceBlockProvider = new CountingReferenceBlockProvider(2000L);
+        try (RecordingPresignedTransactionPool presignedTransactionPool = new RecordingPresignedTransactionPool(
+                referenceBlockProvider, 50L, 60000L)) {
+            presignedTransactionPool.schedule(createVoteOperations(0), System.currentTimeMillis() + 1000L).get(5,
+                    TimeUnit.SECONDS);
+
+            assertThat(referenceBlockProvider.numberOfCreatedTransactions.get(), greaterThan(1));
+            assertThat(presignedTransactionPool.submittedTransactions.get(0).getExpirationDate()
+                    .getDateTimeAsTimestamp(), greaterThan(presignedTransactionPool.submissionTimestamps.get(0)));
+        }
+    }
+
+    /**
+     * Test that hanging warm up requests do not delay the release of
+     * transactions.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testReleaseIsNotDelayedByWarmUp() throws Exception {
+        try (HangingWarmUpPresignedTransactionPool presignedTransactionPool = new HangingWarmUpPresignedTransactionPool(
+                new CountingReferenceBlockProvider(600000L))) {
+            long releaseTimestamp = System.currentTimeMillis() + PresignedTransactionPool.WARM_UP_LEAD_TIME + 500L;
+            List<ListenableFuture<TransactionId>> scheduledTransactions = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                scheduledTransactions.add(presignedTransactionPool.schedule(createVoteOperations(i), releaseTimestamp));
+            }
+
+            try {
+                for (ListenableFuture<TransactionId> scheduledTransaction : scheduledTransactions) {
+                    scheduledTransaction.get(5, TimeUnit.SECONDS);
+                }
+            } finally {
+                presignedTransactionPool.warmUpGate.countDown();
+            }
+
+            for (Long submissionTimestamp : ((RecordingPresignedTransactionPool) presignedTransactionPool)
+                    .submissionTimestamps) {
+                assertThat(submissionTimestamp, lessThan(releaseTimestamp + 1000L));
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.security.InvalidParameterException;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCResponse;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+
+/**
+ * Test the parsing of responses using a {@link Projection}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ProjectionTest extends BaseUT {
+    private static final String ACCOUNT = "{\"id\":1,\"name\":\"dez1337\",\"owner\":{\"weight_threshold\":1,"
+            + "\"account_auths\":[],\"key_auths\":[[\"STM6zLNtyFVToBsBZDsgMhgjpwysYVbsQD6YhP3kRkQhANUB4w7Qp\",1]]},"
+            + "\"json_metadata\":\"{\\\"profile\\\":{}}\",\"balance\":\"1.000 STEEM\",\"vesting_shares\":"
+            + "\"2.000000 VESTS\",\"proxied_vsf_votes\":[0,0,0,0],\"tags_usage\":[]}";
+    private static final JavaType PROJECTED_OBJECT_LIST = CommunicationHandler.getObjectMapper().getTypeFactory()
+            .constructCollectionType(List.class, ProjectedObject.class);
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass()
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Test that only the selected fields of the objects in the result list are
+     * kept.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testProjectResultList() throws Exception {
+        JsonRPCResponse response = JsonRPCResponse.fromJson(
+                "{\"jsonrpc\":\"2.0\",\"result\":[" + ACCOUNT + "," + ACCOUNT + "],\"id\":7}",
+                Projection.of("name", "balance", "owner"));
+
+        List<ProjectedObject> accounts = response.handleResult(PROJECTED_OBJECT_LIST, 7);
+
+        assertThat(accounts.size(), equalTo(2));
+        assertThat(accounts.get(1).getFieldNames(), contains("name", "owner", "balance"));
+        assertThat(accounts.get(1).get("name", AccountName.class), equalTo(new AccountName("dez1337")));
+        assertThat(accounts.get(1).get("balance", LegacyAsset.class).getSymbol(),
+                equalTo(LegacyAssetSymbolType.STEEM));
+        assertThat(accounts.get(1).getNode("owner").get("key_auths").size(), equalTo(1));
+        assertThat(accounts.get(1).get("vesting_shares", LegacyAsset.class), nullValue());
+    }
+
+    /**
+     * Test that the lists wrapped by the result object are projected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testProjectWrappedList() throws Exception {
+        JsonRPCResponse response = JsonRPCResponse.fromJson("{\"id\":7,\"jsonrpc\":\"2.0\",\"result\":{\"accounts\":["
+                + ACCOUNT + "],\"next\":\"steemj\"}}", Projection.of("proxied_vsf_votes"));
+
+        ProjectedObject result = response.<ProjectedObject> handleResult(PROJECTED_OBJECT_LIST, 7).get(0);
+        ProjectedObject account = result.get("accounts", new TypeReference<List<ProjectedObject>>() {
+        }).get(0);
+
+        assertThat(result.get("next", AccountName.class), equalTo(new AccountName("steemj")));
+        assertThat(account.getFieldNames(), contains("proxied_vsf_votes"));
+        assertThat(account.get("proxied_vsf_votes", new TypeReference<List<Long>>() {
+        }), contains(0L, 0L, 0L, 0L));
+    }
+
+    /**
+     * Test that errors are not affected by the projection.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testErrorsAreKept() throws Exception {
+        JsonRPCResponse response = JsonRPCResponse.fromJson(
+                "{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32000,\"message\":\"Bad Cast\"},\"id\":7}",
+                Projection.of("name"));
+
+        assertThat(response.isError(), equalTo(true));
+        assertThat(response.handleError(7).getMessage(), equalTo("Bad Cast"));
+    }
+
+    /**
+     * Test that a projection requires at least one field.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testEmptyProjection() {
+        Projection.of();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.ReferenceBlockProvider;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.enums.ReferenceBlockType;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link ReferenceBlockProvider}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ReferenceBlockProviderTest extends BaseUT {
+    private static final long EXPIRATION_DATE_OFFSET = 600000L;
+
+    /**
+     * A provider that counts the requests and returns a new block id for each
+     * of them instead of asking a Steem node.
+     */
+    private static class CountingReferenceBlockProvider extends ReferenceBlockProvider {
+        private final AtomicInteger numberOfRequests = new AtomicInteger();
+
+        /**
+         * Create a new provider with the given refresh interval.
+         */
+        private CountingReferenceBlockProvider(long refreshInterval) {
+            super(null, ReferenceBlockType.HEAD_BLOCK, refreshInterval, EXPIRATION_DATE_OFFSET);
+        }
+
+        @Override
+        protected BlockId requestReferenceBlockId() {
+            return new BlockId(String.format("%08x", numberOfRequests.incrementAndGet()) + "a1b2c3d4e5f60718293a4b5c6d7e8f90");
+        }
+    }
+
+    /**
+     * Test that the reference block is cached and used to create
+     * transactions.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testCreateTransaction() throws Exception {
+        try (CountingReferenceBlockProvider referenceBlockProvider = new CountingReferenceBlockProvider(60000L)) {
+            List<Operation> operations = new ArrayList<>();
+            operations.add(new VoteOperation(new AccountName("xeroc"), new AccountName("xeroc"),
+                    new Permlink("piston"), (short) 10000));
+
+            long now = System.currentTimeMillis();
+            SignedTransaction signedTransaction = referenceBlockProvider.createTransaction(operations, null);
+            referenceBlockProvider.createTransaction(operations, null);
+
+            assertThat(referenceBlockProvider.numberOfRequests.get(), equalTo(1));
+            assertThat(signedTransaction.getRefBlockNum().intValue(), equalTo(1));
+            assertThat(signedTransaction.getExpirationDate().getDateTimeAsTimestamp(),
+                    greaterThan(now + EXPIRATION_DATE_OFFSET - 1000L));
+            assertThat(signedTransaction.getExpirationDate().getDateTimeAsTimestamp(),
+                    lessThanOrEqualTo(System.currentTimeMillis() + EXPIRATION_DATE_OFFSET));
+        }
+    }
+
+    /**
+     * Test that the reference block is refreshed in the background.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBackgroundRefresh() throws Exception {
+        try (CountingReferenceBlockProvider referenceBlockProvider = new CountingReferenceBlockProvider(10L)) {
+            assertThat(referenceBlockProvider.getReferenceBlockId().getNumberFromHash(), equalTo(1));
+
+            long timeout = System.currentTimeMillis() + 5000L;
+            while (referenceBlockProvider.numberOfRequests.get() < 3 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10L);
+            }
+
+            assertThat(referenceBlockProvider.getReferenceBlockId().getNumberFromHash(), greaterThan(1));
+        }
+    }
+}
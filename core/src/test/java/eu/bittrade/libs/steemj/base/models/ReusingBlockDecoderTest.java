@@ -0,0 +1,232 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.CompactBlock;
+import eu.bittrade.libs.steemj.chain.ReusingBlockDecoder;
+import eu.bittrade.libs.steemj.chain.ReusingBlockDecoder.BlockHandler;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.StringTable;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link ReusingBlockDecoder}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class ReusingBlockDecoderTest extends BaseUT {
+    private static final String SIGNATURE = "1f" + "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef"
+            + "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a block containing a vote and a custom json operation for the
+     * given <code>permlink</code>.
+     */
+    private static ExtendedSignedBlock createBlock(String permlink) throws Exception {
+        ExtendedSignedBlock block = CommunicationHandler.getObjectMapper().readValue("{\"previous\":"
+                + "\"000f423fa1b2c3d4e5f60718293a4b5c6d7e8f90\",\"timestamp\":\"2016-03-24T16:05:00\","
+                + "\"witness\":\"initminer\",\"transaction_merkle_root\":\"0000000000000000000000000000000000000000\","
+                + "\"extensions\":[],\"witness_signature\":\"" + SIGNATURE + "\",\"transactions\":[]}",
+                ExtendedSignedBlock.class);
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("xeroc"), new AccountName("xeroc"), new Permlink(permlink),
+                (short) 10000));
+        operations.add(new CustomJsonOperation(null, Arrays.asList(new AccountName("dez1337")), "follow",
+                "[\"follow\",{\"what\":[\"blog\"]}]"));
+
+        SignedTransaction transaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), operations, null);
+        transaction.getSignatures().add(SIGNATURE);
+
+        block.setTransactions(Arrays.asList(transaction));
+        block.setTransactionMerkleRoot(block.calculateTransactionMerkleRoot(null));
+        block.setBlockId(block.calculateBlockId());
+        block.setTransactionIds(Arrays.asList(transaction.calculateTransactionId()));
+
+        return block;
+    }
+
+    /**
+     * Test that the decoded blocks match the original ones although their
+     * objects are reused.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDecode() throws Exception {
+        StringTable stringTable = new StringTable();
+        final List<ExtendedSignedBlock> originalBlocks = Arrays.asList(createBlock("piston"),
+                createBlock("piston2"));
+        List<CompactBlock> compactBlocks = new ArrayList<>();
+        for (ExtendedSignedBlock originalBlock : originalBlocks) {
+            compactBlocks.add(new CompactBlock(originalBlock, stringTable));
+        }
+
+        final List<Object> decodedObjects = new ArrayList<>();
+        ReusingBlockDecoder.decode(compactBlocks, new BlockHandler() {
+            @Override
+            public void handle(ExtendedSignedBlock block) throws SteemInvalidTransactionException {
+                ExtendedSignedBlock originalBlock = originalBlocks.get(decodedObjects.size() / 2);
+
+                assertThat(CryptoUtils.HEX.encode(block.toByteArray()),
+                        equalTo(CryptoUtils.HEX.encode(originalBlock.toByteArray())));
+                assertThat(block.getBlockId(), equalTo(originalBlock.getBlockId()));
+                assertThat(block.getTransactionIds(), equalTo(originalBlock.getTransactionIds()));
+                assertThat(block.getTransactions().get(0).calculateTransactionId(),
+                        equalTo(originalBlock.getTransactionIds().get(0)));
+
+                decodedObjects.add(block);
+                decodedObjects.add(block.getTransactions().get(0).getOperations().get(0));
+            }
+        });
+
+        assertThat(decodedObjects.size(), equalTo(4));
+        assertThat(decodedObjects.get(2), sameInstance(decodedObjects.get(0)));
+        assertThat(decodedObjects.get(3), sameInstance(decodedObjects.get(1)));
+    }
+
+    /**
+     * Test that a block decoded while another block is processed does not
+     * overwrite the objects of the outer block.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testNestedDecode() throws Exception {
+        StringTable stringTable = new StringTable();
+        final CompactBlock outerBlock = new CompactBlock(createBlock("piston"), stringTable);
+        final CompactBlock innerBlock = new CompactBlock(createBlock("piston2"), stringTable);
+
+        ReusingBlockDecoder.decode(outerBlock, new BlockHandler() {
+            @Override
+            public void handle(final ExtendedSignedBlock outer) throws SteemInvalidTransactionException {
+                ReusingBlockDecoder.decode(innerBlock, new BlockHandler() {
+                    @Override
+                    public void handle(ExtendedSignedBlock inner) throws SteemInvalidTransactionException {
+                        assertThat(inner, not(sameInstance(outer)));
+                        assertThat(inner.getBlockId(), equalTo(innerBlock.getBlockId()));
+                    }
+                });
+
+                assertThat(outer.getBlockId(), equalTo(outerBlock.getBlockId()));
+                assertThat(((VoteOperation) outer.getTransactions().get(0).getOperations().get(0)).getPermlink(),
+                        equalTo(new Permlink("piston")));
+            }
+        });
+    }
+
+    /**
+     * Test that the reused transaction ids are overwritten with a copy of the
+     * ids stored in the compact blocks.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransactionIdsAreCopied() throws Exception {
+        StringTable stringTable = new StringTable();
+        final ExtendedSignedBlock firstBlock = createBlock("piston");
+        final ExtendedSignedBlock secondBlock = createBlock("piston2");
+        List<CompactBlock> compactBlocks = Arrays.asList(new CompactBlock(firstBlock, stringTable),
+                new CompactBlock(secondBlock, stringTable));
+
+        final List<TransactionId> transactionIds = new ArrayList<>();
+        ReusingBlockDecoder.decode(compactBlocks, new BlockHandler() {
+            @Override
+            public void handle(ExtendedSignedBlock block) throws SteemInvalidTransactionException {
+                transactionIds.add(block.getTransactionIds().get(0));
+                assertThat(block.getTransactionIds().get(0),
+                        equalTo((transactionIds.size() == 1 ? firstBlock : secondBlock).getTransactionIds().get(0)));
+            }
+        });
+
+        assertThat(transactionIds.get(1), sameInstance(transactionIds.get(0)));
+        assertThat(compactBlocks.get(0).getTransactionId(0), equalTo(firstBlock.getTransactionIds().get(0)));
+        assertThat(compactBlocks.get(1).getTransactionId(0), equalTo(secondBlock.getTransactionIds().get(0)));
+    }
+
+    /**
+     * Test that a block containing a pow operation is decoded and that the
+     * following blocks are still decoded into the reused objects.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testPowBlockIsDecoded() throws Exception {
+        StringTable stringTable = new StringTable();
+        ExtendedSignedBlock powBlock = createBlock("piston");
+        List<Operation> operations = new ArrayList<>(powBlock.getTransactions().get(0).getOperations());
+        PowOperation powOperation = new PowOperation();
+        powOperation.setWorkerAccount(new AccountName("steemit11"));
+        operations.add(powOperation);
+        powBlock.getTransactions().get(0).setOperations(operations);
+
+        final List<Operation> decodedOperations = new ArrayList<>();
+        BlockHandler handler = new BlockHandler() {
+            @Override
+            public void handle(ExtendedSignedBlock block) throws SteemInvalidTransactionException {
+                decodedOperations.addAll(block.getTransactions().get(0).getOperations());
+            }
+        };
+        ReusingBlockDecoder.decode(new CompactBlock(powBlock, stringTable), handler);
+
+        assertThat(decodedOperations.size(), equalTo(3));
+        assertThat(decodedOperations.get(2) instanceof PowOperation, equalTo(true));
+        assertThat(((PowOperation) decodedOperations.get(2)).getWorkerAccount(),
+                equalTo(new AccountName("steemit11")));
+
+        decodedOperations.clear();
+        ReusingBlockDecoder.decode(new CompactBlock(createBlock("piston2"), stringTable), handler);
+
+        assertThat(decodedOperations.size(), equalTo(2));
+    }
+}
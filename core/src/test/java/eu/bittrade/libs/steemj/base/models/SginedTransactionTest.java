@@ -17,16 +17,21 @@
 package eu.bittrade.libs.steemj.base.models;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
 
 import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
 import eu.bittrade.crypto.core.Sha256Hash;
 import eu.bittrade.libs.steemj.BaseTransactionalUT;
 import eu.bittrade.libs.steemj.chain.SignedTransaction;
@@ -37,9 +42,12 @@ import eu.bittrade.libs.steemj.fc.TimePointSec;
 import eu.bittrade.libs.steemj.plugins.apis.follow.enums.FollowType;
 import eu.bittrade.libs.steemj.plugins.apis.follow.models.operations.FollowOperation;
 import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
 import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
 import eu.bittrade.libs.steemj.protocol.operations.Operation;
 import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.util.Secp256k1Signer;
 
 /**
  * Test the transaction object.
@@ -107,6 +115,29 @@ public class SginedTransactionTest extends BaseTransactionalUT {
                 equalTo(EXPECTED_HASH));
     }
 
+    /**
+     * Test the local calculation of the transaction id, which does not depend
+     * on the signatures.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testCalculateTransactionId() throws Exception {
+        final String EXPECTED_TRANSACTION_ID = "50e9a943d6122be636d6af35de0e28aab762eadb";
+
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(voteOperation);
+
+        signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_DATE),
+                operations, null);
+
+        assertThat(signedTransaction.calculateTransactionId().toString(), equalTo(EXPECTED_TRANSACTION_ID));
+
+        signedTransaction.getSignatures().add(CryptoUtils.HEX.encode(new byte[65]));
+        assertThat(signedTransaction.calculateTransactionId().toString(), equalTo(EXPECTED_TRANSACTION_ID));
+    }
+
     /**
      * Test if the required authorities are collected correctly.
      * 
@@ -146,6 +177,155 @@ public class SginedTransactionTest extends BaseTransactionalUT {
 
     }
 
+    /**
+     * Test that all signatures created for a transaction requiring multiple
+     * keys belong to the final serialized form of the transaction, even if the
+     * expiration date had to be changed to find canonical signatures.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSignWithMultipleKeys() throws Exception {
+        // Register an account with a different key so two signatures are
+        // required.
+        AccountName secondVoter = new AccountName("steemj-signer");
+        SteemJConfig.getInstance().getPrivateKeyStorage().addAccount(secondVoter,
+                Arrays.asList(new ImmutablePair<>(PrivateKeyType.POSTING, new ECKey().getPrivateKeyAsWiF(128))));
+
+        try {
+            ArrayList<Operation> operations = new ArrayList<>();
+            operations.add(voteOperation);
+            operations.add(
+                    new VoteOperation(secondVoter, new AccountName("xeroc"), new Permlink("piston"), (short) 10000));
+
+            signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                    new TimePointSec(EXPIRATION_DATE), operations, null);
+            signedTransaction.sign();
+
+            assertThat(signedTransaction.getSignatures().size(), equalTo(2));
+
+            Sha256Hash messageAsHash = Sha256Hash.of(signedTransaction.toByteArray());
+            for (int i = 0; i < signedTransaction.getSignatures().size(); i++) {
+                byte[] signature = CryptoUtils.HEX.decode(signedTransaction.getSignatures().get(i));
+                ECKey.ECDSASignature ecdsaSignature = new ECKey.ECDSASignature(
+                        new BigInteger(1, Arrays.copyOfRange(signature, 1, 33)),
+                        new BigInteger(1, Arrays.copyOfRange(signature, 33, 65)));
+
+                ECKey recoveredKey = ECKey.recoverFromSignature((signature[0] - 27) & 3, ecdsaSignature, messageAsHash,
+                        signature[0] >= 31);
+                assertThat(recoveredKey.getPubKeyPoint(),
+                        equalTo(signedTransaction.getRequiredSignatureKeys().get(i).getPubKeyPoint()));
+            }
+        } finally {
+            SteemJConfig.getInstance().getPrivateKeyStorage().removeAccount(secondVoter);
+        }
+    }
+
+    /**
+     * Test that the public keys of the signatures are recovered and verified
+     * against the weights of an authority.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRecoverSignatureKeysAndVerifyAuthority() throws Exception {
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(voteOperation);
+
+        signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_DATE),
+                operations, null);
+        signedTransaction.sign();
+
+        // Use the address of the key like it is stored in an authority.
+        PublicKey signingKey = new PublicKey(new PublicKey(SteemJConfig.getInstance().getPrivateKeyStorage()
+                .getKeyForAccount(PrivateKeyType.POSTING, new AccountName("xeroc"))).getAddressFromPublicKey());
+        assertThat(signedTransaction.recoverSignatureKeys(), contains(signingKey));
+
+        Authority authority = new Authority();
+        authority.setWeightThreshold(2);
+        authority.getKeyAuths().put(signingKey, 1);
+        assertThat(signedTransaction.verifyAuthority(authority), equalTo(false));
+
+        authority.getKeyAuths().put(signingKey, 2);
+        assertThat(signedTransaction.verifyAuthority(authority), equalTo(true));
+
+        // A different chain id results in a different key.
+        assertThat(signedTransaction.verifyAuthority(authority,
+                "0000000000000000000000000000000000000000000000000000000000000001"), equalTo(false));
+
+        // Duplicated signatures are not allowed.
+        signedTransaction.getSignatures().add(signedTransaction.getSignatures().get(0));
+        try {
+            signedTransaction.recoverSignatureKeys();
+            fail("Expected a SteemInvalidTransactionException.");
+        } catch (SteemInvalidTransactionException e) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Test that the digest of a transaction matches the one of the reference
+     * implementation by recovering the key of a signature created with
+     * python-steem for the main network.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRecoverSignatureKeysOfReferenceSignature() throws Exception {
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("foobara"), new AccountName("foobarc"),
+                new Permlink("foobard"), (short) 1000));
+
+        signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_DATE),
+                operations, null);
+        signedTransaction.getSignatures().add("202e09123f732a438ef6d6138484d7adedfdcf4a4f3d171f7fcafe836efa2a3c88772"
+                + "90bd34c67eded824ac0cc39e33d154d0617f64af936a83c442f62aef08fec");
+
+        assertThat(CryptoUtils.HEX.encode(signedTransaction.toByteArray("")),
+                equalTo("f68585abf4dce7c80457010007666f6f6261726107666f6f6261726307666f6f62617264e80300"));
+        assertThat(signedTransaction
+                .recoverSignatureKeys("0000000000000000000000000000000000000000000000000000000000000000").get(0)
+                .getAddressFromPublicKey(), equalTo("STM6MRyAjQq8ud7hVNYcfnVPJqcVpscN5So8BhtHuGYqET5GDW5CV"));
+    }
+
+    /**
+     * Test that a signature using the higher <code>s</code> value is rejected
+     * like a node would do, although it recovers to the same public key.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRecoverSignatureKeysRejectsNonCanonicalSignatures() throws Exception {
+        ArrayList<Operation> operations = new ArrayList<>();
+        operations.add(voteOperation);
+
+        signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_DATE),
+                operations, null);
+        signedTransaction.sign();
+
+        byte[] signature = CryptoUtils.HEX.decode(signedTransaction.getSignatures().get(0));
+        assertThat(Secp256k1Signer.isCanonical(signature), equalTo(true));
+
+        // Mirror s and flip the parity of the recovery id.
+        BigInteger highS = ECKey.CURVE.getN().subtract(new BigInteger(1, Arrays.copyOfRange(signature, 33, 65)));
+        byte[] highSAsByteArray = highS.toByteArray();
+        System.arraycopy(highSAsByteArray, highSAsByteArray.length - 32, signature, 33, 32);
+        signature[0] = (byte) (((signature[0] - 27) ^ 1) + 27);
+        assertThat(Secp256k1Signer.isCanonical(signature), equalTo(false));
+
+        signedTransaction.getSignatures().set(0, CryptoUtils.HEX.encode(signature));
+        try {
+            signedTransaction.recoverSignatureKeys();
+            fail("Expected a SteemInvalidTransactionException.");
+        } catch (SteemInvalidTransactionException e) {
+            // Expected.
+        }
+    }
+
     /**
      * Test the transaction serialization using the default chain id.
      * 
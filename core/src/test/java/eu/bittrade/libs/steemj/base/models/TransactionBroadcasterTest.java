@@ -0,0 +1,297 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.ReferenceBlockProvider;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.TransactionBroadcaster;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.enums.ReferenceBlockType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link TransactionBroadcaster} against a simulated chain.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionBroadcasterTest extends BaseUT {
+    private static final long FIRST_BLOCK_NUMBER = 100;
+    private static final long EXPIRATION_DATE_OFFSET = 600000L;
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * A reference block provider that always returns the same block id.
+     */
+    private static class StaticReferenceBlockProvider extends ReferenceBlockProvider {
+        /**
+         * Create a new provider.
+         */
+        private StaticReferenceBlockProvider() {
+            super(null, ReferenceBlockType.HEAD_BLOCK, 60000L, EXPIRATION_DATE_OFFSET);
+        }
+
+        @Override
+        protected BlockId requestReferenceBlockId() {
+            return new BlockId("00000064a1b2c3d4e5f60718293a4b5c6d7e8f90");
+        }
+    }
+
+    /**
+     * A broadcaster that simulates a chain instead of asking a Steem node. A
+     * new block is produced for every poll that follows a submission and
+     * contains all submitted transactions that have not been dropped.
+     */
+    private static class SimulatedTransactionBroadcaster extends TransactionBroadcaster {
+        private final Map<Long, ExtendedSignedBlock> blocks = new ConcurrentHashMap<>();
+        private final List<TransactionId> transactionIdsOfNextBlock = new ArrayList<>();
+        private final AtomicInteger numberOfSubmissionsToDrop;
+        private final AtomicInteger numberOfSubmissions = new AtomicInteger();
+        private final CountDownLatch submissionGate = new CountDownLatch(1);
+        private volatile boolean submissionsBlocked;
+        private volatile boolean blockProductionPaused;
+        private final long startTimestamp = System.currentTimeMillis();
+        private final long blockInterval;
+        private volatile long headBlockNumber;
+        private boolean submittedSinceLastBlock;
+
+        /**
+         * Create a new broadcaster that drops the given number of
+         * submissions and produces blocks with the given time difference.
+         */
+        private SimulatedTransactionBroadcaster(int numberOfSubmissionsToDrop, long blockInterval) {
+            this(numberOfSubmissionsToDrop, blockInterval, 10, 2);
+        }
+
+        /**
+         * Create a new broadcaster that drops the given number of
+         * submissions, produces blocks with the given time difference and
+         * uses the given queue capacity and number of workers.
+         */
+        private SimulatedTransactionBroadcaster(int numberOfSubmissionsToDrop, long blockInterval, int queueCapacity,
+                int numberOfWorkers) {
+            super(null, new StaticReferenceBlockProvider(), queueCapacity, numberOfWorkers, 10L);
+            this.numberOfSubmissionsToDrop = new AtomicInteger(numberOfSubmissionsToDrop);
+            this.blockInterval = blockInterval;
+
+            try {
+                produceBlock(FIRST_BLOCK_NUMBER - 1);
+                produceBlock(FIRST_BLOCK_NUMBER);
+            } catch (SteemResponseException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected void submit(SignedTransaction signedTransaction) throws SteemInvalidTransactionException {
+            numberOfSubmissions.incrementAndGet();
+            if (submissionsBlocked) {
+                try {
+                    submissionGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            synchronized (this) {
+                submittedSinceLastBlock = true;
+                if (numberOfSubmissionsToDrop.getAndDecrement() <= 0) {
+                    transactionIdsOfNextBlock.add(signedTransaction.calculateTransactionId());
+                }
+            }
+        }
+
+        @Override
+        protected synchronized long requestHeadBlockNumber() throws SteemResponseException {
+            if (submittedSinceLastBlock && !blockProductionPaused) {
+                produceBlock(headBlockNumber + 1);
+            }
+
+            return headBlockNumber;
+        }
+
+        /**
+         * Add a new head block containing all transactions that have been
+         * submitted since the last block.
+         */
+        private void produceBlock(long blockNumber) throws SteemResponseException {
+            ExtendedSignedBlock block;
+            try {
+                block = CommunicationHandler.getObjectMapper().readValue("{}", ExtendedSignedBlock.class);
+            } catch (IOException e) {
+                throw new SteemResponseException("Unable to create a block.", e);
+            }
+            block.setTimestamp(new TimePointSec(startTimestamp + (blockNumber - FIRST_BLOCK_NUMBER) * blockInterval));
+            block.setTransactionIds(new ArrayList<>(transactionIdsOfNextBlock));
+
+            transactionIdsOfNextBlock.clear();
+            submittedSinceLastBlock = false;
+            blocks.put(blockNumber, block);
+            headBlockNumber = blockNumber;
+        }
+
+        @Override
+        protected Optional<ExtendedSignedBlock> requestBlock(long blockNumber) {
+            return Optional.fromNullable(blocks.get(blockNumber));
+        }
+    }
+
+    /**
+     * Create a transaction containing a single vote.
+     */
+    private static SignedTransaction createVoteTransaction(int index) {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("dez1337"), new AccountName("xeroc"),
+                new Permlink("piston-" + index), (short) 10000));
+
+        return new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(System.currentTimeMillis() + EXPIRATION_DATE_OFFSET), operations, null);
+    }
+
+    /**
+     * Test that the futures are completed with the number of the block which
+     * contains the transaction.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBroadcast() throws Exception {
+        try (SimulatedTransactionBroadcaster transactionBroadcaster = new SimulatedTransactionBroadcaster(0,
+                3000L)) {
+            List<Long> blockNumbers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                blockNumbers.add(transactionBroadcaster.broadcast(createVoteTransaction(i)).get(5, TimeUnit.SECONDS));
+            }
+
+            for (Long blockNumber : blockNumbers) {
+                assertThat(transactionBroadcaster.blocks.get(blockNumber).getTransactionIds().isEmpty(),
+                        equalTo(false));
+            }
+            assertThat(transactionBroadcaster.getNumberOfPendingTransactions(), equalTo(0));
+        }
+    }
+
+    /**
+     * Test that an expired transaction is signed again with a fresh
+     * reference block.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRetryExpiredTransaction() throws Exception {
+        // Every block is produced an hour after the previous one, so a
+        // dropped transaction expires with the next block.
+        try (SimulatedTransactionBroadcaster transactionBroadcaster = new SimulatedTransactionBroadcaster(1,
+                3600000L)) {
+            SignedTransaction signedTransaction = createVoteTransaction(0);
+            long blockNumber = transactionBroadcaster.broadcast(signedTransaction).get(5, TimeUnit.SECONDS);
+
+            assertThat(blockNumber, equalTo(FIRST_BLOCK_NUMBER + 2));
+            assertThat(transactionBroadcaster.blocks.get(blockNumber).getTransactionIds().get(0),
+                    not(equalTo(signedTransaction.calculateTransactionId())));
+        }
+    }
+
+    /**
+     * Test that an expired transaction fails instead of blocking the block
+     * watcher if the queue is full.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRetryWithFullQueue() throws Exception {
+        try (SimulatedTransactionBroadcaster transactionBroadcaster = new SimulatedTransactionBroadcaster(1,
+                3600000L, 1, 1)) {
+            transactionBroadcaster.blockProductionPaused = true;
+
+            // The first transaction is dropped and expires with the next block.
+            ListenableFuture<Long> expiringTransaction = transactionBroadcaster.broadcast(createVoteTransaction(0));
+            awaitSubmissions(transactionBroadcaster, 1);
+
+            // Block the only worker and fill the queue.
+            transactionBroadcaster.submissionsBlocked = true;
+            transactionBroadcaster.broadcast(createVoteTransaction(1));
+            awaitSubmissions(transactionBroadcaster, 2);
+            transactionBroadcaster.broadcast(createVoteTransaction(2));
+
+            transactionBroadcaster.blockProductionPaused = false;
+            try {
+                expiringTransaction.get(5, TimeUnit.SECONDS);
+                fail("Expected an ExecutionException.");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+            } finally {
+                transactionBroadcaster.submissionGate.countDown();
+            }
+        }
+    }
+
+    /**
+     * Wait until the given broadcaster has started the given number of
+     * submissions.
+     */
+    private static void awaitSubmissions(SimulatedTransactionBroadcaster transactionBroadcaster,
+            int numberOfSubmissions) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (transactionBroadcaster.numberOfSubmissions.get() < numberOfSubmissions) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The transactions have not been submitted in time.");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
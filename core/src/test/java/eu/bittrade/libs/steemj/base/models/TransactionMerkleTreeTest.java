@@ -0,0 +1,160 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.TransactionMerkleTree;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link TransactionMerkleTree}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionMerkleTreeTest extends BaseUT {
+    /** The python-steem reference transaction serialized without signatures. */
+    private static final String REFERENCE_SERIALIZATION = "f68585abf4dce7c80457010007666f6f6261726107666f6f626172"
+            + "6307666f6f62617264e80300";
+    /** The signature python-steem created for the reference transaction. */
+    private static final String REFERENCE_SIGNATURE = "202e09123f732a438ef6d6138484d7adedfdcf4a4f3d171f7fcafe836efa"
+            + "2a3c8877290bd34c67eded824ac0cc39e33d154d0617f64af936a83c442f62aef08fec";
+    /** A second signature, which is only used as an opaque value. */
+    private static final String OTHER_SIGNATURE = "1f1111111111111111111111111111111111111111111111111111111111111111"
+            + "1111111111111111111111111111111111111111111111111111111111111111";
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a transaction containing a vote for the given permlink.
+     */
+    private static SignedTransaction createVoteTransaction(String permlink) {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("xeroc"), new AccountName("xeroc"), new Permlink(permlink),
+                (short) 10000));
+
+        return new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_DATE), operations,
+                null);
+    }
+
+    /**
+     * Create the python-steem reference transaction with the given
+     * <code>signatures</code>.
+     */
+    private static SignedTransaction createReferenceTransaction(String... signatures) {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("foobara"), new AccountName("foobarc"),
+                new Permlink("foobard"), (short) 1000));
+
+        SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE), operations, null);
+        signedTransaction.getSignatures().addAll(Arrays.asList(signatures));
+        return signedTransaction;
+    }
+
+    /**
+     * Test the merkle root of small blocks against roots calculated with an
+     * independent implementation of the algorithm used by a Steem node. The
+     * transaction is the one python-steem uses as a reference, so its
+     * serialization is known, too.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testCalculateMerkleRoot() throws Exception {
+        List<SignedTransaction> transactions = new ArrayList<>();
+        assertThat(TransactionMerkleTree.calculateMerkleRoot(transactions).toString(),
+                equalTo("0000000000000000000000000000000000000000"));
+
+        SignedTransaction signedTransaction = createReferenceTransaction(REFERENCE_SIGNATURE);
+        assertThat(CryptoUtils.HEX.encode(signedTransaction.toSignedByteArray()),
+                equalTo(REFERENCE_SERIALIZATION + "01" + REFERENCE_SIGNATURE));
+        transactions.add(signedTransaction);
+        assertThat(TransactionMerkleTree.calculateMerkleRoot(transactions).toString(),
+                equalTo("bb071065fbe01be1a5acc7e6b98adfeccb32800f"));
+
+        transactions.add(createReferenceTransaction());
+        transactions.add(createReferenceTransaction(REFERENCE_SIGNATURE, OTHER_SIGNATURE));
+        assertThat(TransactionMerkleTree.calculateMerkleRoot(transactions).toString(),
+                equalTo("bf09db156296ffab52988b7aec158e05754eeeda"));
+    }
+
+    /**
+     * Test that the signatures are part of the merkle root, although they are
+     * not part of the transaction id.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSignaturesArePartOfTheMerkleRoot() throws Exception {
+        SignedTransaction unsignedTransaction = createReferenceTransaction();
+        SignedTransaction signedTransaction = createReferenceTransaction(REFERENCE_SIGNATURE);
+        assertThat(unsignedTransaction.calculateTransactionId(), equalTo(signedTransaction.calculateTransactionId()));
+
+        assertThat(TransactionMerkleTree.calculateMerkleRoot(Arrays.asList(unsignedTransaction)).toString(),
+                equalTo("82a32ba2bc0728cecfdf4206775b3e429a70a7d1"));
+        assertThat(TransactionMerkleTree.calculateMerkleRoot(Arrays.asList(signedTransaction)).toString(),
+                not(equalTo("82a32ba2bc0728cecfdf4206775b3e429a70a7d1")));
+    }
+
+    /**
+     * Test that the parallel calculation of a large block matches the
+     * sequential one.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testCalculateMerkleRootInParallel() throws Exception {
+        List<SignedTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            transactions.add(createVoteTransaction("piston-" + i));
+        }
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            assertThat(TransactionMerkleTree.calculateMerkleRoot(transactions, forkJoinPool),
+                    equalTo(TransactionMerkleTree.calculateMerkleRoot(transactions)));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+}
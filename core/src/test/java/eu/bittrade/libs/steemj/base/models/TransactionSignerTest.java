@@ -0,0 +1,118 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.chain.TransactionSigner;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link TransactionSigner}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TransactionSignerTest extends BaseUT {
+    private static final long EXPIRATION_TIMESTAMP = (System.currentTimeMillis() / 1000 + 600) * 1000;
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a signed transaction containing a single vote.
+     */
+    private static SignedTransaction createVoteTransaction(String voter, int index) {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName(voter), new AccountName("xeroc"),
+                new Permlink("piston-" + index), (short) 10000));
+
+        return new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX, new TimePointSec(EXPIRATION_TIMESTAMP),
+                operations, null);
+    }
+
+    /**
+     * Test that a batch is signed with the same result as the sequential
+     * {@link SignedTransaction#sign()} method.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSignBatch() throws Exception {
+        List<SignedTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            transactions.add(createVoteTransaction("dez1337", i));
+        }
+
+        Map<SignedTransaction, SteemInvalidTransactionException> failures;
+        try (TransactionSigner transactionSigner = new TransactionSigner(4)) {
+            failures = transactionSigner.sign(transactions);
+        }
+
+        assertThat(failures.isEmpty(), equalTo(true));
+        for (int i = 0; i < transactions.size(); i++) {
+            SignedTransaction expectedTransaction = createVoteTransaction("dez1337", i);
+            expectedTransaction.sign();
+
+            assertThat(transactions.get(i).getSignatures(), equalTo(expectedTransaction.getSignatures()));
+            assertThat(transactions.get(i).getExpirationDate(), equalTo(expectedTransaction.getExpirationDate()));
+        }
+    }
+
+    /**
+     * Test that a transaction without a known private key is reported without
+     * aborting the batch.
+     */
+    @Test
+    public void testSignBatchWithFailure() {
+        List<SignedTransaction> transactions = new ArrayList<>();
+        transactions.add(createVoteTransaction("dez1337", 0));
+        transactions.add(createVoteTransaction("unknownaccount", 1));
+        transactions.add(createVoteTransaction("dez1337", 2));
+
+        Map<SignedTransaction, SteemInvalidTransactionException> failures;
+        try (TransactionSigner transactionSigner = new TransactionSigner()) {
+            failures = transactionSigner.sign(transactions);
+        }
+
+        assertThat(failures.size(), equalTo(1));
+        assertThat(failures, hasKey(transactions.get(1)));
+        assertThat(transactions.get(0).getSignatures().size(), equalTo(1));
+        assertThat(transactions.get(1).getSignatures().isEmpty(), equalTo(true));
+        assertThat(transactions.get(2).getSignatures().size(), equalTo(1));
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models.operations;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BeneficiaryRouteType;
+import eu.bittrade.libs.steemj.base.models.CommentOptionsExtension;
+import eu.bittrade.libs.steemj.base.models.CommentPayoutBeneficiaries;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.enums.OperationType;
+import eu.bittrade.libs.steemj.exceptions.SteemInvalidTransactionException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.Authority;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.AccountUpdateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.AccountWitnessProxyOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CancelTransferFromSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ChangeRecoveryAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOptionsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomBinaryOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowApproveOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowDisputeOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowReleaseOperation;
+import eu.bittrade.libs.steemj.protocol.operations.EscrowTransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.OperationDecoder;
+import eu.bittrade.libs.steemj.protocol.operations.Pow2Operation;
+import eu.bittrade.libs.steemj.protocol.operations.PowOperation;
+import eu.bittrade.libs.steemj.protocol.operations.RecoverAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.RequestAccountRecoveryOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ResetAccountOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferFromSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferToSavingsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link OperationDecoder} for operations which are not covered by a
+ * transactional unit test.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationDecoderTest extends BaseUT {
+    private static final AccountName FROM = new AccountName("dez1337");
+    private static final AccountName TO = new AccountName("steemj");
+    private static final AccountName AGENT = new AccountName("foobara");
+    private static final LegacyAsset SBD_AMOUNT = new LegacyAsset(1000L, LegacyAssetSymbolType.SBD);
+    private static final LegacyAsset STEEM_AMOUNT = new LegacyAsset(2500L, LegacyAssetSymbolType.STEEM);
+
+    private static Authority authority;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass()
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+
+        Map<PublicKey, Integer> keyAuths = new HashMap<>();
+        keyAuths.put(new PublicKey("STM6zLNtyFVToBsBZDsgMhgjpwysYVbsQD6YhP3kRkQhANUB4w7Qp"), 1);
+        Map<AccountName, Integer> accountAuths = new HashMap<>();
+        accountAuths.put(AGENT, 2);
+
+        authority = new Authority();
+        authority.setWeightThreshold(2);
+        authority.setKeyAuths(keyAuths);
+        authority.setAccountAuths(accountAuths);
+    }
+
+    /**
+     * Decode the given <code>operation</code> and verify that the decoded
+     * operation has the same byte representation.
+     * 
+     * @param operation
+     *            The operation to test.
+     * @throws SteemInvalidTransactionException
+     *             If something went wrong.
+     */
+    private static void assertDecoding(Operation operation) throws SteemInvalidTransactionException {
+        Operation decodedOperation = OperationDecoder.decode(operation.toByteArray());
+
+        assertThat(decodedOperation, instanceOf(operation.getClass()));
+        assertThat(CryptoUtils.HEX.encode(decodedOperation.toByteArray()),
+                equalTo(CryptoUtils.HEX.encode(operation.toByteArray())));
+    }
+
+    /**
+     * Test the decoding of an {@link AccountUpdateOperation} and that optional
+     * authorities are prefixed by a flag.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAccountUpdateOperationDecoding() throws Exception {
+        AccountUpdateOperation accountUpdateOperation = new AccountUpdateOperation(FROM, null, authority, null,
+                new PublicKey("STM6zLNtyFVToBsBZDsgMhgjpwysYVbsQD6YhP3kRkQhANUB4w7Qp"), "{}");
+
+        String serializedOperation = CryptoUtils.HEX.encode(accountUpdateOperation.toByteArray());
+        // Id, account, no owner, an active authority with a threshold of 2.
+        assertThat(serializedOperation.substring(0, 30), equalTo("0a0764657a31333337000102000000"));
+
+        AccountUpdateOperation decodedOperation = (AccountUpdateOperation) OperationDecoder
+                .decode(accountUpdateOperation.toByteArray());
+
+        assertThat(decodedOperation.getOwner() == null, equalTo(true));
+        assertThat(decodedOperation.getActive(), equalTo(authority));
+        assertThat(decodedOperation.getPosting() == null, equalTo(true));
+        assertDecoding(accountUpdateOperation);
+    }
+
+    /**
+     * Test the decoding of account recovery related operations.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAccountRecoveryOperationsDecoding() throws Exception {
+        assertDecoding(new AccountWitnessProxyOperation(FROM, TO));
+        assertDecoding(new ChangeRecoveryAccountOperation(FROM, TO));
+        assertDecoding(new RecoverAccountOperation(FROM, authority, authority));
+        assertDecoding(new RequestAccountRecoveryOperation(TO, FROM, authority));
+        assertDecoding(new ResetAccountOperation(TO, FROM, authority));
+    }
+
+    /**
+     * Test the decoding of escrow and savings related operations.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testEscrowAndSavingsOperationsDecoding() throws Exception {
+        TimePointSec ratificationDeadline = new TimePointSec(EXPIRATION_DATE);
+        TimePointSec escrowExpiration = new TimePointSec(EXPIRATION_DATE);
+
+        assertDecoding(new EscrowTransferOperation(FROM, TO, AGENT, 42, SBD_AMOUNT, STEEM_AMOUNT,
+                new LegacyAsset(1L, LegacyAssetSymbolType.SBD), ratificationDeadline, escrowExpiration, "{}"));
+        assertDecoding(new EscrowApproveOperation(FROM, TO, AGENT, 42, AGENT, true));
+        assertDecoding(new EscrowDisputeOperation(FROM, TO, AGENT, 42, FROM));
+        assertDecoding(new EscrowReleaseOperation(FROM, TO, AGENT, 42, AGENT, TO, SBD_AMOUNT, STEEM_AMOUNT));
+        assertDecoding(new TransferToSavingsOperation(FROM, TO, SBD_AMOUNT, "memo"));
+        assertDecoding(new TransferFromSavingsOperation(FROM, TO, STEEM_AMOUNT, 3000000000L, "memo"));
+        assertDecoding(new CancelTransferFromSavingsOperation(FROM, 3000000000L));
+    }
+
+    /**
+     * Test the decoding of operations with nested or binary fields.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testComplexOperationsDecoding() throws Exception {
+        CommentPayoutBeneficiaries commentPayoutBeneficiaries = new CommentPayoutBeneficiaries();
+        commentPayoutBeneficiaries.setBeneficiaries(Arrays.asList(new BeneficiaryRouteType(TO, (short) 1000),
+                new BeneficiaryRouteType(AGENT, (short) 500)));
+        List<CommentOptionsExtension> extensions = new ArrayList<>();
+        extensions.add(commentPayoutBeneficiaries);
+
+        assertDecoding(new CommentOptionsOperation(FROM, new Permlink("steemj"), 5000, extensions));
+        assertDecoding(new CustomBinaryOperation(new ArrayList<AccountName>(), Arrays.asList(FROM),
+                new ArrayList<AccountName>(), Arrays.asList(authority), "steemj", "00ff10"));
+    }
+
+    /**
+     * Test that invalid byte representations are rejected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testInvalidData() throws Exception {
+        byte[] serializedVote = new VoteOperation(FROM, TO, new Permlink("steemj"), (short) 100).toByteArray();
+
+        byte[] truncatedVote = Arrays.copyOf(serializedVote, serializedVote.length - 1);
+        byte[] extendedVote = Arrays.copyOf(serializedVote, serializedVote.length + 1);
+        byte[] unknownOperation = { 0x7f };
+
+        for (byte[] invalidData : Arrays.asList(truncatedVote, extendedVote, unknownOperation)) {
+            try {
+                OperationDecoder.decode(invalidData);
+                throw new AssertionError("Expected a SteemInvalidTransactionException.");
+            } catch (SteemInvalidTransactionException e) {
+                // Expected.
+            }
+        }
+    }
+
+    /**
+     * Test that the operations SteemJ can not serialize are reported as not
+     * supported and that their ids are rejected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testUnsupportedOperations() throws Exception {
+        assertThat(OperationDecoder.isSupported(new PowOperation()), equalTo(false));
+        assertThat(OperationDecoder.isSupported(new Pow2Operation()), equalTo(false));
+        assertThat(OperationDecoder.isSupported(new VoteOperation(FROM, TO, new Permlink("steemj"), (short) 100)),
+                equalTo(true));
+
+        for (OperationType operationType : Arrays.asList(OperationType.POW_OPERATION, OperationType.POW2_OPERATION,
+                OperationType.REPORT_OVER_PRODUCTION_OPERATION)) {
+            try {
+                OperationDecoder.decode(new byte[] { (byte) operationType.getOrderId() });
+                throw new AssertionError("Expected a SteemInvalidTransactionException.");
+            } catch (SteemInvalidTransactionException e) {
+                // Expected.
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.base.models.operations;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.LegacyAsset;
+import eu.bittrade.libs.steemj.protocol.enums.LegacyAssetSymbolType;
+import eu.bittrade.libs.steemj.protocol.operations.AccountWitnessProxyOperation;
+import eu.bittrade.libs.steemj.protocol.operations.ChallengeAuthorityOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CommentOptionsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.CustomJsonOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DeclineVotingRightsOperation;
+import eu.bittrade.libs.steemj.protocol.operations.DeleteCommentOperation;
+import eu.bittrade.libs.steemj.protocol.operations.LimitOrderCreateOperation;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.TransferOperation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+import eu.bittrade.libs.steemj.protocol.operations.virtual.AuthorRewardOperation;
+
+/**
+ * Verify that the deserializers generated at compile time read operations the
+ * same way Jackson does using reflection.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class OperationJsonBindingTest extends BaseUT {
+    private static final TypeReference<List<Operation>> OPERATION_LIST = new TypeReference<List<Operation>>() {
+    };
+    private static final String VOTE = "{\"type\":\"vote\",\"voter\":\"dez1337\",\"author\":\"steemj\","
+            + "\"permlink\":\"steemj-v0-2-4\",\"weight\":10000}";
+    private static final String AUTHOR_REWARD = "{\"type\":\"author_reward_operation\",\"value\":{"
+            + "\"author\":\"dez1337\",\"permlink\":\"steemj-v0-2-4\","
+            + "\"sbd_payout\":{\"amount\":\"1500\",\"precision\":3,\"nai\":\"@@000000013\"},"
+            + "\"steem_payout\":{\"amount\":\"0\",\"precision\":3,\"nai\":\"@@000000021\"},"
+            + "\"vesting_payout\":{\"amount\":\"2000000\",\"precision\":6,\"nai\":\"@@000000037\"}}}";
+
+    /** The mapper which uses the generated deserializers. */
+    private static ObjectMapper generatedMapper;
+    /** A mapper which binds all types using reflection. */
+    private static ObjectMapper reflectionMapper;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass()
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+
+        generatedMapper = CommunicationHandler.getObjectMapper();
+        reflectionMapper = new ObjectMapper();
+    }
+
+    /**
+     * Test that the generated module is registered.
+     */
+    @Test
+    public void testGeneratedModuleIsRegistered() {
+        assertThat(generatedMapper.getRegisteredModuleIds(),
+                hasItem((Object) "eu.bittrade.libs.steemj.communication.GeneratedJsonBindingModule"));
+    }
+
+    /**
+     * Test that operations of different types are read like Jackson would.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testOperationsMatchReflectiveBinding() throws Exception {
+        AccountName dez = new AccountName("dez1337");
+        AccountName steemj = new AccountName("steemj");
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(dez, steemj, new Permlink("steemj-v0-2-4"), (short) -2500));
+        operations.add(new TransferOperation(dez, steemj, new LegacyAsset(1500L, LegacyAssetSymbolType.SBD), "memo"));
+        operations.add(new DeleteCommentOperation(dez, new Permlink("steemj-v0-2-4")));
+        operations.add(new CommentOptionsOperation(dez, new Permlink("steemj-v0-2-4")));
+        operations.add(new CustomJsonOperation(null, Arrays.asList(dez), "follow", "[\"follow\",{}]"));
+        operations.add(new AccountWitnessProxyOperation(dez, steemj));
+        operations.add(new ChallengeAuthorityOperation(dez, steemj, true));
+        operations.add(new DeclineVotingRightsOperation(dez, true));
+        operations.add(new LimitOrderCreateOperation(dez, new LegacyAsset(1000L, LegacyAssetSymbolType.STEEM),
+                new LegacyAsset(250L, LegacyAssetSymbolType.SBD)));
+
+        String json = generatedMapper.writerFor(OPERATION_LIST).writeValueAsString(operations);
+
+        List<Operation> generatedOperations = generatedMapper.readValue(json, OPERATION_LIST);
+        List<Operation> reflectiveOperations = reflectionMapper.readValue(json, OPERATION_LIST);
+
+        assertThat(generatedOperations.size(), equalTo(operations.size()));
+        for (int i = 0; i < operations.size(); i++) {
+            assertThat(generatedOperations.get(i), instanceOf(operations.get(i).getClass()));
+        }
+        assertThat(generatedMapper.writerFor(OPERATION_LIST).writeValueAsString(generatedOperations),
+                equalTo(generatedMapper.writerFor(OPERATION_LIST).writeValueAsString(reflectiveOperations)));
+    }
+
+    /**
+     * Test that every subtype of {@link Operation} is read by a generated
+     * deserializer instead of being bound by reflection.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testEveryOperationHasGeneratedDeserializer() throws Exception {
+        DefaultDeserializationContext context = ((DefaultDeserializationContext) generatedMapper
+                .getDeserializationContext()).createInstance(generatedMapper.getDeserializationConfig(), null, null);
+        for (Type subType : Operation.class.getAnnotation(JsonSubTypes.class).value()) {
+            assertThat(subType.value().getName(),
+                    context.findContextualValueDeserializer(generatedMapper.constructType(subType.value()), null)
+                            .getClass()
+                            .getName(),
+                    equalTo(subType.value().getName() + "GeneratedDeserializer"));
+        }
+    }
+
+    /**
+     * Test that virtual operations are read like Jackson would.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testVirtualOperationMatchesReflectiveBinding() throws Exception {
+        AuthorRewardOperation authorRewardOperation = (AuthorRewardOperation) generatedMapper
+                .readValue(AUTHOR_REWARD, Operation.class);
+
+        assertThat(authorRewardOperation.getValue(), notNullValue());
+        assertThat(authorRewardOperation.getValue().getAuthor(), equalTo(new AccountName("dez1337")));
+        assertThat(generatedMapper.writeValueAsString(authorRewardOperation), equalTo(generatedMapper
+                .writeValueAsString(reflectionMapper.readValue(AUTHOR_REWARD, Operation.class))));
+    }
+
+    /**
+     * Test that the type id does not have to be the first property and that
+     * missing primitive properties get their default value.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTypeIdAfterOtherProperties() throws Exception {
+        VoteOperation voteOperation = (VoteOperation) generatedMapper.readValue(
+                "{\"voter\":\"dez1337\",\"author\":\"steemj\",\"type\":\"vote\",\"permlink\":\"steemj-v0-2-4\"}",
+                Operation.class);
+
+        assertThat(voteOperation.getVoter(), equalTo(new AccountName("dez1337")));
+        assertThat(voteOperation.getPermlink(), equalTo(new Permlink("steemj-v0-2-4")));
+        assertThat(voteOperation.getWeight(), equalTo((short) 0));
+        assertThat(generatedMapper.readValue(VOTE, VoteOperation.class).getWeight(), equalTo((short) 10000));
+    }
+
+    /**
+     * Test that unknown type ids are rejected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = InvalidTypeIdException.class)
+    public void testUnknownTypeId() throws Exception {
+        generatedMapper.readValue(VOTE.replace("\"vote\"", "\"unknown_operation\""), Operation.class);
+    }
+
+    /**
+     * Test that unknown properties are rejected.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test(expected = UnrecognizedPropertyException.class)
+    public void testUnknownProperty() throws Exception {
+        generatedMapper.readValue(VOTE.replace("\"weight\"", "\"unknown\""), Operation.class);
+    }
+}
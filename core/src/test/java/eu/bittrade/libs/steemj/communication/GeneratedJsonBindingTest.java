@@ -0,0 +1,189 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.communication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.Account;
+import eu.bittrade.libs.steemj.base.models.AccountGeneratedDeserializer;
+import eu.bittrade.libs.steemj.plugins.apis.condenser.models.ExtendedAccount;
+import eu.bittrade.libs.steemj.plugins.apis.condenser.models.ExtendedAccountGeneratedDeserializer;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalProperty;
+import eu.bittrade.libs.steemj.plugins.apis.database.models.DynamicGlobalPropertyGeneratedDeserializer;
+import eu.bittrade.libs.steemj.plugins.apis.tags.models.Discussion;
+import eu.bittrade.libs.steemj.plugins.apis.tags.models.DiscussionGeneratedDeserializer;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+
+/**
+ * Verify that the deserializers generated for types without a
+ * <code>@JsonCreator</code> read them the same way Jackson does using
+ * reflection.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class GeneratedJsonBindingTest extends BaseUT {
+    private static final String ACCOUNT = "{\"id\":28,\"name\":\"dez1337\",\"owner\":{\"weight_threshold\":1,"
+            + "\"account_auths\":[],\"key_auths\":[[\"STM7UCTzg9orXeWKnHpMr9viwzMBRy1pnxC2nMHNDEkZnBbiSKJDD\",1]]},"
+            + "\"memo_key\":\"STM8GC13uCZbP44HzMLV6zPZGwVQ8Nt4Kji8PapsPiNq1BK153XTX\",\"json_metadata\":\"{}\","
+            + "\"proxy\":\"\",\"created\":\"2016-08-19T20:33:36\",\"mined\":false,\"can_vote\":true,"
+            + "\"voting_power\":9950,\"balance\":\"1.000 STEEM\",\"sbd_balance\":\"2.500 SBD\","
+            + "\"sbd_seconds\":\"123456789012345678901234\",\"savings_withdraw_requests\":2,\"withdrawn\":17,"
+            + "\"vesting_shares\":\"1000.000000 VESTS\",\"proxied_vsf_votes\":[1,0,0,0],\"post_count\":42}";
+    private static final String EXTENDED_ACCOUNT = ACCOUNT.substring(0, ACCOUNT.length() - 1)
+            + ",\"vesting_balance\":\"0.000 STEEM\",\"reputation\":\"31164923047451\","
+            + "\"witness_votes\":[\"steemj\"],\"tags_usage\":[],\"guest_bloggers\":[],"
+            + "\"comments\":[\"steemj-v0-4-0\"],\"recommended\":null}";
+    private static final String DYNAMIC_GLOBAL_PROPERTY = "{\"id\":0,\"head_block_number\":20000000,"
+            + "\"head_block_id\":\"01312d00c3bde2b2e9c6fcd6f4fa7ac26e6c2c6f\",\"time\":\"2018-02-19T20:40:30\","
+            + "\"current_witness\":\"steemj\",\"total_pow\":514415,\"num_pow_witnesses\":172,"
+            + "\"virtual_supply\":{\"amount\":\"271546371000\",\"precision\":3,\"nai\":\"@@000000021\"},"
+            + "\"total_reward_shares2\":\"340282366920938463463374607431768211456\",\"sbd_interest_rate\":0,"
+            + "\"maximum_block_size\":65536,\"current_aslot\":20070549,\"participation_count\":128,"
+            + "\"available_account_subsidies\":9000}";
+    private static final String DISCUSSION = "{\"id\":37338948,\"author\":\"dez1337\",\"permlink\":\"steemj-v0-4-0\","
+            + "\"category\":\"steemdev\",\"parent_author\":\"\",\"parent_permlink\":\"steemdev\",\"title\":\"SteemJ\","
+            + "\"body\":\"Hello\",\"created\":\"2017-10-01T16:09:51\",\"depth\":0,\"children\":5,"
+            + "\"net_rshares\":-15,\"net_votes\":42,\"allow_votes\":true,\"total_payout_value\":\"2.500 SBD\","
+            + "\"url\":\"/steemdev/@dez1337/steemj-v0-4-0\",\"root_title\":\"SteemJ\",\"active_votes\":[],"
+            + "\"replies\":[\"steemj/re-steemj\"],\"author_reputation\":\"31164923047451\","
+            + "\"reblogged_by\":[\"steemj\"],\"first_reblogged_on\":\"2017-10-02T10:00:00\","
+            + "\"author_role\":\"admin\",\"stats\":{\"gray\":false}}";
+
+    /** The mapper which uses the generated deserializers. */
+    private static ObjectMapper generatedMapper;
+    /** A mapper with the same configuration which binds all types using reflection. */
+    private static ObjectMapper reflectionMapper;
+
+    /**
+     * Prepare the environment for this specific test.
+     */
+    @BeforeClass()
+    public static void prepareTestClass() {
+        setupUnitTestEnvironment();
+
+        generatedMapper = CommunicationHandler.getObjectMapper();
+        reflectionMapper = new ObjectMapper();
+        reflectionMapper.setConfig(generatedMapper.getDeserializationConfig());
+        reflectionMapper.setConfig(generatedMapper.getSerializationConfig());
+    }
+
+    /**
+     * Test that the generated deserializers are used for the annotated types.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testGeneratedDeserializersAreRegistered() throws Exception {
+        assertThat(findDeserializer(Account.class), instanceOf(AccountGeneratedDeserializer.class));
+        assertThat(findDeserializer(ExtendedAccount.class), instanceOf(ExtendedAccountGeneratedDeserializer.class));
+        assertThat(findDeserializer(DynamicGlobalProperty.class),
+                instanceOf(DynamicGlobalPropertyGeneratedDeserializer.class));
+        assertThat(findDeserializer(Discussion.class), instanceOf(DiscussionGeneratedDeserializer.class));
+    }
+
+    /**
+     * Test that an account is read like Jackson would.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAccountMatchesReflectiveBinding() throws Exception {
+        Account account = generatedMapper.readValue(ACCOUNT, Account.class);
+
+        assertThat(account.getName(), equalTo(new AccountName("dez1337")));
+        assertThat(account.getVotingPower(), equalTo(9950));
+        assertThat(account.getSavingWithdrawRequests(), equalTo((short) 2));
+        assertMatchesReflectiveBinding(ACCOUNT, Account.class);
+    }
+
+    /**
+     * Test that an extended account is read like Jackson would, including the
+     * properties of its superclass.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testExtendedAccountMatchesReflectiveBinding() throws Exception {
+        ExtendedAccount extendedAccount = generatedMapper.readValue(EXTENDED_ACCOUNT, ExtendedAccount.class);
+
+        assertThat(extendedAccount.getName(), equalTo(new AccountName("dez1337")));
+        assertThat(extendedAccount.getReputation(), equalTo(31164923047451L));
+        assertThat(extendedAccount.getWitnessVotes().get(0), equalTo(new AccountName("steemj")));
+        assertMatchesReflectiveBinding(EXTENDED_ACCOUNT, ExtendedAccount.class);
+    }
+
+    /**
+     * Test that the dynamic global properties are read like Jackson would.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDynamicGlobalPropertyMatchesReflectiveBinding() throws Exception {
+        DynamicGlobalProperty dynamicGlobalProperty = generatedMapper.readValue(DYNAMIC_GLOBAL_PROPERTY,
+                DynamicGlobalProperty.class);
+
+        assertThat(dynamicGlobalProperty.getHeadBlockNumber().longValue(), equalTo(20000000L));
+        assertThat(dynamicGlobalProperty.getAvailableAccountSubsidies(), equalTo(9000L));
+        assertMatchesReflectiveBinding(DYNAMIC_GLOBAL_PROPERTY, DynamicGlobalProperty.class);
+    }
+
+    /**
+     * Test that a discussion is read like Jackson would, including the
+     * properties of its superclass and the unknown properties passed to its
+     * any setter.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testDiscussionMatchesReflectiveBinding() throws Exception {
+        Discussion discussion = generatedMapper.readValue(DISCUSSION, Discussion.class);
+
+        assertThat(discussion.getAuthor(), equalTo(new AccountName("dez1337")));
+        assertThat(discussion.getNetRshares(), equalTo(-15L));
+        assertThat(discussion.getRootTitle(), equalTo("SteemJ"));
+        assertThat(discussion.getProperties().get("author_role"), equalTo((Object) "admin"));
+        assertThat(discussion.getProperties(),
+                equalTo(reflectionMapper.readValue(DISCUSSION, Discussion.class).getProperties()));
+        assertMatchesReflectiveBinding(DISCUSSION, Discussion.class);
+    }
+
+    private static JsonDeserializer<Object> findDeserializer(Class<?> type) throws Exception {
+        return ((DefaultDeserializationContext) generatedMapper.getDeserializationContext())
+                .createInstance(generatedMapper.getDeserializationConfig(), null, null)
+                .findRootValueDeserializer(generatedMapper.constructType(type));
+    }
+
+    private static void assertMatchesReflectiveBinding(String json, Class<?> type) throws Exception {
+        assertThat(generatedMapper.writeValueAsString(generatedMapper.readValue(json, type)),
+                equalTo(generatedMapper.writeValueAsString(reflectionMapper.readValue(json, type))));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.protocol.TransactionId;
+
+/**
+ * Test the {@link BroadcastedTransactionCache}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class BroadcastedTransactionCacheTest {
+    private static final TransactionId TRANSACTION_ID = new TransactionId(
+            "50e9a943d6122be636d6af35de0e28aab762eadb");
+    private static final TransactionId OTHER_TRANSACTION_ID = new TransactionId(
+            "0000000000000000000000000000000000000001");
+
+    /**
+     * Test that duplicates are detected until the transaction is removed.
+     */
+    @Test
+    public void testAddDuplicate() {
+        BroadcastedTransactionCache broadcastedTransactionCache = new BroadcastedTransactionCache();
+        TimePointSec expirationDate = new TimePointSec(System.currentTimeMillis() + 60000L);
+
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID, expirationDate), equalTo(true));
+        assertThat(broadcastedTransactionCache.add(new TransactionId(TRANSACTION_ID.toString()), expirationDate),
+                equalTo(false));
+        assertThat(broadcastedTransactionCache.add(OTHER_TRANSACTION_ID, expirationDate), equalTo(true));
+        assertThat(broadcastedTransactionCache.size(), equalTo(2));
+
+        broadcastedTransactionCache.remove(TRANSACTION_ID);
+        assertThat(broadcastedTransactionCache.contains(TRANSACTION_ID), equalTo(false));
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID, expirationDate), equalTo(true));
+    }
+
+    /**
+     * Test that expired transactions are removed.
+     */
+    @Test
+    public void testExpiredTransactions() {
+        BroadcastedTransactionCache broadcastedTransactionCache = new BroadcastedTransactionCache();
+
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID,
+                new TimePointSec(System.currentTimeMillis() - 1000L)), equalTo(true));
+        assertThat(broadcastedTransactionCache.add(OTHER_TRANSACTION_ID,
+                new TimePointSec(System.currentTimeMillis() + 60000L)), equalTo(true));
+
+        assertThat(broadcastedTransactionCache.contains(TRANSACTION_ID), equalTo(false));
+        assertThat(broadcastedTransactionCache.contains(OTHER_TRANSACTION_ID), equalTo(true));
+        assertThat(broadcastedTransactionCache.size(), equalTo(1));
+    }
+
+    /**
+     * Test that an uncertain transaction may be sent again, while a
+     * confirmed one is dropped.
+     */
+    @Test
+    public void testUncertainAndConfirmedTransactions() {
+        BroadcastedTransactionCache broadcastedTransactionCache = new BroadcastedTransactionCache();
+        TimePointSec expirationDate = new TimePointSec(System.currentTimeMillis() + 60000L);
+
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID, expirationDate), equalTo(true));
+        broadcastedTransactionCache.markUncertain(TRANSACTION_ID);
+        assertThat(broadcastedTransactionCache.contains(TRANSACTION_ID), equalTo(true));
+
+        // Only one retry is sent at a time.
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID, expirationDate), equalTo(true));
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID, expirationDate), equalTo(false));
+
+        broadcastedTransactionCache.confirm(TRANSACTION_ID, expirationDate);
+        broadcastedTransactionCache.markUncertain(TRANSACTION_ID);
+        assertThat(broadcastedTransactionCache.add(TRANSACTION_ID, expirationDate), equalTo(false));
+        assertThat(broadcastedTransactionCache.size(), equalTo(1));
+    }
+
+    /**
+     * Test that removed and replaced ids do not disturb the removal of
+     * expired ids.
+     */
+    @Test
+    public void testRemovedAndExpiredTransactions() {
+        BroadcastedTransactionCache broadcastedTransactionCache = new BroadcastedTransactionCache();
+        TimePointSec expired = new TimePointSec(System.currentTimeMillis() - 1000L);
+        TimePointSec notExpired = new TimePointSec(System.currentTimeMillis() + 60000L);
+
+        assertThat(broadcastedTransactionCache.add(OTHER_TRANSACTION_ID, notExpired), equalTo(true));
+        broadcastedTransactionCache.remove(OTHER_TRANSACTION_ID);
+        broadcastedTransactionCache.confirm(OTHER_TRANSACTION_ID, notExpired);
+        broadcastedTransactionCache.confirm(TRANSACTION_ID, expired);
+
+        assertThat(broadcastedTransactionCache.contains(TRANSACTION_ID), equalTo(false));
+        assertThat(broadcastedTransactionCache.contains(OTHER_TRANSACTION_ID), equalTo(true));
+        assertThat(broadcastedTransactionCache.size(), equalTo(1));
+    }
+}
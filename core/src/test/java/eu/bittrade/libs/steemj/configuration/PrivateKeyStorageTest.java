@@ -0,0 +1,134 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+
+/**
+ * Test the {@link PrivateKeyStorage}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PrivateKeyStorageTest {
+    /**
+     * Get the public key of the given private key as provided by a Steem node.
+     */
+    private static PublicKey toPublicKey(ECKey privateKey) {
+        return new PublicKey(new PublicKey(privateKey).getAddressFromPublicKey());
+    }
+
+    /**
+     * Test that bulk loaded keys can be found by their account and by their
+     * public key.
+     */
+    @Test
+    public void testAddAccounts() {
+        Map<AccountName, List<ImmutablePair<PrivateKeyType, String>>> privateKeysPerAccount = new HashMap<>();
+        Map<AccountName, ECKey> postingKeys = new HashMap<>();
+        ECKey sharedActiveKey = new ECKey();
+        for (int i = 0; i < 50; i++) {
+            AccountName accountName = new AccountName("steemj-" + i);
+            ECKey postingKey = new ECKey();
+            postingKeys.put(accountName, postingKey);
+
+            List<ImmutablePair<PrivateKeyType, String>> privateKeys = new ArrayList<>();
+            privateKeys.add(new ImmutablePair<>(PrivateKeyType.POSTING, postingKey.getPrivateKeyAsWiF(128)));
+            privateKeys.add(new ImmutablePair<>(PrivateKeyType.ACTIVE, sharedActiveKey.getPrivateKeyAsWiF(128)));
+            privateKeysPerAccount.put(accountName, privateKeys);
+        }
+
+        PrivateKeyStorage privateKeyStorage = new PrivateKeyStorage();
+        privateKeyStorage.addAccounts(privateKeysPerAccount);
+
+        assertThat(privateKeyStorage.getAccounts().size(), equalTo(50));
+        for (Map.Entry<AccountName, ECKey> postingKey : postingKeys.entrySet()) {
+            assertThat(privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, postingKey.getKey()).getPrivKey(),
+                    equalTo(postingKey.getValue().getPrivKey()));
+            assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(postingKey.getValue())).getPrivKey(),
+                    equalTo(postingKey.getValue().getPrivKey()));
+        }
+
+        // The shared key stays available as long as one account uses it.
+        AccountName removedAccount = new AccountName("steemj-0");
+        assertThat(privateKeyStorage.removeAccount(removedAccount).size(), equalTo(2));
+        assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(postingKeys.get(removedAccount))), nullValue());
+        assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(sharedActiveKey)).getPrivKey(),
+                equalTo(sharedActiveKey.getPrivKey()));
+    }
+
+    /**
+     * Test that adding an account again replaces its keys in the public key
+     * index while keys shared with other accounts stay available.
+     */
+    @Test
+    public void testReplaceAccount() {
+        ECKey sharedKey = new ECKey();
+        ECKey replacedKey = new ECKey();
+        ECKey newKey = new ECKey();
+        AccountName firstAccount = new AccountName("steemj-a");
+        AccountName secondAccount = new AccountName("steemj-b");
+
+        PrivateKeyStorage privateKeyStorage = new PrivateKeyStorage();
+        List<ImmutablePair<PrivateKeyType, String>> sharedKeys = new ArrayList<>();
+        sharedKeys.add(new ImmutablePair<>(PrivateKeyType.ACTIVE, sharedKey.getPrivateKeyAsWiF(128)));
+        privateKeyStorage.addAccount(secondAccount, sharedKeys);
+
+        List<ImmutablePair<PrivateKeyType, String>> firstKeys = new ArrayList<>(sharedKeys);
+        firstKeys.add(new ImmutablePair<>(PrivateKeyType.POSTING, replacedKey.getPrivateKeyAsWiF(128)));
+        privateKeyStorage.addAccount(firstAccount, firstKeys);
+
+        List<ImmutablePair<PrivateKeyType, String>> replacingKeys = new ArrayList<>();
+        replacingKeys.add(new ImmutablePair<>(PrivateKeyType.POSTING, newKey.getPrivateKeyAsWiF(128)));
+        privateKeyStorage.addAccount(firstAccount, replacingKeys);
+
+        assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(replacedKey)), nullValue());
+        assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(newKey)).getPrivKey(),
+                equalTo(newKey.getPrivKey()));
+        assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(sharedKey)).getPrivKey(),
+                equalTo(sharedKey.getPrivKey()));
+
+        privateKeyStorage.removeAccount(secondAccount);
+        assertThat(privateKeyStorage.getKeyForPublicKey(toPublicKey(sharedKey)), nullValue());
+    }
+
+    /**
+     * Test that a missing key is reported.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testGetMissingKey() {
+        PrivateKeyStorage privateKeyStorage = new PrivateKeyStorage();
+        privateKeyStorage.addAccount(new AccountName("steemj"));
+
+        privateKeyStorage.getKeyForAccount(PrivateKeyType.POSTING, new AccountName("steemj"));
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.network.broadcast;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+import eu.bittrade.libs.steemj.configuration.SteemJConfig;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.exceptions.SteemResponseException;
+import eu.bittrade.libs.steemj.exceptions.SteemTimeoutException;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+import eu.bittrade.libs.steemj.plugins.apis.network.broadcast.api.NetworkBroadcastApi;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.operations.Operation;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the de-duplication of broadcasted transactions.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class NetworkBroadcastApiTest extends BaseUT {
+    private static final long EXPIRATION_DATE_IN_MILLIS = (System.currentTimeMillis() / 1000 + 600) * 1000;
+
+    /**
+     * A communication handler that counts the requests and fails the first
+     * one.
+     */
+    private static class FailingCommunicationHandler extends CommunicationHandler {
+        private final AtomicInteger numberOfRequests = new AtomicInteger();
+
+        public FailingCommunicationHandler() throws SteemCommunicationException {
+            super();
+        }
+
+        @Override
+        public <T> List<T> performRequest(JsonRPCRequest requestObject, Class<T> targetClass)
+                throws SteemCommunicationException {
+            if (numberOfRequests.incrementAndGet() == 1) {
+                throw new SteemCommunicationException("The node could not be reached.");
+            }
+
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * A communication handler that throws the given failures one after the
+     * other and succeeds afterwards.
+     */
+    private static class ScriptedCommunicationHandler extends CommunicationHandler {
+        private final AtomicInteger numberOfRequests = new AtomicInteger();
+        private final Exception[] failures;
+
+        public ScriptedCommunicationHandler(Exception... failures) throws SteemCommunicationException {
+            super();
+
+            this.failures = failures;
+        }
+
+        @Override
+        public <T> List<T> performRequest(JsonRPCRequest requestObject, Class<T> targetClass)
+                throws SteemCommunicationException, SteemResponseException {
+            int requestIndex = numberOfRequests.getAndIncrement();
+            if (requestIndex < failures.length) {
+                if (failures[requestIndex] instanceof SteemResponseException) {
+                    throw (SteemResponseException) failures[requestIndex];
+                }
+                throw (SteemCommunicationException) failures[requestIndex];
+            }
+
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Restore the default configuration.
+     */
+    @After
+    public void tearDown() {
+        SteemJConfig.getInstance().setTransactionDeduplicationEnabled(false);
+        SteemJConfig.getInstance().getBroadcastedTransactionCache().clear();
+    }
+
+    /**
+     * Create a transaction that already contains a signature and that is not
+     * expired.
+     */
+    private static SignedTransaction createSignedTransaction() {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new VoteOperation(new AccountName("xeroc"), new AccountName("xeroc"), new Permlink("piston"),
+                (short) 10000));
+
+        SignedTransaction signedTransaction = new SignedTransaction(REF_BLOCK_NUM, REF_BLOCK_PREFIX,
+                new TimePointSec(EXPIRATION_DATE_IN_MILLIS), operations, null);
+        signedTransaction.getSignatures().add("00");
+
+        return signedTransaction;
+    }
+
+    /**
+     * Test that a transaction is only remembered after it has been accepted.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBroadcastTransactionWithDeduplication() throws Exception {
+        SteemJConfig.getInstance().setTransactionDeduplicationEnabled(true);
+        FailingCommunicationHandler communicationHandler = new FailingCommunicationHandler();
+
+        try {
+            NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+            fail("Expected a SteemCommunicationException.");
+        } catch (SteemCommunicationException e) {
+            // Expected.
+        }
+
+        // The retry is sent although the first attempt failed.
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        assertThat(communicationHandler.numberOfRequests.get(), equalTo(2));
+
+        // The accepted transaction is dropped.
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        assertThat(communicationHandler.numberOfRequests.get(), equalTo(2));
+    }
+
+    /**
+     * Test that transactions are always sent if the de-duplication is
+     * disabled.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBroadcastTransactionWithoutDeduplication() throws Exception {
+        FailingCommunicationHandler communicationHandler = new FailingCommunicationHandler();
+        communicationHandler.numberOfRequests.set(1);
+
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        assertThat(communicationHandler.numberOfRequests.get(), equalTo(3));
+        assertThat(SteemJConfig.getInstance().getBroadcastedTransactionCache().size(), equalTo(0));
+    }
+
+    /**
+     * Test that a retry after a timeout is sent again and that the
+     * "duplicate transaction" error of the node is treated as a success.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRetryAfterTimeoutIsDuplicate() throws Exception {
+        SteemJConfig.getInstance().setTransactionDeduplicationEnabled(true);
+        ScriptedCommunicationHandler communicationHandler = new ScriptedCommunicationHandler(
+                new SteemTimeoutException("The node did not answer in time."),
+                new SteemResponseException(13, "Assert Exception:" + System.lineSeparator()
+                        + "Duplicate transaction check failed", null));
+        SignedTransaction signedTransaction = createSignedTransaction();
+
+        try {
+            NetworkBroadcastApi.broadcastTransaction(communicationHandler, signedTransaction);
+            fail("Expected a SteemTimeoutException.");
+        } catch (SteemTimeoutException e) {
+            // Expected.
+        }
+        assertThat(SteemJConfig.getInstance().getBroadcastedTransactionCache()
+                .contains(signedTransaction.calculateTransactionId()), equalTo(true));
+
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        assertThat(communicationHandler.numberOfRequests.get(), equalTo(2));
+
+        // The transaction is known to be accepted now.
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        assertThat(communicationHandler.numberOfRequests.get(), equalTo(2));
+    }
+
+    /**
+     * Test that a transaction rejected by the node is forgotten.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRejectedTransactionIsForgotten() throws Exception {
+        SteemJConfig.getInstance().setTransactionDeduplicationEnabled(true);
+        ScriptedCommunicationHandler communicationHandler = new ScriptedCommunicationHandler(
+                new SteemResponseException(13, "missing required posting authority", null));
+
+        try {
+            NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+            fail("Expected a SteemResponseException.");
+        } catch (SteemResponseException e) {
+            // Expected.
+        }
+        assertThat(SteemJConfig.getInstance().getBroadcastedTransactionCache().size(), equalTo(0));
+
+        NetworkBroadcastApi.broadcastTransaction(communicationHandler, createSignedTransaction());
+        assertThat(communicationHandler.numberOfRequests.get(), equalTo(2));
+    }
+}
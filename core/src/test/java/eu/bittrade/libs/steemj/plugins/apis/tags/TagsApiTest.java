@@ -0,0 +1,139 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.plugins.apis.tags;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.ProjectedObject;
+import eu.bittrade.libs.steemj.base.models.Projection;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.communication.jrpc.JsonRPCRequest;
+import eu.bittrade.libs.steemj.exceptions.SteemCommunicationException;
+import eu.bittrade.libs.steemj.plugins.apis.tags.enums.DiscussionSortType;
+import eu.bittrade.libs.steemj.plugins.apis.tags.models.DiscussionQuery;
+
+/**
+ * Test the requests of the {@link TagsApi} without a connection to a node.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class TagsApiTest extends BaseUT {
+    /**
+     * A communication handler that remembers the requested method and answers
+     * with a single result.
+     */
+    private static class RecordingCommunicationHandler extends CommunicationHandler {
+        private final ObjectNode result;
+        private String method;
+
+        public RecordingCommunicationHandler(ObjectNode result) throws SteemCommunicationException {
+            super();
+            this.result = result;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> performRequest(JsonRPCRequest requestObject, Class<T> targetClass)
+                throws SteemCommunicationException {
+            method = requestObject.getMethod();
+
+            List<T> results = new ArrayList<>();
+            results.add((T) new ProjectedObject(result));
+            return results;
+        }
+    }
+
+    /**
+     * Prepare the environment for the test execution.
+     */
+    @BeforeClass
+    public static void init() {
+        setupUnitTestEnvironment();
+    }
+
+    /**
+     * Create a result object whose "discussions" list contains the given
+     * permlinks.
+     */
+    private static ObjectNode createResult(String... permlinks) {
+        ObjectNode result = CommunicationHandler.getObjectMapper().createObjectNode();
+        for (String permlink : permlinks) {
+            result.withArray("discussions").addObject().put("author", "dez1337").put("permlink", permlink);
+        }
+
+        return result;
+    }
+
+    /**
+     * Test that the projected discussions are requested using the method of
+     * the given sort type and that the "discussions" list is unwrapped.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testGetProjectedDiscussionsBySortType() throws Exception {
+        RecordingCommunicationHandler communicationHandler = new RecordingCommunicationHandler(
+                createResult("steemj-v0-4-0", "steemj-v0-4-1"));
+
+        List<ProjectedObject> discussions = TagsApi.getDiscussionsBy(communicationHandler, new DiscussionQuery(),
+                DiscussionSortType.GET_DISCUSSIONS_BY_TRENDING, Projection.of("author", "permlink"));
+
+        assertThat(communicationHandler.method, equalTo("database_api.get_discussions_by_trending"));
+        assertThat(discussions.size(), equalTo(2));
+        assertThat(discussions.get(1).get("permlink", String.class), equalTo("steemj-v0-4-1"));
+
+        discussions = TagsApi.getDiscussionsBy(communicationHandler, new DiscussionQuery(),
+                DiscussionSortType.GET_DISCUSSIONS_BY_CREATED, Projection.of("author", "permlink"));
+
+        assertThat(communicationHandler.method, equalTo("database_api.get_discussions_by_created"));
+        assertThat(discussions.size(), equalTo(2));
+
+        TagsApi.getDiscussionsBy(communicationHandler, new DiscussionQuery(), DiscussionSortType.GET_DISCUSSIONS_BY_BLOG,
+                Projection.of("author"));
+
+        assertThat(communicationHandler.method, equalTo("database_api.get_discussions_by_blog"));
+    }
+
+    /**
+     * Test that an empty "discussions" list results in no discussions.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testGetProjectedDiscussionsWithoutResults() throws Exception {
+        RecordingCommunicationHandler communicationHandler = new RecordingCommunicationHandler(createResult());
+        communicationHandler.result.putArray("discussions");
+
+        List<ProjectedObject> discussions = TagsApi.getDiscussionsBy(communicationHandler, new DiscussionQuery(),
+                DiscussionSortType.GET_DISCUSSIONS_BY_HOT, Projection.of("author"));
+
+        assertThat(communicationHandler.method, equalTo("database_api.get_discussions_by_hot"));
+        assertThat(discussions.size(), equalTo(0));
+    }
+}
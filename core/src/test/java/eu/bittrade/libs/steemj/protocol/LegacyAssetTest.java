@@ -190,4 +190,28 @@ public class LegacyAssetTest {
             // Expected.
         }
     }
+
+    /**
+     * Test the {@link LegacyAsset#parse(String)} method.
+     */
+    @Test
+    public void testParse() {
+        assertThat(LegacyAsset.parse("1.000 STEEM"), equalTo(new LegacyAsset(1000, LegacyAssetSymbolType.STEEM)));
+        assertThat(LegacyAsset.parse("0.115 SBD"), equalTo(new LegacyAsset(115, LegacyAssetSymbolType.SBD)));
+        assertThat(LegacyAsset.parse("2500.145111 VESTS"),
+                equalTo(new LegacyAsset(2500145111L, LegacyAssetSymbolType.VESTS)));
+        assertThat(LegacyAsset.parse("200.1 STEEM"), equalTo(new LegacyAsset(200100, LegacyAssetSymbolType.STEEM)));
+        assertThat(LegacyAsset.parse("7 TBD"), equalTo(new LegacyAsset(7000, LegacyAssetSymbolType.TBD)));
+        assertThat(LegacyAsset.parse("-1.500 STEEM"), equalTo(new LegacyAsset(-1500, LegacyAssetSymbolType.STEEM)));
+
+        for (String invalidAsset : new String[] { "1.000", "1.000 STEM", "1.0000 STEEM", "1.0.00 STEEM", "a.000 SBD",
+                ". SBD", "99999999999999999999.000 STEEM", " STEEM", "1.000 " }) {
+            try {
+                LegacyAsset.parse(invalidAsset);
+                fail("The asset '" + invalidAsset + "' should be rejected.");
+            } catch (InvalidParameterException e) {
+                // Expected.
+            }
+        }
+    }
 }
@@ -148,4 +148,40 @@ public class PriceTest {
         assertTrue(exchangeRate.multiply(amountToSell).getAmount().equals(4L));
         assertTrue(exchangeRate.multiply(amountToSell).getSymbol().equals(LegacyAssetSymbolType.STEEM));
     }
+
+    /**
+     * Test that large amounts are multiplied without an overflow and that the
+     * batch variant returns the same results.
+     */
+    @Test
+    public void testPriceMultiply() {
+        Price price = new Price(new LegacyAsset(1234567, LegacyAssetSymbolType.SBD),
+                new LegacyAsset(3456789, LegacyAssetSymbolType.STEEM));
+
+        // 10^16 * 1234567 does not fit into a long.
+        LegacyAsset sbd = price.multiply(new LegacyAsset(10000000000000000L, LegacyAssetSymbolType.STEEM));
+        assertThat(sbd.getSymbol(), equalTo(LegacyAssetSymbolType.SBD));
+        assertThat(sbd.getAmount(), equalTo(3571427124999529L));
+
+        LegacyAsset steem = price.multiply(new LegacyAsset(1000, LegacyAssetSymbolType.SBD));
+        assertThat(steem, equalTo(new LegacyAsset(2800, LegacyAssetSymbolType.STEEM)));
+
+        long[] amounts = { 1000, 10000000000000000L, 0 };
+        long[] results = price.multiply(amounts, LegacyAssetSymbolType.STEEM);
+        for (int i = 0; i < amounts.length; i++) {
+            assertThat(results[i],
+                    equalTo(price.multiply(new LegacyAsset(amounts[i], LegacyAssetSymbolType.STEEM)).getAmount()));
+        }
+    }
+
+    /**
+     * Test that a result which does not fit into a long is rejected.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testPriceMultiplyOverflow() {
+        Price price = new Price(new LegacyAsset(1, LegacyAssetSymbolType.SBD),
+                new LegacyAsset(1000, LegacyAssetSymbolType.STEEM));
+
+        price.multiply(new LegacyAsset(Long.MAX_VALUE / 10, LegacyAssetSymbolType.SBD));
+    }
 }
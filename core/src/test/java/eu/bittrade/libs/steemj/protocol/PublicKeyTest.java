@@ -0,0 +1,127 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.protocol;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.AddressFormatException;
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
+
+/**
+ * Test the {@link PublicKey} object.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PublicKeyTest {
+    private static final String ADDRESS = "STM5jYVokmZHdEpwo5oCG3ES2Ca4VYzy6tM8pWWkGdgVnwo2mFLFq";
+
+    /**
+     * Restore the default cache.
+     */
+    @After
+    public void resetCache() {
+        PublicKey.clearCache();
+        PublicKey.setMaximumCacheSize(PublicKey.DEFAULT_MAXIMUM_CACHE_SIZE);
+    }
+
+    /**
+     * Test that keys created from the same address are equal, whether they
+     * have been cached or not.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testCachedAddress() throws Exception {
+        PublicKey publicKey = new PublicKey(ADDRESS);
+        PublicKey cachedPublicKey = new PublicKey(ADDRESS);
+        PublicKey.setMaximumCacheSize(0);
+        PublicKey.clearCache();
+        PublicKey uncachedPublicKey = new PublicKey(ADDRESS);
+
+        assertThat(cachedPublicKey, equalTo(publicKey));
+        assertThat(uncachedPublicKey, equalTo(publicKey));
+        assertThat(uncachedPublicKey.hashCode(), equalTo(publicKey.hashCode()));
+        assertThat(cachedPublicKey.getAddressFromPublicKey(), equalTo(ADDRESS));
+        assertThat(CryptoUtils.HEX.encode(cachedPublicKey.toByteArray()),
+                equalTo(CryptoUtils.HEX.encode(uncachedPublicKey.getPublicKey().getPubKey())));
+
+        try {
+            new PublicKey(ADDRESS.substring(0, 52) + "r");
+            fail("An address with an invalid checksum has been accepted.");
+        } catch (AddressFormatException e) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Test that a key created from an address matches the key created from
+     * its ECKey.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testAddressAndECKey() throws Exception {
+        PublicKey publicKey = new PublicKey(ECKey.fromPublicOnly(new ECKey().getPubKey()));
+        String address = publicKey.getAddressFromPublicKey();
+        PublicKey publicKeyFromAddress = new PublicKey(address);
+
+        assertThat(publicKeyFromAddress, equalTo(publicKey));
+        assertThat(publicKey, equalTo(publicKeyFromAddress));
+        assertThat(publicKeyFromAddress.hashCode(), equalTo(publicKey.hashCode()));
+        assertThat(publicKey.getAddressFromPublicKey(), equalTo(address));
+        assertThat(CryptoUtils.HEX.encode(publicKeyFromAddress.toByteArray()),
+                equalTo(CryptoUtils.HEX.encode(publicKey.toByteArray())));
+    }
+
+    /**
+     * Test that a full cache replaces addresses that have not been used
+     * recently by new ones.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testFullCacheEvictsUnusedAddress() throws Exception {
+        String unusedAddress = new PublicKey(ECKey.fromPublicOnly(new ECKey().getPubKey())).getAddressFromPublicKey();
+        String newAddress = new PublicKey(ECKey.fromPublicOnly(new ECKey().getPubKey())).getAddressFromPublicKey();
+        PublicKey.setMaximumCacheSize(2);
+        PublicKey.clearCache();
+
+        new PublicKey(ADDRESS);
+        new PublicKey(unusedAddress);
+        new PublicKey(ADDRESS);
+        assertThat(PublicKey.getCacheSize(), equalTo(2));
+
+        // Both keys share the decoded address of the cache.
+        PublicKey publicKey = new PublicKey(new String(newAddress));
+        assertThat(new PublicKey(new String(newAddress)).getAddressFromPublicKey(),
+                sameInstance(publicKey.getAddressFromPublicKey()));
+        assertThat(PublicKey.getCacheSize(), equalTo(2));
+
+        PublicKey.setMaximumCacheSize(1);
+        assertThat(PublicKey.getCacheSize(), equalTo(1));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.protocol;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.libs.steemj.BaseUT;
+import eu.bittrade.libs.steemj.base.models.BlockId;
+import eu.bittrade.libs.steemj.base.models.Checksum;
+import eu.bittrade.libs.steemj.chain.BlockVerifier;
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+import eu.bittrade.libs.steemj.util.Secp256k1Signer;
+
+/**
+ * Test the local serialization and verification of block headers.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SignedBlockHeaderTest extends BaseUT {
+    private static final String PREVIOUS_BLOCK_ID = "000f423fa1b2c3d4e5f60718293a4b5c6d7e8f90";
+    private static final ECKey WITNESS_KEY = new ECKey();
+    // The signing key as provided by a Steem node.
+    private static final PublicKey WITNESS_PUBLIC_KEY = new PublicKey(
+            new PublicKey(WITNESS_KEY).getAddressFromPublicKey());
+
+    /**
+     * Create a block that links to <code>previous</code> and is signed by the
+     * {@link #WITNESS_KEY}.
+     */
+    private static ExtendedSignedBlock createSignedBlock(String previous) throws Exception {
+        ExtendedSignedBlock block = CommunicationHandler.getObjectMapper().readValue("{\"previous\":\"" + previous
+                + "\",\"timestamp\":\"2016-03-24T16:05:00\",\"witness\":\"initminer\",\"transaction_merkle_root\":"
+                + "\"0000000000000000000000000000000000000000\",\"extensions\":[],\"transactions\":[]}",
+                ExtendedSignedBlock.class);
+
+        block.setWitnessSignature(
+                CryptoUtils.HEX.encode(Secp256k1Signer.signCompact(block.calculateDigest(), WITNESS_KEY)));
+        block.setSigningKey(WITNESS_PUBLIC_KEY);
+        block.setBlockId(block.calculateBlockId());
+
+        return block;
+    }
+
+    /**
+     * Test the serialization of a block header.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlockHeaderToByteArray() throws Exception {
+        final String EXPECTED_BYTE_REPRESENTATION = PREVIOUS_BLOCK_ID + "2c10f45609696e69746d696e6572"
+                + "000000000000000000000000000000000000000000";
+
+        ExtendedSignedBlock block = createSignedBlock(PREVIOUS_BLOCK_ID);
+
+        assertThat(CryptoUtils.HEX.encode(((BlockHeader) block).toByteArray()).substring(0, 2 * 55),
+                equalTo(EXPECTED_BYTE_REPRESENTATION));
+        assertThat(block.toByteArray().length, equalTo(55 + Secp256k1Signer.COMPACT_SIGNATURE_SIZE));
+    }
+
+    /**
+     * Test the block id calculation and the witness signature verification.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlockIdAndWitnessSignature() throws Exception {
+        ExtendedSignedBlock block = createSignedBlock(PREVIOUS_BLOCK_ID);
+
+        assertThat(block.getBlockNumber(), equalTo(1000000));
+        assertThat(block.calculateBlockId().getNumberFromHash(), equalTo(1000000));
+        assertThat(block.recoverSigningKey(), equalTo(WITNESS_PUBLIC_KEY));
+        assertThat(block.verify(), equalTo(true));
+
+        block.setSigningKey(new PublicKey(new PublicKey(new ECKey()).getAddressFromPublicKey()));
+        assertThat(block.verify(), equalTo(false));
+
+        block.setSigningKey(WITNESS_PUBLIC_KEY);
+        block.setWitness(new AccountName("steemj"));
+        assertThat(block.verify(), equalTo(false));
+    }
+
+    /**
+     * Test the block id calculation and the witness signature verification
+     * against the first block of the Steem main network.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testMainNetBlockOne() throws Exception {
+        ExtendedSignedBlock block = CommunicationHandler.getObjectMapper().readValue(
+                "{\"previous\":\"0000000000000000000000000000000000000000\",\"timestamp\":\"2016-03-24T16:05:00\","
+                        + "\"witness\":\"initminer\",\"transaction_merkle_root\":"
+                        + "\"0000000000000000000000000000000000000000\",\"extensions\":[],\"witness_signature\":"
+                        + "\"204f8ad56a8f5cf722a02b035a61b500aa59b9519b2c33c77a80c0a714680a5a5a7a340d909d19996613c5e4"
+                        + "ae92146b9add8a7a663eef37d837ef881477313043\",\"transactions\":[],\"block_id\":"
+                        + "\"0000000109833ce528d5bbfb3f6225b39ee10086\",\"signing_key\":"
+                        + "\"STM8GC13uCZbP44HzMLV6zPZGwVQ8Nt4Kji8PapsPiNq1BK153XTX\",\"transaction_ids\":[]}",
+                ExtendedSignedBlock.class);
+
+        assertThat(block.calculateBlockId().toString(), equalTo("0000000109833ce528d5bbfb3f6225b39ee10086"));
+        assertThat(block.recoverSigningKey().getAddressFromPublicKey(),
+                equalTo("STM8GC13uCZbP44HzMLV6zPZGwVQ8Nt4Kji8PapsPiNq1BK153XTX"));
+        assertThat(block.calculateTransactionMerkleRoot(null), equalTo(block.getTransactionMerkleRoot()));
+        assertThat(block.verify(), equalTo(true));
+    }
+
+    /**
+     * Test the merkle root of a block that has been parsed like a block
+     * received from a node. The block contains the python-steem reference
+     * transaction and its signature and the expected root has been calculated
+     * with an independent implementation of the algorithm used by a Steem
+     * node, which also covers the signatures.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTransactionMerkleRootOfParsedBlock() throws Exception {
+        ExtendedSignedBlock block = CommunicationHandler.getObjectMapper().readValue("{\"previous\":\""
+                + PREVIOUS_BLOCK_ID + "\",\"timestamp\":\"2016-04-06T08:29:00\",\"witness\":\"initminer\","
+                + "\"transaction_merkle_root\":\"bb071065fbe01be1a5acc7e6b98adfeccb32800f\",\"extensions\":[],"
+                + "\"transactions\":[{\"ref_block_num\":34294,\"ref_block_prefix\":3707022213,\"expiration\":"
+                + "\"2016-04-06T08:29:27\",\"operations\":[{\"type\":\"vote\",\"voter\":\"foobara\",\"author\":"
+                + "\"foobarc\",\"permlink\":\"foobard\",\"weight\":1000}],\"extensions\":[],\"signatures\":"
+                + "[\"202e09123f732a438ef6d6138484d7adedfdcf4a4f3d171f7fcafe836efa2a3c8877290bd34c67eded824ac0cc3"
+                + "9e33d154d0617f64af936a83c442f62aef08fec\"]}]}", ExtendedSignedBlock.class);
+
+        assertThat(block.verifyTransactionMerkleRoot(null), equalTo(true));
+
+        // A different signature results in a different root.
+        block.getTransactions().get(0).getSignatures().set(0, "1f" + block.getTransactions().get(0)
+                .getSignatures().get(0).substring(2));
+        assertThat(block.verifyTransactionMerkleRoot(null), equalTo(false));
+    }
+
+    /**
+     * Test the parallel verification of a block range.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testBlockVerifier() throws Exception {
+        List<ExtendedSignedBlock> blocks = new ArrayList<>();
+        String previous = PREVIOUS_BLOCK_ID;
+        for (int i = 0; i < 20; i++) {
+            ExtendedSignedBlock block = createSignedBlock(previous);
+            blocks.add(block);
+            previous = block.getBlockId().toString();
+        }
+
+        try (BlockVerifier blockVerifier = new BlockVerifier(4)) {
+            assertThat(blockVerifier.verify(blocks), empty());
+
+            // A valid block that does not link to its predecessor.
+            ExtendedSignedBlock unlinkedBlock = createSignedBlock(
+                    blocks.get(10).getBlockId().toString().substring(0, 8) + "ffffffffffffffffffffffffffffffff");
+            blocks.set(11, unlinkedBlock);
+            // A block with a wrong id.
+            blocks.get(15).setBlockId(new BlockId(PREVIOUS_BLOCK_ID));
+
+            assertThat(blockVerifier.verify(blocks),
+                    contains(Arrays.asList(unlinkedBlock, blocks.get(12), blocks.get(15)).toArray()));
+
+            // None of the blocks contains transactions.
+            assertThat(blockVerifier.verifyTransactionMerkleRoots(blocks), empty());
+            // The root of a block containing the python-steem reference
+            // transaction (see testTransactionMerkleRootOfParsedBlock).
+            blocks.get(3).setTransactionMerkleRoot(new Checksum("bb071065fbe01be1a5acc7e6b98adfeccb32800f"));
+            assertThat(blockVerifier.verifyTransactionMerkleRoots(blocks), contains(blocks.get(3)));
+        }
+    }
+}
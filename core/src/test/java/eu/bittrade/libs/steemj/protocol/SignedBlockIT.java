@@ -0,0 +1,72 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.protocol;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import eu.bittrade.libs.steemj.BaseIT;
+import eu.bittrade.libs.steemj.IntegrationTest;
+import eu.bittrade.libs.steemj.chain.SignedTransaction;
+import eu.bittrade.libs.steemj.plugins.apis.block.models.ExtendedSignedBlock;
+
+/**
+ * Verify the local block id, transaction id and merkle root calculation
+ * against a block of the Steem main network.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class SignedBlockIT extends BaseIT {
+    private static final long BLOCK_NUMBER = 5716771;
+
+    /**
+     * Prepare all required fields used by this test class.
+     */
+    @BeforeClass()
+    public static void prepareTestClass() {
+        setupIntegrationTestEnvironment();
+    }
+
+    /**
+     * Test that a block received from a Steem node can be verified locally.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    @Category({ IntegrationTest.class })
+    public void testVerifyBlock() throws Exception {
+        ExtendedSignedBlock block = steemJ.getBlock(BLOCK_NUMBER).get();
+
+        List<TransactionId> transactionIds = new ArrayList<>();
+        for (SignedTransaction transaction : block.getTransactions()) {
+            transactionIds.add(transaction.calculateTransactionId());
+        }
+
+        assertThat(transactionIds, equalTo(block.getTransactionIds()));
+        assertThat(block.verifyTransactionMerkleRoot(null), equalTo(true));
+        assertThat(block.calculateBlockId(), equalTo(block.getBlockId()));
+        assertThat(block.verify(), equalTo(true));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import eu.bittrade.libs.steemj.base.models.Permlink;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+import eu.bittrade.libs.steemj.protocol.operations.VoteOperation;
+
+/**
+ * Test the {@link DebugRenderer}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class DebugRendererTest {
+    /**
+     * Test the rendering of nested model objects.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRenderModel() throws Exception {
+        VoteOperation voteOperation = new VoteOperation(new AccountName("dez1337"), new AccountName("steemj"),
+                new Permlink("test"), (short) 100);
+
+        assertThat(voteOperation.toString(), startsWith("VoteOperation[voter=AccountName[name=dez1337],"
+                + "author=AccountName[name=steemj],permlink=Permlink[link=test],weight=100"));
+        assertThat(DebugRenderer.lazy(null).toString(), equalTo("<null>"));
+    }
+
+    /**
+     * Test that large values are truncated.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRenderLargeValues() throws Exception {
+        List<AccountName> accountNames = new ArrayList<>();
+        ArrayNode jsonArray = JsonNodeFactory.instance.arrayNode();
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            accountNames.add(new AccountName("dez1337"));
+            jsonArray.add("dez1337");
+            longString.append("dez1337");
+        }
+
+        assertThat(DebugRenderer.lazy(accountNames.subList(0, 2)).toString(),
+                equalTo("[AccountName[name=dez1337], AccountName[name=dez1337]]"));
+        assertThat(DebugRenderer.lazy(accountNames).toString(),
+                endsWith("AccountName[name=dez1337], ... (10000 elements)]"));
+
+        String renderedJson = DebugRenderer.lazy(jsonArray).toString();
+        assertThat(renderedJson, startsWith("[\"dez1337\",\"dez1337\""));
+        assertThat(renderedJson, endsWith("..."));
+        assertThat(renderedJson.length(), equalTo(DebugRenderer.MAXIMUM_LENGTH + 3));
+
+        String renderedString = DebugRenderer.lazy(longString).toString();
+        assertThat(renderedString.length(), lessThanOrEqualTo(DebugRenderer.MAXIMUM_LENGTH + 3));
+        assertThat(renderedString, endsWith("..."));
+    }
+
+    /**
+     * Test that only the JSON representation of an object is rendered and
+     * internal state, like the cache of a public key, is left out.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testRenderOnlyJsonProperties() throws Exception {
+        String address = "STM5jYVokmZHdEpwo5oCG3ES2Ca4VYzy6tM8pWWkGdgVnwo2mFLFq";
+        PublicKey publicKey = new PublicKey(address);
+
+        assertThat(publicKey.toString(), equalTo("PublicKey[\"" + address + "\"]"));
+        assertThat(DebugRenderer.lazy(Arrays.asList(publicKey)).toString(), not(containsString("decodedAddress")));
+    }
+}
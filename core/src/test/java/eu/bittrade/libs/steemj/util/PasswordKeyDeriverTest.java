@@ -0,0 +1,97 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.enums.PrivateKeyType;
+import eu.bittrade.libs.steemj.protocol.AccountName;
+import eu.bittrade.libs.steemj.protocol.PublicKey;
+
+/**
+ * Test the {@link PasswordKeyDeriver}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class PasswordKeyDeriverTest {
+    private static final String MASTER_PASSWORD = "5JfwDztjHYDDdKnCpjY6cwUQfM4hbtYmSJLjGd9KTpk9J4H2jDZ";
+
+    /**
+     * Verify that a key pair is derived like the Steem wallets do.
+     */
+    @Test
+    public void testDeriveKeyPair() {
+        ImmutablePair<PublicKey, String> keyPair = PasswordKeyDeriver.deriveKeyPair(new AccountName("dez1337"),
+                PrivateKeyType.POSTING, MASTER_PASSWORD);
+
+        assertThat(keyPair.getLeft().getAddressFromPublicKey(),
+                equalTo("STM7UCTzg9orXeWKnHpMr9viwzMBRy1pnxC2nMHNDEkZnBbiSKJDD"));
+        assertThat(keyPair.getRight(), equalTo("5KHroQR6SU3oquhirVKvRpDUYGeuXEksZfqkaqU5KEFSypFHXvU"));
+    }
+
+    /**
+     * Verify that the parallel derivation returns the same keys as the
+     * derivation of single key pairs.
+     */
+    @Test
+    public void testDeriveKeyPairsInParallel() {
+        Map<AccountName, String> passwordsPerAccount = new LinkedHashMap<>();
+        for (int i = 0; i < 25; i++) {
+            passwordsPerAccount.put(new AccountName("steemj-" + i), MASTER_PASSWORD + i);
+        }
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            Map<AccountName, Map<PrivateKeyType, ImmutablePair<PublicKey, String>>> keyPairsPerAccount = PasswordKeyDeriver
+                    .deriveKeyPairs(passwordsPerAccount, forkJoinPool);
+
+            assertThat(keyPairsPerAccount.keySet(), contains(passwordsPerAccount.keySet().toArray()));
+            for (Map.Entry<AccountName, String> password : passwordsPerAccount.entrySet()) {
+                assertThat(keyPairsPerAccount.get(password.getKey()),
+                        equalTo(PasswordKeyDeriver.deriveKeyPairs(password.getKey(), password.getValue())));
+            }
+
+            assertThat(keyPairsPerAccount.get(new AccountName("steemj-3")).get(PrivateKeyType.MEMO),
+                    equalTo(PasswordKeyDeriver.deriveKeyPair(new AccountName("steemj-3"), PrivateKeyType.MEMO,
+                            MASTER_PASSWORD + 3)));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * Verify the format of suggested brain keys and passwords.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testSuggestBrainKeyAndPassword() throws Exception {
+        assertThat(KeyGenerator.suggestBrainKey().split(" ").length, equalTo(16));
+        assertThat(KeyGenerator.suggestPassword(), startsWith("P5"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ *
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.security.InvalidParameterException;
+
+import org.junit.Test;
+import org.spongycastle.util.encoders.Base64;
+
+import eu.bittrade.crypto.core.CryptoUtils;
+import eu.bittrade.crypto.core.ECKey;
+import eu.bittrade.crypto.core.Sha256Hash;
+
+/**
+ * Test the {@link Secp256k1Signer}.
+ *
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class Secp256k1SignerTest {
+    /**
+     * Verify that the compact signatures are equal to the ones created by
+     * {@link ECKey#signMessage(Sha256Hash)}.
+     */
+    @Test
+    public void testSignCompactMatchesSignMessage() {
+        ECKey privateKey = ECKey.fromPrivate(
+                CryptoUtils.HEX.decode("c5bd2f3c5a5d2b3a0a1c3f5ee9c82c0b7b4d07a2f29b3a8e4b6f40bb4a0b1e7d"));
+
+        for (int i = 0; i < 50; i++) {
+            Sha256Hash hash = Sha256Hash.of(("steemj" + i).getBytes());
+
+            assertThat(CryptoUtils.HEX.encode(Secp256k1Signer.signCompact(hash, privateKey)),
+                    equalTo(CryptoUtils.HEX.encode(Base64.decode(privateKey.signMessage(hash)))));
+        }
+    }
+
+    /**
+     * Verify that the public key is recovered from a compact signature.
+     */
+    @Test
+    public void testRecoverPublicKey() {
+        ECKey privateKey = new ECKey();
+        Sha256Hash hash = Sha256Hash.of("steemj".getBytes());
+
+        ECKey recoveredKey = Secp256k1Signer.recoverPublicKey(hash,
+                Secp256k1Signer.signCompact(hash, privateKey));
+        assertThat(recoveredKey.getPubKeyPoint(), equalTo(privateKey.getPubKeyPoint()));
+    }
+
+    /**
+     * Verify that a signature with an invalid length is rejected.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testRecoverPublicKeyWithInvalidSignature() {
+        Secp256k1Signer.recoverPublicKey(Sha256Hash.of(new byte[] { 1 }), new byte[64]);
+    }
+
+    /**
+     * Verify that a public key can't be used to sign.
+     */
+    @Test(expected = InvalidParameterException.class)
+    public void testSignWithPublicKey() {
+        ECKey publicKey = ECKey.fromPublicOnly(new ECKey().getPubKey());
+        Secp256k1Signer.signCompact(Sha256Hash.of(new byte[] { 1 }), publicKey);
+    }
+}
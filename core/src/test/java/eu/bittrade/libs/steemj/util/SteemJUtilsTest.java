@@ -22,7 +22,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.math.BigInteger;
 import java.security.InvalidParameterException;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -78,4 +80,37 @@ public class SteemJUtilsTest {
             assertThat(e.getMessage(), equalTo("Both, the objectToSet and the default value are null."));
         }
     }
+
+    /**
+     * Test the {@link SteemJUtils#multiplyAndDivide(long, long, long)} method
+     * against a calculation based on {@link BigInteger}.
+     */
+    @Test
+    public void testMultiplyAndDivide() {
+        assertThat(SteemJUtils.multiplyAndDivide(1000, 3456, 1000), equalTo(3456L));
+        assertThat(SteemJUtils.multiplyAndDivide(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE),
+                equalTo(Long.MAX_VALUE));
+        assertThat(SteemJUtils.multiplyAndDivide(Long.MIN_VALUE, 3, 3), equalTo(Long.MIN_VALUE));
+        assertThat(SteemJUtils.multiplyAndDivide(Long.MIN_VALUE, -3, -3), equalTo(Long.MIN_VALUE));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long multiplicand = random.nextLong() >> random.nextInt(64);
+            long multiplier = random.nextLong() >> random.nextInt(64);
+            long divisor = random.nextLong() >> random.nextInt(64);
+            if (divisor == 0) {
+                continue;
+            }
+
+            BigInteger expected = BigInteger.valueOf(multiplicand).multiply(BigInteger.valueOf(multiplier))
+                    .divide(BigInteger.valueOf(divisor));
+            try {
+                assertThat(SteemJUtils.multiplyAndDivide(multiplicand, multiplier, divisor),
+                        equalTo(expected.longValue()));
+                assertTrue(expected.bitLength() < 64);
+            } catch (ArithmeticException e) {
+                assertTrue(expected.bitLength() >= 64);
+            }
+        }
+    }
 }
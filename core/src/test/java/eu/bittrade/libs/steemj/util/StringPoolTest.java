@@ -0,0 +1,114 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Test the {@link StringPool}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class StringPoolTest {
+    /**
+     * Test that the pool returns the pooled instance and evicts a value that
+     * has not been used recently once it is full.
+     */
+    @Test
+    public void testEvictUnusedValue() {
+        StringPool stringPool = new StringPool(2);
+        String dez1337 = stringPool.add(new String("dez1337"));
+        stringPool.add("steemj");
+
+        assertThat(stringPool.add(new String("dez1337")), sameInstance(dez1337));
+        stringPool.add("xeroc");
+
+        assertThat(stringPool.size(), equalTo(2));
+        assertThat(stringPool.get("dez1337"), sameInstance(dez1337));
+        assertThat(stringPool.get("steemj"), nullValue());
+        assertThat(stringPool.get("xeroc"), equalTo("xeroc"));
+    }
+
+    /**
+     * Test that reducing the maximum size evicts values and that a maximum
+     * size of 0 disables and empties the pool.
+     */
+    @Test
+    public void testSetMaximumSize() {
+        StringPool stringPool = new StringPool(3);
+        stringPool.add("dez1337");
+        stringPool.add("steemj");
+        stringPool.add("xeroc");
+
+        stringPool.setMaximumSize(1);
+        assertThat(stringPool.size(), equalTo(1));
+
+        stringPool.setMaximumSize(0);
+        assertThat(stringPool.isEnabled(), equalTo(false));
+        assertThat(stringPool.size(), equalTo(0));
+        stringPool.add("foobara");
+        assertThat(stringPool.size(), equalTo(0));
+        assertThat(stringPool.get("foobara"), nullValue());
+    }
+
+    /**
+     * Test that many threads can add and get values at the same time without
+     * exceeding the maximum size once they are done.
+     *
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final StringPool stringPool = new StringPool(64);
+        final AtomicInteger wrongInstances = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        String value = "account" + (j % 100);
+                        String pooledValue = stringPool.add(value);
+                        if (!pooledValue.equals(value)) {
+                            wrongInstances.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(wrongInstances.get(), equalTo(0));
+        stringPool.add("xeroc");
+        assertThat(stringPool.size() <= 64, equalTo(true));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import eu.bittrade.libs.steemj.communication.CommunicationHandler;
+import eu.bittrade.libs.steemj.fc.TimePointSec;
+
+/**
+ * Test the {@link UtcDateTimeCodec}.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+public class UtcDateTimeCodecTest {
+    /**
+     * Verify that the codec produces the same results as a
+     * {@link SimpleDateFormat} for the range of a Steem "time_point_sec".
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testMatchesSimpleDateFormat() throws Exception {
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(UtcDateTimeCodec.PATTERN);
+        simpleDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long epochSeconds = random.nextLong() & 0xFFFFFFFFL;
+            String expectedDateTime = simpleDateFormat.format(new Date(epochSeconds * 1000));
+
+            assertThat(UtcDateTimeCodec.format(epochSeconds), equalTo(expectedDateTime));
+            assertThat(UtcDateTimeCodec.parse(expectedDateTime), equalTo(epochSeconds));
+        }
+
+        assertThat(UtcDateTimeCodec.format(0), equalTo("1970-01-01T00:00:00"));
+        assertThat(UtcDateTimeCodec.format(-1), equalTo("1969-12-31T23:59:59"));
+        assertThat(UtcDateTimeCodec.parse("2000-02-29T12:00:00"), equalTo(951825600L));
+        assertThat(UtcDateTimeCodec.parse("1969-12-31T23:59:59"), equalTo(-1L));
+    }
+
+    /**
+     * Verify that invalid dates are rejected.
+     */
+    @Test
+    public void testParseInvalidDates() {
+        for (String invalidDateTime : new String[] { "2016-08-08 12:24:17", "2016-08-08T12:24", "2016-13-08T12:24:17",
+                "2017-02-29T12:24:17", "2016-08-08T24:00:00", "2016-08-08T12:60:17", "2016-08-08T12:24:1a",
+                "2016-08-08T12:24:17Z" }) {
+            assertThat(UtcDateTimeCodec.parse(invalidDateTime), equalTo(Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Verify that a {@link TimePointSec} is serialized and deserialized using
+     * the codec.
+     * 
+     * @throws Exception
+     *             If something went wrong.
+     */
+    @Test
+    public void testTimePointSecJsonRoundTrip() throws Exception {
+        TimePointSec timePointSec = CommunicationHandler.getObjectMapper().readValue("\"2016-08-08T12:24:17\"",
+                TimePointSec.class);
+
+        assertThat(timePointSec.getDateTimeAsTimestamp(), equalTo(1470659057000L));
+        assertThat(timePointSec.getDateTime(), equalTo("2016-08-08T12:24:17"));
+        assertThat(CommunicationHandler.getObjectMapper().writeValueAsString(timePointSec),
+                equalTo("\"2016-08-08T12:24:17\""));
+        assertThat(timePointSec, equalTo(new TimePointSec(1470659057999L)));
+    }
+}
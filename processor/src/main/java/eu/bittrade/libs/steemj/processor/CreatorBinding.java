@@ -0,0 +1,310 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class describes how a type is created, so that a streaming deserializer
+ * can be generated for it (see {@link BindingKind}).
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+final class CreatorBinding {
+    /**
+     * The different ways an instance of a type is created.
+     */
+    enum BindingKind {
+        /**
+         * The properties are passed to a <code>@JsonCreator</code> constructor
+         * whose parameters cover all properties of the type.
+         */
+        CREATOR,
+        /** The constructor takes the whole value as a single String. */
+        DELEGATING,
+        /**
+         * The instance is created by the default constructor and the
+         * properties are set through their fields or setters.
+         */
+        MEMBERS
+    }
+
+    /**
+     * The different ways a property is set if the type is bound through its
+     * members.
+     */
+    enum MutatorKind {
+        /** The property is set by the constructor. */
+        CREATOR,
+        /** The value is assigned to a field. */
+        FIELD,
+        /** The value is passed to a setter. */
+        SETTER
+    }
+
+    /**
+     * The different ways a creator property is read from the parser.
+     */
+    enum ValueKind {
+        /** The value is read by one of the primitive parse methods. */
+        PRIMITIVE,
+        /** The value is read as text with a fallback to Jackson. */
+        STRING,
+        /** The value is read by a deserializer resolved through Jackson. */
+        OBJECT
+    }
+
+    private final String packageName;
+    private final String typeName;
+    private final String deserializerName;
+    private final BindingKind kind;
+    private final List<Property> properties = new ArrayList<>();
+    private final Set<String> ignoredNames = new LinkedHashSet<>();
+    private String anySetterDeclaringTypeName;
+    private String anySetterName;
+
+    /**
+     * Create a new binding.
+     * 
+     * @param packageName
+     *            The package of the type.
+     * @param typeName
+     *            The canonical name of the type.
+     * @param deserializerName
+     *            The simple name of the deserializer to generate.
+     * @param kind
+     *            The way an instance of the type is created.
+     */
+    CreatorBinding(String packageName, String typeName, String deserializerName, BindingKind kind) {
+        this.packageName = packageName;
+        this.typeName = typeName;
+        this.deserializerName = deserializerName;
+        this.kind = kind;
+    }
+
+    /**
+     * @return The package of the type.
+     */
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return The canonical name of the type.
+     */
+    String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @return The simple name of the deserializer to generate.
+     */
+    String getDeserializerName() {
+        return deserializerName;
+    }
+
+    /**
+     * @return The fully qualified name of the deserializer to generate.
+     */
+    String getQualifiedDeserializerName() {
+        return packageName.isEmpty() ? deserializerName : packageName + "." + deserializerName;
+    }
+
+    /**
+     * @return The way an instance of the type is created.
+     */
+    BindingKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The properties, which are in the order of the constructor
+     *         parameters if the type is created through a creator.
+     */
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return The names of the properties marked with <code>@JsonIgnore</code>,
+     *         which are skipped silently.
+     */
+    Set<String> getIgnoredNames() {
+        return ignoredNames;
+    }
+
+    /**
+     * @return The canonical name of the type declaring the
+     *         <code>@JsonAnySetter</code> or <code>null</code>.
+     */
+    String getAnySetterDeclaringTypeName() {
+        return anySetterDeclaringTypeName;
+    }
+
+    /**
+     * @return The name of the <code>@JsonAnySetter</code> method, which
+     *         receives all unknown properties, or <code>null</code>.
+     */
+    String getAnySetterName() {
+        return anySetterName;
+    }
+
+    /**
+     * Pass all unknown properties to the given <code>@JsonAnySetter</code>.
+     * 
+     * @param declaringTypeName
+     *            The canonical name of the type declaring the method.
+     * @param methodName
+     *            The name of the method.
+     */
+    void setAnySetter(String declaringTypeName, String methodName) {
+        this.anySetterDeclaringTypeName = declaringTypeName;
+        this.anySetterName = methodName;
+    }
+
+    /**
+     * A single parameter of the <code>@JsonCreator</code> constructor or a
+     * field or setter of a type bound through its members.
+     */
+    static final class Property {
+        private final String name;
+        private final String typeName;
+        private final String rawTypeName;
+        private final ValueKind valueKind;
+        private final String deserializerClassName;
+        private final MutatorKind mutatorKind;
+        private final String mutatorDeclaringTypeName;
+        private final String mutatorName;
+
+        /**
+         * Create a new property.
+         * 
+         * @param name
+         *            The JSON name of the property.
+         * @param typeName
+         *            The declared type including its type arguments.
+         * @param rawTypeName
+         *            The erasure of the declared type.
+         * @param valueKind
+         *            The way the value is read.
+         * @param deserializerClassName
+         *            The deserializer defined by <code>@JsonDeserialize</code>
+         *            or <code>null</code>.
+         */
+        Property(String name, String typeName, String rawTypeName, ValueKind valueKind,
+                String deserializerClassName) {
+            this(name, typeName, rawTypeName, valueKind, deserializerClassName, MutatorKind.CREATOR, null, null);
+        }
+
+        /**
+         * Create a new property that is set through a field or setter.
+         * 
+         * @param name
+         *            The JSON name of the property.
+         * @param typeName
+         *            The declared type including its type arguments.
+         * @param rawTypeName
+         *            The erasure of the declared type.
+         * @param valueKind
+         *            The way the value is read.
+         * @param deserializerClassName
+         *            The deserializer defined by <code>@JsonDeserialize</code>
+         *            or <code>null</code>.
+         * @param mutatorKind
+         *            The way the property is set.
+         * @param mutatorDeclaringTypeName
+         *            The canonical name of the type declaring the field or
+         *            setter.
+         * @param mutatorName
+         *            The name of the field or setter.
+         */
+        Property(String name, String typeName, String rawTypeName, ValueKind valueKind,
+                String deserializerClassName, MutatorKind mutatorKind, String mutatorDeclaringTypeName,
+                String mutatorName) {
+            this.name = name;
+            this.typeName = typeName;
+            this.rawTypeName = rawTypeName;
+            this.valueKind = valueKind;
+            this.deserializerClassName = deserializerClassName;
+            this.mutatorKind = mutatorKind;
+            this.mutatorDeclaringTypeName = mutatorDeclaringTypeName;
+            this.mutatorName = mutatorName;
+        }
+
+        /**
+         * @return The JSON name of the property.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return The declared type including its type arguments.
+         */
+        String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * @return The erasure of the declared type.
+         */
+        String getRawTypeName() {
+            return rawTypeName;
+        }
+
+        /**
+         * @return The way the value is read.
+         */
+        ValueKind getValueKind() {
+            return valueKind;
+        }
+
+        /**
+         * @return The deserializer defined by <code>@JsonDeserialize</code> or
+         *         <code>null</code>.
+         */
+        String getDeserializerClassName() {
+            return deserializerClassName;
+        }
+
+        /**
+         * @return The way the property is set.
+         */
+        MutatorKind getMutatorKind() {
+            return mutatorKind;
+        }
+
+        /**
+         * @return The canonical name of the type declaring the field or setter
+         *         or <code>null</code> if the property is set by the creator.
+         */
+        String getMutatorDeclaringTypeName() {
+            return mutatorDeclaringTypeName;
+        }
+
+        /**
+         * @return The name of the field or setter or <code>null</code> if the
+         *         property is set by the creator.
+         */
+        String getMutatorName() {
+            return mutatorName;
+        }
+    }
+}
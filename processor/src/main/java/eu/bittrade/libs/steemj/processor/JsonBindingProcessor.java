@@ -0,0 +1,972 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import eu.bittrade.libs.steemj.processor.CreatorBinding.BindingKind;
+import eu.bittrade.libs.steemj.processor.CreatorBinding.MutatorKind;
+import eu.bittrade.libs.steemj.processor.CreatorBinding.Property;
+import eu.bittrade.libs.steemj.processor.CreatorBinding.ValueKind;
+
+/**
+ * This annotation processor generates streaming Jackson deserializers at
+ * compile time, so that the most frequently parsed types are created without
+ * reflection:
+ * <ul>
+ * <li>Each class with a <code>@JsonCreator</code> constructor whose
+ * <code>@JsonProperty</code> parameters cover all properties of the class gets
+ * its own deserializer.</li>
+ * <li>Each abstract type with <code>@JsonTypeInfo</code> and
+ * <code>@JsonSubTypes</code> using a type id property gets a dispatcher which
+ * resolves the subtype with a <code>switch</code> instead of a map lookup.</li>
+ * <li>Each class annotated with
+ * <code>eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer</code>
+ * gets its own deserializer as well. If it has no <code>@JsonCreator</code>,
+ * it is created by its default constructor and its properties are assigned to
+ * their fields or passed to their setters, while unknown properties go to its
+ * <code>@JsonAnySetter</code>.</li>
+ * <li>All of them are registered by a single Jackson module, which is called
+ * <code>eu.bittrade.libs.steemj.communication.GeneratedJsonBindingModule</code>
+ * unless the <code>steemj.jsonBindingModule</code> option defines another
+ * name.</li>
+ * </ul>
+ * Types that use a Jackson feature the generated code does not implement
+ * (e.g. field injection, custom naming strategies or any setters) are skipped
+ * and keep being bound by Jackson itself. Set the
+ * <code>steemj.jsonBindingVerbose</code> option to <code>true</code> to list
+ * them together with the reason. Types annotated with
+ * <code>GenerateJsonDeserializer</code> are never skipped: if they use such a
+ * feature, the compilation fails with the reason instead.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+@SupportedAnnotationTypes({ JsonBindingProcessor.JSON_CREATOR, JsonBindingProcessor.JSON_SUB_TYPES,
+        JsonBindingProcessor.GENERATE_JSON_DESERIALIZER })
+@SupportedOptions({ JsonBindingProcessor.MODULE_OPTION, JsonBindingProcessor.VERBOSE_OPTION })
+public class JsonBindingProcessor extends AbstractProcessor {
+    static final String MODULE_OPTION = "steemj.jsonBindingModule";
+    static final String VERBOSE_OPTION = "steemj.jsonBindingVerbose";
+    static final String DEFAULT_MODULE = "eu.bittrade.libs.steemj.communication.GeneratedJsonBindingModule";
+    static final String GENERATE_JSON_DESERIALIZER = "eu.bittrade.libs.steemj.communication.GenerateJsonDeserializer";
+
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final String ANNOTATION_PACKAGE = JACKSON_PACKAGE + "annotation.";
+    private static final String DATABIND_ANNOTATION_PACKAGE = JACKSON_PACKAGE + "databind.annotation.";
+    static final String JSON_CREATOR = ANNOTATION_PACKAGE + "JsonCreator";
+    static final String JSON_SUB_TYPES = ANNOTATION_PACKAGE + "JsonSubTypes";
+    private static final String JSON_PROPERTY = ANNOTATION_PACKAGE + "JsonProperty";
+    private static final String JSON_IGNORE = ANNOTATION_PACKAGE + "JsonIgnore";
+    private static final String JSON_TYPE_INFO = ANNOTATION_PACKAGE + "JsonTypeInfo";
+    private static final String JSON_TYPE_NAME = ANNOTATION_PACKAGE + "JsonTypeName";
+    private static final String JSON_ANY_SETTER = ANNOTATION_PACKAGE + "JsonAnySetter";
+    private static final String JSON_ANY_GETTER = ANNOTATION_PACKAGE + "JsonAnyGetter";
+    private static final String JSON_DESERIALIZE = DATABIND_ANNOTATION_PACKAGE + "JsonDeserialize";
+
+    /** The Jackson annotations of a class that do not affect deserialization. */
+    private static final Set<String> SUPPORTED_TYPE_ANNOTATIONS = new HashSet<>(Arrays.asList(JSON_TYPE_INFO,
+            JSON_SUB_TYPES, JSON_TYPE_NAME, ANNOTATION_PACKAGE + "JsonPropertyOrder",
+            ANNOTATION_PACKAGE + "JsonInclude", DATABIND_ANNOTATION_PACKAGE + "JsonSerialize"));
+    /**
+     * The Jackson annotations of a field, method or parameter that are either
+     * implemented by the generated code or do not affect deserialization.
+     */
+    private static final Set<String> SUPPORTED_MEMBER_ANNOTATIONS = new HashSet<>(Arrays.asList(JSON_CREATOR,
+            JSON_PROPERTY, JSON_IGNORE, JSON_DESERIALIZE, ANNOTATION_PACKAGE + "JsonInclude",
+            ANNOTATION_PACKAGE + "JsonPropertyDescription", ANNOTATION_PACKAGE + "JsonRawValue",
+            JSON_ANY_GETTER, DATABIND_ANNOTATION_PACKAGE + "JsonSerialize"));
+    /**
+     * The Jackson annotations of a field or method that are supported if the
+     * type is bound through its members.
+     */
+    private static final Set<String> SUPPORTED_MUTATOR_ANNOTATIONS = new HashSet<>(Arrays.asList(JSON_PROPERTY,
+            JSON_IGNORE, JSON_DESERIALIZE, JSON_ANY_SETTER, JSON_ANY_GETTER, ANNOTATION_PACKAGE + "JsonInclude",
+            ANNOTATION_PACKAGE + "JsonPropertyDescription", ANNOTATION_PACKAGE + "JsonRawValue",
+            DATABIND_ANNOTATION_PACKAGE + "JsonSerialize"));
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || annotations.isEmpty()) {
+            return false;
+        }
+
+        List<CreatorBinding> bindings = new ArrayList<>();
+        List<TypeDispatch> dispatches = new ArrayList<>();
+
+        Set<TypeElement> creatorTypes = new LinkedHashSet<>();
+        Set<TypeElement> dispatchTypes = new LinkedHashSet<>();
+        Set<TypeElement> requiredTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (annotation.getQualifiedName().contentEquals(JSON_CREATOR)) {
+                    creatorTypes.add((TypeElement) element.getEnclosingElement());
+                } else if (annotation.getQualifiedName().contentEquals(GENERATE_JSON_DESERIALIZER)) {
+                    requiredTypes.add((TypeElement) element);
+                } else if (element instanceof TypeElement) {
+                    dispatchTypes.add((TypeElement) element);
+                }
+            }
+        }
+
+        creatorTypes.removeAll(requiredTypes);
+        for (TypeElement type : creatorTypes) {
+            try {
+                bindings.add(analyzeCreator(type));
+            } catch (UnsupportedTypeException e) {
+                note(type, e.getMessage());
+            }
+        }
+
+        for (TypeElement type : requiredTypes) {
+            try {
+                bindings.add(hasCreator(type) ? analyzeCreator(type) : analyzeMembers(type));
+            } catch (UnsupportedTypeException e) {
+                processingEnv.getMessager().printMessage(Kind.ERROR, "No deserializer can be generated for "
+                        + type.getQualifiedName() + ", because " + e.getMessage() + ".", type);
+            }
+        }
+
+        for (TypeElement type : dispatchTypes) {
+            try {
+                dispatches.add(analyzeDispatch(type));
+            } catch (UnsupportedTypeException e) {
+                note(type, e.getMessage());
+            }
+        }
+
+        if (bindings.isEmpty() && dispatches.isEmpty()) {
+            return false;
+        }
+
+        String moduleName = processingEnv.getOptions().get(MODULE_OPTION);
+        if (moduleName == null || moduleName.isEmpty()) {
+            moduleName = DEFAULT_MODULE;
+        }
+
+        JsonBindingWriter writer = new JsonBindingWriter(processingEnv.getFiler());
+        try {
+            for (CreatorBinding binding : bindings) {
+                writer.writeDeserializer(binding);
+            }
+            for (TypeDispatch dispatch : dispatches) {
+                writer.writeDispatcher(dispatch);
+            }
+            writer.writeModule(moduleName, bindings, dispatches);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Could not write the generated JSON binding: " + e.getMessage());
+        }
+
+        generated = true;
+        // The Jackson annotations are not claimed, as other processors may
+        // need them as well.
+        return false;
+    }
+
+    /**
+     * Check if a streaming deserializer can be generated for the given type.
+     * 
+     * @param type
+     *            A type with a <code>@JsonCreator</code>.
+     * @return The description of the deserializer to generate.
+     * @throws UnsupportedTypeException
+     *             If the type uses a feature that is not supported by the
+     *             generated code.
+     */
+    private CreatorBinding analyzeCreator(TypeElement type) throws UnsupportedTypeException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException("it is not a concrete class");
+        } else if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException("it has type parameters");
+        }
+
+        checkAccessible(type);
+
+        ExecutableElement creator = null;
+        for (Element member : type.getEnclosedElements()) {
+            if (findAnnotation(member, JSON_CREATOR) == null) {
+                continue;
+            } else if (member.getKind() != ElementKind.CONSTRUCTOR) {
+                throw new UnsupportedTypeException("it uses a factory method as creator");
+            } else if (creator != null) {
+                throw new UnsupportedTypeException("it has more than one creator");
+            }
+
+            creator = (ExecutableElement) member;
+        }
+
+        String mode = String.valueOf(getValue(findAnnotation(creator, JSON_CREATOR), "mode"));
+        if ("DELEGATING".equals(mode) || "DISABLED".equals(mode)) {
+            throw new UnsupportedTypeException("it uses the creator mode " + mode);
+        } else if (creator.getModifiers().contains(Modifier.PRIVATE) || !creator.getTypeParameters().isEmpty()
+                || creator.getParameters().isEmpty()) {
+            throw new UnsupportedTypeException("its creator is private, generic or has no parameters");
+        }
+
+        // A single parameter without a name makes Jackson pass the whole value
+        // to the creator.
+        if (creator.getParameters().size() == 1 && getPropertyName(creator.getParameters().get(0)) == null
+                && !"PROPERTIES".equals(mode)) {
+            return analyzeDelegatingCreator(type, creator.getParameters().get(0));
+        }
+
+        Map<String, VariableElement> parameters = new LinkedHashMap<>();
+        Map<String, String> deserializerClassNames = new HashMap<>();
+        for (VariableElement parameter : creator.getParameters()) {
+            String name = getPropertyName(parameter);
+            if (name == null || name.isEmpty()) {
+                throw new UnsupportedTypeException("the parameter " + parameter + " has no @JsonProperty name");
+            } else if (parameters.put(name, parameter) != null) {
+                throw new UnsupportedTypeException("the property " + name + " is defined twice");
+            }
+
+            checkMemberAnnotations(parameter);
+            putDeserializerClassName(deserializerClassNames, name, parameter);
+        }
+
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            checkTypeAnnotations(current);
+            hierarchy.add(current);
+        }
+
+        Set<String> ignoredNames = new LinkedHashSet<>();
+        Set<String> fieldNames = new HashSet<>();
+        // Jackson groups the accessors by their implicit name first, so a
+        // field name given by @JsonProperty also applies to its getter and
+        // setter.
+        Map<String, String> explicitNamesByFieldName = new HashMap<>();
+        for (TypeElement current : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                checkMemberAnnotations(field);
+                String name = field.getSimpleName().toString();
+                String explicitName = getPropertyName(field);
+                if (explicitName != null && !explicitName.isEmpty()) {
+                    explicitNamesByFieldName.put(name, explicitName);
+                    name = explicitName;
+                }
+
+                if (parameters.containsKey(name)) {
+                    putDeserializerClassName(deserializerClassNames, name, field);
+                } else if (findAnnotation(field, JSON_IGNORE) != null) {
+                    ignoredNames.add(name);
+                } else if (explicitName != null || field.getModifiers().contains(Modifier.PUBLIC)) {
+                    throw new UnsupportedTypeException("the field " + name + " is not set by the creator");
+                } else {
+                    fieldNames.add(name);
+                }
+            }
+        }
+
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        for (TypeElement current : hierarchy) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                checkMemberAnnotations(method);
+                if (findAnnotation(method, JSON_DESERIALIZE) != null) {
+                    throw new UnsupportedTypeException("the method " + method + " has a custom deserializer");
+                }
+
+                boolean explicit = findAnnotation(method, JSON_PROPERTY) != null;
+                String name = getAccessorName(method);
+                if (name == null) {
+                    if (explicit) {
+                        throw new UnsupportedTypeException("the method " + method + " is not a getter or setter");
+                    }
+                    continue;
+                } else if (explicit && !getPropertyName(method).isEmpty()) {
+                    name = getPropertyName(method);
+                } else if (explicitNamesByFieldName.containsKey(name)) {
+                    name = explicitNamesByFieldName.get(name);
+                }
+
+                // Jackson detects setters of any visibility, but only public
+                // getters.
+                if (parameters.containsKey(name)) {
+                    continue;
+                } else if (findAnnotation(method, JSON_IGNORE) != null) {
+                    ignoredNames.add(name);
+                } else if (!method.getParameters().isEmpty()) {
+                    throw new UnsupportedTypeException("the property " + name + " is set by a setter");
+                } else if ((explicit || method.getModifiers().contains(Modifier.PUBLIC))
+                        && !getters.containsKey(name)) {
+                    getters.put(name, method);
+                }
+            }
+        }
+
+        // Jackson uses the field behind a getter or the collection returned by
+        // it to set a property, even if the field is not annotated.
+        for (Entry<String, ExecutableElement> getter : getters.entrySet()) {
+            if (ignoredNames.contains(getter.getKey())) {
+                continue;
+            } else if (fieldNames.contains(getter.getKey())) {
+                throw new UnsupportedTypeException("the field " + getter.getKey() + " is not set by the creator");
+            } else if (isContainer(getter.getValue().getReturnType())) {
+                throw new UnsupportedTypeException("the property " + getter.getKey() + " is set through its getter");
+            }
+        }
+
+        CreatorBinding binding = new CreatorBinding(getPackageName(type), type.getQualifiedName().toString(),
+                getNestedName(type) + "GeneratedDeserializer", BindingKind.CREATOR);
+        for (Entry<String, VariableElement> parameter : parameters.entrySet()) {
+            TypeMirror parameterType = parameter.getValue().asType();
+            String deserializerClassName = deserializerClassNames.get(parameter.getKey());
+
+            ValueKind valueKind = ValueKind.OBJECT;
+            if (parameterType.getKind() == TypeKind.CHAR) {
+                throw new UnsupportedTypeException("the property " + parameter.getKey() + " is a char");
+            } else if (parameterType.getKind().isPrimitive() && deserializerClassName == null) {
+                valueKind = ValueKind.PRIMITIVE;
+            } else if (String.class.getName().equals(parameterType.toString()) && deserializerClassName == null) {
+                valueKind = ValueKind.STRING;
+            }
+
+            binding.getProperties()
+                    .add(new Property(parameter.getKey(), parameterType.toString(),
+                            processingEnv.getTypeUtils().erasure(parameterType).toString(), valueKind,
+                            deserializerClassName));
+        }
+
+        binding.getIgnoredNames().addAll(ignoredNames);
+        return binding;
+    }
+
+    /**
+     * Check if a streaming deserializer can be generated for a type that is
+     * created by its default constructor and whose properties are set through
+     * its fields and setters.
+     * 
+     * @param type
+     *            A type without a <code>@JsonCreator</code>.
+     * @return The description of the deserializer to generate.
+     * @throws UnsupportedTypeException
+     *             If the type uses a feature that is not supported by the
+     *             generated code.
+     */
+    private CreatorBinding analyzeMembers(TypeElement type) throws UnsupportedTypeException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException("it is not a concrete class");
+        } else if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException("it has type parameters");
+        }
+
+        checkAccessible(type);
+
+        boolean defaultConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            defaultConstructor |= constructor.getParameters().isEmpty();
+        }
+        if (!defaultConstructor) {
+            throw new UnsupportedTypeException("it has no default constructor");
+        }
+
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            checkTypeAnnotations(current);
+            if (!current.getTypeParameters().isEmpty()) {
+                throw new UnsupportedTypeException("the class " + current + " has type parameters");
+            }
+            hierarchy.add(current);
+        }
+
+        // Jackson groups the accessors by their implicit name first, and the
+        // members of a subclass hide those of its superclasses.
+        Map<String, MemberGroup> groups = new LinkedHashMap<>();
+        ExecutableElement anySetter = null;
+        for (TypeElement current : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                checkMemberAnnotations(field, SUPPORTED_MUTATOR_ANNOTATIONS);
+                boolean annotated = findAnnotation(field, JSON_PROPERTY) != null;
+                if (field.getModifiers().contains(Modifier.TRANSIENT)) {
+                    if (annotated) {
+                        throw new UnsupportedTypeException("the transient field " + field + " is a property");
+                    }
+                    continue;
+                }
+
+                MemberGroup group = getMemberGroup(groups, field.getSimpleName().toString(), field);
+                if (group.field == null) {
+                    group.field = field;
+                }
+            }
+
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                checkMemberAnnotations(method, SUPPORTED_MUTATOR_ANNOTATIONS);
+                if (findAnnotation(method, JSON_ANY_GETTER) != null) {
+                    continue;
+                } else if (findAnnotation(method, JSON_ANY_SETTER) != null) {
+                    if (method.getParameters().size() != 2
+                            || !String.class.getName().equals(method.getParameters().get(0).asType().toString())
+                            || !Object.class.getName().equals(method.getParameters().get(1).asType().toString())) {
+                        throw new UnsupportedTypeException("the any setter " + method
+                                + " does not take a String and an Object");
+                    } else if (anySetter == null) {
+                        anySetter = method;
+                    }
+                    continue;
+                }
+
+                String implicitName = getAccessorName(method);
+                if (implicitName == null) {
+                    if (findAnnotation(method, JSON_PROPERTY) != null) {
+                        throw new UnsupportedTypeException("the method " + method + " is not a getter or setter");
+                    }
+                    continue;
+                }
+
+                MemberGroup group = getMemberGroup(groups, implicitName, method);
+                if (!method.getParameters().isEmpty() && group.setter == null) {
+                    group.setter = method;
+                } else if (method.getParameters().isEmpty() && group.getter == null) {
+                    group.getter = method;
+                }
+            }
+        }
+
+        CreatorBinding binding = new CreatorBinding(getPackageName(type), type.getQualifiedName().toString(),
+                getNestedName(type) + "GeneratedDeserializer", BindingKind.MEMBERS);
+        Set<String> names = new HashSet<>();
+        for (Entry<String, MemberGroup> entry : groups.entrySet()) {
+            MemberGroup group = entry.getValue();
+            String name = group.explicitName == null ? entry.getKey() : group.explicitName;
+            if (!names.add(name)) {
+                throw new UnsupportedTypeException("the property " + name + " is defined twice");
+            } else if (group.ignored) {
+                binding.getIgnoredNames().add(name);
+                continue;
+            }
+
+            // Jackson detects setters of any visibility, but only public
+            // getters and fields, unless they are annotated. A private field is
+            // still used to set a property that has a visible getter.
+            boolean visibleGetter = group.getter != null && (group.getter.getModifiers().contains(Modifier.PUBLIC)
+                    || findAnnotation(group.getter, JSON_PROPERTY) != null);
+            Element mutator;
+            TypeMirror valueType;
+            MutatorKind mutatorKind;
+            if (group.setter != null) {
+                mutator = group.setter;
+                valueType = group.setter.getParameters().get(0).asType();
+                mutatorKind = MutatorKind.SETTER;
+            } else if (group.field != null && (group.field.getModifiers().contains(Modifier.PUBLIC)
+                    || findAnnotation(group.field, JSON_PROPERTY) != null || visibleGetter)) {
+                if (group.field.getModifiers().contains(Modifier.FINAL)) {
+                    throw new UnsupportedTypeException("the property " + name + " is set through a final field");
+                }
+                mutator = group.field;
+                valueType = group.field.asType();
+                mutatorKind = MutatorKind.FIELD;
+            } else if (visibleGetter && isContainer(group.getter.getReturnType())) {
+                throw new UnsupportedTypeException("the property " + name + " is set through its getter");
+            } else {
+                continue;
+            }
+
+            TypeElement declaringType = (TypeElement) mutator.getEnclosingElement();
+            checkVisible(declaringType, type);
+            checkVisible(valueType, type);
+
+            Map<String, String> deserializerClassNames = new HashMap<>();
+            putDeserializerClassName(deserializerClassNames, name, group.setter);
+            putDeserializerClassName(deserializerClassNames, name, group.field);
+            putDeserializerClassName(deserializerClassNames, name, group.getter);
+            String deserializerClassName = deserializerClassNames.get(name);
+
+            ValueKind valueKind = ValueKind.OBJECT;
+            if (valueType.getKind() == TypeKind.CHAR) {
+                throw new UnsupportedTypeException("the property " + name + " is a char");
+            } else if (valueType.getKind().isPrimitive() && deserializerClassName == null) {
+                valueKind = ValueKind.PRIMITIVE;
+            } else if (String.class.getName().equals(valueType.toString()) && deserializerClassName == null) {
+                valueKind = ValueKind.STRING;
+            }
+
+            binding.getProperties().add(new Property(name, valueType.toString(),
+                    processingEnv.getTypeUtils().erasure(valueType).toString(), valueKind, deserializerClassName,
+                    mutatorKind, declaringType.getQualifiedName().toString(), mutator.getSimpleName().toString()));
+        }
+
+        if (anySetter != null) {
+            TypeElement declaringType = (TypeElement) anySetter.getEnclosingElement();
+            checkVisible(declaringType, type);
+            binding.setAnySetter(declaringType.getQualifiedName().toString(), anySetter.getSimpleName().toString());
+        }
+
+        return binding;
+    }
+
+    /**
+     * Get the group of members with the given implicit name and apply the
+     * <code>@JsonProperty</code> and <code>@JsonIgnore</code> annotations of
+     * the given member to it.
+     */
+    private MemberGroup getMemberGroup(Map<String, MemberGroup> groups, String implicitName, Element member)
+            throws UnsupportedTypeException {
+        MemberGroup group = groups.get(implicitName);
+        if (group == null) {
+            group = new MemberGroup();
+            groups.put(implicitName, group);
+        }
+
+        String explicitName = getPropertyName(member);
+        if (explicitName != null && !explicitName.isEmpty()) {
+            if (group.explicitName != null && !group.explicitName.equals(explicitName)) {
+                throw new UnsupportedTypeException("the property " + implicitName + " is called "
+                        + group.explicitName + " and " + explicitName);
+            }
+            group.explicitName = explicitName;
+        }
+        group.ignored |= findAnnotation(member, JSON_IGNORE) != null;
+
+        return group;
+    }
+
+    /**
+     * @return <code>true</code> if the given type has a
+     *         <code>@JsonCreator</code> constructor or factory method.
+     */
+    private boolean hasCreator(TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (findAnnotation(member, JSON_CREATOR) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if a streaming deserializer can be generated for a type whose
+     * creator is called with the whole value.
+     * 
+     * @param type
+     *            A type with a <code>@JsonCreator</code>.
+     * @param parameter
+     *            The only parameter of the creator.
+     * @return The description of the deserializer to generate.
+     * @throws UnsupportedTypeException
+     *             If the creator does not take a <code>String</code> or if the
+     *             type uses a feature that is not supported by the generated
+     *             code.
+     */
+    private CreatorBinding analyzeDelegatingCreator(TypeElement type, VariableElement parameter)
+            throws UnsupportedTypeException {
+        checkMemberAnnotations(parameter);
+        if (!String.class.getName().equals(parameter.asType().toString())
+                || findAnnotation(parameter, JSON_DESERIALIZE) != null) {
+            throw new UnsupportedTypeException("its creator does not take a String");
+        }
+
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            checkTypeAnnotations(current);
+        }
+
+        CreatorBinding binding = new CreatorBinding(getPackageName(type), type.getQualifiedName().toString(),
+                getNestedName(type) + "GeneratedDeserializer", BindingKind.DELEGATING);
+        binding.getProperties().add(new Property(parameter.getSimpleName().toString(), String.class.getName(),
+                String.class.getName(), ValueKind.STRING, null));
+        return binding;
+    }
+
+    /**
+     * Check if a type dispatcher can be generated for the given type.
+     * 
+     * @param type
+     *            A type with <code>@JsonSubTypes</code>.
+     * @return The description of the dispatcher to generate.
+     * @throws UnsupportedTypeException
+     *             If the type uses a feature that is not supported by the
+     *             generated code.
+     */
+    private TypeDispatch analyzeDispatch(TypeElement type) throws UnsupportedTypeException {
+        AnnotationMirror typeInfo = findAnnotation(type, JSON_TYPE_INFO);
+        if (typeInfo == null) {
+            throw new UnsupportedTypeException("it has no @JsonTypeInfo");
+        } else if (!"NAME".equals(String.valueOf(getValue(typeInfo, "use")))
+                || !"PROPERTY".equals(String.valueOf(getValue(typeInfo, "include")))
+                || Boolean.TRUE.equals(getValue(typeInfo, "visible"))
+                || hasExplicitValue(typeInfo, "defaultImpl")) {
+            throw new UnsupportedTypeException("only invisible type names stored in a property are supported");
+        } else if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException("it is not abstract");
+        } else if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException("it has type parameters");
+        }
+
+        checkAccessible(type);
+
+        String propertyName = String.valueOf(getValue(typeInfo, "property"));
+        if (propertyName.isEmpty()) {
+            propertyName = "@type";
+        }
+
+        TypeDispatch dispatch = new TypeDispatch(getPackageName(type), type.getQualifiedName().toString(),
+                getNestedName(type) + "GeneratedTypeDispatcher", propertyName);
+        for (AnnotationValue value : getValues(findAnnotation(type, JSON_SUB_TYPES), "value")) {
+            AnnotationMirror subTypeAnnotation = (AnnotationMirror) value.getValue();
+            TypeElement subType = (TypeElement) ((DeclaredType) getValue(subTypeAnnotation, "value")).asElement();
+            if (findAnnotation(subType, JSON_SUB_TYPES) != null) {
+                throw new UnsupportedTypeException("the subtype " + subType + " has subtypes itself");
+            }
+
+            String typeId = String.valueOf(getValue(subTypeAnnotation, "name"));
+            if (typeId.isEmpty() && findAnnotation(subType, JSON_TYPE_NAME) != null) {
+                typeId = String.valueOf(getValue(findAnnotation(subType, JSON_TYPE_NAME), "value"));
+            }
+            if (typeId.isEmpty()) {
+                typeId = subType.getSimpleName().toString();
+            }
+
+            if (dispatch.getSubTypesById().put(typeId, subType.getQualifiedName().toString()) != null) {
+                throw new UnsupportedTypeException("the type id " + typeId + " is used twice");
+            }
+        }
+
+        return dispatch;
+    }
+
+    /**
+     * Make sure the generated code can access the given type.
+     */
+    private void checkAccessible(TypeElement type) throws UnsupportedTypeException {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedTypeException("it is not accessible");
+            } else if (current.getEnclosingElement() instanceof TypeElement
+                    && !current.getModifiers().contains(Modifier.STATIC) && current.getKind() == ElementKind.CLASS) {
+                throw new UnsupportedTypeException("it is an inner class");
+            }
+        }
+    }
+
+    /**
+     * Make sure the generated deserializer of the given type can access a
+     * class literal of the given type, which is either a declaring type or the
+     * type of a value.
+     */
+    private void checkVisible(TypeMirror referencedType, TypeElement type) throws UnsupportedTypeException {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(referencedType);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            checkVisible((TypeElement) ((DeclaredType) erasure).asElement(), type);
+        }
+    }
+
+    /**
+     * Make sure the generated deserializer of the given type can access the
+     * given class, including all classes it is nested in.
+     */
+    private void checkVisible(TypeElement referencedType, TypeElement type) throws UnsupportedTypeException {
+        for (Element current = referencedType; current instanceof TypeElement; current = current
+                .getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE) || (!current.getModifiers().contains(Modifier.PUBLIC)
+                    && !getPackageName((TypeElement) current).equals(getPackageName(type)))) {
+                throw new UnsupportedTypeException("the class " + referencedType + " is not accessible");
+            }
+        }
+    }
+
+    /**
+     * Make sure the class level annotations of the given type do not change
+     * the way it is deserialized.
+     */
+    private void checkTypeAnnotations(TypeElement type) throws UnsupportedTypeException {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            String name = getName(annotation);
+            if (name.startsWith(JACKSON_PACKAGE) && !SUPPORTED_TYPE_ANNOTATIONS.contains(name)) {
+                throw new UnsupportedTypeException("the class " + type + " uses @" + getSimpleName(name));
+            } else if (JSON_TYPE_INFO.equals(name) && Boolean.TRUE.equals(getValue(annotation, "visible"))) {
+                throw new UnsupportedTypeException("the type id of " + type + " is visible");
+            }
+        }
+    }
+
+    /**
+     * Make sure the annotations of the given member are either implemented by
+     * the generated code or do not change the way it is deserialized.
+     */
+    private void checkMemberAnnotations(Element member) throws UnsupportedTypeException {
+        checkMemberAnnotations(member, SUPPORTED_MEMBER_ANNOTATIONS);
+    }
+
+    /**
+     * Make sure the given member only uses the given Jackson annotations and
+     * only the <code>using</code> attribute of <code>@JsonDeserialize</code>.
+     */
+    private void checkMemberAnnotations(Element member, Set<String> supportedAnnotations)
+            throws UnsupportedTypeException {
+        for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+            String name = getName(annotation);
+            if (name.startsWith(JACKSON_PACKAGE) && !supportedAnnotations.contains(name)) {
+                throw new UnsupportedTypeException(member + " uses @" + getSimpleName(name));
+            } else if (JSON_DESERIALIZE.equals(name)) {
+                for (ExecutableElement attribute : annotation.getElementValues().keySet()) {
+                    if (!attribute.getSimpleName().contentEquals("using")) {
+                        throw new UnsupportedTypeException(member + " uses @JsonDeserialize(" + attribute + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Remember the deserializer defined by <code>@JsonDeserialize(using)</code>
+     * of the given member, unless the parameter or a previous member already
+     * defines one.
+     */
+    private void putDeserializerClassName(Map<String, String> deserializerClassNames, String name, Element member) {
+        if (member == null) {
+            return;
+        }
+
+        AnnotationMirror deserialize = findAnnotation(member, JSON_DESERIALIZE);
+        if (deserialize != null && hasExplicitValue(deserialize, "using") && !deserializerClassNames.containsKey(name)) {
+            deserializerClassNames.put(name, String.valueOf(getValue(deserialize, "using")));
+        }
+    }
+
+    /**
+     * Get the implicit property name of a getter or setter the same way
+     * Jackson does, e.g. <code>getURL</code> becomes <code>url</code>.
+     * 
+     * @return The property name or <code>null</code> if the method is neither
+     *         a getter nor a setter.
+     */
+    private String getAccessorName(ExecutableElement method) {
+        String methodName = method.getSimpleName().toString();
+        String baseName = null;
+        if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+            if (methodName.startsWith("get") && methodName.length() > 3) {
+                baseName = methodName.substring(3);
+            } else if (methodName.startsWith("is") && methodName.length() > 2
+                    && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+                baseName = methodName.substring(2);
+            }
+        } else if (method.getParameters().size() == 1 && methodName.startsWith("set") && methodName.length() > 3) {
+            baseName = methodName.substring(3);
+        }
+
+        if (baseName == null) {
+            return null;
+        }
+
+        StringBuilder propertyName = new StringBuilder(baseName);
+        for (int i = 0; i < propertyName.length(); i++) {
+            char upperCase = propertyName.charAt(i);
+            char lowerCase = Character.toLowerCase(upperCase);
+            if (upperCase == lowerCase) {
+                break;
+            }
+            propertyName.setCharAt(i, lowerCase);
+        }
+
+        return propertyName.toString();
+    }
+
+    /**
+     * @return <code>true</code> if Jackson would fill a value of the given
+     *         type returned by a getter instead of calling a setter.
+     */
+    private boolean isContainer(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        Elements elements = processingEnv.getElementUtils();
+        TypeMirror erasure = types.erasure(type);
+
+        return types.isAssignable(erasure, types.erasure(elements.getTypeElement("java.util.Collection").asType()))
+                || types.isAssignable(erasure, types.erasure(elements.getTypeElement("java.util.Map").asType()));
+    }
+
+    /**
+     * @return The superclass of the given type or <code>null</code> if it is a
+     *         JDK class.
+     */
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement superclassElement = (TypeElement) ((DeclaredType) superclass).asElement();
+        String name = superclassElement.getQualifiedName().toString();
+        return name.startsWith("java.") || name.startsWith("javax.") ? null : superclassElement;
+    }
+
+    /**
+     * @return The explicit name given by <code>@JsonProperty</code> or
+     *         <code>null</code>.
+     */
+    private String getPropertyName(Element element) {
+        AnnotationMirror property = findAnnotation(element, JSON_PROPERTY);
+        return property == null ? null : String.valueOf(getValue(property, "value"));
+    }
+
+    private String getPackageName(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * @return The simple names of the given type and all types it is nested
+     *         in, e.g. <code>OuterInner</code>.
+     */
+    private String getNestedName(TypeElement type) {
+        StringBuilder nestedName = new StringBuilder();
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            nestedName.insert(0, current.getSimpleName());
+        }
+
+        return nestedName.toString();
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (getName(annotation).equals(annotationName)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror annotation, String attributeName) {
+        for (Entry<? extends ExecutableElement, ? extends AnnotationValue> value : processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(annotation).entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals(attributeName)) {
+                return value.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> getValues(AnnotationMirror annotation, String attributeName) {
+        Object value = getValue(annotation, attributeName);
+        return value instanceof List ? (List<? extends AnnotationValue>) value
+                : new ArrayList<AnnotationValue>();
+    }
+
+    private boolean hasExplicitValue(AnnotationMirror annotation, String attributeName) {
+        for (ExecutableElement attribute : annotation.getElementValues().keySet()) {
+            if (attribute.getSimpleName().contentEquals(attributeName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String getName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String getSimpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Print the reason why no code has been generated for the given type if
+     * the {@link #VERBOSE_OPTION} is set.
+     */
+    private void note(TypeElement type, String reason) {
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(VERBOSE_OPTION))) {
+            processingEnv.getMessager().printMessage(Kind.NOTE,
+                    type.getQualifiedName() + " is bound by reflection, because " + reason + ".", type);
+        }
+    }
+
+    /**
+     * The field, getter and setter that share the same implicit property name.
+     */
+    private static final class MemberGroup {
+        private VariableElement field;
+        private ExecutableElement getter;
+        private ExecutableElement setter;
+        private String explicitName;
+        private boolean ignored;
+    }
+
+    /**
+     * This exception is thrown if a type uses a Jackson feature that is not
+     * implemented by the generated code.
+     */
+    private static class UnsupportedTypeException extends Exception {
+        private static final long serialVersionUID = 1780617512906414721L;
+
+        /**
+         * Create a new exception.
+         * 
+         * @param reason
+         *            The reason why the type is not supported.
+         */
+        private UnsupportedTypeException(String reason) {
+            super(reason);
+        }
+    }
+}
@@ -0,0 +1,820 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.annotation.processing.Filer;
+
+import eu.bittrade.libs.steemj.processor.CreatorBinding.BindingKind;
+import eu.bittrade.libs.steemj.processor.CreatorBinding.MutatorKind;
+import eu.bittrade.libs.steemj.processor.CreatorBinding.Property;
+import eu.bittrade.libs.steemj.processor.CreatorBinding.ValueKind;
+
+/**
+ * This class writes the source code of the deserializers, type dispatchers
+ * and the module described by {@link CreatorBinding} and {@link TypeDispatch}
+ * objects.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+final class JsonBindingWriter {
+    private static final String INDENTATION = "    ";
+    private static final String GENERATED_NOTE = " * This class has been generated by the SteemJ JSON binding processor. Do not edit.";
+
+    private final Filer filer;
+    private final StringBuilder source = new StringBuilder();
+    private int level;
+
+    /**
+     * Create a new writer.
+     * 
+     * @param filer
+     *            The filer used to create the source files.
+     */
+    JsonBindingWriter(Filer filer) {
+        this.filer = filer;
+    }
+
+    /**
+     * Write the streaming deserializer of the given type.
+     * 
+     * @param binding
+     *            The type to write the deserializer for.
+     * @throws IOException
+     *             If the source file could not be written.
+     */
+    void writeDeserializer(CreatorBinding binding) throws IOException {
+        if (binding.getKind() == BindingKind.DELEGATING) {
+            writeDelegatingDeserializer(binding);
+            return;
+        } else if (binding.getKind() == BindingKind.MEMBERS) {
+            writeMemberDeserializer(binding);
+            return;
+        }
+
+        String type = binding.getTypeName();
+        List<Property> properties = binding.getProperties();
+
+        writeHeader(binding.getPackageName());
+        line("/**");
+        line(" * Reads {@link " + type + "} objects directly from the parser.");
+        line(" *");
+        line(GENERATED_NOTE);
+        line(" */");
+        open("public final class " + binding.getDeserializerName() + " extends StdDeserializer<" + type
+                + "> implements ResolvableDeserializer {");
+        line("private static final long serialVersionUID = 1L;");
+        line("private static final List<Object> PROPERTY_NAMES = Arrays.<Object> asList("
+                + joinPropertyNames(properties) + ");");
+        line();
+        writeDeserializerFields(properties);
+        line();
+        writeCommonMethods(binding);
+        writeResolve(properties, false);
+
+        line("@Override");
+        line("@SuppressWarnings(\"unchecked\")");
+        open("public " + type + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {");
+        writeObjectStart(type);
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            line(property.getTypeName() + " value" + i + " = " + getDefaultValue(property) + ";");
+            line("boolean found" + i + " = false;");
+        }
+        open("for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {");
+        line("String name = p.getCurrentName();");
+        line("p.nextToken();");
+        line("switch (name) {");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            line("case " + quote(property.getName()) + ":");
+            level++;
+            line("value" + i + " = " + readValue(property, i) + ";");
+            line("found" + i + " = true;");
+            line("break;");
+            level--;
+        }
+        writeIgnoredCases(binding);
+        line("default:");
+        level++;
+        line("handleUnknownProperty(p, ctxt, handledType(), name);");
+        level--;
+        line("}");
+        close("}");
+        line();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            open("if (!found" + i + ") {");
+            if (property.getValueKind() == ValueKind.PRIMITIVE) {
+                line("checkMissingValue(ctxt, " + quote(property.getName()) + ", true);");
+            } else {
+                line("checkMissingValue(ctxt, " + quote(property.getName()) + ", false);");
+                line("value" + i + " = (" + property.getTypeName() + ") deserializer" + i + ".getNullValue(ctxt);");
+            }
+            close("}");
+        }
+        open("if (ctxt.isEnabled(DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES)) {");
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).getValueKind() != ValueKind.PRIMITIVE) {
+                line("checkNotNull(ctxt, value" + i + ", " + quote(properties.get(i).getName()) + ");");
+            }
+        }
+        close("}");
+        line();
+        open("try {");
+        StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < properties.size(); i++) {
+            arguments.append(i == 0 ? "" : ", ").append("value").append(i);
+        }
+        line("return new " + type + "(" + arguments + ");");
+        reopen("} catch (Exception e) {");
+        line("throw ctxt.instantiationException(handledType(), e);");
+        close("}");
+        close("}");
+        line();
+
+        writeReadValueMethod();
+        line();
+
+        line("/**");
+        line(" * Fail for a missing property if Jackson has been configured to do so.");
+        line(" */");
+        open("private void checkMissingValue(DeserializationContext ctxt, String name, boolean primitive)",
+                "throws JsonMappingException {");
+        open("if (ctxt.isEnabled(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES)) {");
+        line("ctxt.reportInputMismatch(this, \"Missing creator property '%s'\", name);");
+        reopen("} else if (primitive && ctxt.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)) {");
+        line("ctxt.reportInputMismatch(this, \"Cannot map `null` into the primitive property '%s'\", name);");
+        close("}");
+        close("}");
+        line();
+
+        line("/**");
+        line(" * Fail for a <code>null</code> creator property.");
+        line(" */");
+        open("private void checkNotNull(DeserializationContext ctxt, Object value, String name)",
+                "throws JsonMappingException {");
+        open("if (value == null) {");
+        line("ctxt.reportInputMismatch(this, \"Null value for creator property '%s'\", name);");
+        close("}");
+        close("}");
+        close("}");
+
+        writeSource(binding.getQualifiedDeserializerName());
+    }
+
+    /**
+     * Write the deserializer of a type that is created by its default
+     * constructor and whose properties are set through their fields or
+     * setters. As these members are usually private, they are accessed
+     * through method handles which are looked up once per type.
+     */
+    private void writeMemberDeserializer(CreatorBinding binding) throws IOException {
+        String type = binding.getTypeName();
+        List<Property> properties = binding.getProperties();
+        boolean anySetter = binding.getAnySetterName() != null;
+
+        writeHeader(binding.getPackageName(), true);
+        line("/**");
+        line(" * Reads {@link " + type + "} objects directly from the parser.");
+        line(" *");
+        line(GENERATED_NOTE);
+        line(" */");
+        open("public final class " + binding.getDeserializerName() + " extends StdDeserializer<" + type
+                + "> implements ResolvableDeserializer {");
+        line("private static final long serialVersionUID = 1L;");
+        line("private static final List<Object> PROPERTY_NAMES = Arrays.<Object> asList("
+                + joinPropertyNames(properties) + ");");
+        line("private static final MethodHandle CONSTRUCTOR = findConstructor();");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            String lookup = property.getMutatorKind() == MutatorKind.FIELD ? "findField" : "findMethod";
+            line("private static final MethodHandle MUTATOR" + i + " = " + lookup + "("
+                    + property.getMutatorDeclaringTypeName() + ".class, " + quote(property.getMutatorName()) + ", "
+                    + property.getRawTypeName() + ".class);");
+        }
+        if (anySetter) {
+            line("private static final MethodHandle ANY_SETTER = findMethod(" + binding.getAnySetterDeclaringTypeName()
+                    + ".class, " + quote(binding.getAnySetterName()) + ", String.class, Object.class);");
+        }
+        line();
+        writeDeserializerFields(properties);
+        if (anySetter) {
+            line("private transient JsonDeserializer<Object> anySetterDeserializer;");
+        }
+        line();
+        writeCommonMethods(binding);
+        writeResolve(properties, anySetter);
+
+        line("@Override");
+        line("@SuppressWarnings(\"unchecked\")");
+        open("public " + type + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {");
+        writeObjectStart(type);
+        line(type + " value;");
+        open("try {");
+        line("value = (" + type + ") CONSTRUCTOR.invokeExact();");
+        reopen("} catch (Error e) {");
+        line("throw e;");
+        reopen("} catch (Throwable e) {");
+        line("throw ctxt.instantiationException(handledType(), e);");
+        close("}");
+        line();
+        line("String name = null;");
+        open("try {");
+        open("for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {");
+        line("name = p.getCurrentName();");
+        line("p.nextToken();");
+        line("switch (name) {");
+        for (int i = 0; i < properties.size(); i++) {
+            line("case " + quote(properties.get(i).getName()) + ":");
+            level++;
+            line("MUTATOR" + i + ".invokeExact(value, " + readValue(properties.get(i), i) + ");");
+            line("break;");
+            level--;
+        }
+        writeIgnoredCases(binding);
+        line("default:");
+        level++;
+        if (anySetter) {
+            line("ANY_SETTER.invokeExact(value, name, readValue(p, ctxt, anySetterDeserializer, null));");
+        } else {
+            line("handleUnknownProperty(p, ctxt, value, name);");
+        }
+        level--;
+        line("}");
+        close("}");
+        reopen("} catch (IOException | Error e) {");
+        line("throw e;");
+        reopen("} catch (Throwable e) {");
+        line("throw JsonMappingException.wrapWithPath(e, value, name);");
+        close("}");
+        line();
+        line("return value;");
+        close("}");
+        line();
+
+        writeReadValueMethod();
+        line();
+
+        line("/**");
+        line(" * Get a handle for the default constructor.");
+        line(" */");
+        open("private static MethodHandle findConstructor() {");
+        open("try {");
+        line("Constructor<" + type + "> constructor = " + type + ".class.getDeclaredConstructor();");
+        line("constructor.setAccessible(true);");
+        line("return MethodHandles.lookup().unreflectConstructor(constructor);");
+        reopen("} catch (ReflectiveOperationException e) {");
+        line("throw new IllegalStateException(\"Could not access the default constructor.\", e);");
+        close("}");
+        close("}");
+        line();
+
+        line("/**");
+        line(" * Get a handle that assigns a value to the given field.");
+        line(" */");
+        open("private static MethodHandle findField(Class<?> declaringType, String fieldName, Class<?> valueType) {");
+        open("try {");
+        line("Field field = declaringType.getDeclaredField(fieldName);");
+        line("field.setAccessible(true);");
+        line("return MethodHandles.lookup().unreflectSetter(field).asType(MethodType.methodType(void.class, "
+                + type + ".class, valueType));");
+        reopen("} catch (ReflectiveOperationException e) {");
+        line("throw new IllegalStateException(\"Could not access the field \" + fieldName + \".\", e);");
+        close("}");
+        close("}");
+        line();
+
+        line("/**");
+        line(" * Get a handle that calls the given method and ignores its result.");
+        line(" */");
+        open("private static MethodHandle findMethod(Class<?> declaringType, String methodName, Class<?>... parameterTypes) {");
+        open("try {");
+        line("Method method = declaringType.getDeclaredMethod(methodName, parameterTypes);");
+        line("method.setAccessible(true);");
+        line("return MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(void.class, "
+                + type + ".class, parameterTypes));");
+        reopen("} catch (ReflectiveOperationException e) {");
+        line("throw new IllegalStateException(\"Could not access the method \" + methodName + \".\", e);");
+        close("}");
+        close("}");
+        close("}");
+
+        writeSource(binding.getQualifiedDeserializerName());
+    }
+
+    /**
+     * Write the fields holding the deserializers of the given properties.
+     */
+    private void writeDeserializerFields(List<Property> properties) {
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).getValueKind() != ValueKind.PRIMITIVE) {
+                line("private transient JsonDeserializer<Object> deserializer" + i + ";");
+                line("private transient TypeDeserializer typeDeserializer" + i + ";");
+            }
+        }
+    }
+
+    /**
+     * Write the constructor of the deserializer and the methods that describe
+     * it to Jackson.
+     */
+    private void writeCommonMethods(CreatorBinding binding) {
+        open("public " + binding.getDeserializerName() + "() {");
+        line("super(" + binding.getTypeName() + ".class);");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public boolean isCachable() {");
+        line("return true;");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public Collection<Object> getKnownPropertyNames() {");
+        line("return PROPERTY_NAMES;");
+        close("}");
+        line();
+    }
+
+    /**
+     * Write the method that resolves the deserializers of the given
+     * properties and, if requested, the deserializer of the values passed to
+     * the <code>@JsonAnySetter</code>.
+     */
+    private void writeResolve(List<Property> properties, boolean anySetter) {
+        line("@Override");
+        line("@SuppressWarnings(\"unchecked\")");
+        open("public void resolve(DeserializationContext ctxt) throws JsonMappingException {");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.getValueKind() == ValueKind.PRIMITIVE) {
+                continue;
+            }
+
+            line("JavaType type" + i + " = " + constructType(property) + ";");
+            if (property.getDeserializerClassName() == null) {
+                line("deserializer" + i + " = ctxt.findContextualValueDeserializer(type" + i + ", null);");
+            } else {
+                line("JsonDeserializer<?> customDeserializer" + i + " = new " + property.getDeserializerClassName()
+                        + "();");
+                open("if (customDeserializer" + i + " instanceof ResolvableDeserializer) {");
+                line("((ResolvableDeserializer) customDeserializer" + i + ").resolve(ctxt);");
+                close("}");
+                line("deserializer" + i + " = (JsonDeserializer<Object>) ctxt.handlePrimaryContextualization(customDeserializer"
+                        + i + ", null, type" + i + ");");
+            }
+            line("typeDeserializer" + i + " = ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), type" + i
+                    + ");");
+        }
+        if (anySetter) {
+            line("anySetterDeserializer = ctxt.findContextualValueDeserializer(ctxt.constructType(Object.class), null);");
+        }
+        close("}");
+        line();
+    }
+
+    /**
+     * Write the start of a <code>deserialize</code> method, which moves the
+     * parser to the first property.
+     */
+    private void writeObjectStart(String type) {
+        line("JsonToken token = p.getCurrentToken();");
+        open("if (token == JsonToken.START_OBJECT) {");
+        line("token = p.nextToken();");
+        reopen("} else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {");
+        line("return (" + type + ") ctxt.handleUnexpectedToken(handledType(), p);");
+        close("}");
+        line();
+    }
+
+    /**
+     * Write the cases that skip the ignored properties.
+     */
+    private void writeIgnoredCases(CreatorBinding binding) {
+        for (String ignoredName : binding.getIgnoredNames()) {
+            line("case " + quote(ignoredName) + ":");
+        }
+        if (!binding.getIgnoredNames().isEmpty()) {
+            level++;
+            line("p.skipChildren();");
+            line("break;");
+            level--;
+        }
+    }
+
+    /**
+     * Write the helper method that reads a value using a deserializer.
+     */
+    private void writeReadValueMethod() {
+        line("/**");
+        line(" * Read the current value using the given deserializer.");
+        line(" */");
+        open("private static Object readValue(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer,",
+                "TypeDeserializer typeDeserializer) throws IOException {");
+        open("if (p.getCurrentToken() == JsonToken.VALUE_NULL) {");
+        line("return deserializer.getNullValue(ctxt);");
+        reopen("} else if (typeDeserializer != null) {");
+        line("return deserializer.deserializeWithType(p, ctxt, typeDeserializer);");
+        close("}");
+        line();
+        line("return deserializer.deserialize(p, ctxt);");
+        close("}");
+    }
+
+    /**
+     * Write the deserializer of a type whose constructor takes the whole value
+     * as a single <code>String</code>.
+     */
+    private void writeDelegatingDeserializer(CreatorBinding binding) throws IOException {
+        String type = binding.getTypeName();
+
+        writeHeader(binding.getPackageName());
+        line("/**");
+        line(" * Reads {@link " + type + "} objects directly from the parser.");
+        line(" *");
+        line(GENERATED_NOTE);
+        line(" */");
+        open("public final class " + binding.getDeserializerName() + " extends StdDeserializer<" + type + "> {");
+        line("private static final long serialVersionUID = 1L;");
+        line();
+        open("public " + binding.getDeserializerName() + "() {");
+        line("super(" + type + ".class);");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public boolean isCachable() {");
+        line("return true;");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public " + type + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {");
+        open("if (p.getCurrentToken() != JsonToken.VALUE_STRING) {");
+        line("return (" + type + ") ctxt.handleUnexpectedToken(handledType(), p);");
+        close("}");
+        line();
+        open("try {");
+        line("return new " + type + "(p.getText());");
+        reopen("} catch (Exception e) {");
+        line("throw ctxt.instantiationException(handledType(), e);");
+        close("}");
+        close("}");
+        close("}");
+
+        writeSource(binding.getQualifiedDeserializerName());
+    }
+
+    /**
+     * Write the type dispatcher of the given type.
+     * 
+     * @param dispatch
+     *            The type to write the dispatcher for.
+     * @throws IOException
+     *             If the source file could not be written.
+     */
+    void writeDispatcher(TypeDispatch dispatch) throws IOException {
+        String type = dispatch.getTypeName();
+
+        writeHeader(dispatch.getPackageName());
+        line("/**");
+        line(" * Resolves the subtype of {@link " + type + "} objects by a <code>switch</code> over the type id, as");
+        line(" * long as the type id is the first property. Otherwise the object is buffered and passed to Jackson.");
+        line(" *");
+        line(GENERATED_NOTE);
+        line(" */");
+        open("public final class " + dispatch.getDispatcherName() + " extends StdDeserializer<" + type
+                + "> implements ResolvableDeserializer {");
+        line("private static final long serialVersionUID = 1L;");
+        line("private static final String TYPE_PROPERTY = " + quote(dispatch.getPropertyName()) + ";");
+        line();
+        for (int i = 0; i < dispatch.getSubTypesById().size(); i++) {
+            line("private transient JsonDeserializer<Object> deserializer" + i + ";");
+        }
+        line("private transient TypeDeserializer defaultTypeDeserializer;");
+        line();
+        open("public " + dispatch.getDispatcherName() + "() {");
+        line("super(" + type + ".class);");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public boolean isCachable() {");
+        line("return true;");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public void resolve(DeserializationContext ctxt) throws JsonMappingException {");
+        int index = 0;
+        for (String subType : dispatch.getSubTypesById().values()) {
+            line("deserializer" + index++ + " = ctxt.findContextualValueDeserializer(ctxt.constructType(" + subType
+                    + ".class), null);");
+        }
+        line("defaultTypeDeserializer = ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), ctxt.constructType("
+                + type + ".class));");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public " + type + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {");
+        open("if (defaultTypeDeserializer == null) {");
+        line("return (" + type
+                + ") ctxt.handleMissingInstantiator(handledType(), null, p, \"the type information is missing\");");
+        close("}");
+        line();
+        line("return (" + type + ") deserializeWithType(p, ctxt, defaultTypeDeserializer);");
+        close("}");
+        line();
+
+        line("@Override");
+        open("public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)",
+                "throws IOException {");
+        open("if (p.getCurrentToken() != JsonToken.START_OBJECT || typeDeserializer.getTypeInclusion() != As.PROPERTY",
+                "|| !TYPE_PROPERTY.equals(typeDeserializer.getPropertyName())) {");
+        line("return typeDeserializer.deserializeTypedFromObject(p, ctxt);");
+        close("}");
+        line();
+        line("TokenBuffer tokenBuffer = new TokenBuffer(p, ctxt);");
+        line("tokenBuffer.writeStartObject();");
+        open("if (p.nextToken() == JsonToken.FIELD_NAME && TYPE_PROPERTY.equals(p.getCurrentName())) {");
+        line("tokenBuffer.writeFieldName(TYPE_PROPERTY);");
+        open("if (p.nextToken() == JsonToken.VALUE_STRING) {");
+        line("String typeId = p.getText();");
+        line("JsonDeserializer<Object> deserializer = findDeserializer(typeId);");
+        line("p.nextToken();");
+        open("if (deserializer != null) {");
+        line("return deserializer.deserialize(p, ctxt);");
+        close("}");
+        line();
+        line("tokenBuffer.writeString(typeId);");
+        reopen("} else {");
+        line("tokenBuffer.copyCurrentStructure(p);");
+        line("p.nextToken();");
+        close("}");
+        close("}");
+        line();
+        line("// The type id is unknown or not the first property, so Jackson has to resolve it.");
+        open("for (JsonToken token = p.getCurrentToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {");
+        line("tokenBuffer.copyCurrentStructure(p);");
+        close("}");
+        line("tokenBuffer.writeEndObject();");
+        line();
+        line("JsonParser bufferedParser = tokenBuffer.asParser(p);");
+        line("bufferedParser.nextToken();");
+        line("return typeDeserializer.deserializeTypedFromObject(bufferedParser, ctxt);");
+        close("}");
+        line();
+
+        line("/**");
+        line(" * Get the deserializer of the subtype with the given id.");
+        line(" */");
+        open("private JsonDeserializer<Object> findDeserializer(String typeId) {");
+        line("switch (typeId) {");
+        index = 0;
+        for (Entry<String, String> subType : dispatch.getSubTypesById().entrySet()) {
+            line("case " + quote(subType.getKey()) + ":");
+            level++;
+            line("return deserializer" + index++ + ";");
+            level--;
+        }
+        line("default:");
+        level++;
+        line("return null;");
+        level--;
+        line("}");
+        close("}");
+        close("}");
+
+        writeSource(dispatch.getQualifiedDispatcherName());
+    }
+
+    /**
+     * Write the Jackson module which registers all generated deserializers.
+     * 
+     * @param moduleName
+     *            The fully qualified name of the module.
+     * @param bindings
+     *            The types with a generated deserializer.
+     * @param dispatches
+     *            The types with a generated type dispatcher.
+     * @throws IOException
+     *             If the source file could not be written.
+     */
+    void writeModule(String moduleName, List<CreatorBinding> bindings, List<TypeDispatch> dispatches)
+            throws IOException {
+        int separator = moduleName.lastIndexOf('.');
+        String simpleName = moduleName.substring(separator + 1);
+
+        source.setLength(0);
+        if (separator > 0) {
+            line("package " + moduleName.substring(0, separator) + ";");
+            line();
+        }
+        line("import com.fasterxml.jackson.core.Version;");
+        line("import com.fasterxml.jackson.databind.module.SimpleModule;");
+        line();
+        line("/**");
+        line(" * Registers the deserializers which have been generated at compile time.");
+        line(" *");
+        line(GENERATED_NOTE);
+        line(" */");
+        open("public final class " + simpleName + " extends SimpleModule {");
+        line("private static final long serialVersionUID = 1L;");
+        line();
+        open("public " + simpleName + "() {");
+        line("super(" + quote(simpleName) + ", Version.unknownVersion());");
+        line();
+        for (CreatorBinding binding : bindings) {
+            line("addDeserializer(" + binding.getTypeName() + ".class, new " + binding.getQualifiedDeserializerName()
+                    + "());");
+        }
+        for (TypeDispatch dispatch : dispatches) {
+            line("addDeserializer(" + dispatch.getTypeName() + ".class, new " + dispatch.getQualifiedDispatcherName()
+                    + "());");
+        }
+        close("}");
+        close("}");
+
+        writeSource(moduleName);
+    }
+
+    /**
+     * Start a new source file with the package declaration and the imports
+     * used by the deserializers.
+     */
+    private void writeHeader(String packageName) {
+        writeHeader(packageName, false);
+    }
+
+    /**
+     * Start a new source file with the package declaration and the imports
+     * used by the deserializers, including the reflection imports if members
+     * have to be accessed through method handles.
+     */
+    private void writeHeader(String packageName, boolean memberAccess) {
+        source.setLength(0);
+        level = 0;
+        if (!packageName.isEmpty()) {
+            line("package " + packageName + ";");
+            line();
+        }
+        line("import java.io.IOException;");
+        if (memberAccess) {
+            line("import java.lang.invoke.MethodHandle;");
+            line("import java.lang.invoke.MethodHandles;");
+            line("import java.lang.invoke.MethodType;");
+            line("import java.lang.reflect.Constructor;");
+            line("import java.lang.reflect.Field;");
+            line("import java.lang.reflect.Method;");
+        }
+        line("import java.util.Arrays;");
+        line("import java.util.Collection;");
+        line("import java.util.List;");
+        line();
+        line("import com.fasterxml.jackson.annotation.JsonTypeInfo.As;");
+        line("import com.fasterxml.jackson.core.JsonParser;");
+        line("import com.fasterxml.jackson.core.JsonToken;");
+        line("import com.fasterxml.jackson.core.type.TypeReference;");
+        line("import com.fasterxml.jackson.databind.DeserializationContext;");
+        line("import com.fasterxml.jackson.databind.DeserializationFeature;");
+        line("import com.fasterxml.jackson.databind.JavaType;");
+        line("import com.fasterxml.jackson.databind.JsonDeserializer;");
+        line("import com.fasterxml.jackson.databind.JsonMappingException;");
+        line("import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;");
+        line("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;");
+        line("import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;");
+        line("import com.fasterxml.jackson.databind.util.TokenBuffer;");
+        line();
+    }
+
+    /**
+     * @return The expression that reads the value of the given property.
+     */
+    private static String readValue(Property property, int index) {
+        String readValue = "(" + property.getTypeName() + ") readValue(p, ctxt, deserializer" + index
+                + ", typeDeserializer" + index + ")";
+        switch (property.getValueKind()) {
+        case PRIMITIVE:
+            String primitiveName = property.getTypeName();
+            return "_parse" + Character.toUpperCase(primitiveName.charAt(0)) + primitiveName.substring(1)
+                    + "Primitive(p, ctxt)";
+        case STRING:
+            return "p.getCurrentToken() == JsonToken.VALUE_STRING ? p.getText() : " + readValue;
+        default:
+            return readValue;
+        }
+    }
+
+    /**
+     * @return The expression that creates the {@link JavaType} of the given
+     *         property.
+     */
+    private String constructType(Property property) {
+        if (property.getTypeName().equals(property.getRawTypeName())) {
+            return "ctxt.constructType(" + property.getRawTypeName() + ".class)";
+        }
+
+        return "ctxt.getTypeFactory().constructType(new TypeReference<" + property.getTypeName() + ">() {\n"
+                + indentation(level + 1) + "})";
+    }
+
+    private static String getDefaultValue(Property property) {
+        if (property.getValueKind() != ValueKind.PRIMITIVE) {
+            return "null";
+        }
+
+        return "boolean".equals(property.getTypeName()) ? "false" : "(" + property.getTypeName() + ") 0";
+    }
+
+    private static String joinPropertyNames(List<Property> properties) {
+        StringBuilder propertyNames = new StringBuilder();
+        for (Property property : properties) {
+            propertyNames.append(propertyNames.length() == 0 ? "" : ", ").append(quote(property.getName()));
+        }
+
+        return propertyNames.toString();
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String indentation(int level) {
+        StringBuilder indentation = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            indentation.append(INDENTATION);
+        }
+
+        return indentation.toString();
+    }
+
+    private void line() {
+        source.append('\n');
+    }
+
+    private void line(String code) {
+        source.append(indentation(level)).append(code).append('\n');
+    }
+
+    /**
+     * Write a line that opens a block.
+     */
+    private void open(String code) {
+        line(code);
+        level++;
+    }
+
+    /**
+     * Write a statement that opens a block and does not fit on a single line.
+     */
+    private void open(String code, String continuation) {
+        line(code);
+        line(INDENTATION + INDENTATION + continuation);
+        level++;
+    }
+
+    /**
+     * Write a line that closes a block and opens the next one, like
+     * <code>} else {</code>.
+     */
+    private void reopen(String code) {
+        level--;
+        line(code);
+        level++;
+    }
+
+    /**
+     * Write a line that closes a block.
+     */
+    private void close(String code) {
+        level--;
+        line(code);
+    }
+
+    private void writeSource(String qualifiedName) throws IOException {
+        try (Writer writer = filer.createSourceFile(qualifiedName).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *     This file is part of SteemJ (formerly known as 'Steem-Java-Api-Wrapper')
+ * 
+ *     SteemJ is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ * 
+ *     SteemJ is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ * 
+ *     You should have received a copy of the GNU General Public License
+ *     along with SteemJ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.bittrade.libs.steemj.processor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class describes an abstract type whose subtypes are resolved by a type
+ * id stored in a property, as configured by <code>@JsonTypeInfo</code> and
+ * <code>@JsonSubTypes</code>.
+ * 
+ * @author <a href="http://steemit.com/@dez1337">dez1337</a>
+ */
+final class TypeDispatch {
+    private final String packageName;
+    private final String typeName;
+    private final String dispatcherName;
+    private final String propertyName;
+    private final Map<String, String> subTypesById = new LinkedHashMap<>();
+
+    /**
+     * Create a new type dispatch.
+     * 
+     * @param packageName
+     *            The package of the base type.
+     * @param typeName
+     *            The canonical name of the base type.
+     * @param dispatcherName
+     *            The simple name of the dispatcher to generate.
+     * @param propertyName
+     *            The name of the property holding the type id.
+     */
+    TypeDispatch(String packageName, String typeName, String dispatcherName, String propertyName) {
+        this.packageName = packageName;
+        this.typeName = typeName;
+        this.dispatcherName = dispatcherName;
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * @return The package of the base type.
+     */
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return The canonical name of the base type.
+     */
+    String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @return The simple name of the dispatcher to generate.
+     */
+    String getDispatcherName() {
+        return dispatcherName;
+    }
+
+    /**
+     * @return The fully qualified name of the dispatcher to generate.
+     */
+    String getQualifiedDispatcherName() {
+        return packageName.isEmpty() ? dispatcherName : packageName + "." + dispatcherName;
+    }
+
+    /**
+     * @return The name of the property holding the type id.
+     */
+    String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * @return The canonical names of the subtypes by their type id.
+     */
+    Map<String, String> getSubTypesById() {
+        return subTypesById;
+    }
+}